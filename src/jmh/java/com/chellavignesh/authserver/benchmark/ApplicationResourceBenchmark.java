@@ -0,0 +1,68 @@
+package com.chellavignesh.authserver.benchmark;
+
+import com.chellavignesh.authserver.adminportal.application.entity.ApplicationResource;
+import com.chellavignesh.authserver.adminportal.application.entity.ApplicationResourceMatcher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of an introspection resource check for a client with {@code resourceCount} assigned
+ * resources. The requested URL matches the last resource, so {@code compareResourceScan} walks the
+ * whole list the way a check without {@link ApplicationResourceMatcher} does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApplicationResourceBenchmark {
+
+    private static final String METHOD = "GET";
+
+    @Param({"1", "10", "50", "1000"})
+    public int resourceCount;
+
+    private List<ApplicationResource> resources;
+    private ApplicationResourceMatcher matcher;
+    private String requestedUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        resources = new ArrayList<>(resourceCount);
+        for (int i = 0; i < resourceCount; i++) {
+            resources.add(new ApplicationResource(i, UUID.randomUUID(), 1, 42, i, "resource-" + i, "Benchmark resource",
+                    "https://api" + (i % 3) + ".example.com/v1/service" + i + "/accounts/{[0-9]+}/statements", METHOD, null));
+        }
+        matcher = ApplicationResourceMatcher.compile(resources);
+        int last = resourceCount - 1;
+        requestedUrl = "https://api" + (last % 3) + ".example.com/v1/service" + last + "/accounts/123456789/statements?from=2025-01-01";
+        if (!matcher.matches(requestedUrl, METHOD, null) || !resources.get(last).compareResource(requestedUrl, METHOD, null)) {
+            throw new IllegalStateException("Fixture URL does not match its resource");
+        }
+    }
+
+    @Benchmark
+    public boolean compareResource() {
+        return resources.get(resourceCount - 1).compareResource(requestedUrl, METHOD, null);
+    }
+
+    @Benchmark
+    public boolean compareResourceScan() {
+        for (ApplicationResource resource : resources) {
+            if (resource.compareResource(requestedUrl, METHOD, null)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean matcher() {
+        return matcher.matches(requestedUrl, METHOD, null);
+    }
+}
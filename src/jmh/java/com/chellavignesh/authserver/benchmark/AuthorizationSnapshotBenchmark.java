@@ -0,0 +1,138 @@
+package com.chellavignesh.authserver.benchmark;
+
+import com.chellavignesh.authserver.pkce.entity.Pkce;
+import com.chellavignesh.authserver.session.entity.AuthSession;
+import com.chellavignesh.authserver.session.entity.AuthSessionRowMapper;
+import com.chellavignesh.authserver.token.entity.Token;
+import com.chellavignesh.authserver.token.entity.TokenRowMapper;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Round-trips and latency of the reads behind {@code JdbcOAuth2AuthorizationService.findBySessionId},
+ * against an in-memory H2 database.
+ * <p>
+ * {@code separateCalls} is the path before the snapshot: session, active tokens, registered client
+ * and PKCE record each cost a statement. {@code snapshot} serves the session and registered client
+ * from a warm cache and reads the tokens and PKCE record in one statement. H2 cannot return several
+ * result sets from one call, so {@code Token.GetAuthorizationSnapshotBySessionId} is modelled as a
+ * single joined query.
+ * <p>
+ * In-memory H2 has no network hop, so each statement is charged {@code roundTripMicros} to stand in
+ * for the database round-trip. The {@code roundTrips} counter in the results is statements per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorizationSnapshotBenchmark {
+
+    private static final int APPLICATION_ID = 42;
+
+    @Param({"0", "250", "1000"})
+    public long roundTripMicros;
+
+    private JdbcTemplate jdbcTemplate;
+    private UUID sessionId;
+    private final Map<UUID, AuthSession> sessionCache = new ConcurrentHashMap<>();
+    private final TokenRowMapper tokenRowMapper = new TokenRowMapper();
+    private final AuthSessionRowMapper sessionRowMapper = new AuthSessionRowMapper();
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RoundTrips {
+        public long roundTrips;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:authorization-snapshot;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.execute("CREATE TABLE AuthSession (AuthSessionId INT PRIMARY KEY, ApplicationId INT, SessionId VARCHAR(36), SubjectId VARCHAR(64), "
+                + "Scope VARCHAR(256), AuthSessionStatusId INT, AuthFlowId INT, ClientFingerprint VARBINARY(64), Branding VARCHAR(64), RedirectUri VARCHAR(256))");
+        jdbcTemplate.execute("CREATE TABLE Token (TokenId INT PRIMARY KEY, TokenTypeId INT, SubjectId VARCHAR(64), SessionId VARCHAR(36), ApplicationId INT, "
+                + "Data VARCHAR(4000), isOpaque BOOLEAN, CreatedOn TIMESTAMP, Expiration TIMESTAMP, SigningKey VARBINARY(64))");
+        jdbcTemplate.execute("CREATE TABLE Pkce (PkceId INT PRIMARY KEY, SessionId VARCHAR(36), ApplicationId INT, Data VARCHAR(128), Algorithm VARCHAR(16), "
+                + "RedirectUri VARCHAR(256), CreatedOn TIMESTAMP, Expiration TIMESTAMP, ConsumedOn TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE Application (ApplicationId INT PRIMARY KEY, ClientId VARCHAR(64), Name VARCHAR(64))");
+        jdbcTemplate.execute("CREATE INDEX IX_Token_SessionId ON Token (SessionId)");
+        jdbcTemplate.execute("CREATE INDEX IX_Pkce_SessionId ON Pkce (SessionId)");
+
+        // Background rows so the session lookups go through the indexes
+        for (int i = 0; i < 1000; i++) {
+            insertAuthorization(i, UUID.randomUUID().toString());
+        }
+        sessionId = UUID.randomUUID();
+        insertAuthorization(1000, sessionId.toString());
+        jdbcTemplate.update("INSERT INTO Application VALUES (?, ?, ?)", APPLICATION_ID, "portal-web-client", "Customer Portal");
+
+        sessionCache.put(sessionId, jdbcTemplate.query("SELECT * FROM AuthSession WHERE SessionId = ?", sessionRowMapper, sessionId.toString()).getFirst());
+    }
+
+    @Benchmark
+    public Object separateCalls(RoundTrips counters) {
+        String id = sessionId.toString();
+        AuthSession session = roundTrip(counters, () -> jdbcTemplate.query("SELECT * FROM AuthSession WHERE SessionId = ?", sessionRowMapper, id).getFirst());
+        List<Token> tokens = roundTrip(counters, () -> jdbcTemplate.query("SELECT * FROM Token WHERE SessionId = ? AND Expiration > CURRENT_TIMESTAMP", tokenRowMapper, id));
+        Object client = roundTrip(counters, () -> jdbcTemplate.queryForMap("SELECT * FROM Application WHERE ApplicationId = ?", session.getApplicationId()));
+        Pkce pkce = roundTrip(counters, () -> jdbcTemplate.query("SELECT * FROM Pkce WHERE SessionId = ? ORDER BY PkceId DESC FETCH FIRST 1 ROW ONLY", (rs, _) -> Pkce.fromResult(rs), id).getFirst());
+        return new Object[]{session, tokens, client, pkce};
+    }
+
+    @Benchmark
+    public Object snapshot(RoundTrips counters) {
+        AuthSession session = sessionCache.get(sessionId);
+        Pkce[] pkce = new Pkce[1];
+        List<Token> tokens = roundTrip(counters, () -> {
+            List<Token> rows = new ArrayList<>();
+            jdbcTemplate.query("SELECT t.*, p.PkceId, p.Data AS PkceData, p.Algorithm, p.RedirectUri AS PkceRedirectUri "
+                    + "FROM Token t LEFT JOIN (SELECT * FROM Pkce WHERE SessionId = ? ORDER BY PkceId DESC FETCH FIRST 1 ROW ONLY) p ON p.SessionId = t.SessionId "
+                    + "WHERE t.SessionId = ? AND t.Expiration > CURRENT_TIMESTAMP", rs -> {
+                rows.add(tokenRowMapper.mapRow(rs, rows.size()));
+                if (pkce[0] == null && rs.getObject("PkceId") != null) {
+                    Pkce record = new Pkce();
+                    record.setId(rs.getInt("PkceId"));
+                    record.setData(rs.getString("PkceData"));
+                    record.setAlgorithm(rs.getString("Algorithm"));
+                    record.setRedirectUri(rs.getString("PkceRedirectUri"));
+                    pkce[0] = record;
+                }
+            }, sessionId.toString(), sessionId.toString());
+            return rows;
+        });
+        return new Object[]{session, tokens, pkce[0]};
+    }
+
+    private <T> T roundTrip(RoundTrips counters, Supplier<T> statement) {
+        counters.roundTrips++;
+        if (roundTripMicros > 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+        }
+        return statement.get();
+    }
+
+    private void insertAuthorization(int id, String session) {
+        jdbcTemplate.update("INSERT INTO AuthSession VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                id, APPLICATION_ID, session, "subject-" + id, "openid profile email", 1, 1, new byte[32], "default", "https://portal.example.com/callback");
+        for (int type = 1; type <= 3; type++) {
+            jdbcTemplate.update("INSERT INTO Token VALUES (?, ?, ?, ?, ?, ?, ?, DATEADD('MINUTE', -1, CURRENT_TIMESTAMP), DATEADD('HOUR', 1, CURRENT_TIMESTAMP), ?)",
+                    id * 10 + type, type, "subject-" + id, session, APPLICATION_ID, "token-" + id + "-" + type, true, new byte[32]);
+        }
+        jdbcTemplate.update("INSERT INTO Pkce VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, DATEADD('MINUTE', 5, CURRENT_TIMESTAMP), NULL)",
+                id, session, APPLICATION_ID, "E9Melhoa2OwvFrEMTJguCHaoeK1t8URWbuGJSstw-cM", "S256", "https://portal.example.com/callback");
+    }
+}
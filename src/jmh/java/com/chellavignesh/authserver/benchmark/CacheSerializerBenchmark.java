@@ -0,0 +1,130 @@
+package com.chellavignesh.authserver.benchmark;
+
+import com.chellavignesh.authserver.adminportal.application.entity.Application;
+import com.chellavignesh.authserver.adminportal.application.entity.TokenSettings;
+import com.chellavignesh.authserver.config.serialization.CacheValueSerializers;
+import com.chellavignesh.authserver.enums.entity.*;
+import com.chellavignesh.authserver.session.entity.AuthSession;
+import com.chellavignesh.authserver.token.entity.Token;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.sql.Timestamp;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the legacy default-typed JSON serializer with the binary codec for every cache that
+ * has one. For each encode benchmark, {@code payloadBytes / encodes} in the results is the size of
+ * that serializer's payload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheSerializerBenchmark {
+
+    @Param({"application-get-by-id", "application-get-by-client-id", "token-settings-get-for-app", "token-settings-get-by-id", "session-get-by-session-id", "token-get-by-value-hash"})
+    public String cacheName;
+
+    private GenericJackson2JsonRedisSerializer legacySerializer;
+    private RedisSerializer<Object> binarySerializer;
+    private Object value;
+    private byte[] legacyBytes;
+    private byte[] binaryBytes;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long encodes;
+        public long payloadBytes;
+
+        private byte[] record(byte[] encoded) {
+            encodes++;
+            payloadBytes += encoded.length;
+            return encoded;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        legacySerializer = CacheValueSerializers.json();
+        binarySerializer = CacheValueSerializers.forCache(cacheName, legacySerializer);
+        value = fixture(cacheName);
+        legacyBytes = legacySerializer.serialize(value);
+        binaryBytes = binarySerializer.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] encodeLegacy(Payload payload) {
+        return payload.record(legacySerializer.serialize(value));
+    }
+
+    @Benchmark
+    public byte[] encodeBinary(Payload payload) {
+        return payload.record(binarySerializer.serialize(value));
+    }
+
+    @Benchmark
+    public Object decodeLegacy() {
+        return legacySerializer.deserialize(legacyBytes);
+    }
+
+    @Benchmark
+    public Object decodeBinary() {
+        return binarySerializer.deserialize(binaryBytes);
+    }
+
+    @Benchmark
+    public Object decodeLegacyEntryWithBinarySerializer() {
+        return binarySerializer.deserialize(legacyBytes);
+    }
+
+    private static Object fixture(String cacheName) {
+        return switch (cacheName) {
+            case "application-get-by-id", "application-get-by-client-id" -> application();
+            case "token-settings-get-for-app", "token-settings-get-by-id" -> new TokenSettings(11, 1, 42, 300, 3600, 600, 86400, true, 30);
+            case "session-get-by-session-id" -> session();
+            case "token-get-by-value-hash" -> token();
+            default -> throw new IllegalArgumentException("No fixture for cache " + cacheName);
+        };
+    }
+
+    private static Application application() {
+        return new Application(42, 1, "portal-web-client", "Customer Portal", "Customer self-service portal", "https://portal.example.com",
+                ApplicationTypeEnum.WEB, AuthFlowEnum.values()[0], UsernameTypeEnum.USERNAME, true, UUID.randomUUID(), true, "portal");
+    }
+
+    private static AuthSession session() {
+        AuthSession session = new AuthSession();
+        session.setAuthSessionId(1001);
+        session.setApplicationId(42);
+        session.setSessionId(UUID.randomUUID());
+        session.setSubjectId("8f14e45f-ceea-467f-a8f4-3c1a2b7d9e10");
+        session.setScopes(Set.of("openid", "profile", "email"));
+        session.setAuthSessionStatus(AuthSessionStatusEnum.values()[0]);
+        session.setAuthFlow(AuthFlowEnum.values()[0]);
+        session.setClientFingerprint(bytes(32));
+        session.setBranding("default");
+        session.setRedirectUri("https://portal.example.com/callback");
+        return session;
+    }
+
+    private static Token token() {
+        long now = System.currentTimeMillis();
+        return new Token(5001, TokenTypeEnum.ACCESS_TOKEN, "8f14e45f-ceea-467f-a8f4-3c1a2b7d9e10", UUID.randomUUID(), 42,
+                "{\"scope\":\"openid profile email\"}", true, new Timestamp(now), new Timestamp(now + 3_600_000), bytes(64));
+    }
+
+    private static byte[] bytes(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i * 31);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,79 @@
+package com.chellavignesh.authserver.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives concurrent client-credentials grants against a running server to compare throughput and
+ * p99 latency with {@code token.grant-batching.enabled} on and off.
+ * <p>
+ * Excluded from the default benchmark run. Example:
+ * <pre>
+ * GRANT_URL=https://localhost:9443/oauth2/token GRANT_AUTHORIZATION="Basic ..." \
+ *     mvn -Pbenchmark -DskipTests verify -Djmh.include=ClientCredentialsGrantLoadBenchmark -Djmh.exclude=^$
+ * </pre>
+ * Settings come from the environment so they reach the forked benchmark JVM. {@code GRANT_BODY}
+ * defaults to {@code grant_type=client_credentials}; {@code GRANT_HEADERS} takes extra
+ * {@code name:value} pairs separated by {@code ;}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 30)
+@Threads(16)
+@Fork(1)
+public class ClientCredentialsGrantLoadBenchmark {
+
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = setting("GRANT_URL", null);
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException("GRANT_URL must point at the token endpoint of a running server");
+        }
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(setting("GRANT_BODY", "grant_type=client_credentials")));
+
+        String authorization = setting("GRANT_AUTHORIZATION", null);
+        if (authorization != null && !authorization.isBlank()) {
+            builder.header("Authorization", authorization);
+        }
+        for (String header : setting("GRANT_HEADERS", "").split(";")) {
+            int separator = header.indexOf(':');
+            if (separator > 0) {
+                builder.header(header.substring(0, separator).trim(), header.substring(separator + 1).trim());
+            }
+        }
+
+        request = builder.build();
+        client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @Benchmark
+    public int clientCredentialsGrant() throws Exception {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Token endpoint returned " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+
+    private static String setting(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
@@ -0,0 +1,63 @@
+package com.chellavignesh.authserver.benchmark;
+
+import com.chellavignesh.authserver.config.ApplicationConstants;
+import com.chellavignesh.authserver.config.clientfingerprint.ClientFingerprintValidator;
+import com.chellavignesh.authserver.session.fingerprint.ClientFingerprint;
+import com.chellavignesh.authserver.session.fingerprint.ClientFingerprintParser;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of fingerprint validation per request. {@code validateTwice} matches a request that passes
+ * both {@code RequestClientFingerprintFilter} and {@code SingleSignOnService.isValidAuthSession}.
+ * The benchmark profile runs with {@code -prof gc}, so {@code gc.alloc.rate.norm} gives the bytes
+ * allocated per request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientFingerprintBenchmark {
+
+    private static final String REQUEST_DATETIME = "2025-06-30T14:03:27.512+05:30";
+    private static final String ACCEPT_LANGUAGE = "en-US,en;q=0.9";
+    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/126.0.0.0 Safari/537.36";
+    private static final String REFERER = "https://portal.example.com/account/overview?tab=security";
+
+    private ClientFingerprintValidator validator;
+    private MockHttpServletRequest request;
+    private byte[] expected;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        validator = new ClientFingerprintValidator(false);
+        request = new MockHttpServletRequest("GET", "/account/overview");
+        request.addHeader(ApplicationConstants.REQUEST_DATETIME_HEADER, REQUEST_DATETIME);
+        request.addHeader(HttpHeaders.ACCEPT_LANGUAGE, ACCEPT_LANGUAGE);
+        request.addHeader(HttpHeaders.USER_AGENT, USER_AGENT);
+        request.addHeader(HttpHeaders.REFERER, REFERER);
+        expected = new ClientFingerprint(ClientFingerprintParser.parseZoneOffset(REQUEST_DATETIME), ACCEPT_LANGUAGE, USER_AGENT, ClientFingerprintParser.parseRefererHost(REFERER)).getBytes();
+    }
+
+    @Benchmark
+    public boolean validateOnce() {
+        request.clearAttributes();
+        return validator.isValidSignature(request, expected);
+    }
+
+    @Benchmark
+    public boolean validateTwice() {
+        request.clearAttributes();
+        return validator.isValidSignature(request, expected) & validator.isValidSignature(request, expected);
+    }
+
+    @Benchmark
+    public byte[] hash() {
+        return new ClientFingerprint(ClientFingerprintParser.parseZoneOffset(REQUEST_DATETIME), ACCEPT_LANGUAGE, USER_AGENT, ClientFingerprintParser.parseRefererHost(REFERER)).getBytes();
+    }
+}
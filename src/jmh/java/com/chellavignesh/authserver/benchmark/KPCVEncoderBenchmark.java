@@ -0,0 +1,60 @@
+package com.chellavignesh.authserver.benchmark;
+
+import com.chellavignesh.authserver.adminportal.util.KPCVEncoder;
+import com.chellavignesh.authserver.session.HasherConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.spec.InvalidKeySpecException;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PBKDF2 password hashing and validation at {@code iterations} rounds; 20000 is the
+ * {@code hasher.iterations} default.
+ * <p>
+ * The encoder is built from the development keystore bundled in {@code src/main/resources}. The
+ * pepper alias and bytes are passed explicitly, so the benchmark does not depend on the keystore's
+ * pepper.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KPCVEncoderBenchmark {
+
+    private static final String PASSWORD = "Correct-Horse-Battery-Staple-42";
+    private static final String PEPPER_ALIAS = UUID.nameUUIDFromBytes("benchmark-pepper".getBytes()).toString();
+
+    @Param({"20000"})
+    public int iterations;
+
+    private KPCVEncoder encoder;
+    private byte[] pepper;
+    private String passwordHash;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InvalidKeySpecException {
+        encoder = new KPCVEncoder(new HasherConfig(String.valueOf(iterations), "somepeppervalue", "JCEKS", "keystore.jks", "myStrongPassword"));
+        pepper = new byte[16];
+        for (int i = 0; i < pepper.length; i++) {
+            pepper[i] = (byte) (i * 17);
+        }
+        passwordHash = HexFormat.of().formatHex(encoder.hashPassword(PASSWORD, iterations, PEPPER_ALIAS, pepper));
+        if (!encoder.validatePassword(PASSWORD, passwordHash, PEPPER_ALIAS, pepper)) {
+            throw new IllegalStateException("Fixture password hash does not validate");
+        }
+    }
+
+    @Benchmark
+    public byte[] hash() throws InvalidKeySpecException {
+        return encoder.hashPassword(PASSWORD, iterations, PEPPER_ALIAS, pepper);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return encoder.validatePassword(PASSWORD, passwordHash, PEPPER_ALIAS, pepper);
+    }
+}
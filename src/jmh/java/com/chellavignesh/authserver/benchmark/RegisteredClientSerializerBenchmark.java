@@ -0,0 +1,106 @@
+package com.chellavignesh.authserver.benchmark;
+
+import com.chellavignesh.authserver.config.RegisteredClientRedisSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.security.oauth2.server.authorization.settings.ClientSettings;
+import org.springframework.security.oauth2.server.authorization.settings.OAuth2TokenFormat;
+import org.springframework.security.oauth2.server.authorization.settings.TokenSettings;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode, decode and round-trip cost of the {@code registered-client} cache serializer for a
+ * typical web client. {@code payloadBytes / encodes} in the results is the encoded size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegisteredClientSerializerBenchmark {
+
+    private RegisteredClientRedisSerializer serializer;
+    private RegisteredClient registeredClient;
+    private byte[] bytes;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long encodes;
+        public long payloadBytes;
+
+        private byte[] record(byte[] encoded) {
+            encodes++;
+            payloadBytes += encoded.length;
+            return encoded;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        serializer = new RegisteredClientRedisSerializer();
+        registeredClient = registeredClient();
+        bytes = serializer.serialize(registeredClient);
+        RegisteredClient decoded = serializer.deserialize(bytes);
+        if (!registeredClient.getClientId().equals(decoded.getClientId()) || !registeredClient.getScopes().equals(decoded.getScopes())) {
+            throw new IllegalStateException("Fixture client does not survive a round trip");
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize(Payload payload) {
+        return payload.record(serializer.serialize(registeredClient));
+    }
+
+    @Benchmark
+    public RegisteredClient deserialize() {
+        return serializer.deserialize(bytes);
+    }
+
+    @Benchmark
+    public RegisteredClient roundTrip() {
+        return serializer.deserialize(serializer.serialize(registeredClient));
+    }
+
+    private static RegisteredClient registeredClient() {
+        return RegisteredClient.withId("42")
+                .clientId("portal-web-client")
+                .clientIdIssuedAt(Instant.parse("2025-01-15T09:30:00Z"))
+                .clientSecret("{noop}benchmark-secret")
+                .clientName("Customer Portal")
+                .clientAuthenticationMethod(ClientAuthenticationMethod.CLIENT_SECRET_JWT)
+                .clientAuthenticationMethod(ClientAuthenticationMethod.CLIENT_SECRET_BASIC)
+                .authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+                .authorizationGrantType(AuthorizationGrantType.REFRESH_TOKEN)
+                .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                .redirectUri("https://portal.example.com/callback")
+                .redirectUri("https://portal.example.com/silent-renew")
+                .postLogoutRedirectUri("https://portal.example.com/logged-out")
+                .scope("openid")
+                .scope("profile")
+                .scope("email")
+                .clientSettings(ClientSettings.builder()
+                        .requireProofKey(true)
+                        .requireAuthorizationConsent(false)
+                        .jwkSetUrl("https://portal.example.com/.well-known/jwks.json")
+                        .tokenEndpointAuthenticationSigningAlgorithm(SignatureAlgorithm.RS256)
+                        .build())
+                .tokenSettings(TokenSettings.builder()
+                        .accessTokenTimeToLive(Duration.ofMinutes(5))
+                        .refreshTokenTimeToLive(Duration.ofHours(1))
+                        .authorizationCodeTimeToLive(Duration.ofMinutes(5))
+                        .deviceCodeTimeToLive(Duration.ofMinutes(5))
+                        .reuseRefreshTokens(false)
+                        .accessTokenFormat(OAuth2TokenFormat.REFERENCE)
+                        .idTokenSignatureAlgorithm(SignatureAlgorithm.RS256)
+                        .build())
+                .build();
+    }
+}
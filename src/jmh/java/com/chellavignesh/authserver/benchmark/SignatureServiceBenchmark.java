@@ -0,0 +1,83 @@
+package com.chellavignesh.authserver.benchmark;
+
+import com.chellavignesh.authserver.enums.entity.TokenTypeEnum;
+import com.chellavignesh.authserver.token.SignatureService;
+import com.chellavignesh.authserver.token.TokenService;
+import com.chellavignesh.authserver.token.entity.Token;
+import com.chellavignesh.authserver.token.exception.SignatureFailedException;
+import com.chellavignesh.authserver.token.exception.SignatureVerificationFailedException;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HMAC request signature verification for a {@code bodySize}-byte body.
+ * <p>
+ * {@code verifyRequest} goes through {@link SignatureService#verifySignature(jakarta.servlet.http.HttpServletRequest, String, byte[])}
+ * with the access token already resolved for the request, as it is after the first signature
+ * filter. The token lookup is stubbed once during setup and never reached while measuring.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignatureServiceBenchmark {
+
+    private static final String ACCESS_TOKEN = "benchmark-access-token";
+
+    @Param({"256", "4096", "65536"})
+    public int bodySize;
+
+    private SignatureService signatureService;
+    private Token token;
+    private MockHttpServletRequest request;
+    private byte[] body;
+    private String signatureHeader;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SignatureFailedException {
+        long now = System.currentTimeMillis();
+        token = new Token(5001, TokenTypeEnum.ACCESS_TOKEN, "8f14e45f-ceea-467f-a8f4-3c1a2b7d9e10", UUID.randomUUID(), 42,
+                "{\"scope\":\"openid profile email\"}", true, new Timestamp(now), new Timestamp(now + 3_600_000), bytes(32, 7));
+
+        TokenService tokenService = Mockito.mock(TokenService.class);
+        Mockito.when(tokenService.getByValue(ACCESS_TOKEN, TokenTypeEnum.ACCESS_TOKEN)).thenReturn(Optional.of(token));
+        signatureService = new SignatureService(tokenService, true);
+
+        body = bytes(bodySize, 31);
+        signatureHeader = Base64.getEncoder().encodeToString(signatureService.signBody(token, body));
+
+        request = new MockHttpServletRequest("POST", "/oauth2/introspect");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + ACCESS_TOKEN);
+        if (signatureService.resolveAccessToken(request).isEmpty()) {
+            throw new IllegalStateException("Fixture token was not resolved");
+        }
+    }
+
+    @Benchmark
+    public byte[] sign() throws SignatureFailedException {
+        return signatureService.signBody(token, body);
+    }
+
+    @Benchmark
+    public boolean verifyRequest() throws SignatureVerificationFailedException {
+        return signatureService.verifySignature(request, signatureHeader, body);
+    }
+
+    private static byte[] bytes(int length, int seed) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i * seed);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,91 @@
+package com.chellavignesh.authserver.benchmark;
+
+import com.chellavignesh.authserver.adminportal.application.ApplicationService;
+import com.chellavignesh.authserver.adminportal.application.entity.Application;
+import com.chellavignesh.authserver.adminportal.certificate.OrganizationSigningKey;
+import com.chellavignesh.authserver.adminportal.certificate.OrganizationSigningKeyRegistry;
+import com.chellavignesh.authserver.config.cache.TwoTierCacheManager;
+import com.chellavignesh.authserver.config.token.TokenEndpointResponseBodySigner;
+import com.chellavignesh.authserver.enums.entity.ApplicationTypeEnum;
+import com.chellavignesh.authserver.enums.entity.AuthFlowEnum;
+import com.chellavignesh.authserver.enums.entity.UsernameTypeEnum;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing a token endpoint response with an organization's RSA 2048 or EC P-256 key.
+ * <p>
+ * The application and signing key lookups are answered in memory: the application by a Mockito
+ * stub and the key by a fixed registry, so the time is almost all signature work.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenEndpointResponseBodySignerBenchmark {
+
+    private static final String CLIENT_ID = "portal-web-client";
+    private static final byte[] BODY = ("{\"access_token\":\"2YotnFZFEjr1zCsicMWpAA\",\"token_type\":\"Bearer\",\"expires_in\":300,"
+            + "\"refresh_token\":\"tGzv3JOkF0XG5Qx2TlKWIA\",\"scope\":\"openid profile email\",\"id_token\":\"eyJhbGciOiJSUzI1NiJ9.e30.c2lnbmF0dXJl\"}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Param({"RSA", "EC"})
+    public String keyType;
+
+    private TokenEndpointResponseBodySigner signer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws GeneralSecurityException {
+        OrganizationSigningKey signingKey = signingKey(keyType);
+
+        ApplicationService applicationService = Mockito.mock(ApplicationService.class);
+        Mockito.when(applicationService.getByClientId(CLIENT_ID)).thenReturn(Optional.of(new Application(42, 1, CLIENT_ID, "Customer Portal",
+                "Customer self-service portal", "https://portal.example.com", ApplicationTypeEnum.WEB, AuthFlowEnum.values()[0],
+                UsernameTypeEnum.USERNAME, true, UUID.randomUUID(), true, "portal")));
+
+        OrganizationSigningKeyRegistry registry = new OrganizationSigningKeyRegistry(null, new StaticListableBeanFactory().getBeanProvider(TwoTierCacheManager.class)) {
+            @Override
+            public Optional<OrganizationSigningKey> get(Integer orgId) {
+                return Optional.of(signingKey);
+            }
+        };
+
+        signer = new TokenEndpointResponseBodySigner(applicationService, registry, new SimpleMeterRegistry());
+        if (signer.signResponseBody(BODY, CLIENT_ID).length == 0) {
+            throw new IllegalStateException("Fixture response was not signed");
+        }
+    }
+
+    @Benchmark
+    public byte[] sign() {
+        return signer.signResponseBody(BODY, CLIENT_ID);
+    }
+
+    private static OrganizationSigningKey signingKey(String keyType) throws GeneralSecurityException {
+        return switch (keyType) {
+            case "RSA" -> {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+                generator.initialize(2048);
+                yield new OrganizationSigningKey(UUID.randomUUID(), generator.generateKeyPair().getPrivate(), "SHA256withRSA");
+            }
+            case "EC" -> {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+                yield new OrganizationSigningKey(UUID.randomUUID(), generator.generateKeyPair().getPrivate(), "SHA256withECDSAinP1363Format");
+            }
+            default -> throw new IllegalArgumentException("Unknown key type " + keyType);
+        };
+    }
+}
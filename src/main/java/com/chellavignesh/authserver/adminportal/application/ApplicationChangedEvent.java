@@ -0,0 +1,8 @@
+package com.chellavignesh.authserver.adminportal.application;
+
+/**
+ * Published when an application is created, updated or inactivated, or its token settings change,
+ * so caches built from the application and its settings can drop it.
+ */
+public record ApplicationChangedEvent(Integer orgId, Integer appId) {
+}
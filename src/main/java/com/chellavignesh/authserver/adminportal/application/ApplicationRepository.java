@@ -23,6 +23,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
@@ -62,6 +63,12 @@ public class ApplicationRepository {
         return applicationId != null;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = {"application-get-by-id", "application-get-detail-by-id", "application-get-settings-by-application-id"}, key = "#appId"),
+            @CacheEvict(cacheNames = "application-get-by-client-id", allEntries = true),
+            @CacheEvict(cacheNames = "registered-client-by-app-id", key = "#appId"),
+            @CacheEvict(cacheNames = "registered-client-by-client-id", allEntries = true)
+    })
     public boolean updateApplicationUri(Integer orgId, Integer appId, String uri) {
         var parameters = new MapSqlParameterSource();
         parameters.addValue("orgId", orgId);
@@ -144,6 +151,12 @@ public class ApplicationRepository {
         return forgetUserNameDT;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = {"application-get-by-id", "application-get-detail-by-id", "application-get-settings-by-application-id"}, key = "#appId"),
+            @CacheEvict(cacheNames = "application-get-by-client-id", allEntries = true),
+            @CacheEvict(cacheNames = "registered-client-by-app-id", key = "#appId"),
+            @CacheEvict(cacheNames = "registered-client-by-client-id", allEntries = true)
+    })
     @Transactional
     public boolean updateApplication(Integer orgId, Integer appId, UpdateApplicationDto updateApplicationDto, ForgotUsernameSetting forgotUsernameSetting) throws SQLServerException, JsonProcessingException {
         SQLServerDataTable forgetUserNameOT = getSqlServerDataTableForForgotUsernameSetting(orgId, appId, forgotUsernameSetting);
@@ -235,6 +248,11 @@ public class ApplicationRepository {
         logger.trace("Evicting cache for application-get-by-client-id");
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "application-get-by-id", key = "#appId"),
+            @CacheEvict(cacheNames = "application-get-by-client-id", allEntries = true),
+            @CacheEvict(cacheNames = {"registered-client-by-client-id", "registered-client-by-app-id"}, allEntries = true)
+    })
     public boolean inactivateApplication(Integer orgId, Integer appId, Boolean active) {
         var parameters = new MapSqlParameterSource();
         parameters.addValue("orgId", orgId);
@@ -308,6 +326,7 @@ public class ApplicationRepository {
         logger.trace("Evicting cache for application-get-logout-redirect-uris");
     }
 
+    @CacheEvict(value = "application-get-all-assigned-resources-by-client-id", allEntries = true)
     public Resource assignResource(Integer orgId, Integer appId, Integer resourceLibraryId) throws ResourceCreationFailedException {
         var parameters = new MapSqlParameterSource();
         parameters.addValue("orgId", orgId);
@@ -346,6 +365,7 @@ public class ApplicationRepository {
         ).stream().findFirst();
     }
 
+    @CacheEvict(value = "application-get-all-assigned-resources-by-client-id", allEntries = true)
     public boolean deleteResource(Integer resourceId) {
         namedParameterJdbcTemplate.update(
                 "{call Resource.DeleteResource(:resourceId)}",
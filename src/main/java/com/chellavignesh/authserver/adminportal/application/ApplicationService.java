@@ -14,10 +14,18 @@ import com.chellavignesh.authserver.adminportal.organization.OrganizationReposit
 import com.chellavignesh.authserver.adminportal.organization.OrganizationStatus;
 import com.chellavignesh.authserver.adminportal.organization.entity.Organization;
 import com.chellavignesh.authserver.adminportal.range.RangeCache;
+import com.chellavignesh.authserver.adminportal.resource.ResourceLibraryChangedEvent;
+import com.chellavignesh.authserver.config.cache.TwoTierCacheManager;
 import com.chellavignesh.authserver.enums.entity.*;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.oauth2.core.AuthorizationGrantType;
 import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
@@ -48,17 +56,38 @@ public class ApplicationService {
     private volatile UpdateTokenSettingsDto updateTokenSettingsDto = null;
     private final TokenSettingsService tokenSettingsService;
     RangeCache rangeCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    static final String RESOURCE_MATCHER_INVALIDATION_NAME = "application-resource-matcher";
+
+    // Compiled per client and dropped on every pod when resources are assigned, removed or edited
+    private final Cache<String, ApplicationResourceMatcher> resourceMatchers;
+    private final TwoTierCacheManager cacheManager;
 
     public ApplicationService(ApplicationRepository applicationRepository,
                               CredentialService credentialService,
                               OrganizationRepository organizationRepository,
                               TokenSettingsService tokenSettingsService,
-                              RangeCache rangeCache) {
+                              RangeCache rangeCache,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${cache.application.getbyid.ttl}") long resourceMatcherTtl,
+                              ObjectProvider<TwoTierCacheManager> cacheManager) {
         this.applicationRepository = applicationRepository;
         this.credentialService = credentialService;
         this.organizationRepository = organizationRepository;
         this.tokenSettingsService = tokenSettingsService;
         this.rangeCache = rangeCache;
+        this.eventPublisher = eventPublisher;
+        // Same lifetime as the cached resource lists, so changes made outside the admin API are picked up
+        this.resourceMatchers = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMillis(resourceMatcherTtl))
+                .build();
+        // Absent with spring.cache.type=local, where there is only one pod to invalidate
+        this.cacheManager = cacheManager.getIfAvailable();
+        if (this.cacheManager != null) {
+            this.cacheManager.addLocalInvalidationListener(RESOURCE_MATCHER_INVALIDATION_NAME, _ -> resourceMatchers.invalidateAll());
+        }
     }
 
     public Application create(Integer orgId, CreateApplicationDto dto) throws AppCreationFailedException {
@@ -93,6 +122,7 @@ public class ApplicationService {
             if (app == null) {
                 throw new AppCreationFailedException("Failed to create application");
             }
+            eventPublisher.publishEvent(new ApplicationChangedEvent(orgId, app.getId()));
             return app;
         }
     }
@@ -131,11 +161,14 @@ public class ApplicationService {
         } catch (Exception e) {
             throw new ApplicationDataAccessException("Error while updating application with ID: " + appId + "Organization ID: " + orgId, e);
         }
+        eventPublisher.publishEvent(new ApplicationChangedEvent(orgId, appId));
         return result;
     }
 
     public boolean updateApplicationUri(Integer orgId, Integer appId, String uri) {
-        return applicationRepository.updateApplicationUri(orgId, appId, uri);
+        boolean result = applicationRepository.updateApplicationUri(orgId, appId, uri);
+        eventPublisher.publishEvent(new ApplicationChangedEvent(orgId, appId));
+        return result;
     }
 
     public List<Application> getAll(Integer orgId) {
@@ -157,6 +190,7 @@ public class ApplicationService {
         } catch (Exception e) {
             throw new ApplicationDataAccessException("Error while inactivating application with ID: " + appId + "Organization ID: " + orgId, e);
         }
+        eventPublisher.publishEvent(new ApplicationChangedEvent(orgId, appId));
         return result;
     }
 
@@ -184,12 +218,13 @@ public class ApplicationService {
         return applicationRepository.getApplicationLogoutRedirectUris(appId);
     }
 
+    @Cacheable(cacheNames = "registered-client-by-app-id", key = "#applicationId", unless = "#result == null")
     public RegisteredClient getRegisteredClientById(Integer applicationId) throws AppNotFoundException {
         Application application = getById(applicationId).orElseThrow(() -> new AppNotFoundException("Application not found with ID: " + applicationId));
         return applicationToRegisteredClient(application, 0);
     }
 
-    @Cacheable(cacheNames = "registered-client-by-client-id", key = "#clientId")
+    @Cacheable(cacheNames = "registered-client-by-client-id", key = "#clientId", unless = "#result == null")
     public RegisteredClient getRegisteredClientByClientId(String clientId) throws AppNotFoundException {
         log.trace("Fetching registered client for client ID: {}", clientId);
         try {
@@ -198,13 +233,7 @@ public class ApplicationService {
                 return new AppNotFoundException("Application not found for client ID: " + clientId);
             });
 
-            log.trace("Found application for client ID: {}", clientId);
-            log.trace("Application ID: {}", application.getId());
-            log.trace("Application name: {}", application.getName());
-            log.trace("Application type: {}", application.getType());
-            log.trace("Application URI: {}", application.getUri());
-            log.trace("Auth Flow: {}", application.getAuthFlow());
-            log.trace("Organization ID: {}", application.getOrgId());
+            log.trace("Found application {} ({}, {}) in organization {} for client ID: {}", application.getId(), application.getType(), application.getAuthFlow(), application.getOrgId(), clientId);
 
             RegisteredClient registeredClient = applicationToRegisteredClient(application, 0);
             if (registeredClient != null) {
@@ -339,15 +368,48 @@ public class ApplicationService {
         return applicationRepository.getAllAssignedResourcesByClientId(clientId);
     }
 
+    /**
+     * Returns the compiled resource matcher for a client. The resources are loaded and compiled
+     * once per client until a resource change evicts the matcher.
+     */
+    public ApplicationResourceMatcher getResourceMatcherByClientId(String clientId) {
+        return resourceMatchers.get(clientId, id -> {
+            List<ApplicationResource> resources = getAllAssignedResourcesByClientId(id);
+            log.trace("Compiling resource matcher for client ID: {} with {} resources", id, resources.size());
+            return ApplicationResourceMatcher.compile(resources);
+        });
+    }
+
     public Resource assignResource(Integer orgId, Integer appId, Integer resourceLibraryId) throws ResourceCreationFailedException {
         if (this.applicationRepository.resourceExistsForApplication(orgId, appId, resourceLibraryId)) {
             throw new DataIntegrityViolationException("Resource already assigned to application");
         }
-        return applicationRepository.assignResource(orgId, appId, resourceLibraryId);
+        Resource resource = applicationRepository.assignResource(orgId, appId, resourceLibraryId);
+        evictResourceMatchers();
+        return resource;
     }
 
     public boolean deleteResource(Integer resourceId) {
-        return applicationRepository.deleteResource(resourceId);
+        boolean deleted = applicationRepository.deleteResource(resourceId);
+        evictResourceMatchers();
+        return deleted;
+    }
+
+    @EventListener
+    public void onResourceLibraryChanged(ResourceLibraryChangedEvent event) {
+        evictResourceMatchers();
+    }
+
+    /**
+     * Drops every compiled matcher, here and on the other pods. Resource changes are rare admin
+     * operations and a library resource can be assigned to any number of clients, so matchers are
+     * not tracked per resource.
+     */
+    private void evictResourceMatchers() {
+        resourceMatchers.invalidateAll();
+        if (cacheManager != null) {
+            cacheManager.publishEvict(RESOURCE_MATCHER_INVALIDATION_NAME, "");
+        }
     }
 
     private String getClientSecret(Application application, int activeSecretNumber) {
@@ -371,6 +433,30 @@ public class ApplicationService {
         return clientSecret;
     }
 
+    /**
+     * Active client_secret_jwt credentials in the order {@link #getClientSecret} numbers them,
+     * stopping at the first expired one and at {@code maxActive} entries.
+     */
+    public List<Credential> getActiveClientSecretCredentials(Application application, int maxActive) {
+        if (application.getAuthFlow() != AuthFlowEnum.CLIENT_SECRET_JWT) {
+            return List.of();
+        }
+        List<Credential> active = new ArrayList<>();
+        for (Credential credential : credentialService.getAllClientSecretJwt(application.getOrgId(), application.getId())) {
+            if (credential.getCredentialStatus() != CredentialStatus.Active) {
+                continue;
+            }
+            if (checkIfExpire(credential)) {
+                break;
+            }
+            active.add(credential);
+            if (active.size() == maxActive) {
+                break;
+            }
+        }
+        return active;
+    }
+
     private boolean checkIfExpire(Credential credential) {
         try {
             String expireOn = credential.getExpireOn();
@@ -2,6 +2,8 @@ package com.chellavignesh.authserver.adminportal.application;
 
 import com.chellavignesh.authserver.adminportal.util.SecurityUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
@@ -20,6 +22,10 @@ public class RedirectUriRepository {
         this.securityUtil = securityUtil;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "application-get-redirect-uris", key = "#appId"),
+            @CacheEvict(cacheNames = {"registered-client-by-client-id", "registered-client-by-app-id"}, allEntries = true)
+    })
     public boolean updateRedirectUri(Integer orgId, Integer appId, String uri) {
         var parameters = new MapSqlParameterSource();
         parameters.addValue("orgId", orgId);
@@ -31,6 +37,10 @@ public class RedirectUriRepository {
         return true;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "application-get-redirect-uris", key = "#appId"),
+            @CacheEvict(cacheNames = {"registered-client-by-client-id", "registered-client-by-app-id"}, allEntries = true)
+    })
     public boolean createRedirectUris(Integer orgId, Integer appId, List<String> uris) {
         var parameters = new MapSqlParameterSource();
         parameters.addValue("orgId", orgId);
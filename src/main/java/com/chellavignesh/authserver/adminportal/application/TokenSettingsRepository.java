@@ -55,7 +55,8 @@ public class TokenSettingsRepository {
     }
 
     @Caching(evict = {
-            @CacheEvict(cacheNames = {"token-settings-get-for-app", "registered-client-by-client-id"}, key = "#appId"),
+            @CacheEvict(cacheNames = "token-settings-get-for-app", key = "#appId"),
+            @CacheEvict(cacheNames = {"registered-client-by-client-id", "registered-client-by-app-id"}, allEntries = true),
             @CacheEvict(cacheNames = "token-settings-get-by-id", allEntries = true)
     })
     public boolean updateSettings(Integer orgId, Integer appId, UpdateTokenSettingsDto settingsDto) {
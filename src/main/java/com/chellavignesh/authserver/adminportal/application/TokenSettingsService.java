@@ -6,6 +6,7 @@ import com.chellavignesh.authserver.adminportal.application.exception.TokenSetti
 import com.chellavignesh.authserver.adminportal.range.RangeCache;
 import com.chellavignesh.authserver.enums.entity.AccessTokenFormatEnum;
 import com.chellavignesh.authserver.enums.entity.RangeTypeEnum;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.Objects;
@@ -15,10 +16,12 @@ import java.util.Optional;
 public class TokenSettingsService {
     private final RangeCache rangeCache;
     private final TokenSettingsRepository settingsRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TokenSettingsService(RangeCache rangeCache, TokenSettingsRepository settingsRepository) {
+    public TokenSettingsService(RangeCache rangeCache, TokenSettingsRepository settingsRepository, ApplicationEventPublisher eventPublisher) {
         this.rangeCache = rangeCache;
         this.settingsRepository = settingsRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public TokenSettings createSettings(Integer orgId, Integer appId, UpdateTokenSettingsDto settingsDto) throws TokenSettingsCreationFailedException {
@@ -29,7 +32,9 @@ public class TokenSettingsService {
     }
 
     public boolean updateSettings(Integer orgId, Integer appId, UpdateTokenSettingsDto settingsDto) {
-        return settingsRepository.updateSettings(orgId, appId, settingsDto);
+        boolean result = settingsRepository.updateSettings(orgId, appId, settingsDto);
+        eventPublisher.publishEvent(new ApplicationChangedEvent(orgId, appId));
+        return result;
     }
 
     public Optional<TokenSettings> getForApp(Integer orgId, Integer appId) {
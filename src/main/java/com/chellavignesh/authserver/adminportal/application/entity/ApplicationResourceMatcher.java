@@ -0,0 +1,181 @@
+package com.chellavignesh.authserver.adminportal.application.entity;
+
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriTemplate;
+import org.thymeleaf.util.StringUtils;
+
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Precompiled form of a client's assigned resources.
+ * <p>
+ * Resources are indexed by allowed method and host, and every resource URI is parsed and its
+ * {@link UriTemplate} and path-variable patterns compiled once, so a lookup only parses the
+ * requested URL. Decisions are the same as running {@link ApplicationResource#compareResource}
+ * over every assigned resource.
+ */
+public class ApplicationResourceMatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationResourceMatcher.class);
+
+    @Getter
+    private final List<ApplicationResource> resources;
+    private final Map<String, MethodEntries> entriesByMethod;
+
+    private ApplicationResourceMatcher(List<ApplicationResource> resources, Map<String, MethodEntries> entriesByMethod) {
+        this.resources = resources;
+        this.entriesByMethod = entriesByMethod;
+    }
+
+    public static ApplicationResourceMatcher compile(List<ApplicationResource> resources) {
+        Map<String, MethodEntries> entriesByMethod = new HashMap<>();
+
+        for (ApplicationResource resource : resources) {
+            if (resource.getAllowedMethod() == null) {
+                log.warn("Skipping resource {} with no allowed method", resource.getId());
+                continue;
+            }
+
+            CompiledResource compiled = CompiledResource.of(resource);
+            if (compiled == null) {
+                continue;
+            }
+
+            MethodEntries entries = entriesByMethod.computeIfAbsent(resource.getAllowedMethod(), _ -> new MethodEntries());
+            if (compiled.host == null) {
+                entries.anyHost.add(compiled);
+            } else {
+                entries.byHost.computeIfAbsent(compiled.host, _ -> new ArrayList<>()).add(compiled);
+            }
+            entries.all.add(compiled);
+        }
+
+        return new ApplicationResourceMatcher(resources, entriesByMethod);
+    }
+
+    public boolean matches(String uri, String allowedMethod, String urn) {
+        MethodEntries entries = allowedMethod == null ? null : entriesByMethod.get(allowedMethod);
+        if (entries == null) {
+            return false;
+        }
+
+        UriComponents requested;
+        try {
+            requested = parseHttpUrl(uri);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+
+        String host = requested.getHost();
+        String path = requested.getPath();
+
+        if (host == null) {
+            return anyMatch(entries.all, path, urn);
+        }
+
+        return anyMatch(entries.byHost.getOrDefault(host, List.of()), path, urn) || anyMatch(entries.anyHost, path, urn);
+    }
+
+    /**
+     * Parses an absolute http(s) URL, rejecting anything else the way the deprecated
+     * {@code UriComponentsBuilder.fromHttpUrl} did.
+     */
+    private static UriComponents parseHttpUrl(String url) {
+        if (url == null) {
+            throw new IllegalArgumentException("URL must not be null");
+        }
+        UriComponents components = UriComponentsBuilder.fromUriString(url).build();
+        String scheme = components.getScheme();
+        if (!"http".equalsIgnoreCase(scheme) && !"https".equalsIgnoreCase(scheme)) {
+            throw new IllegalArgumentException("[" + url + "] is not a valid HTTP URL");
+        }
+        return components;
+    }
+
+    private static boolean anyMatch(List<CompiledResource> candidates, String path, String urn) {
+        for (CompiledResource candidate : candidates) {
+            if (candidate.matchesUrn(urn) && candidate.matchesPath(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class MethodEntries {
+        private final Map<String, List<CompiledResource>> byHost = new HashMap<>();
+        private final List<CompiledResource> anyHost = new ArrayList<>();
+        private final List<CompiledResource> all = new ArrayList<>();
+    }
+
+    private static final class CompiledResource {
+        private final String host;
+        private final String path;
+        private final UriTemplate template;
+        private final Map<String, Pattern> variablePatterns;
+        private final String urn;
+
+        private CompiledResource(String host, String path, UriTemplate template, Map<String, Pattern> variablePatterns, String urn) {
+            this.host = host;
+            this.path = path;
+            this.template = template;
+            this.variablePatterns = variablePatterns;
+            this.urn = urn;
+        }
+
+        static CompiledResource of(ApplicationResource resource) {
+            UriComponents components;
+            try {
+                components = parseHttpUrl(resource.getUri());
+            } catch (IllegalArgumentException e) {
+                // compareUri rejects every request for a resource URI it cannot parse
+                log.warn("Skipping resource {} with unparseable URI: {}", resource.getId(), resource.getUri());
+                return null;
+            }
+
+            String path = components.getPath();
+            UriTemplate template = null;
+            Map<String, Pattern> variablePatterns = Map.of();
+
+            if (path != null) {
+                template = new UriTemplate(path);
+                variablePatterns = new HashMap<>();
+                try {
+                    for (String variableName : template.getVariableNames()) {
+                        variablePatterns.put(variableName, Pattern.compile(variableName));
+                    }
+                } catch (PatternSyntaxException e) {
+                    log.warn("Skipping resource {} with invalid path variable in URI: {}", resource.getId(), resource.getUri());
+                    return null;
+                }
+            }
+
+            return new CompiledResource(components.getHost(), path, template, variablePatterns, resource.getUrn());
+        }
+
+        boolean matchesUrn(String requestedUrn) {
+            return StringUtils.isEmpty(requestedUrn) ? (Objects.equals(urn, requestedUrn) || urn == null) : Objects.equals(urn, requestedUrn);
+        }
+
+        boolean matchesPath(String requestedPath) {
+            if (Objects.isNull(path) || Objects.isNull(requestedPath)) {
+                return Objects.equals(path, requestedPath);
+            }
+            if (!template.matches(requestedPath)) {
+                return false;
+            }
+            for (Map.Entry<String, String> variable : template.match(requestedPath).entrySet()) {
+                Pattern pattern = variablePatterns.get(variable.getKey());
+                if (pattern == null || !pattern.matcher(variable.getValue()).matches()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.chellavignesh.authserver.adminportal.certificate;
+
+import com.chellavignesh.authserver.config.cache.TwoTierCacheManager;
+import com.chellavignesh.authserver.enums.entity.CertificateType;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.KeyConverter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-memory cache of decrypted certificate keystores and parsed JWKs, keyed by organization ID
+ * and by client ID (public key certificates).
+ * <p>
+ * Every invalidation bumps the cache version; a snapshot loaded under an older version is
+ * returned to its caller but never stored, so a load racing a certificate change cannot
+ * reinstate stale keys. Invalidations are broadcast over the two-tier cache invalidation channel so
+ * a revoked certificate stops being trusted on every pod; entries are also evicted periodically as
+ * a backstop for missed messages.
+ */
+@Component
+@Slf4j
+public class CertificateKeyCache {
+
+    static final String INVALIDATION_NAME = "certificate-keys";
+
+    private final CertificateRepository certificateRepository;
+    private final TwoTierCacheManager cacheManager;
+
+    private final AtomicLong version = new AtomicLong();
+    private final Map<Integer, CertificateKeySet> byOrgId = new ConcurrentHashMap<>();
+    private final Map<String, CertificateKeySet> byClientId = new ConcurrentHashMap<>();
+
+    public CertificateKeyCache(CertificateRepository certificateRepository, ObjectProvider<TwoTierCacheManager> cacheManager) {
+        this.certificateRepository = certificateRepository;
+        // Absent with spring.cache.type=local, where there is only one pod to invalidate
+        this.cacheManager = cacheManager.getIfAvailable();
+        if (this.cacheManager != null) {
+            this.cacheManager.addLocalInvalidationListener(INVALIDATION_NAME, _ -> invalidateLocal());
+        }
+    }
+
+    public CertificateKeySet getByOrgId(Integer orgId) {
+        return get(byOrgId, orgId, () -> certificateRepository.getAllByOrgId(orgId));
+    }
+
+    public CertificateKeySet getPublicKeysByClientId(String clientId) {
+        return get(byClientId, clientId, () -> certificateRepository.getALlByClientIdAndType(clientId, CertificateType.PUBLIC_KEY.getValue()));
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Drops every cached key set on this pod and on the others.
+     */
+    public void invalidateAll() {
+        invalidateLocal();
+        if (cacheManager != null) {
+            cacheManager.publishEvict(INVALIDATION_NAME, "");
+        }
+    }
+
+    @Scheduled(fixedRateString = "${cache.certificate-keys.ttl:300000}")
+    public void evictCertificateKeys() {
+        log.trace("Evicting certificate key cache");
+        // Every pod runs this schedule, so there is nothing to broadcast
+        invalidateLocal();
+    }
+
+    private void invalidateLocal() {
+        version.incrementAndGet();
+        byOrgId.clear();
+        byClientId.clear();
+        log.debug("Invalidated certificate key cache, version is now {}", version.get());
+    }
+
+    private <K> CertificateKeySet get(Map<K, CertificateKeySet> entries, K key, Supplier<List<CertificateEntity>> loader) {
+        CertificateKeySet cached = entries.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadVersion = version.get();
+        CertificateKeySet loaded = toKeySet(loadVersion, loader.get());
+
+        if (version.get() == loadVersion) {
+            entries.putIfAbsent(key, loaded);
+        }
+        return loaded;
+    }
+
+    private static CertificateKeySet toKeySet(long version, List<CertificateEntity> rows) {
+        // The row mapper yields null for rows it could not read
+        List<CertificateEntity> certificates = rows.stream().filter(Objects::nonNull).toList();
+
+        List<JWK> jwks = new ArrayList<>();
+        for (var entity : certificates) {
+            if (entity.getKeyStorePair() != null && entity.getKeyStorePair().getCertificate().isPresent()) {
+                try {
+                    jwks.add(JWK.parse(entity.getKeyStorePair().getCertificate().get()));
+                } catch (JOSEException e) {
+                    log.warn("Failed to parse JWK from certificate {}: {}", entity.getId(), e.getMessage());
+                }
+            }
+        }
+        List<Key> publicKeys = KeyConverter.toJavaKeys(jwks);
+        return new CertificateKeySet(version, certificates, List.copyOf(jwks), List.copyOf(publicKeys));
+    }
+}
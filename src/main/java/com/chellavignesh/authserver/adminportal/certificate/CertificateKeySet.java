@@ -0,0 +1,15 @@
+package com.chellavignesh.authserver.adminportal.certificate;
+
+import com.nimbusds.jose.jwk.JWK;
+
+import java.security.Key;
+import java.util.List;
+
+/**
+ * Immutable snapshot of a set of certificates with their keystores already decrypted
+ * and their public keys parsed into JWK and JCA form.
+ *
+ * @param version cache generation the snapshot was loaded under
+ */
+public record CertificateKeySet(long version, List<CertificateEntity> certificates, List<JWK> jwks, List<Key> publicKeys) {
+}
@@ -125,7 +125,7 @@ public class CertificateRepository {
         ).stream().findFirst();
     }
 
-    @CacheEvict(cacheNames = "registered-client-by-client-id", allEntries = true)
+    @CacheEvict(cacheNames = {"registered-client-by-client-id", "registered-client-by-app-id"}, allEntries = true)
     public CertificateEntity updateStatus(byte status, Integer orgId, UUID certId) throws CertificateNotFoundException {
         var parameters = new MapSqlParameterSource();
         parameters.addValue("orgId", orgId);
@@ -32,10 +32,14 @@ public class OrganizationCertificateService {
 
     private final PemKeyStorePairParser keyStorePairParser;
     private final CertificateRepository certificateRepository;
+    private final CertificateKeyCache certificateKeyCache;
+    private final OrganizationSigningKeyRegistry organizationSigningKeyRegistry;
 
-    public OrganizationCertificateService(PemKeyStorePairParser keyStorePairParser, CertificateRepository certificateRepository) {
+    public OrganizationCertificateService(PemKeyStorePairParser keyStorePairParser, CertificateRepository certificateRepository, CertificateKeyCache certificateKeyCache, OrganizationSigningKeyRegistry organizationSigningKeyRegistry) {
         this.keyStorePairParser = keyStorePairParser;
         this.certificateRepository = certificateRepository;
+        this.certificateKeyCache = certificateKeyCache;
+        this.organizationSigningKeyRegistry = organizationSigningKeyRegistry;
     }
 
     public UUID createCertificate(UUID orgId, String name, String password, CertificateType type, InputStream certificarte) throws FailedToCreateKeyStorePairException, InvalidFileException, FailedToStoreCertificateException, FailedToCreateFingerprintException {
@@ -52,7 +56,11 @@ public class OrganizationCertificateService {
             } catch (NoSuchAlgorithmException | CertificateEncodingException e) {
                 throw new FailedToCreateFingerprintException("Failed to generate fingerprint", e);
             }
-            return certificateRepository.create(new Certificate(null, orgId, name, type, CertificateStatus.ACTIVE, keyStorePair, fingerprint));
+            UUID certificateId = certificateRepository.create(new Certificate(null, orgId, name, type, CertificateStatus.ACTIVE, keyStorePair, fingerprint));
+            // Certificates are created by organization GUID, so drop every cached key
+            certificateKeyCache.invalidateAll();
+            organizationSigningKeyRegistry.invalidateAll();
+            return certificateId;
         }
     }
 
@@ -60,6 +68,14 @@ public class OrganizationCertificateService {
         return certificateRepository.getAllByOrgId(orgId);
     }
 
+    public CertificateKeySet getKeySetByOrgId(Integer orgId) {
+        return certificateKeyCache.getByOrgId(orgId);
+    }
+
+    public CertificateKeySet getPublicKeySetByClientId(String clientId) {
+        return certificateKeyCache.getPublicKeysByClientId(clientId);
+    }
+
     public Optional<CertificateEntity> get(Integer orgId, UUID certId) {
         return certificateRepository.get(orgId, certId);
     }
@@ -121,6 +137,9 @@ public class OrganizationCertificateService {
             return true;
         }
         CertificateEntity deletedCertificate = certificateRepository.updateStatus(CertificateStatus.INACTIVE.getValue(), orgId, credentialGuid);
+        // Public key certificates are also cached by client ID, so drop the whole key cache
+        certificateKeyCache.invalidateAll();
+        organizationSigningKeyRegistry.invalidate(orgId);
         return deletedCertificate != null;
     }
 }
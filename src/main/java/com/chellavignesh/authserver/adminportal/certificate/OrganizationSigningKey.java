@@ -0,0 +1,10 @@
+package com.chellavignesh.authserver.adminportal.certificate;
+
+import java.security.PrivateKey;
+import java.util.UUID;
+
+/**
+ * Private key and JCA signature algorithm of an organization's latest active ORGANIZATION certificate.
+ */
+public record OrganizationSigningKey(UUID certificateId, PrivateKey privateKey, String algorithm) {
+}
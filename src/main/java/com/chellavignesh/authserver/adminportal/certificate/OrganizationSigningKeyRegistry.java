@@ -0,0 +1,122 @@
+package com.chellavignesh.authserver.adminportal.certificate;
+
+import com.chellavignesh.authserver.config.cache.TwoTierCacheManager;
+import com.chellavignesh.authserver.enums.entity.CertificateType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.cert.X509Certificate;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory registry of the key used to sign token endpoint responses for each organization.
+ * <p>
+ * Private keys are recovered once per organization. Entries are dropped on every pod when the
+ * organization's certificates are created or deleted, through the two-tier cache invalidation
+ * channel, and periodically in case a message was missed.
+ */
+@Component
+@Slf4j
+public class OrganizationSigningKeyRegistry {
+
+    static final String RSA_ALGORITHM = "SHA256withRSA";
+    static final String EC_ALGORITHM = "SHA256withECDSAinP1363Format";
+
+    static final String INVALIDATION_NAME = "organization-signing-key";
+
+    private final CertificateKeyCache certificateKeyCache;
+    private final TwoTierCacheManager cacheManager;
+    private final Map<Integer, Optional<OrganizationSigningKey>> signingKeys = new ConcurrentHashMap<>();
+
+    public OrganizationSigningKeyRegistry(CertificateKeyCache certificateKeyCache, ObjectProvider<TwoTierCacheManager> cacheManager) {
+        this.certificateKeyCache = certificateKeyCache;
+        // Absent with spring.cache.type=local, where there is only one pod to invalidate
+        this.cacheManager = cacheManager.getIfAvailable();
+        if (this.cacheManager != null) {
+            this.cacheManager.addLocalInvalidationListener(INVALIDATION_NAME, this::onRemoteInvalidation);
+        }
+    }
+
+    public Optional<OrganizationSigningKey> get(Integer orgId) {
+        return signingKeys.computeIfAbsent(orgId, this::load);
+    }
+
+    public void invalidate(Integer orgId) {
+        signingKeys.remove(orgId);
+        log.debug("Invalidated signing key for org ID: {}", orgId);
+        publish(String.valueOf(orgId));
+    }
+
+    public void invalidateAll() {
+        signingKeys.clear();
+        log.debug("Invalidated all organization signing keys");
+        publish("");
+    }
+
+    @Scheduled(fixedRateString = "${cache.signing-key.ttl:300000}")
+    public void evictSigningKeys() {
+        log.trace("Evicting organization signing keys");
+        signingKeys.clear();
+    }
+
+    private void publish(String key) {
+        if (cacheManager != null) {
+            cacheManager.publishEvict(INVALIDATION_NAME, key);
+        }
+    }
+
+    private void onRemoteInvalidation(String orgId) {
+        if (orgId.isEmpty()) {
+            signingKeys.clear();
+            return;
+        }
+        try {
+            signingKeys.remove(Integer.valueOf(orgId));
+        } catch (NumberFormatException _) {
+            log.warn("Ignoring signing key invalidation for malformed org ID: {}", orgId);
+        }
+    }
+
+    private Optional<OrganizationSigningKey> load(Integer orgId) {
+        var latest = certificateKeyCache.getByOrgId(orgId).certificates().stream()
+                .filter(certificateEntity -> certificateEntity.getType() == CertificateType.ORGANIZATION)
+                .filter(certificateEntity -> certificateEntity.getStatus() == CertificateStatus.ACTIVE)
+                .filter(certificateEntity -> certificateEntity.getKeyStorePair() != null && certificateEntity.getKeyStorePair().getCertificate().isPresent())
+                .max(Comparator.comparing(certificateEntity -> certificateEntity.getKeyStorePair().getCertificate().map(X509Certificate::getNotAfter).orElseThrow()));
+
+        if (latest.isEmpty()) {
+            log.debug("No active organization certificate found for org ID: {}", orgId);
+            return Optional.empty();
+        }
+
+        PublicKey publicKey = latest.get().getKeyStorePair().getCertificate().get().getPublicKey();
+
+        String algorithm;
+        if (publicKey instanceof RSAPublicKey) {
+            algorithm = RSA_ALGORITHM;
+        } else if (publicKey instanceof ECPublicKey) {
+            algorithm = EC_ALGORITHM;
+        } else {
+            log.error("Unsupported public key algorithm: {}", publicKey.getAlgorithm());
+            return Optional.empty();
+        }
+
+        Optional<PrivateKey> privateKey = latest.get().getKeyStorePair().getPrivateKey();
+        if (privateKey.isEmpty()) {
+            log.error("Could not recover private key of certificate {} for org ID: {}", latest.get().getId(), orgId);
+            return Optional.empty();
+        }
+
+        log.debug("Loaded {} signing key from certificate {} for org ID: {}", algorithm, latest.get().getId(), orgId);
+        return Optional.of(new OrganizationSigningKey(latest.get().getId(), privateKey.get(), algorithm));
+    }
+}
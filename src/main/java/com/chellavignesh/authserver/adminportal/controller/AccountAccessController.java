@@ -30,6 +30,7 @@ import com.chellavignesh.authserver.config.PreAuthGrantedAuthority;
 import com.chellavignesh.authserver.enums.entity.AuthFlowEnum;
 import com.chellavignesh.authserver.enums.entity.UsernameTypeEnum;
 import com.chellavignesh.authserver.security.PasswordValidatorService;
+import com.chellavignesh.authserver.security.exception.PasswordHistoryUnavailableException;
 import com.chellavignesh.authserver.security.exception.PasswordIncorrectSemanticException;
 import com.chellavignesh.authserver.security.exception.PasswordRecentlyUsedException;
 import com.chellavignesh.authserver.security.exception.PasswordValidationException;
@@ -347,7 +348,7 @@ public class AccountAccessController {
                 return "redirect:%s/login".formatted(brandUrlMappingService.getUrlByBrand(branding));
             }
 
-        } catch (PasswordRecentlyUsedException | PasswordIncorrectSemanticException e) {
+        } catch (PasswordRecentlyUsedException | PasswordIncorrectSemanticException | PasswordHistoryUnavailableException e) {
 
             log.error("Failed to update password", e);
             request.getSession().setAttribute("error", e.getMessage());
@@ -0,0 +1,8 @@
+package com.chellavignesh.authserver.adminportal.credential;
+
+/**
+ * Published when an application's credentials are created or change status, so caches built from
+ * the active secrets can drop that application.
+ */
+public record ClientCredentialsChangedEvent(Integer orgId, Integer appId) {
+}
@@ -32,7 +32,7 @@ public class CredentialRepository {
     }
 
     @Caching(evict = {
-            @CacheEvict(value = "registered-client-by-client-id", key = "#dto.appId"),
+            @CacheEvict(cacheNames = {"registered-client-by-client-id", "registered-client-by-app-id"}, allEntries = true),
             @CacheEvict(value = "credential-secrets-by-app", key = "#dto.orgId + ':' + #dto.appId")
     })
     public Credential create(CreateCredentialRequestDto dto) throws CredentialCreationFailedException {
@@ -103,7 +103,7 @@ public class CredentialRepository {
     }
 
     @Caching(evict = {
-            @CacheEvict(cacheNames = "registered-client-by-client-id", key = "#appId"),
+            @CacheEvict(cacheNames = {"registered-client-by-client-id", "registered-client-by-app-id"}, allEntries = true),
             @CacheEvict(cacheNames = "credential-secrets-by-app", key = "#orgId + ':' + #appId")
     })
     public Credential updateStatus(int status, Integer orgId, Integer appId, UUID credentialGuid) throws CredentialUpdateFailedException {
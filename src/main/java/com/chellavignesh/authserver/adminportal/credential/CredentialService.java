@@ -22,6 +22,7 @@ import com.chellavignesh.authserver.keystore.exception.FailedToCreateKeyStorePai
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -38,12 +39,14 @@ public class CredentialService {
     private final SecretService secretService;
     private final OrganizationCertificateService organizationCertificateService;
     private final ApplicationRepository applicationRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CredentialService(CredentialRepository credentialRepository, SecretService secretService, OrganizationCertificateService organizationCertificateService, ApplicationRepository applicationRepository) {
+    public CredentialService(CredentialRepository credentialRepository, SecretService secretService, OrganizationCertificateService organizationCertificateService, ApplicationRepository applicationRepository, ApplicationEventPublisher eventPublisher) {
         this.credentialRepository = credentialRepository;
         this.secretService = secretService;
         this.organizationCertificateService = organizationCertificateService;
         this.applicationRepository = applicationRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public CredentialDao createSharedSecretCredential(CreateCredentialRequestDto dto) throws CredentialCreationFailedException, TooManyCredentialsException, CredentialDuplicateNameException {
@@ -84,6 +87,7 @@ public class CredentialService {
             secretService.deleteSecret(secret.getSecret().getId());
             throw e;
         }
+        eventPublisher.publishEvent(new ClientCredentialsChangedEvent(dto.getOrgId(), dto.getAppId()));
         return new CredentialDao(credential, secret.getSecretValue());
     }
 
@@ -116,6 +120,7 @@ public class CredentialService {
             log.error("Failed to create credential", e);
             throw e;
         }
+        eventPublisher.publishEvent(new ClientCredentialsChangedEvent(dto.getOrgId(), dto.getAppId()));
         return new CredentialDao(credential, null);
     }
 
@@ -157,7 +162,7 @@ public class CredentialService {
         return credentials;
     }
 
-    @Cacheable(cacheNames = "credential-secrets-by-app", key = "#orgId + '-' + #appId")
+    @Cacheable(cacheNames = "credential-secrets-by-app", key = "#orgId + ':' + #appId")
     public List<Credential> getAllClientSecretJwt(Integer orgId, Integer appId) {
         log.debug("Loading and decrypting secrets for application: {}:{}", orgId, appId);
         List<Credential> credentials = credentialRepository.getAll(orgId, appId, AuthFlowEnum.CLIENT_SECRET_JWT);
@@ -226,7 +231,9 @@ public class CredentialService {
                 throw new TooManyCredentialsException("Maximum number of active credentials for application exceeded");
             }
         }
-        return credentialRepository.updateStatus(status, orgId, appId, credentialGuid);
+        Credential updated = credentialRepository.updateStatus(status, orgId, appId, credentialGuid);
+        eventPublisher.publishEvent(new ClientCredentialsChangedEvent(orgId, appId));
+        return updated;
     }
 
     public boolean deleteCredential(Integer orgId, Integer appId, UUID credentialGuid) throws CredentialNotFoundException, CredentialUpdateFailedException, CredentialNotExpiredException {
@@ -252,6 +259,7 @@ public class CredentialService {
         }
         if (cred.getCredentialStatus().equals(CredentialStatus.Disabled) || expired) {
             Credential deletedCredential = credentialRepository.updateStatus(CredentialStatus.Inactive.getValue(), orgId, appId, credentialGuid);
+            eventPublisher.publishEvent(new ClientCredentialsChangedEvent(orgId, appId));
             return deletedCredential != null;
         } else {
             throw new CredentialNotExpiredException("Credential is not expired");
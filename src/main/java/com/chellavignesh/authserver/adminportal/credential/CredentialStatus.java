@@ -8,12 +8,10 @@ import java.util.Map;
 public enum CredentialStatus {
     Inactive, Active, Disabled;
 
-    private static final Map<CredentialStatus, Integer> enumToVal = new HashMap<>();
-    private static final Map<Integer, CredentialStatus> valToEnum = new HashMap<>();
+    private static volatile Map<CredentialStatus, Integer> enumToVal = new HashMap<>();
+    private static volatile Map<Integer, CredentialStatus> valToEnum = new HashMap<>();
 
     public static void setValues(ResultSet rs) {
-        enumToVal.clear();
-        valToEnum.clear();
         var newValues = new HashMap<CredentialStatus, Integer>();
         try {
             newValues.put(Inactive, rs.getInt("InactiveEnumId"));
@@ -22,8 +20,10 @@ public enum CredentialStatus {
         } catch (SQLException _) {
             return;
         }
-        enumToVal.putAll(newValues);
-        enumToVal.forEach((k, v) -> valToEnum.put(v, k));
+        var newLookup = new HashMap<Integer, CredentialStatus>();
+        newValues.forEach((k, v) -> newLookup.put(v, k));
+        valToEnum = newLookup;
+        enumToVal = newValues;
     }
 
     public static CredentialStatus fromString(String enumName) {
@@ -16,13 +16,15 @@ import com.chellavignesh.authserver.adminportal.user.entity.User;
 import com.chellavignesh.authserver.adminportal.user.entity.UserDetails;
 import com.chellavignesh.authserver.adminportal.user.exception.UserNotFoundException;
 import com.chellavignesh.authserver.adminportal.user.exception.UserUpdateFailedException;
+import com.chellavignesh.authserver.notification.outbox.NotificationOutbox;
 import com.chellavignesh.authserver.session.AuthSessionService;
 import com.chellavignesh.authserver.session.NotificationEmail;
-import com.chellavignesh.authserver.session.NotificationEmailServiceClient;
 import com.chellavignesh.authserver.session.entity.AuthSession;
 import com.chellavignesh.authserver.session.exception.AuthSessionNotFoundException;
 import com.chellavignesh.authserver.session.exception.InvalidSessionException;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -37,15 +39,15 @@ public class ForgotCredentialsService {
     private final ApplicationRepository applicationRepository;
     private final UserService userService;
     private final AuthSessionService authSessionService;
-    private final NotificationEmailServiceClient notificationEmailServiceClient;
+    private final NotificationOutbox notificationOutbox;
 
     @Autowired
-    public ForgotCredentialsService(ApplicationRepository applicationRepository, UserService userService, AuthSessionService authSessionService, NotificationEmailServiceClient notificationEmailServiceClient) {
+    public ForgotCredentialsService(ApplicationRepository applicationRepository, UserService userService, AuthSessionService authSessionService, NotificationOutbox notificationOutbox) {
 
         this.applicationRepository = applicationRepository;
         this.userService = userService;
         this.authSessionService = authSessionService;
-        this.notificationEmailServiceClient = notificationEmailServiceClient;
+        this.notificationOutbox = notificationOutbox;
     }
 
     public Optional<Application> checkClientId(String clientId) throws AppNotFoundException {
@@ -112,10 +114,15 @@ public class ForgotCredentialsService {
         return userService.updatePasswordAndNotify(updateUserPasswordDto, userGuid, true, sourceHeaders);
     }
 
+    /**
+     * Queues the email in the notification outbox; it is delivered in the background.
+     */
     public void emailUsername(NotificationEmail notificationEmail) throws FailedToSendEmailException {
 
-        if (!notificationEmailServiceClient.sendEmailNotification(notificationEmail)) {
-            throw new FailedToSendEmailException("Failed to send email notification");
+        try {
+            notificationOutbox.enqueueEmail(notificationEmail);
+        } catch (JsonProcessingException | DataAccessException e) {
+            throw new FailedToSendEmailException("Failed to queue email notification", e);
         }
     }
 }
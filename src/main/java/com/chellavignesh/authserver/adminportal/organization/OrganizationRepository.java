@@ -158,7 +158,7 @@ public class OrganizationRepository {
 
     @Caching(evict = {
             @CacheEvict(value = "organization-get-by-id", key = "#orgId"),
-            @CacheEvict(value = "registered-client-by-client-id", allEntries = true)
+            @CacheEvict(cacheNames = {"registered-client-by-client-id", "registered-client-by-app-id"}, allEntries = true)
     })
     public boolean updateOrganization(Integer orgId, @Valid UpdateOrganizationDto updateOrganizationDto) {
         var parameters = new MapSqlParameterSource()
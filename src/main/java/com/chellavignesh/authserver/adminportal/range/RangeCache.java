@@ -1,21 +1,29 @@
 package com.chellavignesh.authserver.adminportal.range;
 
 import com.chellavignesh.authserver.adminportal.range.entity.Range;
+import com.chellavignesh.authserver.config.referencedata.ReferenceData;
+import com.chellavignesh.authserver.config.referencedata.ReferenceDataRegistry;
 import com.chellavignesh.authserver.enums.entity.RangeTypeEnum;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 public class RangeCache {
 
-    private final RangeService rangeService;
+    static final String DATASET = "ranges";
 
-    private Map<String, Range> rangeMap = null;
+    private final ReferenceData<Map<String, Range>> ranges;
 
-    public RangeCache(RangeService rangeService) {
-        this.rangeService = rangeService;
+    public RangeCache(RangeService rangeService, ReferenceDataRegistry referenceDataRegistry) {
+        this.ranges = referenceDataRegistry.register(DATASET, () -> Collections.unmodifiableMap(rangeService.getAll().stream().collect(
+                Collectors.toMap(
+                        Range::getName,
+                        range -> range
+                )
+        )));
     }
 
     public Range getRange(RangeTypeEnum rangeEnum) {
@@ -23,14 +31,6 @@ public class RangeCache {
     }
 
     public Map<String, Range> getRangeMap() {
-        if (rangeMap == null) {
-            rangeMap = rangeService.getAll().stream().collect(
-                    Collectors.toMap(
-                            Range::getName,
-                            range -> range
-                    )
-            );
-        }
-        return rangeMap;
+        return ranges.get();
     }
 }
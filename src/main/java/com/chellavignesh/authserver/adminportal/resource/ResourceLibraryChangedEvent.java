@@ -0,0 +1,8 @@
+package com.chellavignesh.authserver.adminportal.resource;
+
+/**
+ * Published when a library resource's URI, method or URN changes, so resource matchers compiled
+ * from the applications it is assigned to can be rebuilt.
+ */
+public record ResourceLibraryChangedEvent(Integer resourceLibraryId) {
+}
@@ -7,6 +7,7 @@ import com.chellavignesh.authserver.adminportal.resource.entity.ResourceLibraryR
 import com.chellavignesh.authserver.adminportal.resource.exception.ResourceLibraryCreationFailedException;
 import com.chellavignesh.authserver.adminportal.util.SecurityUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
@@ -52,6 +53,7 @@ public class ResourceLibraryRepository {
         return getById(resourceId).orElseThrow(() -> new ResourceLibraryCreationFailedException("Could not fetch newly created resource by ID."));
     }
 
+    @CacheEvict(value = "application-get-all-assigned-resources-by-client-id", allEntries = true)
     public boolean update(Integer resourceId, ResourceLibraryDto resourceLibraryDto) {
 
         var parameters = new MapSqlParameterSource();
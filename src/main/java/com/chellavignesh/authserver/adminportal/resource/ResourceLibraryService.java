@@ -6,6 +6,7 @@ import com.chellavignesh.authserver.adminportal.resource.dto.ResourceLibraryDto;
 import com.chellavignesh.authserver.adminportal.resource.entity.ResourceLibrary;
 import com.chellavignesh.authserver.adminportal.resource.exception.ResourceLibraryCreationFailedException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
@@ -16,10 +17,12 @@ import java.util.UUID;
 @Service
 public class ResourceLibraryService {
     private final ResourceLibraryRepository resourceLibraryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public ResourceLibraryService(ResourceLibraryRepository resourceLibraryRepository) {
+    public ResourceLibraryService(ResourceLibraryRepository resourceLibraryRepository, ApplicationEventPublisher eventPublisher) {
         this.resourceLibraryRepository = resourceLibraryRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public ResourceLibrary create(ResourceLibraryDto createResourceLibraryDto) throws ResourceLibraryCreationFailedException {
@@ -74,10 +77,13 @@ public class ResourceLibraryService {
             throw new DataIntegrityViolationException("Resource with this URI/Allowed Method/URN already exists.");
         }
 
+        boolean updated;
         try {
-            return this.resourceLibraryRepository.update(resourceLibraryId, resourceLibraryDto);
+            updated = this.resourceLibraryRepository.update(resourceLibraryId, resourceLibraryDto);
         } catch (Exception exception) {
             throw new ResourceLibraryDataAccessException("Error while updating Resource with ID: " + resourceLibraryId, exception);
         }
+        eventPublisher.publishEvent(new ResourceLibraryChangedEvent(resourceLibraryId));
+        return updated;
     }
 }
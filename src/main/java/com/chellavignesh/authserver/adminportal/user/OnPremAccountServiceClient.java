@@ -11,12 +11,17 @@ import com.chellavignesh.authserver.adminportal.metadata.dto.OutgoingMetadataDto
 import com.chellavignesh.authserver.adminportal.user.dto.*;
 import com.chellavignesh.authserver.adminportal.user.entity.UserDetails;
 import com.chellavignesh.authserver.adminportal.user.exception.AccountSyncException;
+import com.chellavignesh.authserver.config.resilience.BulkheadFullException;
+import com.chellavignesh.authserver.config.resilience.CircuitBreakerOpenException;
+import com.chellavignesh.authserver.config.resilience.InFlightCoalescer;
+import com.chellavignesh.authserver.config.resilience.OutboundCallGuard;
 import com.chellavignesh.authserver.session.AccountSearch;
 import com.chellavignesh.libcrypto.dto.BaseRequestObject;
 import com.chellavignesh.libcrypto.exception.BadRequestException;
 import com.chellavignesh.libcrypto.service.impl.SchemaParserService;
 import com.chellavignesh.libcrypto.service.util.Constants;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,11 +49,29 @@ public class OnPremAccountServiceClient {
     private final AuthClient authClient;
     private final URI onPremAccountServiceGetAccountsUrl;
     private final ExternalSourceService externalSourceService;
-
-    public OnPremAccountServiceClient(AuthClient noProxyAuthClient, @Value("${ascensus.url.account}") URI onPremAccountServiceGetAccountsUrl, ExternalSourceService externalSourceService) {
+    private final Duration requestTimeout;
+    private final Duration syncTimeout;
+    private final OutboundCallGuard callGuard;
+    // Keyed by request body: concurrent logins for the same user share one search
+    private final InFlightCoalescer<String, HttpResponse<String>> searches;
+
+    public OnPremAccountServiceClient(AuthClient noProxyAuthClient,
+                                      @Value("${ascensus.url.account}") URI onPremAccountServiceGetAccountsUrl,
+                                      ExternalSourceService externalSourceService,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${outbound.account.request-timeout:10000}") long requestTimeoutMillis,
+                                      @Value("${outbound.account.sync-timeout:15000}") long syncTimeoutMillis,
+                                      @Value("${outbound.account.max-concurrent:20}") int maxConcurrent,
+                                      @Value("${outbound.account.max-wait:100}") long maxWaitMillis,
+                                      @Value("${outbound.account.failure-threshold:5}") int failureThreshold,
+                                      @Value("${outbound.account.open-duration:30000}") long openDurationMillis) {
         this.authClient = noProxyAuthClient;
         this.onPremAccountServiceGetAccountsUrl = onPremAccountServiceGetAccountsUrl;
         this.externalSourceService = externalSourceService;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMillis);
+        this.syncTimeout = Duration.ofMillis(syncTimeoutMillis);
+        this.callGuard = new OutboundCallGuard("onprem-account", maxConcurrent, Duration.ofMillis(maxWaitMillis), failureThreshold, Duration.ofMillis(openDurationMillis), meterRegistry);
+        this.searches = new InFlightCoalescer<>("onprem-account-search", meterRegistry);
     }
 
     /* -------------------------------------------------
@@ -79,6 +102,8 @@ public class OnPremAccountServiceClient {
             log.error("Failed to sign search user request", e);
         } catch (FailedToGetAccessTokenException e) {
             log.error("Failed to get access token", e);
+        } catch (CircuitBreakerOpenException | BulkheadFullException e) {
+            log.warn("Skipped user search request to account service: {}", e.getMessage());
         } catch (Exception e) {
             log.error("Failed to get JSON payload from parser service or something else has gone wrong", e);
         }
@@ -125,6 +150,8 @@ public class OnPremAccountServiceClient {
             log.error("Failed to sign search user request", e);
         } catch (FailedToGetAccessTokenException e) {
             log.error("Failed to get access token", e);
+        } catch (CircuitBreakerOpenException | BulkheadFullException e) {
+            log.warn("Skipped user search request to account service: {}", e.getMessage());
         } catch (Exception e) {
             log.error("Failed to get JSON payload from parser service or something else has gone wrong", e);
         }
@@ -163,6 +190,8 @@ public class OnPremAccountServiceClient {
             log.warn("Failed to sign search user request", e);
         } catch (FailedToGetAccessTokenException e) {
             log.warn("Failed to get access token", e);
+        } catch (CircuitBreakerOpenException | BulkheadFullException e) {
+            log.warn("Skipped user search request to account service: {}", e.getMessage());
         } catch (Exception e) {
             log.warn("Failed to get JSON payload from parser service or something else has gone wrong", e);
         }
@@ -290,19 +319,24 @@ public class OnPremAccountServiceClient {
 
     private HttpResponse<String> sendRequest(BaseRequestObject baseRequest) throws Exception {
 
-        var bodyBytes = SchemaParserService.getJsonValue(baseRequest, baseRequest.getSchema()).getBytes(StandardCharsets.UTF_8);
+        var body = SchemaParserService.getJsonValue(baseRequest, baseRequest.getSchema());
+        var bodyBytes = body.getBytes(StandardCharsets.UTF_8);
 
-        var request = HttpRequest.newBuilder(onPremAccountServiceGetAccountsUrl).header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE).timeout(Duration.ofSeconds(10)) // OAuth 2.0/OIDC standard: UserInfo endpoint (5–10s)
+        var request = HttpRequest.newBuilder(onPremAccountServiceGetAccountsUrl).header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE).timeout(requestTimeout)
                 .method("GET", HttpRequest.BodyPublishers.ofByteArray(bodyBytes)).build();
 
-        return authClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8), authClient.signRequestBody(bodyBytes));
+        return searches.execute(body, () -> callGuard.call(
+                () -> authClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8), authClient.signRequestBody(bodyBytes)),
+                response -> response.statusCode() >= 500));
     }
 
-    private HttpResponse<String> putRequest(String payload, AccessTokenData accessToken, String requestId) throws IOException, InterruptedException, FailedToGetAccessTokenException, UnauthorizedException, FailedToSignMessageException {
+    private HttpResponse<String> putRequest(String payload, AccessTokenData accessToken, String requestId) throws Exception {
 
-        HttpRequest request = HttpRequest.newBuilder(onPremAccountServiceGetAccountsUrl).header(Constants.X_REQUEST_ID, requestId).header(Constants.X_REQUEST_DATETIME, Instant.now().toString()).header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE).timeout(Duration.ofSeconds(15)) // OAuth 2.0 standard: authorization endpoint (10–15s)
+        HttpRequest request = HttpRequest.newBuilder(onPremAccountServiceGetAccountsUrl).header(Constants.X_REQUEST_ID, requestId).header(Constants.X_REQUEST_DATETIME, Instant.now().toString()).header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE).timeout(syncTimeout)
                 .PUT(HttpRequest.BodyPublishers.ofString(payload)).build();
 
-        return authClient.send(request, HttpResponse.BodyHandlers.ofString(), authClient.signRequestBody(payload.getBytes(), accessToken), accessToken);
+        return callGuard.call(
+                () -> authClient.send(request, HttpResponse.BodyHandlers.ofString(), authClient.signRequestBody(payload.getBytes(), accessToken), accessToken),
+                response -> response.statusCode() >= 500);
     }
 }
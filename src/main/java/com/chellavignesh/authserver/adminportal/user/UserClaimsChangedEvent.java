@@ -0,0 +1,10 @@
+package com.chellavignesh.authserver.adminportal.user;
+
+import java.util.UUID;
+
+/**
+ * Published when a user's profile, status, username, metadata or group changes, so claims built
+ * from that user can be recomputed.
+ */
+public record UserClaimsChangedEvent(UUID userGuid) {
+}
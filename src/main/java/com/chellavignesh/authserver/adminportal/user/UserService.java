@@ -25,6 +25,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
@@ -46,9 +47,10 @@ public class UserService {
     private final GlobalConfigCache globalConfigCache;
     private final OnPremAccountServiceClient onPremAccountService;
     private final AccountSyncType accountSyncType;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public UserService(UserRepository userRepository, ExternalSourceService externalSourceService, PasswordEncoderFactory passwordEncoderFactory, NotificationService notificationService, GlobalConfigCache globalConfigCache, OnPremAccountServiceClient onPremAccountService, @Value("${toggles.account.sync.type:none}") AccountSyncType accountSyncType) {
+    public UserService(UserRepository userRepository, ExternalSourceService externalSourceService, PasswordEncoderFactory passwordEncoderFactory, NotificationService notificationService, GlobalConfigCache globalConfigCache, OnPremAccountServiceClient onPremAccountService, @Value("${toggles.account.sync.type:none}") AccountSyncType accountSyncType, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.externalSourceService = externalSourceService;
         this.passwordEncoderFactory = passwordEncoderFactory;
@@ -56,6 +58,7 @@ public class UserService {
         this.globalConfigCache = globalConfigCache;
         this.onPremAccountService = onPremAccountService;
         this.accountSyncType = accountSyncType;
+        this.eventPublisher = eventPublisher;
     }
 
     public User create(CreateUserDto dto, int groupId, boolean hashedPassword) throws UserCreationFailedException, InvalidBrandingException {
@@ -191,6 +194,7 @@ public class UserService {
         String password = UserDtoMapper.assemblePassword(dto.getCredential().getPasswordHash(), dto.getCredential().getcIndex());
         dto.getCredential().setPasswordHash(password);
         User user = userRepository.reactivateAccountWithPassword(dto, userGuid, externalSource.getSourceId(), passwordVersion, unlockAccount);
+        eventPublisher.publishEvent(new UserClaimsChangedEvent(userGuid));
 
         notifyProfileSync(user, externalSource, notificationIntent, sourceHeaders, notificationConfig);
 
@@ -241,6 +245,7 @@ public class UserService {
             if (user == null) {
                 throw new UserUpdateFailedException("Failed to update user profile.");
             }
+            eventPublisher.publishEvent(new UserClaimsChangedEvent(userGuid));
 
             final var userChangesForNotification = MapDiffUtil.createDiffFor(userBeforeUpdate, dto, UPDATE_PROFILE_PROPERTY_EXTRACTORS);
 
@@ -254,6 +259,7 @@ public class UserService {
             if (user == null) {
                 throw new UserUpdateFailedException("Failed to update user profile.");
             }
+            eventPublisher.publishEvent(new UserClaimsChangedEvent(userGuid));
         }
 
         return user;
@@ -269,6 +275,7 @@ public class UserService {
             log.error("Failed to update user profile for user with GUID: {}", userGuid);
             throw new UserUpdateFailedException("Failed to update user profile.");
         }
+        eventPublisher.publishEvent(new UserClaimsChangedEvent(userGuid));
 
         return user;
     }
@@ -319,6 +326,7 @@ public class UserService {
         } else {
             log.warn("updateEmail() - Properties sync flag is a value that is not sync or async: {}", accountSyncType);
             user = userRepository.updateEmail(dto, userDetails.rowGuid());
+            eventPublisher.publishEvent(new UserClaimsChangedEvent(userDetails.rowGuid()));
         }
 
         return user;
@@ -330,6 +338,7 @@ public class UserService {
         if (user == null) {
             throw new UserUpdateFailedException("Failed to update user email.");
         }
+        eventPublisher.publishEvent(new UserClaimsChangedEvent(userGuid));
 
         notificationService.send(NotificationContext.createFor(dto, branding, user, sourceHeaders), (channel, context) -> channel.notifyEmailChange(context, dto.getEmail()));
 
@@ -385,6 +394,7 @@ public class UserService {
         if (user == null) {
             throw new UserUpdateFailedException("Failed to update user password.");
         }
+        eventPublisher.publishEvent(new UserClaimsChangedEvent(userGuid));
 
         notificationService.send(NotificationContext.createFor(dto, externalSource, user, sourceHeaders), (channel, context) -> channel.notifyUsernameChange(context, dto.getUsername()));
 
@@ -402,12 +412,20 @@ public class UserService {
 
         Integer disallowedRecentPasswordCount = globalConfigCache.getGlobalConfig(GlobalConfigTypeEnum.DISALLOWED_RECENT_PASSWORD_COUNT);
 
-        return userRepository.updatePassword(dto, userGuid, passwordEncoderFactory.encode(Base64.getEncoder().encodeToString(dto.getPassword().getBytes())), PasswordEncoderFactory.currentVersion, externalId, unlockAccount, disallowedRecentPasswordCount);
+        User user = userRepository.updatePassword(dto, userGuid, passwordEncoderFactory.encode(Base64.getEncoder().encodeToString(dto.getPassword().getBytes())), PasswordEncoderFactory.currentVersion, externalId, unlockAccount, disallowedRecentPasswordCount);
+        if (user != null && unlockAccount) {
+            eventPublisher.publishEvent(new UserClaimsChangedEvent(userGuid));
+        }
+        return user;
     }
 
     public User savePassword(UpdateUserPasswordDto dto, UUID userGuid, boolean unlockAccount) throws UserUpdateFailedException {
         Integer disallowedRecentPasswordCount = globalConfigCache.getGlobalConfig(GlobalConfigTypeEnum.DISALLOWED_RECENT_PASSWORD_COUNT);
-        return userRepository.updatePassword(dto, userGuid, passwordEncoderFactory.encode(Base64.getEncoder().encodeToString(dto.getPassword().getBytes())), PasswordEncoderFactory.currentVersion, unlockAccount, disallowedRecentPasswordCount);
+        User user = userRepository.updatePassword(dto, userGuid, passwordEncoderFactory.encode(Base64.getEncoder().encodeToString(dto.getPassword().getBytes())), PasswordEncoderFactory.currentVersion, unlockAccount, disallowedRecentPasswordCount);
+        if (user != null && unlockAccount) {
+            eventPublisher.publishEvent(new UserClaimsChangedEvent(userGuid));
+        }
+        return user;
     }
 
     // fetches only Active users(Person.Profile.Status = 1)
@@ -421,6 +439,10 @@ public class UserService {
         return user.map(u -> this.getByGuidAndBranding(user.get().getRowGuid(), branding)).orElse(Optional.empty());
     }
 
+    public Optional<UUID> getGuidByUsernameAndBranding(String username, String branding) {
+        return userRepository.getUserByUsernameAndBranding(username, branding).map(User::getRowGuid);
+    }
+
     public Optional<UserCredentials> getCredentialsByUsername(String username) {
         return userRepository.getCredentialsByUsername(username);
     }
@@ -446,6 +468,7 @@ public class UserService {
         if (user == null) {
             throw new UserUpdateFailedException("Failed to update user metadata.");
         }
+        eventPublisher.publishEvent(new UserClaimsChangedEvent(userGuid));
         return user;
     }
 
@@ -463,12 +486,14 @@ public class UserService {
         if (user == null) {
             throw new UserDeleteFailedException("Failed to inactive user.");
         }
+        eventPublisher.publishEvent(new UserClaimsChangedEvent(userGuid));
         return user;
     }
 
     public Optional<User> updateUserStatusByGuid(UserStatus status, UUID userGuid) throws UserDeleteFailedException {
-
-        return Optional.ofNullable(userRepository.updateStatus(status.getValue(), userGuid));
+        Optional<User> user = Optional.ofNullable(userRepository.updateStatus(status.getValue(), userGuid));
+        eventPublisher.publishEvent(new UserClaimsChangedEvent(userGuid));
+        return user;
     }
 
     public Optional<UserDetails> getByGuid(UUID userGuid) {
@@ -511,22 +536,36 @@ public class UserService {
     public Optional<UserAuthDetails> updateAccessFailedCountWithExternalSourceCode(String userName, String sourceCode, int loginSuccess) {
 
         int accessFailedLimit = this.globalConfigCache.getGlobalConfig(GlobalConfigTypeEnum.MAX_PASSWORD_FAILURE_COUNT);
-        return this.userRepository.updateAccessFailedCountWithExternalSourceCode(userName, sourceCode, loginSuccess, accessFailedLimit);
+        Optional<UserAuthDetails> userAuthDetails = this.userRepository.updateAccessFailedCountWithExternalSourceCode(userName, sourceCode, loginSuccess, accessFailedLimit);
+
+        // A failed attempt may have locked the account; successful logins leave the claims alone
+        if (loginSuccess == 0) {
+            userAuthDetails.filter(details -> Boolean.TRUE.equals(details.getCredentialLocked()))
+                    .ifPresent(details -> eventPublisher.publishEvent(new UserClaimsChangedEvent(details.getRowGuid())));
+        }
+        return userAuthDetails;
     }
 
     public void unlockAccount(String userName, String sourceCode) {
         this.userRepository.unlockAccount(userName, sourceCode);
+        publishClaimsChanged(userName, sourceCode);
     }
 
     public void lockAccount(String userName, String sourceCode) {
         int accessFailedLimit = this.globalConfigCache.getGlobalConfig(GlobalConfigTypeEnum.MAX_PASSWORD_FAILURE_COUNT);
         this.userRepository.lockAccount(userName, sourceCode, accessFailedLimit);
+        publishClaimsChanged(userName, sourceCode);
     }
 
     public boolean isUserAccountLocked(UserAuthDetails userAuthDetails) {
         return userAuthDetails.getCredentialLocked();
     }
 
+    private void publishClaimsChanged(String userName, String sourceCode) {
+        this.userRepository.getUserAuthDetailsByUsernameAndExternalSourceCode(userName, sourceCode)
+                .ifPresent(details -> eventPublisher.publishEvent(new UserClaimsChangedEvent(details.getRowGuid())));
+    }
+
     @NotNull
     private ExternalSource resolveBrandingFrom(@NotNull final NotifiableUpdateDto dto) throws UserUpdateFailedException {
         return resolveBrandingFrom(dto.getBranding());
@@ -22,7 +22,8 @@ public class KPCVEncoder {
 
     SecureRandom rnd = new SecureRandom();
     static HexFormat hf = HexFormat.of();
-    SecretKeyFactory skf;
+    // SecretKeyFactory instances are not thread-safe; one per thread lets a shared encoder hash concurrently
+    final ThreadLocal<SecretKeyFactory> skf = ThreadLocal.withInitial(KPCVEncoder::newSecretKeyFactory);
 
     static final int SALT_BYTES_LENGTH = 64;
     static final int PEPPER_KEY_BYTES_LENGTH = 16;
@@ -55,11 +56,14 @@ public class KPCVEncoder {
 
         SecretKey someKey = entry.getSecretKey();
         pepperKey = someKey.getEncoded();
+    }
 
+    private static SecretKeyFactory newSecretKeyFactory() {
         try {
-            skf = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA512");
+            return SecretKeyFactory.getInstance("PBKDF2WithHmacSHA512");
         } catch (NoSuchAlgorithmException e) {
             log.error("Algorithm PBKDF2WithHmacSHA512 not found", e);
+            return null;
         }
     }
 
@@ -136,7 +140,7 @@ public class KPCVEncoder {
 
     private byte[] generateHash(char[] passwordToHash, byte[] saltBytes, int iterations) throws InvalidKeySpecException {
         PBEKeySpec spec = new PBEKeySpec(passwordToHash, saltBytes, iterations, 512);
-        SecretKey sk = skf.generateSecret(spec);
+        SecretKey sk = skf.get().generateSecret(spec);
         return sk.getEncoded();
     }
 
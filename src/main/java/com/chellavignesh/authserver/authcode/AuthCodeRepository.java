@@ -2,14 +2,21 @@ package com.chellavignesh.authserver.authcode;
 
 import com.chellavignesh.authserver.adminportal.application.ApplicationService;
 import com.chellavignesh.authserver.authcode.dto.CreateAuthCodeDto;
+import com.chellavignesh.authserver.authcode.dto.IssueAuthCodeDto;
 import com.chellavignesh.authserver.authcode.entity.AuthCode;
 import com.chellavignesh.authserver.authcode.entity.AuthCodeRowMapper;
 import com.chellavignesh.authserver.authcode.exception.AuthCodeCreationFailedException;
+import com.chellavignesh.authserver.enums.entity.TokenTypeEnum;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -41,6 +48,49 @@ public class AuthCodeRepository {
         }
     }
 
+    @CacheEvict(cacheNames = "session-get-by-session-id", key = "#dto.sessionId")
+    public AuthCode issue(IssueAuthCodeDto dto) throws AuthCodeCreationFailedException {
+        byte[] codeHash;
+        try {
+            codeHash = MessageDigest.getInstance("SHA-256").digest(dto.getCode().getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new AuthCodeCreationFailedException("SHA-256 algorithm not available");
+        }
+
+        var parameters = new MapSqlParameterSource()
+                .addValue("applicationId", dto.getApplicationId())
+                .addValue("sessionId", dto.getSessionId())
+                .addValue("subjectId", dto.getSubjectId())
+                .addValue("code", dto.getCode())
+                .addValue("codeHash", codeHash)
+                .addValue("codeTokenTypeId", TokenTypeEnum.CODE.getValue())
+                .addValue("codeTimeToLive", dto.getCodeTimeToLive())
+                .addValue("codeChallenge", dto.getCodeChallenge())
+                .addValue("codeChallengeMethod", dto.getCodeChallengeMethod())
+                .addValue("redirectUri", dto.getRedirectUri())
+                .addValue("branding", dto.getBranding());
+
+        Optional<AuthCode> authCode;
+        try {
+            authCode = jdbcTemplate.query(
+                    """
+                            {call Token.IssueAuthorizationCode(
+                                :applicationId, :sessionId, :subjectId, :code, :codeHash, :codeTokenTypeId,
+                                :codeTimeToLive, :codeChallenge, :codeChallengeMethod, :redirectUri, :branding)}
+                            """,
+                    parameters,
+                    new AuthCodeRowMapper()
+            ).stream().findFirst();
+        } catch (DataAccessException e) {
+            throw new AuthCodeCreationFailedException("Failed to issue auth code: " + e.getMessage());
+        }
+
+        if (authCode.isEmpty()) {
+            throw new AuthCodeCreationFailedException("Failed to issue auth code");
+        }
+        return authCode.get();
+    }
+
     public Optional<AuthCode> getById(Integer id) {
         return jdbcTemplate.query(
                 "{call Token.GetAuthCodeById(:id)}",
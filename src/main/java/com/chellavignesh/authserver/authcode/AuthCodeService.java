@@ -1,6 +1,7 @@
 package com.chellavignesh.authserver.authcode;
 
 import com.chellavignesh.authserver.authcode.dto.CreateAuthCodeDto;
+import com.chellavignesh.authserver.authcode.dto.IssueAuthCodeDto;
 import com.chellavignesh.authserver.authcode.entity.AuthCode;
 import com.chellavignesh.authserver.authcode.exception.AuthCodeCreationFailedException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,6 +23,14 @@ public class AuthCodeService {
         return authCodeRepository.create(dto);
     }
 
+    /**
+     * Writes the auth code, PKCE record, CODE token and session branding in one transaction.
+     * Issuing the same code again returns the existing row without writing anything.
+     */
+    public AuthCode issue(IssueAuthCodeDto dto) throws AuthCodeCreationFailedException {
+        return authCodeRepository.issue(dto);
+    }
+
     public Optional<UUID> getSessionIdByAuthCode(String authCode) {
         return authCodeRepository.getSessionIdByAuthCode(authCode);
     }
@@ -0,0 +1,24 @@
+package com.chellavignesh.authserver.authcode.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Everything written when an authorization code is issued: the code, its PKCE challenge, its
+ * opaque CODE token and the session's branding and redirect URI.
+ */
+@Data
+@NoArgsConstructor
+public class IssueAuthCodeDto {
+    private Integer applicationId;
+    private UUID sessionId;
+    private String subjectId;
+    private String code;
+    private Integer codeTimeToLive;
+    private String codeChallenge;
+    private String codeChallengeMethod;
+    private String redirectUri;
+    private String branding;
+}
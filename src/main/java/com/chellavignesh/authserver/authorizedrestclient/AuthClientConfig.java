@@ -8,11 +8,9 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.io.IOException;
-import java.net.*;
+import java.net.URI;
 import java.net.http.HttpClient;
 import java.time.Duration;
-import java.util.Arrays;
 import java.util.List;
 
 @Slf4j
@@ -29,20 +27,16 @@ public class AuthClientConfig {
                 .connectTimeout(Duration.ofSeconds(10))
                 .version(HttpClient.Version.HTTP_1_1)
                 .followRedirects(HttpClient.Redirect.NORMAL);
-        if (httpProxyServer != null && !httpProxyServer.isBlank()) {
-            ProxySelector proxySelector = createProxySelector(httpProxyServer, httpProxyPort, nonProxyHosts);
-            builder.proxy(proxySelector);
-            log.info("Proxy server='{}' port='{}' -> {}", httpProxyServer, httpProxyPort, proxySelector.select(null));
-        } else {
-            log.info("Proxy is NOT used");
-        }
+        OutboundProxySelector.of(httpProxyServer, httpProxyPort, nonProxyHosts)
+                .ifPresentOrElse(builder::proxy, () -> log.info("Proxy is NOT used"));
         return builder.build();
     }
 
+    // Only the on-prem account service uses this client, so it is that service's connection pool
     @Bean
-    public HttpClient noProxyHttpClient() {
+    public HttpClient noProxyHttpClient(@Value("${outbound.account.connect-timeout:10000}") long connectTimeoutMillis) {
         return HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(10))
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
                 .version(HttpClient.Version.HTTP_1_1)
                 .followRedirects(HttpClient.Redirect.NORMAL)
                 .build();
@@ -88,44 +82,4 @@ public class AuthClientConfig {
         var config = new ClientCredentialJwtConfig(rootUrl, tokenEndpoint, jwksEndpoint, orgId, clientId, List.of("read"), sharedSecret);
         return AuthClientFactory.from(config, 1, sharedHttpClient);
     }
-
-    private ProxySelector createProxySelector(String httpProxyServer, String httpProxyPort, String nonProxyHosts) {
-
-        String domainName = httpProxyServer;
-        String[] parts = httpProxyServer.split("//");
-        if (parts.length >= 2) {
-            domainName = parts[parts.length - 1];
-        }
-        String finalDomainName = domainName;
-
-        int proxyPort = 80;
-        if (httpProxyPort != null && !httpProxyPort.isBlank()) {
-            proxyPort = Integer.parseInt(httpProxyPort);
-        }
-        int finalProxyPort = proxyPort;
-
-        InetSocketAddress proxyAddress = new InetSocketAddress(finalDomainName, proxyPort);
-
-        return new ProxySelector() {
-
-            @Override
-            public List<Proxy> select(URI uri) {
-                log.debug("Proxy select uri: {}", uri);
-                List<String> nonProxyHostsList = Arrays.asList(nonProxyHosts.replace("\"", "").split("\\|"));
-
-                if (nonProxyHostsList.contains(uri.getHost())) {
-                    log.debug("Proxy bypass for host: {}", uri.getHost());
-                    return List.of(Proxy.NO_PROXY);
-                } else {
-                    log.debug("Using proxy: {}:{} for {}", finalDomainName, finalProxyPort, uri.getHost());
-                    return List.of(new Proxy(Proxy.Type.HTTP, proxyAddress));
-                }
-            }
-
-            @Override
-            public void connectFailed(URI uri, SocketAddress sa, IOException ioe) {
-                log.error("Failed to connect to {} Reason: {}, {}", uri, sa, ioe.getMessage());
-            }
-        };
-    }
 }
@@ -0,0 +1,72 @@
+package com.chellavignesh.authserver.authorizedrestclient;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Sends outbound calls through the HTTP proxy except for hosts listed in {@code http.nonProxyHosts}.
+ * <p>
+ * The proxy address and the {@code |}-separated bypass list are parsed once, so selecting a proxy
+ * is a set lookup.
+ */
+@Slf4j
+public final class OutboundProxySelector extends ProxySelector {
+
+    private static final List<Proxy> NO_PROXY = List.of(Proxy.NO_PROXY);
+
+    private final List<Proxy> proxy;
+    private final Set<String> nonProxyHosts;
+
+    private OutboundProxySelector(InetSocketAddress proxyAddress, Set<String> nonProxyHosts) {
+        this.proxy = List.of(new Proxy(Proxy.Type.HTTP, proxyAddress));
+        this.nonProxyHosts = nonProxyHosts;
+    }
+
+    /**
+     * Returns a selector for the given proxy settings, or empty when no proxy host is configured.
+     */
+    public static Optional<OutboundProxySelector> of(String httpProxyServer, String httpProxyPort, String nonProxyHosts) {
+        if (httpProxyServer == null || httpProxyServer.isBlank()) {
+            return Optional.empty();
+        }
+
+        String domainName = httpProxyServer;
+        String[] parts = httpProxyServer.split("//");
+        if (parts.length >= 2) {
+            domainName = parts[parts.length - 1];
+        }
+
+        int proxyPort = 80;
+        if (httpProxyPort != null && !httpProxyPort.isBlank()) {
+            proxyPort = Integer.parseInt(httpProxyPort.trim());
+        }
+
+        Set<String> bypass = nonProxyHosts == null ? Set.of() : Arrays.stream(nonProxyHosts.replace("\"", "").split("\\|"))
+                .map(String::trim)
+                .filter(host -> !host.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+
+        log.info("Proxy server='{}' port='{}', bypassed for {}", domainName, proxyPort, bypass);
+        return Optional.of(new OutboundProxySelector(new InetSocketAddress(domainName, proxyPort), bypass));
+    }
+
+    @Override
+    public List<Proxy> select(URI uri) {
+        if (uri != null && nonProxyHosts.contains(uri.getHost())) {
+            return NO_PROXY;
+        }
+        return proxy;
+    }
+
+    @Override
+    public void connectFailed(URI uri, SocketAddress sa, IOException ioe) {
+        log.error("Failed to connect to {} at {}. Reason: {}", uri, sa, ioe.getMessage());
+    }
+}
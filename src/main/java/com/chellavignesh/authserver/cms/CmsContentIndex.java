@@ -0,0 +1,169 @@
+package com.chellavignesh.authserver.cms;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ResourceUtils;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * In-memory copy of the CMS JSON files under {@code cms.file.location}, keyed by file name
+ * without the {@code .json} extension ({@code branding} or {@code branding.cmsContext}).
+ * <p>
+ * The directory is polled every {@code cms.reload-interval}. When a file's size or modification
+ * time changes, every file is read again and the new content replaces the old in one swap, so a
+ * page never mixes old and new content. If a file cannot be parsed during a reload, its previous
+ * content is kept.
+ */
+@Component
+public class CmsContentIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CmsContentIndex.class);
+
+    private static final String EXTENSION = ".json";
+    private static final TypeReference<Map<String, String>> CONTENT_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+    private final String fileLocation;
+
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Set.of(), "", 0, Instant.EPOCH);
+    private volatile List<FileStamp> stamps = List.of();
+
+    public CmsContentIndex(ObjectMapper objectMapper, MeterRegistry meterRegistry, @Value("${cms.file.location}") String fileLocation) {
+        this.objectMapper = objectMapper;
+        this.fileLocation = fileLocation;
+
+        Gauge.builder("authserver.cms.content.version", this, index -> index.snapshot.version())
+                .description("Number of CMS content versions loaded since startup")
+                .register(meterRegistry);
+        Gauge.builder("authserver.cms.content.loaded", this, index -> index.snapshot.loadedAt().getEpochSecond())
+                .baseUnit("seconds")
+                .description("Epoch time at which the current CMS content was loaded")
+                .register(meterRegistry);
+        Gauge.builder("authserver.cms.content.files", this, index -> index.snapshot.contents().size())
+                .description("CMS files in the current content version")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void load() {
+        refresh();
+    }
+
+    /**
+     * Returns the content of the named file, or empty if there is no such file.
+     *
+     * @throws IOException if the file exists but has never been parsed successfully
+     */
+    public Optional<Map<String, String>> get(String name) throws IOException {
+        Snapshot current = snapshot;
+        Map<String, String> content = current.contents().get(name);
+        if (content == null && current.unreadable().contains(name)) {
+            throw new IOException("CMS file " + name + EXTENSION + " could not be parsed");
+        }
+        return Optional.ofNullable(content);
+    }
+
+    @Scheduled(fixedDelayString = "${cms.reload-interval:30000}", initialDelayString = "${cms.reload-interval:30000}")
+    public void refresh() {
+        try {
+            Path directory = directory();
+            List<FileStamp> current = directory == null ? List.of() : stamp(directory);
+            if (current.equals(stamps)) {
+                return;
+            }
+            reload(current);
+            stamps = current;
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not refresh CMS content from {}: {}", fileLocation, e.getMessage(), e);
+        }
+    }
+
+    private void reload(List<FileStamp> files) throws IOException {
+        Snapshot previous = snapshot;
+        Map<String, Map<String, String>> contents = new HashMap<>();
+        Set<String> unreadable = new HashSet<>();
+        MessageDigest checksum = sha256();
+
+        for (FileStamp file : files) {
+            String name = file.path().getFileName().toString();
+            name = name.substring(0, name.length() - EXTENSION.length());
+            byte[] bytes = Files.readAllBytes(file.path());
+            checksum.update(file.path().getFileName().toString().getBytes(StandardCharsets.UTF_8));
+            checksum.update(bytes);
+            try {
+                contents.put(name, Collections.unmodifiableMap(objectMapper.readValue(bytes, CONTENT_TYPE)));
+            } catch (IOException e) {
+                Map<String, String> kept = previous.contents().get(name);
+                if (kept != null) {
+                    log.warn("CMS file {} could not be parsed; keeping its previous content: {}", file.path(), e.getMessage());
+                    contents.put(name, kept);
+                } else {
+                    log.error("CMS file {} could not be parsed: {}", file.path(), e.getMessage());
+                    unreadable.add(name);
+                }
+            }
+        }
+
+        String digest = HexFormat.of().formatHex(checksum.digest());
+        if (digest.equals(previous.checksum())) {
+            return;
+        }
+        snapshot = new Snapshot(Map.copyOf(contents), Set.copyOf(unreadable), digest, previous.version() + 1, Instant.now());
+        log.info("Loaded CMS content version {} from {}: {} files, checksum {}", previous.version() + 1, fileLocation, contents.size(), digest);
+    }
+
+    private Path directory() {
+        try {
+            return ResourceUtils.getFile(fileLocation).toPath();
+        } catch (FileNotFoundException e) {
+            log.debug("CMS location {} is not on the file system", fileLocation);
+            return null;
+        }
+    }
+
+    private static List<FileStamp> stamp(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> paths = Files.list(directory)) {
+            List<FileStamp> result = new ArrayList<>();
+            for (Path path : paths.filter(p -> p.getFileName().toString().endsWith(EXTENSION) && Files.isRegularFile(p)).sorted().toList()) {
+                result.add(new FileStamp(path, Files.size(path), Files.getLastModifiedTime(path).toMillis()));
+            }
+            return result;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    }
+
+    private record Snapshot(Map<String, Map<String, String>> contents, Set<String> unreadable, String checksum, long version, Instant loadedAt) {
+    }
+
+    private record FileStamp(Path path, long size, long lastModified) {
+    }
+}
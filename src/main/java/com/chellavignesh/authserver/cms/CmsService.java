@@ -7,16 +7,11 @@ import com.chellavignesh.authserver.cms.exception.CmsFileNotFoundException;
 import com.chellavignesh.authserver.cms.exception.CmsProcessingException;
 import com.chellavignesh.authserver.config.ApplicationConstants;
 import com.chellavignesh.authserver.session.entity.AuthSession;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.Map;
 import java.util.Optional;
@@ -24,44 +19,31 @@ import java.util.Optional;
 @Service
 public class CmsService {
 
-    @Autowired
-    private ObjectMapper objectMapper;
-
-    @Value("${cms.file.location}")
-    private String fileLocation;
-
     private static final Logger log = LoggerFactory.getLogger(CmsService.class);
 
     private final ApplicationService applicationService;
+    private final CmsContentIndex cmsContentIndex;
 
-    public CmsService(ApplicationService applicationService) {
+    public CmsService(ApplicationService applicationService, CmsContentIndex cmsContentIndex) {
         this.applicationService = applicationService;
+        this.cmsContentIndex = cmsContentIndex;
     }
 
     private String createFileName(String branding, Optional<String> optCmsContext) {
-        return optCmsContext.map(cmsContext -> branding + "." + cmsContext + ".json").orElse(branding + ".json");
+        return optCmsContext.map(cmsContext -> branding + "." + cmsContext).orElse(branding);
     }
 
     private Map<String, String> parse(String fileName) throws CmsFileNotFoundException, IOException {
 
-        File cmsFile = new File(fileLocation + "/" + fileName);
-
-        if (!cmsFile.exists() || !cmsFile.isFile()) {
-            log.error("The file: {}/ {} could not be found", fileLocation, fileName);
-            throw new CmsFileNotFoundException("The file " + fileName + " could not be found");
-        }
-
-        Map<String, String> cmsData;
-
         try {
-            cmsData = objectMapper.readValue(cmsFile, new TypeReference<>() {
+            return cmsContentIndex.get(fileName).orElseThrow(() -> {
+                log.error("The CMS file {}.json could not be found", fileName);
+                return new CmsFileNotFoundException("The file " + fileName + ".json could not be found");
             });
         } catch (IOException e) {
             log.error("Error while reading CMS file");
             throw e;
         }
-
-        return cmsData;
     }
 
     private String getCmsContext(String clientId) {
@@ -77,7 +59,7 @@ public class CmsService {
             if (optCmsContext.isPresent()) {
 
                 try {
-                    log.info("File with CMS Context not found. Trying with file {}/{}.json", fileLocation, branding);
+                    log.info("File with CMS Context not found. Trying with file {}.json", branding);
 
                     return parse(createFileName(branding, Optional.empty()));
 
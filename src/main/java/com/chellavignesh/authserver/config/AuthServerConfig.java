@@ -15,16 +15,12 @@ import com.chellavignesh.authserver.config.userinfo.OidcAuthenticationConverter;
 import com.chellavignesh.authserver.config.userinfo.UserInfoSuccessHandler;
 import com.chellavignesh.authserver.jwk.ClientSecretJWTAuthenticationProvider;
 import com.chellavignesh.authserver.jwk.PrivateJWTAuthenticationProvider;
+import com.chellavignesh.authserver.security.CachedBodyHttpServletRequest;
 import com.chellavignesh.authserver.security.MultiRouteAuthenticationEntryPoint;
 import com.chellavignesh.authserver.security.RequestDatetimeValidationFilter;
 import com.chellavignesh.authserver.session.AuthSessionService;
 import com.chellavignesh.authserver.token.SignatureService;
 import com.chellavignesh.authserver.token.TokenService;
-import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletException;
-import jakarta.servlet.ServletRequest;
-import jakarta.servlet.ServletResponse;
-import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -52,16 +48,12 @@ import org.springframework.security.oauth2.server.resource.authentication.Bearer
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.preauth.AbstractPreAuthenticatedProcessingFilter;
 import org.springframework.security.web.csrf.CsrfFilter;
-import org.springframework.stereotype.Component;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
-import org.springframework.web.filter.GenericFilterBean;
-import org.springframework.web.util.ContentCachingRequestWrapper;
 
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
-import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.function.Function;
@@ -77,6 +69,9 @@ public class AuthServerConfig {
     @Value("${toggles.fingerprinting.enabled}")
     private boolean isFingerprintingEnabled;
 
+    @Value("${request.body.max-size:" + CachedBodyHttpServletRequest.DEFAULT_MAX_BODY_SIZE + "}")
+    private int maxRequestBodySize;
+
     private final ApplicationService applicationService;
     private final JdbcRegisteredClientRepository jdbcRegisteredClientRepository;
     private final CustomOAuth2AuthorizationCodeRequestAuthenticationConverter authorizationCodeRequestAuthenticationConverter;
@@ -145,7 +140,7 @@ public class AuthServerConfig {
         http.getConfigurer(OAuth2AuthorizationServerConfigurer.class)
                 .registeredClientRepository(jdbcRegisteredClientRepository)
                 .oidc(oidc -> oidc.userInfoEndpoint(userInfo ->
-                        userInfo.userInfoRequestConverter(new OidcAuthenticationConverter(signatureService))
+                        userInfo.userInfoRequestConverter(new OidcAuthenticationConverter(signatureService, maxRequestBodySize))
                                 .userInfoMapper(userInfoMapper)
                                 .authenticationProvider(authenticationProvider)
                                 .userInfoResponseHandler(new UserInfoSuccessHandler())
@@ -157,7 +152,7 @@ public class AuthServerConfig {
                 }))
                 .tokenIntrospectionEndpoint(introspection -> {
                     introspection.introspectionRequestConverter(
-                            new IntrospectionAuthenticationConverter(signatureService)
+                            new IntrospectionAuthenticationConverter(signatureService, maxRequestBodySize)
                     );
                     introspection.authenticationProviders(providers -> {
                         providers.clear();
@@ -168,7 +163,8 @@ public class AuthServerConfig {
                                     applicationService,
                                     tokenService,
                                     authSessionService,
-                                    isFingerprintingEnabled
+                                    isFingerprintingEnabled,
+                                    maxRequestBodySize
                             )
                     );
                 })
@@ -219,23 +215,6 @@ public class AuthServerConfig {
         return source;
     }
 
-    // ------------------------------------------------------
-    // REQUEST WRAPPING FILTER
-    // ------------------------------------------------------
-    @Component
-    @Order(1)
-    public static class EncodingFilter extends GenericFilterBean {
-
-        @Override
-        public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
-
-            final HttpServletRequest req = (HttpServletRequest) request;
-            HttpServletRequest wrapped = new ContentCachingRequestWrapper(req);
-
-            chain.doFilter(wrapped, response);
-        }
-    }
-
     // ------------------------------------------------------
     // AUTH SERVER SETTINGS
     // ------------------------------------------------------
@@ -1,13 +1,9 @@
 package com.chellavignesh.authserver.config;
 
-import com.chellavignesh.authserver.config.serialization.BinaryDataSerializers;
-import com.fasterxml.jackson.annotation.JsonTypeInfo;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.databind.module.SimpleModule;
-import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.chellavignesh.authserver.config.cache.CacheInvalidationPublisher;
+import com.chellavignesh.authserver.config.cache.TwoTierCacheManager;
+import com.chellavignesh.authserver.config.serialization.CacheValueSerializers;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -22,6 +18,9 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -29,12 +28,15 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @Configuration
 @EnableCaching
 @Slf4j
 public class CacheConfig {
 
+    private final GenericJackson2JsonRedisSerializer jsonSerializer = CacheValueSerializers.json();
+
     @Value("${spring.cache.type:redis}")
     private String cacheType;
 
@@ -65,16 +67,30 @@ public class CacheConfig {
     @Value("${cache.external-source.ttl}")
     private long externalSourceTtl;
 
+    @Value("${cache.user-claims-version.ttl:3600000}")
+    private long userClaimsVersionTtl;
+
+    @Value("${cache.l1.max-size:1000}")
+    private long localCacheMaxSize;
+
+    @Value("${cache.l1.ttl:30000}")
+    private long localCacheTtl;
+
+    @Value("${cache.invalidation.channel:}")
+    private String invalidationChannel;
+
     /**
-     * Redis distributed cache manager – PRIMARY for multi-pod deployments.
-     * Shared cache across all pods eliminates redundant stored procedure calls.
+     * Two-tier cache manager – PRIMARY for multi-pod deployments.
+     * A bounded in-JVM tier (L1) serves warm lookups without a network hop; the shared Redis
+     * caches (L2) eliminate redundant stored procedure calls across pods.
+     * Writes and evictions are broadcast over Redis pub/sub so every pod drops its L1 entry.
      */
     @Bean
     @Primary
     @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
-    public CacheManager redisCacheManager(@Qualifier("cacheRedisTemplate") RedisTemplate<String, Object> cacheRedisTemplate) {
+    public TwoTierCacheManager redisCacheManager(@Qualifier("cacheRedisTemplate") RedisTemplate<String, Object> cacheRedisTemplate, MeterRegistry meterRegistry) {
 
-        log.info("🚀 Configuring Redis distributed cache manager for multi-pod deployment");
+        log.info("🚀 Configuring two-tier (L1 in-JVM + L2 Redis) cache manager for multi-pod deployment");
 
         Map<String, RedisCacheConfiguration> cacheConfigurations = getCacheSpecificConfigurations();
 
@@ -84,14 +100,47 @@ public class CacheConfig {
             throw new IllegalStateException("Redis connection factory is not available");
         }
 
-        RedisCacheManager cacheManager = RedisCacheManager.RedisCacheManagerBuilder.fromConnectionFactory(connectionFactory).cacheDefaults(getDefaultCacheConfiguration()).withInitialCacheConfigurations(cacheConfigurations).transactionAware().build();
+        // Transaction awareness is applied around both tiers by the two-tier manager
+        RedisCacheManager redisCacheManager = RedisCacheManager.RedisCacheManagerBuilder.fromConnectionFactory(connectionFactory).cacheDefaults(getDefaultCacheConfiguration()).withInitialCacheConfigurations(cacheConfigurations).build();
+        redisCacheManager.afterPropertiesSet();
+
+        CacheInvalidationPublisher invalidationPublisher = new CacheInvalidationPublisher(new StringRedisTemplate(connectionFactory), getInvalidationChannel(), UUID.randomUUID().toString());
+
+        TwoTierCacheManager cacheManager = new TwoTierCacheManager(redisCacheManager, invalidationPublisher, meterRegistry, localCacheMaxSize, Duration.ofMillis(localCacheTtl), true);
 
         log.info("✅ Redis cache manager configured with {} cache definitions", cacheConfigurations.size());
         log.info("📦 Cache configurations: {}", cacheConfigurations.keySet());
+        log.info("⚡ L1 cache: max size={} per cache, TTL={}ms, invalidation channel={}", localCacheMaxSize, localCacheTtl, invalidationPublisher.getChannel());
 
         return cacheManager;
     }
 
+    /**
+     * Subscribes the two-tier cache manager to L1 invalidations published by other pods.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(@Qualifier("cacheRedisTemplate") RedisTemplate<String, Object> cacheRedisTemplate, TwoTierCacheManager redisCacheManager) {
+
+        RedisConnectionFactory connectionFactory = cacheRedisTemplate.getConnectionFactory();
+
+        if (connectionFactory == null) {
+            throw new IllegalStateException("Redis connection factory is not available");
+        }
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(redisCacheManager, new ChannelTopic(getInvalidationChannel()));
+
+        log.info("📡 Subscribed to cache invalidation channel: {}", getInvalidationChannel());
+
+        return container;
+    }
+
+    private String getInvalidationChannel() {
+        return invalidationChannel == null || invalidationChannel.isBlank() ? cachePrefix + "invalidation" : invalidationChannel;
+    }
+
     /**
      * Default Redis cache configuration.
      */
@@ -109,40 +158,44 @@ public class CacheConfig {
         Map<String, RedisCacheConfiguration> configurations = new HashMap<>();
 
         // Organization caches – ultra long TTL
-        configurations.put("organization-get-by-id", createOptimizedCacheConfig(Duration.ofMillis(organizationTtl)));
+        configurations.put("organization-get-by-id", createOptimizedCacheConfig("organization-get-by-id", Duration.ofMillis(organizationTtl)));
 
         // Application caches
-        configurations.put("application-get-by-id", createOptimizedCacheConfig(Duration.ofMillis(applicationTtl)));
-        configurations.put("application-get-detail-by-id", createOptimizedCacheConfig(Duration.ofMillis(applicationTtl)));
-        configurations.put("application-get-by-client-id", createOptimizedCacheConfig(Duration.ofMillis(applicationTtl)));
-        configurations.put("application-get-settings-by-application-id", createOptimizedCacheConfig(Duration.ofMillis(applicationTtl)));
-        configurations.put("application-get-redirect-uris", createOptimizedCacheConfig(Duration.ofMillis(applicationTtl)));
-        configurations.put("application-get-logout-redirect-uris", createOptimizedCacheConfig(Duration.ofMillis(applicationTtl)));
-        configurations.put("application-get-all-assigned-resources-by-client-id", createOptimizedCacheConfig(Duration.ofMillis(applicationTtl)));
+        configurations.put("application-get-by-id", createOptimizedCacheConfig("application-get-by-id", Duration.ofMillis(applicationTtl)));
+        configurations.put("application-get-detail-by-id", createOptimizedCacheConfig("application-get-detail-by-id", Duration.ofMillis(applicationTtl)));
+        configurations.put("application-get-by-client-id", createOptimizedCacheConfig("application-get-by-client-id", Duration.ofMillis(applicationTtl)));
+        configurations.put("application-get-settings-by-application-id", createOptimizedCacheConfig("application-get-settings-by-application-id", Duration.ofMillis(applicationTtl)));
+        configurations.put("application-get-redirect-uris", createOptimizedCacheConfig("application-get-redirect-uris", Duration.ofMillis(applicationTtl)));
+        configurations.put("application-get-logout-redirect-uris", createOptimizedCacheConfig("application-get-logout-redirect-uris", Duration.ofMillis(applicationTtl)));
+        configurations.put("application-get-all-assigned-resources-by-client-id", createOptimizedCacheConfig("application-get-all-assigned-resources-by-client-id", Duration.ofMillis(applicationTtl)));
 
         // Token settings caches
-        configurations.put("token-settings-get-for-app", createOptimizedCacheConfig(Duration.ofMillis(applicationTtl)));
-        configurations.put("token-settings-get-by-id", createOptimizedCacheConfig(Duration.ofMillis(applicationTtl)));
+        configurations.put("token-settings-get-for-app", createOptimizedCacheConfig("token-settings-get-for-app", Duration.ofMillis(applicationTtl)));
+        configurations.put("token-settings-get-by-id", createOptimizedCacheConfig("token-settings-get-by-id", Duration.ofMillis(applicationTtl)));
 
         // Session caches
-        configurations.put("session-get-by-session-id", createOptimizedCacheConfig(Duration.ofMillis(sessionTtl)));
+        configurations.put("session-get-by-session-id", createOptimizedCacheConfig("session-get-by-session-id", Duration.ofMillis(sessionTtl)));
 
         // Credential secrets cache
-        configurations.put("credential-secrets-by-app", createOptimizedCacheConfig(Duration.ofMillis(credentialSecretsTtl)));
+        configurations.put("credential-secrets-by-app", createOptimizedCacheConfig("credential-secrets-by-app", Duration.ofMillis(credentialSecretsTtl)));
         log.info("🔐 Configured credential-secrets cache: TTL={}ms", credentialSecretsTtl);
 
         // Token by value hash cache
-        configurations.put("token-get-by-value-hash", createOptimizedCacheConfig(Duration.ofMillis(tokenByValueHashTtl)));
+        configurations.put("token-get-by-value-hash", createOptimizedCacheConfig("token-get-by-value-hash", Duration.ofMillis(tokenByValueHashTtl)));
         log.info("⚡ Configured token-by-value-hash cache: TTL={}ms", tokenByValueHashTtl);
 
         // Registered client cache
         configurations.put("registered-client-by-client-id", createRegisteredClientCacheConfig(Duration.ofMillis(registeredClientTtl)));
+        configurations.put("registered-client-by-app-id", createRegisteredClientCacheConfig(Duration.ofMillis(registeredClientTtl)));
         log.info("📌 Configured RegisteredClient cache: TTL={}ms", registeredClientTtl);
 
         // External source (branding) cache
-        configurations.put("external-source-by-code", createOptimizedCacheConfig(Duration.ofMillis(externalSourceTtl)));
+        configurations.put("external-source-by-code", createOptimizedCacheConfig("external-source-by-code", Duration.ofMillis(externalSourceTtl)));
         log.info("🎨 Configured ExternalSource cache: TTL={}ms", externalSourceTtl);
 
+        // User claims versions; must outlive token.claims-snapshot.ttl
+        configurations.put("user-claims-version", createOptimizedCacheConfig("user-claims-version", Duration.ofMillis(userClaimsVersionTtl)));
+
         return configurations;
     }
 
@@ -154,36 +207,10 @@ public class CacheConfig {
     }
 
     /**
-     * Optimized cache configuration with efficient serialization.
+     * Optimized cache configuration: hot-path entities use their binary codec, everything else JSON.
      */
-    private RedisCacheConfiguration createOptimizedCacheConfig(Duration ttl) {
-        return RedisCacheConfiguration.defaultCacheConfig().entryTtl(ttl).disableCachingNullValues().prefixCacheNameWith(cachePrefix).serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer())).serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(createOptimizedJsonSerializer())).computePrefixWith(cacheName -> cachePrefix + cacheName + ":");
-    }
-
-    /**
-     * Binary-optimized JSON serializer.
-     */
-    private GenericJackson2JsonRedisSerializer createOptimizedJsonSerializer() {
-
-        ObjectMapper mapper = new ObjectMapper();
-
-        mapper.activateDefaultTyping(mapper.getPolymorphicTypeValidator(), ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
-
-        mapper.registerModule(new Jdk8Module());
-        mapper.registerModule(new JavaTimeModule());
-        SimpleModule binaryModule = new SimpleModule("BinaryDataModule");
-        binaryModule.addSerializer(byte[].class, new BinaryDataSerializers.ByteArrayBase64Serializer());
-        binaryModule.addDeserializer(byte[].class, new BinaryDataSerializers.ByteArrayBase64Deserializer());
-        mapper.registerModule(binaryModule);
-        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
-        mapper.configure(SerializationFeature.INDENT_OUTPUT, false);
-
-        mapper.findAndRegisterModules();
-
-        log.info("🔧 Binary-optimized Redis JSON serializer configured");
-
-        return new GenericJackson2JsonRedisSerializer(mapper);
+    private RedisCacheConfiguration createOptimizedCacheConfig(String cacheName, Duration ttl) {
+        return RedisCacheConfiguration.defaultCacheConfig().entryTtl(ttl).disableCachingNullValues().prefixCacheNameWith(cachePrefix).serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer())).serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(CacheValueSerializers.forCache(cacheName, jsonSerializer))).computePrefixWith(name -> CacheValueSerializers.keyPrefix(cachePrefix, name));
     }
 
     /**
@@ -195,7 +222,7 @@ public class CacheConfig {
 
         log.info("⚠️ Configuring fallback local cache manager (non-distributed)");
 
-        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("application-get-by-id", "application-get-detail-by-id", "application-get-by-client-id", "application-get-settings-by-application-id", "application-get-redirect-uris", "application-get-logout-redirect-uris", "application-get-all-assigned-resources-by-client-id", "token-settings-get-for-app", "token-settings-get-by-id", "organization-get-by-id", "session-get-by-session-id", "credential-secrets-by-app", "registered-client-by-client-id", "external-source-by-code", "token-get-by-value-hash");
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("application-get-by-id", "application-get-detail-by-id", "application-get-by-client-id", "application-get-settings-by-application-id", "application-get-redirect-uris", "application-get-logout-redirect-uris", "application-get-all-assigned-resources-by-client-id", "token-settings-get-for-app", "token-settings-get-by-id", "organization-get-by-id", "session-get-by-session-id", "credential-secrets-by-app", "registered-client-by-client-id", "registered-client-by-app-id", "external-source-by-code", "token-get-by-value-hash", "user-claims-version");
 
         cacheManager.setAllowNullValues(false);
 
@@ -1,6 +1,7 @@
 package com.chellavignesh.authserver.config;
 
 import jakarta.annotation.PostConstruct;
+import com.chellavignesh.authserver.config.cache.TwoTierCacheManager;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
@@ -31,14 +32,14 @@ public class CacheMonitoringConfig {
     @Scheduled(fixedRate = 600000) // 10 minutes
     public void logCacheMetrics() {
 
-        if (cacheManager instanceof RedisCacheManager) {
+        if (cacheManager instanceof RedisCacheManager || cacheManager instanceof TwoTierCacheManager) {
             try {
                 // Create defensive copy to avoid ConcurrentModificationException during load testing
                 Collection<String> cacheNames = new ArrayList<>(cacheManager.getCacheNames());
 
                 log.info("📊 [CACHE-METRICS] Redis distributed cache active");
                 log.info("🔎 [CACHE-METRICS] Available caches: {}", cacheNames);
-                log.info("📦 [CACHE-METRICS] Cache type: Redis (distributed across pods)");
+                log.info("📦 [CACHE-METRICS] Cache type: {}", cacheManager instanceof TwoTierCacheManager ? "L1 in-JVM + L2 Redis (distributed across pods)" : "Redis (distributed across pods)");
 
             } catch (ConcurrentModificationException _) {
                 log.warn("⚠️ [CACHE-METRICS] Could not retrieve cache names " + "(concurrent modification during load test)");
@@ -60,9 +61,12 @@ public class CacheMonitoringConfig {
             log.debug("Cache Manager: {}", cacheManager.getClass().getSimpleName());
             log.debug("Cache Names: {}", cacheNames);
 
-            if (cacheManager instanceof RedisCacheManager) {
+            if (cacheManager instanceof RedisCacheManager || cacheManager instanceof TwoTierCacheManager) {
                 log.debug("✅ Redis distributed cache ENABLED - eliminates redundant DB calls across pods");
             }
+            if (cacheManager instanceof TwoTierCacheManager) {
+                log.debug("✅ L1 in-JVM cache ENABLED - hit ratios exported as authserver.cache.gets{cache,tier,result}");
+            }
 
             log.debug("=======================================");
 
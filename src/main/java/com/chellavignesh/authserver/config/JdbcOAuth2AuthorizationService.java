@@ -5,21 +5,21 @@ import com.chellavignesh.authserver.adminportal.application.TokenSettingsService
 import com.chellavignesh.authserver.adminportal.application.entity.Application;
 import com.chellavignesh.authserver.adminportal.application.entity.TokenSettings;
 import com.chellavignesh.authserver.authcode.AuthCodeService;
-import com.chellavignesh.authserver.authcode.dto.CreateAuthCodeDto;
+import com.chellavignesh.authserver.authcode.dto.IssueAuthCodeDto;
 import com.chellavignesh.authserver.authcode.exception.AuthCodeCreationFailedException;
 import com.chellavignesh.authserver.cms.BrandUrlMappingService;
 import com.chellavignesh.authserver.enums.entity.AuthSessionStatusEnum;
 import com.chellavignesh.authserver.enums.entity.TokenTypeEnum;
 import com.chellavignesh.authserver.keystore.exception.FailedToGenerateKeyException;
-import com.chellavignesh.authserver.pkce.PkceService;
-import com.chellavignesh.authserver.pkce.dto.CreatePkceDto;
 import com.chellavignesh.authserver.pkce.entity.Pkce;
-import com.chellavignesh.authserver.pkce.exception.PkceCreationFailedException;
 import com.chellavignesh.authserver.session.AuthSessionService;
 import com.chellavignesh.authserver.session.entity.AuthSession;
+import com.chellavignesh.authserver.session.entity.AuthorizationSnapshot;
 import com.chellavignesh.authserver.session.exception.FailedToUpdateSessionException;
+import com.chellavignesh.authserver.token.GrantWriteBatcher;
 import com.chellavignesh.authserver.token.SigningKeyGenerator;
 import com.chellavignesh.authserver.token.TokenService;
+import com.chellavignesh.authserver.token.dto.CreateGrantDto;
 import com.chellavignesh.authserver.token.dto.CreateTokenDto;
 import com.chellavignesh.authserver.token.entity.Token;
 import com.chellavignesh.authserver.token.exception.TokenCreationFailedException;
@@ -55,25 +55,25 @@ public class JdbcOAuth2AuthorizationService implements OAuth2AuthorizationServic
     private final ApplicationService applicationService;
     private final AuthSessionService authSessionService;
     private final AuthCodeService authCodeService;
-    private final PkceService pkceService;
     private final TokenSettingsService tokenSettingsService;
     private final SigningKeyGenerator signingKeyGenerator;
     private final BrandUrlMappingService brandUrlMappingService;
+    private final GrantWriteBatcher grantWriteBatcher;
 
     @Autowired
     private HttpSession httpSession;
 
     @Autowired
-    public JdbcOAuth2AuthorizationService(TokenService tokenService, ApplicationService applicationService, AuthSessionService authSessionService, AuthCodeService authCodeService, PkceService pkceService, TokenSettingsService tokenSettingsService, SigningKeyGenerator signingKeyGenerator, BrandUrlMappingService brandUrlMappingService) {
+    public JdbcOAuth2AuthorizationService(TokenService tokenService, ApplicationService applicationService, AuthSessionService authSessionService, AuthCodeService authCodeService, TokenSettingsService tokenSettingsService, SigningKeyGenerator signingKeyGenerator, BrandUrlMappingService brandUrlMappingService, GrantWriteBatcher grantWriteBatcher) {
 
         this.tokenService = tokenService;
         this.applicationService = applicationService;
         this.authSessionService = authSessionService;
         this.authCodeService = authCodeService;
-        this.pkceService = pkceService;
         this.tokenSettingsService = tokenSettingsService;
         this.signingKeyGenerator = signingKeyGenerator;
         this.brandUrlMappingService = brandUrlMappingService;
+        this.grantWriteBatcher = grantWriteBatcher;
     }
 
     @Override
@@ -116,22 +116,23 @@ public class JdbcOAuth2AuthorizationService implements OAuth2AuthorizationServic
                         throw new RuntimeException("Failed to locate auth session for session ID: " + sessionId);
                     }
                     String authCode = authorization.getToken(OAuth2AuthorizationCode.class).getToken().getTokenValue();
+                    String branding = getBrandFromSession(httpSession);
+                    IssueAuthCodeDto issueDto = new IssueAuthCodeDto();
+                    issueDto.setApplicationId(appId);
+                    issueDto.setSessionId(sessionId);
+                    issueDto.setSubjectId(authorization.getPrincipalName());
+                    issueDto.setCode(authCode);
+                    issueDto.setCodeTimeToLive(authCodeTtl);
+                    issueDto.setCodeChallenge(request.getAdditionalParameters().get("code_challenge").toString());
+                    issueDto.setCodeChallengeMethod(request.getAdditionalParameters().get("code_challenge_method").toString());
+                    issueDto.setRedirectUri(request.getRedirectUri());
+                    issueDto.setBranding(branding);
                     try {
-                        createAuthCode(appId, sessionId, authCode);
-                        createPkceRecord(appId, sessionId, request.getAdditionalParameters().get("code_challenge").toString(), request.getAdditionalParameters().get("code_challenge_method").toString(), request.getRedirectUri());
-                        createToken(appId, sessionId, authorization.getPrincipalName(), TokenTypeEnum.CODE, true, authCode, null, authCodeTtl);
-                        String branding = getBrandFromSession(httpSession);
-                        String redirectUri = request.getRedirectUri();
-                        log.debug("Updating Auth Session with branding and redirect URI. Branding: {}, Redirect URI: {} for sessionId: {}", branding, redirectUri, sessionId);
-                        authSessionService.setBrandingAndRedirectUri(sessionId, branding, redirectUri, appId);
-                        log.debug("Successfully updated Auth Session with branding and redirect URI for sessionId: {}", sessionId);
+                        authCodeService.issue(issueDto);
+                        log.debug("Issued auth code with branding: {}, redirect URI: {} for sessionId: {}", branding, request.getRedirectUri(), sessionId);
                         httpSession.removeAttribute(ApplicationConstants.AUTH_SESSION_ID);
-                        log.debug("Removed AUTH_SESSION_ID from HttpSession for sessionId: {}", sessionId);
-                    } catch (FailedToUpdateSessionException e) {
-                        log.error("Failed to create auth code or PKCE record for session ID: {}", sessionId, e);
-                        throw new RuntimeException(e);
-                    } catch (Exception e) {
-                        log.error("Unexpected error while creating auth code or PKCE record for session ID: {}", sessionId, e);
+                    } catch (AuthCodeCreationFailedException e) {
+                        log.error("Failed to issue auth code for session ID: {}", sessionId, e);
                         throw new RuntimeException(e);
                     }
                 } else {
@@ -144,17 +145,15 @@ public class JdbcOAuth2AuthorizationService implements OAuth2AuthorizationServic
                     createToken(appId, sessionId, authorization.getPrincipalName(), TokenTypeEnum.ACCESS_TOKEN, false, authorization.getAccessToken().getToken().getTokenValue(), secretKey, accessTokenTtl);
                 }
             } else {
-                AuthSession authSession = authSessionService.createSession(application, authorization);
-                if (authSession == null) {
-                    throw new RuntimeException("Failed to create auth session for app ID: " + appId);
-                }
-
-
-                createToken(appId, authSession.getSessionId(), authorization.getPrincipalName(), TokenTypeEnum.ACCESS_TOKEN, false, authorization.getAccessToken().getToken().getTokenValue(), secretKey, accessTokenTtl);
+                // Session and tokens are written together, batched with concurrent grants
+                List<CreateTokenDto> tokens = new ArrayList<>(2);
+                tokens.add(tokenDto(appId, null, authorization.getPrincipalName(), TokenTypeEnum.ACCESS_TOKEN, false, authorization.getAccessToken().getToken().getTokenValue(), secretKey, accessTokenTtl));
 
                 if (authorization.getRefreshToken() != null) {
-                    createToken(appId, authSession.getSessionId(), authorization.getPrincipalName(), TokenTypeEnum.REFRESH_TOKEN, false, authorization.getRefreshToken().getToken().getTokenValue(), secretKey, refreshTokenTtl);
+                    tokens.add(tokenDto(appId, null, authorization.getPrincipalName(), TokenTypeEnum.REFRESH_TOKEN, false, authorization.getRefreshToken().getToken().getTokenValue(), secretKey, refreshTokenTtl));
                 }
+
+                grantWriteBatcher.persist(new CreateGrantDto(authSessionService.toCreateSessionDto(application, authorization), tokens));
             }
 
         } catch (Exception e) {
@@ -189,12 +188,15 @@ public class JdbcOAuth2AuthorizationService implements OAuth2AuthorizationServic
             return null;
         }
 
+        // Application and RegisteredClient are served from the application caches
         Optional<Application> application = applicationService.getById(authSession.get().getApplicationId());
         if (application.isEmpty()) {
             return null;
         }
 
-        List<Token> tokens = tokenService.getAllActiveBySessionId(sessionId);
+        // Active tokens and PKCE record come back from a single stored procedure call
+        AuthorizationSnapshot snapshot = authSessionService.getAuthorizationSnapshot(sessionId);
+        List<Token> tokens = snapshot.getTokens();
 
         Token accessToken = null;
         Token refreshToken = null;
@@ -222,7 +224,7 @@ public class JdbcOAuth2AuthorizationService implements OAuth2AuthorizationServic
 
         RegisteredClient registeredClient;
         try {
-            registeredClient = applicationService.getRegisteredClientById(authSession.get().getApplicationId());
+            registeredClient = applicationService.getRegisteredClientByClientId(application.get().getClientId());
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -255,7 +257,7 @@ public class JdbcOAuth2AuthorizationService implements OAuth2AuthorizationServic
         }
 
         if (authCodeToken != null) {
-            Optional<Pkce> pkceRecord = pkceService.getBySessionId(authSession.get().getSessionId());
+            Optional<Pkce> pkceRecord = Optional.ofNullable(snapshot.getPkce());
             if (pkceRecord.isEmpty()) {
                 return null;
             }
@@ -293,7 +295,14 @@ public class JdbcOAuth2AuthorizationService implements OAuth2AuthorizationServic
     }
 
     private void createToken(Integer applicationId, UUID sessionId, String subjectId, TokenTypeEnum tokenType, Boolean isOpaque, String value, SecretKey signingKey, Integer timeToLive) {
+        try {
+            tokenService.create(tokenDto(applicationId, sessionId, subjectId, tokenType, isOpaque, value, signingKey, timeToLive));
+        } catch (TokenCreationFailedException e) {
+            log.error(e.getMessage());
+        }
+    }
 
+    private static CreateTokenDto tokenDto(Integer applicationId, UUID sessionId, String subjectId, TokenTypeEnum tokenType, Boolean isOpaque, String value, SecretKey signingKey, Integer timeToLive) {
         CreateTokenDto tokenDto = new CreateTokenDto();
         tokenDto.setApplicationId(applicationId);
         tokenDto.setTokenType(tokenType);
@@ -303,40 +312,7 @@ public class JdbcOAuth2AuthorizationService implements OAuth2AuthorizationServic
         tokenDto.setData(value);
         tokenDto.setSigningKey(signingKey);
         tokenDto.setTimeToLive(timeToLive);
-
-        try {
-            tokenService.create(tokenDto);
-        } catch (TokenCreationFailedException e) {
-            log.error(e.getMessage());
-        }
-    }
-
-    private void createAuthCode(Integer applicationId, UUID sessionId, String value) {
-        CreateAuthCodeDto authCodeDto = new CreateAuthCodeDto();
-        authCodeDto.setApplicationId(applicationId);
-        authCodeDto.setSessionId(sessionId);
-        authCodeDto.setData(value);
-
-        try {
-            authCodeService.create(authCodeDto);
-        } catch (AuthCodeCreationFailedException e) {
-            log.error(e.getMessage());
-        }
-    }
-
-    private void createPkceRecord(Integer applicationId, UUID sessionId, String challenge, String algorithm, String redirectUri) {
-        CreatePkceDto pkceDto = new CreatePkceDto();
-        pkceDto.setApplicationId(applicationId);
-        pkceDto.setSessionId(sessionId);
-        pkceDto.setData(challenge);
-        pkceDto.setAlgorithm(algorithm);
-        pkceDto.setRedirectUri(redirectUri);
-
-        try {
-            pkceService.create(pkceDto);
-        } catch (PkceCreationFailedException e) {
-            log.error(e.getMessage());
-        }
+        return tokenDto;
     }
 
     private String getBrandFromSession(HttpSession session) {
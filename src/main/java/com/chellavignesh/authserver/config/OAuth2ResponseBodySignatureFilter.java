@@ -8,7 +8,6 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NonNull;
-import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.ContentCachingResponseWrapper;
@@ -35,11 +34,10 @@ public class OAuth2ResponseBodySignatureFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, responseWrapper);
 
         byte[] body = responseWrapper.getContentAsByteArray();
-        String authorizationHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
 
         byte[] signature;
         try {
-            signature = this.signatureService.signBody(authorizationHeader, body);
+            signature = this.signatureService.signBody(request, body);
         } catch (SignatureFailedException e) {
             log.warn("Could not sign body", e);
             signature = new byte[0];
@@ -11,6 +11,7 @@ public class OutputMessagesConstants {
     public static final String INVALID_PASSWORD_USAGE = "Password cannot include first name, last name, username or email.";
     public static final String PASSWORD_BLACKLISTED = "This password cannot be used.";
     public static final String PASSWORD_RECENT_USAGE = "Password cannot be one of your previous 12 passwords.";
+    public static final String PASSWORD_HISTORY_UNAVAILABLE = "Your password history could not be checked. Please try again later.";
     public static final String CONFIRM_PASSWORD_NOT_MATCH = "Entered passwords do not match.";
 
     // Constants for invalid syntax
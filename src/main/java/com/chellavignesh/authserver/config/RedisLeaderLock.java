@@ -0,0 +1,67 @@
+package com.chellavignesh.authserver.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Lease-based leader election over Redis for jobs that must run on one pod at a time.
+ * <p>
+ * A lease is a key holding this pod's owner ID with a TTL, so a crashed leader's lease simply
+ * expires. Renewal and release only touch the key while this pod still owns it.
+ */
+@Component
+@Slf4j
+public class RedisLeaderLock {
+
+    private static final String KEY_PREFIX = "authserver:leader:";
+
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end",
+            Long.class);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String ownerId = UUID.randomUUID().toString();
+
+    public RedisLeaderLock(RedisConnectionFactory connectionFactory) {
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    /**
+     * Takes or renews the named lease. Returns {@code false} if another pod holds it or Redis is
+     * unreachable, in which case the caller should skip its run.
+     */
+    public boolean tryAcquire(String name, Duration lease) {
+        String key = KEY_PREFIX + name;
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, ownerId, lease))) {
+                return true;
+            }
+            Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(key), ownerId, String.valueOf(lease.toMillis()));
+            return renewed != null && renewed == 1L;
+        } catch (Exception e) {
+            log.warn("Could not acquire leader lease {}: {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    public void release(String name) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(KEY_PREFIX + name), ownerId);
+        } catch (Exception e) {
+            // The lease expires on its own
+            log.debug("Could not release leader lease {}: {}", name, e.getMessage());
+        }
+    }
+}
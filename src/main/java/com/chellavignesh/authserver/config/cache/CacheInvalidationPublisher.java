@@ -0,0 +1,50 @@
+package com.chellavignesh.authserver.config.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Broadcasts L1 invalidations over Redis pub/sub.
+ * <p>
+ * Message format: {@code <originId>|<cacheName>|<key>}; an empty key clears the whole cache.
+ */
+@Slf4j
+public class CacheInvalidationPublisher {
+
+    static final char SEPARATOR = '|';
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String originId;
+
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate, String channel, String originId) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.originId = originId;
+    }
+
+    public void publishEvict(String cacheName, String key) {
+        publish(originId + SEPARATOR + cacheName + SEPARATOR + key);
+    }
+
+    public void publishClear(String cacheName) {
+        publish(originId + SEPARATOR + cacheName + SEPARATOR);
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public String getOriginId() {
+        return originId;
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (Exception e) {
+            // L1 entries on other pods still expire by TTL, so a lost message only delays convergence
+            log.warn("⚠️ [CACHE-INVALIDATION] Failed to publish invalidation on {}: {}", channel, e.getMessage());
+        }
+    }
+}
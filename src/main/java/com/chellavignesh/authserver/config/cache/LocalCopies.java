@@ -0,0 +1,71 @@
+package com.chellavignesh.authserver.config.cache;
+
+import com.chellavignesh.authserver.adminportal.application.entity.Application;
+import com.chellavignesh.authserver.adminportal.application.entity.TokenSettings;
+import com.chellavignesh.authserver.session.entity.AuthSession;
+import com.chellavignesh.authserver.token.entity.Token;
+import org.springframework.lang.Nullable;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Field-by-field copies of the mutable entities read on the hot paths, so the L1 tier can hand
+ * each caller its own instance without decoding the stored bytes again.
+ */
+final class LocalCopies {
+
+    private static final Map<Class<?>, UnaryOperator<Object>> COPIERS = Map.of(
+            Application.class, value -> copy((Application) value),
+            TokenSettings.class, value -> copy((TokenSettings) value),
+            AuthSession.class, value -> copy((AuthSession) value),
+            Token.class, value -> copy((Token) value)
+    );
+
+    private LocalCopies() {
+    }
+
+    @Nullable
+    static UnaryOperator<Object> copierFor(Object value) {
+        return COPIERS.get(value.getClass());
+    }
+
+    private static Application copy(Application source) {
+        return new Application(source.getId(), source.getOrgId(), source.getClientId(), source.getName(), source.getDescription(), source.getUri(),
+                source.getType(), source.getAuthFlow(), source.getUsernameType(), source.getAllowForgotUsername(), source.getRowGuid(),
+                source.getActive(), source.getCmsContext());
+    }
+
+    private static TokenSettings copy(TokenSettings source) {
+        return new TokenSettings(source.getId(), source.getOrgId(), source.getAppId(), source.getAuthCodeTimeToLive(), source.getAccessTokenTimeToLive(),
+                source.getDeviceCodeTimeToLive(), source.getRefreshTokenTimeToLive(), source.getReuseRefreshTokens(), source.getMaxRequestTransitTime());
+    }
+
+    private static AuthSession copy(AuthSession source) {
+        AuthSession session = new AuthSession();
+        session.setAuthSessionId(source.getAuthSessionId());
+        session.setApplicationId(source.getApplicationId());
+        session.setSessionId(source.getSessionId());
+        session.setSubjectId(source.getSubjectId());
+        session.setScopes(source.getScopes() != null ? new HashSet<>(source.getScopes()) : null);
+        session.setAuthSessionStatus(source.getAuthSessionStatus());
+        session.setAuthFlow(source.getAuthFlow());
+        session.setClientFingerprint(source.getClientFingerprint() != null ? source.getClientFingerprint().clone() : null);
+        session.setBranding(source.getBranding());
+        session.setRedirectUri(source.getRedirectUri());
+        return session;
+    }
+
+    private static Token copy(Token source) {
+        return new Token(source.getId(), source.getTokenType(), source.getSubjectId(), source.getSessionId(), source.getApplicationId(), source.getData(),
+                source.isOpaque(), copy(source.getCreatedOn()), copy(source.getExpiration()),
+                source.getSigningKey() != null ? source.getSigningKey().clone() : null);
+    }
+
+    @Nullable
+    private static Date copy(@Nullable Date date) {
+        return date != null ? (Date) date.clone() : null;
+    }
+}
@@ -0,0 +1,296 @@
+package com.chellavignesh.authserver.config.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.lang.Nullable;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cache backed by a bounded in-JVM tier (L1) in front of a shared Redis cache (L2).
+ * <p>
+ * Reads are served from L1 when possible. Writes and evictions go to both tiers and are broadcast
+ * so that every other pod drops its L1 copy; read-through fills are not broadcast.
+ * <p>
+ * Cached entities are mutable, so every L1 read returns its own instance. The hot entities are kept
+ * decoded and copied field by field on each hit ({@link LocalCopies}); anything else is kept in
+ * its L2-encoded form and decoded per read. An L1 fill only lands if no invalidation for its key
+ * arrived since the value was read from L2.
+ */
+@Slf4j
+public class TwoTierCache implements org.springframework.cache.Cache {
+
+    private static final int GENERATION_STRIPES = 256;
+
+    private final String name;
+    private final Cache<String, Object> localCache;
+    private final org.springframework.cache.Cache redisCache;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    @Nullable
+    private final RedisSerializationContext.SerializationPair<Object> localCopySerializer;
+
+    // Bumped per key stripe on every local or remote invalidation
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    // L2 miss left by this thread's last get, waiting for the caller to fill it
+    private final ThreadLocal<PendingFill> pendingFill = new ThreadLocal<>();
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+
+    public TwoTierCache(String name, Cache<String, Object> localCache, org.springframework.cache.Cache redisCache, CacheInvalidationPublisher invalidationPublisher,
+                        @Nullable RedisSerializationContext.SerializationPair<Object> localCopySerializer, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.localCache = localCache;
+        this.redisCache = redisCache;
+        this.invalidationPublisher = invalidationPublisher;
+        this.localCopySerializer = localCopySerializer;
+
+        this.l1Hits = meterRegistry.counter("authserver.cache.gets", "cache", name, "tier", "l1", "result", "hit");
+        this.l1Misses = meterRegistry.counter("authserver.cache.gets", "cache", name, "tier", "l1", "result", "miss");
+        this.l2Hits = meterRegistry.counter("authserver.cache.gets", "cache", name, "tier", "l2", "result", "hit");
+        this.l2Misses = meterRegistry.counter("authserver.cache.gets", "cache", name, "tier", "l2", "result", "miss");
+        meterRegistry.gauge("authserver.cache.l1.size", Tags.of("cache", name), localCache, Cache::estimatedSize);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return redisCache.getNativeCache();
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(Object key) {
+        pendingFill.remove();
+        String localKey = localKey(key);
+
+        Object local = localCache.getIfPresent(localKey);
+        if (local != null) {
+            l1Hits.increment();
+            return new SimpleValueWrapper(fromLocal(local));
+        }
+        l1Misses.increment();
+
+        long generation = generation(localKey);
+        ValueWrapper remote = redisCache.get(key);
+        if (remote == null) {
+            l2Misses.increment();
+            pendingFill.set(new PendingFill(localKey, generation));
+            return null;
+        }
+        l2Hits.increment();
+
+        if (remote.get() != null) {
+            putLocalIfCurrent(localKey, remote.get(), generation);
+        }
+        return remote;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, @Nullable Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        pendingFill.remove();
+        String localKey = localKey(key);
+
+        Object local = localCache.getIfPresent(localKey);
+        if (local != null) {
+            l1Hits.increment();
+            return (T) fromLocal(local);
+        }
+        l1Misses.increment();
+
+        long generation = generation(localKey);
+        AtomicBoolean loaded = new AtomicBoolean();
+        T value = redisCache.get(key, () -> {
+            loaded.set(true);
+            return valueLoader.call();
+        });
+        (loaded.get() ? l2Misses : l2Hits).increment();
+
+        if (value != null) {
+            putLocalIfCurrent(localKey, value, generation);
+        }
+        return value;
+    }
+
+    /**
+     * A put that directly follows this thread's L2 miss for the same key is a read-through fill:
+     * it only lands in L2 if the key is still absent and is not broadcast. Any other put is a
+     * write and is broadcast. A write mistaken for a fill is harmless, since no pod can hold an
+     * L1 copy of a key that is absent from L2 once its invalidation has been delivered.
+     */
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        PendingFill fill = pendingFill.get();
+        pendingFill.remove();
+        String localKey = localKey(key);
+
+        if (value != null && fill != null && fill.localKey().equals(localKey) && redisCache.putIfAbsent(key, value) == null) {
+            putLocalIfCurrent(localKey, value, fill.generation());
+            return;
+        }
+
+        redisCache.put(key, value);
+        invalidateLocal(localKey);
+        if (value != null) {
+            localCache.put(localKey, toLocal(value));
+        }
+        invalidationPublisher.publishEvict(name, localKey);
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        pendingFill.remove();
+        String localKey = localKey(key);
+
+        long generation = generation(localKey);
+        ValueWrapper existing = redisCache.putIfAbsent(key, value);
+        Object current = existing != null ? existing.get() : value;
+        if (current != null) {
+            putLocalIfCurrent(localKey, current, generation);
+        }
+        if (existing == null) {
+            invalidationPublisher.publishEvict(name, localKey);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        pendingFill.remove();
+        redisCache.evict(key);
+
+        String localKey = localKey(key);
+        invalidateLocal(localKey);
+        invalidationPublisher.publishEvict(name, localKey);
+    }
+
+    @Override
+    public void clear() {
+        pendingFill.remove();
+        redisCache.clear();
+        clearLocal();
+        invalidationPublisher.publishClear(name);
+    }
+
+    /**
+     * Drops an L1 entry after another pod changed it. Redis is left untouched.
+     */
+    void evictLocal(String localKey) {
+        invalidateLocal(localKey);
+    }
+
+    /**
+     * Drops every L1 entry after another pod cleared the cache. Redis is left untouched.
+     */
+    void clearLocal() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        localCache.invalidateAll();
+    }
+
+    /**
+     * L1 keys are the string form of the cache key so they can be carried in invalidation messages.
+     */
+    static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private void invalidateLocal(String localKey) {
+        // Bump before removing so a fill that read the old generation cannot land afterwards
+        generations.incrementAndGet(stripe(localKey));
+        localCache.invalidate(localKey);
+    }
+
+    /**
+     * Stores {@code value} in L1 unless the key was invalidated after {@code generation} was read.
+     * The check runs inside the map's per-key lock, which {@link #invalidateLocal} also takes.
+     */
+    private void putLocalIfCurrent(String localKey, Object value, long generation) {
+        Object stored = toLocal(value);
+        localCache.asMap().compute(localKey, (_, existing) -> generation(localKey) == generation ? stored : existing);
+    }
+
+    private long generation(String localKey) {
+        return generations.get(stripe(localKey));
+    }
+
+    private static int stripe(String localKey) {
+        return localKey.hashCode() & (GENERATION_STRIPES - 1);
+    }
+
+    private Object toLocal(Object value) {
+        if (isImmutable(value)) {
+            return value;
+        }
+        UnaryOperator<Object> copier = LocalCopies.copierFor(value);
+        if (copier != null) {
+            // Copied on the way in as well, so later changes to the caller's instance stay out of L1
+            return new Copied(copier.apply(value), copier);
+        }
+        if (localCopySerializer == null) {
+            return value;
+        }
+        ByteBuffer buffer = localCopySerializer.write(value);
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new Encoded(bytes);
+    }
+
+    private Object fromLocal(Object local) {
+        if (local instanceof Copied copied) {
+            return copied.copier().apply(copied.value());
+        }
+        if (local instanceof Encoded encoded && localCopySerializer != null) {
+            return localCopySerializer.read(ByteBuffer.wrap(encoded.bytes()));
+        }
+        return local;
+    }
+
+    private static boolean isImmutable(Object value) {
+        return value instanceof String || value instanceof Number || value instanceof Boolean
+                || value instanceof UUID || value instanceof Enum<?> || value instanceof RegisteredClient;
+    }
+
+    private record PendingFill(String localKey, long generation) {
+    }
+
+    private record Copied(Object value, UnaryOperator<Object> copier) {
+    }
+
+    private record Encoded(byte[] bytes) {
+    }
+}
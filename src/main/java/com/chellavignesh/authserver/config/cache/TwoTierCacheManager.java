@@ -0,0 +1,141 @@
+package com.chellavignesh.authserver.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Composite cache manager that puts a size- and TTL-bounded in-JVM tier in front of the Redis caches.
+ * Also listens on the invalidation channel to drop L1 entries changed by other pods.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+
+    private final CacheManager redisCacheManager;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final MeterRegistry meterRegistry;
+    private final long localMaxSize;
+    private final Duration localTtl;
+    private final boolean transactionAware;
+
+    private final Map<String, TwoTierCache> twoTierCaches = new ConcurrentHashMap<>();
+    private final Map<String, Cache> decoratedCaches = new ConcurrentHashMap<>();
+    private final Map<String, Consumer<String>> localInvalidationListeners = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(CacheManager redisCacheManager, CacheInvalidationPublisher invalidationPublisher, MeterRegistry meterRegistry, long localMaxSize, Duration localTtl, boolean transactionAware) {
+        this.redisCacheManager = redisCacheManager;
+        this.invalidationPublisher = invalidationPublisher;
+        this.meterRegistry = meterRegistry;
+        this.localMaxSize = localMaxSize;
+        this.localTtl = localTtl;
+        this.transactionAware = transactionAware;
+    }
+
+    @Override
+    @Nullable
+    public Cache getCache(String name) {
+        Cache cache = decoratedCaches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+
+        Cache redisCache = redisCacheManager.getCache(name);
+        if (redisCache == null) {
+            return null;
+        }
+
+        return decoratedCaches.computeIfAbsent(name, n -> {
+            TwoTierCache twoTierCache = twoTierCaches.computeIfAbsent(n, k -> createTwoTierCache(k, redisCache));
+            // Defer both tiers together so invalidations are never broadcast before the transaction commits
+            return transactionAware ? new TransactionAwareCacheDecorator(twoTierCache) : twoTierCache;
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+
+    public CacheManager getRedisCacheManager() {
+        return redisCacheManager;
+    }
+
+    /**
+     * Lets an in-JVM cache that is not a Spring cache share the invalidation channel. The listener
+     * receives the keys other pods publish for {@code name} with {@link #publishEvict}; an empty
+     * key means the whole cache.
+     */
+    public void addLocalInvalidationListener(String name, Consumer<String> listener) {
+        localInvalidationListeners.put(name, listener);
+    }
+
+    public void publishEvict(String name, String key) {
+        invalidationPublisher.publishEvict(name, key);
+    }
+
+    @Override
+    public void onMessage(Message message, @Nullable byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+
+        int first = body.indexOf(CacheInvalidationPublisher.SEPARATOR);
+        int second = first < 0 ? -1 : body.indexOf(CacheInvalidationPublisher.SEPARATOR, first + 1);
+        if (second < 0) {
+            log.warn("⚠️ [CACHE-INVALIDATION] Ignoring malformed invalidation message: {}", body);
+            return;
+        }
+
+        String originId = body.substring(0, first);
+        if (originId.equals(invalidationPublisher.getOriginId())) {
+            return;
+        }
+
+        String cacheName = body.substring(first + 1, second);
+        String key = body.substring(second + 1);
+
+        TwoTierCache cache = twoTierCaches.get(cacheName);
+        if (cache == null) {
+            Consumer<String> listener = localInvalidationListeners.get(cacheName);
+            if (listener != null) {
+                listener.accept(key);
+                log.trace("[CACHE-INVALIDATION] Invalidated local cache {}::{} on request from {}", cacheName, key, originId);
+            }
+            return;
+        }
+
+        if (key.isEmpty()) {
+            cache.clearLocal();
+            log.debug("[CACHE-INVALIDATION] Cleared L1 cache {} on request from {}", cacheName, originId);
+        } else {
+            cache.evictLocal(key);
+            log.trace("[CACHE-INVALIDATION] Evicted L1 entry {}::{} on request from {}", cacheName, key, originId);
+        }
+    }
+
+    private TwoTierCache createTwoTierCache(String name, Cache redisCache) {
+        log.debug("Creating two-tier cache {} (L1 max size: {}, L1 TTL: {})", name, localMaxSize, localTtl);
+
+        com.github.benmanes.caffeine.cache.Cache<String, Object> localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .build();
+
+        // L1 copies are encoded with the same serializer as the Redis entries
+        var localCopySerializer = redisCache instanceof RedisCache rc ? rc.getCacheConfiguration().getValueSerializationPair() : null;
+
+        return new TwoTierCache(name, localCache, redisCache, invalidationPublisher, localCopySerializer, meterRegistry);
+    }
+}
@@ -10,13 +10,16 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
+import java.security.MessageDigest;
+import java.util.Objects;
 
 @Component
 public class ClientFingerprintValidator {
 
     private static final Logger logger = LoggerFactory.getLogger(ClientFingerprintValidator.class);
 
+    private static final String FINGERPRINT_ATTRIBUTE = ClientFingerprintValidator.class.getName() + ".fingerprint";
+
     private final boolean isFingerprintingRefererDisabled;
 
     public ClientFingerprintValidator(@Value("${toggles.fingerprinting.referer.disabled}") boolean isFingerprintingRefererDisabled) {
@@ -24,28 +27,36 @@ public class ClientFingerprintValidator {
     }
 
     public boolean isValidSignature(HttpServletRequest request, byte[] expectedClientFingerprint) {
-        try {
-            var actualClientFingerprint = new ClientFingerprint(ClientFingerprintParser.parseZoneOffset(request.getHeader(ApplicationConstants.REQUEST_DATETIME_HEADER)), request.getHeader(HttpHeaders.ACCEPT_LANGUAGE), request.getHeader(HttpHeaders.USER_AGENT), getReferer(request)).getBytes();
-
-            return Arrays.equals(expectedClientFingerprint, actualClientFingerprint);
-        } catch (Exception e) {
-            logger.error("Unable to compare fingerprints, something went wrong: ", e);
-            return false;
-        }
+        return isValidSignature(request, expectedClientFingerprint, request.getHeader(ApplicationConstants.REQUEST_DATETIME_HEADER));
     }
 
     public boolean isValidSignature(HttpServletRequest request, byte[] expectedClientFingerprint, String requestDatetime) {
         try {
-            var actualClientFingerprint = new ClientFingerprint(ClientFingerprintParser.parseZoneOffset(requestDatetime), request.getHeader(HttpHeaders.ACCEPT_LANGUAGE), request.getHeader(HttpHeaders.USER_AGENT), getReferer(request)).getBytes();
-
-            return Arrays.equals(expectedClientFingerprint, actualClientFingerprint);
+            return MessageDigest.isEqual(expectedClientFingerprint, getClientFingerprint(request, requestDatetime));
         } catch (Exception e) {
             logger.error("Unable to compare fingerprints, something went wrong: ", e);
             return false;
         }
     }
 
+    /**
+     * The fingerprint of this request, computed once and kept as a request attribute. Only the
+     * request datetime can differ between callers; the other parts are request headers.
+     */
+    private byte[] getClientFingerprint(HttpServletRequest request, String requestDatetime) {
+        if (request.getAttribute(FINGERPRINT_ATTRIBUTE) instanceof ComputedFingerprint computed && Objects.equals(computed.requestDatetime(), requestDatetime)) {
+            return computed.value();
+        }
+
+        var value = new ClientFingerprint(ClientFingerprintParser.parseZoneOffset(requestDatetime), request.getHeader(HttpHeaders.ACCEPT_LANGUAGE), request.getHeader(HttpHeaders.USER_AGENT), getReferer(request)).getBytes();
+        request.setAttribute(FINGERPRINT_ATTRIBUTE, new ComputedFingerprint(requestDatetime, value));
+        return value;
+    }
+
     private String getReferer(HttpServletRequest request) {
         return isFingerprintingRefererDisabled ? null : ClientFingerprintParser.parseRefererHost(request.getHeader(HttpHeaders.REFERER));
     }
+
+    private record ComputedFingerprint(String requestDatetime, byte[] value) {
+    }
 }
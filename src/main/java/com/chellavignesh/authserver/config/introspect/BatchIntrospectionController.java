@@ -0,0 +1,116 @@
+package com.chellavignesh.authserver.config.introspect;
+
+import com.chellavignesh.authserver.config.exception.OAuth2AuthenticationBadRequestException;
+import com.chellavignesh.authserver.security.CachedBodyHttpServletRequest;
+import com.chellavignesh.authserver.token.SignatureService;
+import com.chellavignesh.authserver.token.exception.SignatureVerificationFailedException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenIntrospectionClaimNames;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batch counterpart of {@code /oauth2/introspect} for gateways that check many tokens at once.
+ * <p>
+ * The caller authenticates once with its bearer token, and the body is signed the same way as a
+ * single introspection request. Rejected requests get a 400 with the same OAuth2 error body as
+ * the single-token endpoint.
+ */
+@RestController
+@Slf4j
+public class BatchIntrospectionController {
+
+    private final BatchIntrospectionService batchIntrospectionService;
+    private final SignatureService signatureService;
+    private final int maxItems;
+    private final int maxBodySize;
+
+    public BatchIntrospectionController(BatchIntrospectionService batchIntrospectionService,
+                                        SignatureService signatureService,
+                                        @Value("${introspection.batch.max-items:100}") int maxItems,
+                                        @Value("${request.body.max-size:" + CachedBodyHttpServletRequest.DEFAULT_MAX_BODY_SIZE + "}") int maxBodySize) {
+        this.batchIntrospectionService = batchIntrospectionService;
+        this.signatureService = signatureService;
+        this.maxItems = maxItems;
+        this.maxBodySize = maxBodySize;
+    }
+
+    @PostMapping("/oauth2/introspect/batch")
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> introspect(@AuthenticationPrincipal OAuth2AuthenticatedPrincipal caller,
+                                                                             @RequestBody BatchIntrospectionRequest body,
+                                                                             HttpServletRequest request) throws IOException {
+
+        if (caller == null || !Boolean.TRUE.equals(caller.getAttribute(OAuth2TokenIntrospectionClaimNames.ACTIVE))) {
+            throw new OAuth2AuthenticationBadRequestException("Provided bearer auth credentials are invalid.");
+        }
+        verifySignature(CachedBodyHttpServletRequest.of(request, maxBodySize));
+
+        List<BatchIntrospectionRequest.Item> items = body.getItems();
+        if (items == null || items.isEmpty()) {
+            throw new OAuth2AuthenticationBadRequestException("No tokens in request body.");
+        }
+        if (items.size() > maxItems) {
+            throw new OAuth2AuthenticationBadRequestException("At most " + maxItems + " tokens per batch.");
+        }
+        for (BatchIntrospectionRequest.Item item : items) {
+            if (!StringUtils.hasText(item.getResUrl()) || !StringUtils.hasText(item.getResMethod())) {
+                throw new OAuth2AuthenticationBadRequestException("res_url/res_method missing in request.");
+            }
+        }
+
+        return ResponseEntity.ok(Map.of("results", batchIntrospectionService.introspect(items)));
+    }
+
+    private void verifySignature(CachedBodyHttpServletRequest request) {
+        String signatureHeader = request.getHeader("x-signature");
+        if (!StringUtils.hasText(signatureHeader)) {
+            if (signatureService.isSignatureRequired()) {
+                throw new OAuth2AuthenticationBadRequestException("Missing request body signature.");
+            }
+            log.warn("Missing request body signature");
+            return;
+        }
+        try {
+            if (!signatureService.verifySignature(request, signatureHeader, request.getBody())) {
+                throw new OAuth2AuthenticationBadRequestException("Invalid request body signature.");
+            }
+        } catch (IllegalArgumentException e) {
+            // The header is not base64
+            throw new OAuth2AuthenticationBadRequestException("Invalid request body signature.");
+        } catch (SignatureVerificationFailedException e) {
+            log.warn("Could not validate request body signature: {}", e.getMessage());
+            throw new OAuth2AuthenticationBadRequestException("Could not validate request body signature.");
+        }
+    }
+
+    @ExceptionHandler(OAuth2AuthenticationException.class)
+    public ResponseEntity<Map<String, String>> handleOAuth2AuthenticationException(OAuth2AuthenticationException e) {
+        OAuth2Error error = e.getError();
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put(OAuth2ParameterNames.ERROR, error.getErrorCode());
+        if (StringUtils.hasText(error.getDescription())) {
+            body.put(OAuth2ParameterNames.ERROR_DESCRIPTION, error.getDescription());
+        }
+        if (StringUtils.hasText(error.getUri())) {
+            body.put(OAuth2ParameterNames.ERROR_URI, error.getUri());
+        }
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+}
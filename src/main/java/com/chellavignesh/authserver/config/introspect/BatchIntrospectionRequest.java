@@ -0,0 +1,30 @@
+package com.chellavignesh.authserver.config.introspect;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Body of {@code POST /oauth2/introspect/batch}. Each item carries the same fields as a single
+ * introspection request; {@code res_url} and {@code res_urn} are base64 encoded as there.
+ */
+@Data
+@NoArgsConstructor
+public class BatchIntrospectionRequest {
+
+    private List<Item> items;
+
+    @Data
+    @NoArgsConstructor
+    public static class Item {
+        private String token;
+        @JsonProperty("res_url")
+        private String resUrl;
+        @JsonProperty("res_method")
+        private String resMethod;
+        @JsonProperty("res_urn")
+        private String resUrn;
+    }
+}
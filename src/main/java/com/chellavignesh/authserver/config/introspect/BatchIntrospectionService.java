@@ -0,0 +1,100 @@
+package com.chellavignesh.authserver.config.introspect;
+
+import com.chellavignesh.authserver.adminportal.application.ApplicationService;
+import com.chellavignesh.authserver.enums.entity.TokenTypeEnum;
+import com.chellavignesh.authserver.token.TokenService;
+import com.chellavignesh.authserver.token.entity.Token;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.oauth2.core.OAuth2TokenIntrospectionClaimNames;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+
+import static com.chellavignesh.authserver.config.introspect.IntrospectionSuccessHandler.*;
+
+/**
+ * Introspects many tokens for one already-authenticated caller.
+ * <p>
+ * Each distinct token is looked up and its claims built once per batch, and each distinct
+ * client and resource pair is matched once. Results keep the claim set of the single-token endpoint,
+ * including {@code res_access} and {@code tsk}, in request order.
+ */
+@Service
+@Slf4j
+public class BatchIntrospectionService {
+
+    private final TokenService tokenService;
+    private final ApplicationService applicationService;
+    private final DistributionSummary batchSize;
+    private final DistributionSummary distinctTokens;
+
+    public BatchIntrospectionService(TokenService tokenService, ApplicationService applicationService, MeterRegistry meterRegistry) {
+        this.tokenService = tokenService;
+        this.applicationService = applicationService;
+        this.batchSize = DistributionSummary.builder("authserver.introspection.batch.size")
+                .description("Items per batch introspection request")
+                .register(meterRegistry);
+        this.distinctTokens = DistributionSummary.builder("authserver.introspection.batch.distinct.tokens")
+                .description("Distinct tokens looked up per batch introspection request")
+                .register(meterRegistry);
+    }
+
+    public List<Map<String, Object>> introspect(List<BatchIntrospectionRequest.Item> items) {
+        Map<String, Map<String, Object>> claimsByToken = new HashMap<>();
+        Map<List<String>, Boolean> accessByResource = new HashMap<>();
+        List<Map<String, Object>> results = new ArrayList<>(items.size());
+
+        for (BatchIntrospectionRequest.Item item : items) {
+            Map<String, Object> claims = new HashMap<>(claimsByToken.computeIfAbsent(item.getToken(), this::claimsFor));
+
+            String clientId = Boolean.TRUE.equals(claims.get(OAuth2TokenIntrospectionClaimNames.ACTIVE))
+                    ? (String) claims.get(OAuth2TokenIntrospectionClaimNames.CLIENT_ID)
+                    : null;
+            String resUrl = decodeResource(item.getResUrl());
+            String resUrn = decodeResource(item.getResUrn());
+            boolean resourceAccessAllowed = accessByResource.computeIfAbsent(Arrays.asList(clientId, resUrl, item.getResMethod(), resUrn),
+                    _ -> isResourceAccessAllowed(applicationService, clientId, resUrl, item.getResMethod(), resUrn));
+            claims.put(RESOURCE_ACCESS_CLAIM, resourceAccessAllowed ? RESOURCE_ACCESS_GRANTED : RESOURCE_ACCESS_DENIED);
+
+            results.add(claims);
+        }
+
+        batchSize.record(items.size());
+        distinctTokens.record(claimsByToken.size());
+        return results;
+    }
+
+    private Map<String, Object> claimsFor(String value) {
+        if (value == null || value.isEmpty()) {
+            return inactive();
+        }
+        try {
+            Optional<Token> token = tokenService.getByValue(value, TokenTypeEnum.ACCESS_TOKEN);
+            if (token.isEmpty()) {
+                return inactive();
+            }
+
+            Map<String, Object> claims = new HashMap<>(tokenService.getClaimsForToken(token.get()));
+            if (!Boolean.TRUE.equals(claims.get(OAuth2TokenIntrospectionClaimNames.ACTIVE))) {
+                return inactive();
+            }
+            // Same representation as the single-token endpoint: instants as epoch millis
+            claims.replaceAll((_, v) -> v instanceof Instant instant ? instant.toEpochMilli() : v);
+            byte[] signingKey = token.get().getSigningKey();
+            if (signingKey != null) {
+                claims.put(SIGNING_KEY_CLAIM, Base64.getEncoder().encodeToString(signingKey));
+            }
+            return claims;
+        } catch (RuntimeException e) {
+            log.debug("Batch introspection treated a token as inactive: {}", e.getMessage());
+            return inactive();
+        }
+    }
+
+    private static Map<String, Object> inactive() {
+        return Map.of(OAuth2TokenIntrospectionClaimNames.ACTIVE, false);
+    }
+}
@@ -1,22 +1,21 @@
 package com.chellavignesh.authserver.config.introspect;
 
-import com.chellavignesh.authserver.config.RequestBodyDecoder;
 import com.chellavignesh.authserver.config.exception.OAuth2AuthenticationBadRequestException;
 import com.chellavignesh.authserver.config.exception.RequestBodyDecodeFailureException;
+import com.chellavignesh.authserver.security.CachedBodyHttpServletRequest;
 import com.chellavignesh.authserver.token.SignatureService;
 import com.chellavignesh.authserver.token.exception.SignatureVerificationFailedException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.server.authorization.authentication.OAuth2TokenIntrospectionAuthenticationToken;
 import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthentication;
 import org.springframework.security.web.authentication.AuthenticationConverter;
-import org.springframework.web.util.ContentCachingRequestWrapper;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -25,9 +24,11 @@ public class IntrospectionAuthenticationConverter implements AuthenticationConve
     private static final Logger logger = LoggerFactory.getLogger(IntrospectionAuthenticationConverter.class);
 
     private final SignatureService signatureService;
+    private final int maxBodySize;
 
-    public IntrospectionAuthenticationConverter(SignatureService signatureService) {
+    public IntrospectionAuthenticationConverter(SignatureService signatureService, int maxBodySize) {
         this.signatureService = signatureService;
+        this.maxBodySize = maxBodySize;
     }
 
     @Override
@@ -43,9 +44,7 @@ public class IntrospectionAuthenticationConverter implements AuthenticationConve
         logger.trace("IntrospectionAuthenticationConverter::convert principal: {}", principal);
         logger.trace("IntrospectionAuthenticationConverter::convert authType: {}", request.getAuthType());
 
-        var req = new ContentCachingRequestWrapper(request);
-        req.getParameterMap();
-        var body = req.getContentAsString();
+        var req = cachedBody(request);
 
         var signatureHeader = req.getHeader("x-signature");
 
@@ -57,9 +56,7 @@ public class IntrospectionAuthenticationConverter implements AuthenticationConve
             }
         } else {
             try {
-                var authorizationHeader = req.getHeader(HttpHeaders.AUTHORIZATION);
-
-                var verified = this.signatureService.verifySignature(authorizationHeader, signatureHeader, body.getBytes(StandardCharsets.UTF_8));
+                var verified = this.signatureService.verifySignature(req, signatureHeader, req.getBody());
 
                 if (!verified) {
                     throw new OAuth2AuthenticationBadRequestException("Invalid request body signature.");
@@ -72,7 +69,7 @@ public class IntrospectionAuthenticationConverter implements AuthenticationConve
         // TODO: Breaks all OAuth2 clients. Should be moved into provider
         // to only change res_access claim
         try {
-            Map<String, String> data = RequestBodyDecoder.decode(body);
+            Map<String, String> data = req.getDecodedBody();
 
             tokenToIntrospect = data.get("token");
 
@@ -93,4 +90,12 @@ public class IntrospectionAuthenticationConverter implements AuthenticationConve
 
         return new OAuth2TokenIntrospectionAuthenticationToken(tokenToIntrospect, principal, "access_token", new HashMap<>());
     }
+
+    private CachedBodyHttpServletRequest cachedBody(HttpServletRequest request) {
+        try {
+            return CachedBodyHttpServletRequest.of(request, maxBodySize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read request body", e);
+        }
+    }
 }
@@ -1,9 +1,9 @@
 package com.chellavignesh.authserver.config.introspect;
 
 import com.chellavignesh.authserver.adminportal.application.ApplicationService;
-import com.chellavignesh.authserver.config.RequestBodyDecoder;
 import com.chellavignesh.authserver.config.exception.RequestBodyDecodeFailureException;
 import com.chellavignesh.authserver.enums.entity.TokenTypeEnum;
+import com.chellavignesh.authserver.security.CachedBodyHttpServletRequest;
 import com.chellavignesh.authserver.session.AuthSessionService;
 import com.chellavignesh.authserver.token.TokenService;
 import com.nimbusds.jose.shaded.gson.GsonBuilder;
@@ -17,7 +17,6 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.core.OAuth2TokenIntrospectionClaimNames;
 import org.springframework.security.oauth2.server.authorization.authentication.OAuth2TokenIntrospectionAuthenticationToken;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
-import org.springframework.web.util.ContentCachingRequestWrapper;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -40,23 +39,24 @@ public class IntrospectionSuccessHandler implements AuthenticationSuccessHandler
     private final TokenService tokenService;
     private final AuthSessionService authSessionService;
     private final boolean isFingerprintingEnabled;
+    private final int maxBodySize;
 
-    public IntrospectionSuccessHandler(ApplicationService applicationService, TokenService tokenService, AuthSessionService authSessionService, boolean isFingerprintingEnabled) {
+    public IntrospectionSuccessHandler(ApplicationService applicationService, TokenService tokenService, AuthSessionService authSessionService, boolean isFingerprintingEnabled, int maxBodySize) {
 
         this.applicationService = applicationService;
         this.tokenService = tokenService;
         this.authSessionService = authSessionService;
         this.isFingerprintingEnabled = isFingerprintingEnabled;
+        this.maxBodySize = maxBodySize;
     }
 
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response, Authentication authentication) throws IOException {
 
-        var req = new ContentCachingRequestWrapper(request);
-        req.getParameterMap();
+        var req = CachedBodyHttpServletRequest.of(request, maxBodySize);
 
         try {
-            Map<String, String> data = RequestBodyDecoder.decode(req.getContentAsString());
+            Map<String, String> data = req.getDecodedBody();
 
             var auth = (OAuth2TokenIntrospectionAuthenticationToken) authentication;
 
@@ -107,14 +107,17 @@ public class IntrospectionSuccessHandler implements AuthenticationSuccessHandler
 
         String clientId = authentication.getTokenClaims().getClaim(OAuth2TokenIntrospectionClaimNames.CLIENT_ID);
 
+        return isResourceAccessAllowed(applicationService, clientId, resUrl, resMethod, resUrn);
+    }
+
+    static boolean isResourceAccessAllowed(ApplicationService applicationService, String clientId, String resUrl, String resMethod, String resUrn) {
+
         if (Objects.isNull(clientId)) {
             log.warn("Access not granted to resource {} {} {}. ClientId missing in Authentication.", resMethod, resUrl, resUrn);
             return false;
         }
 
-        var applicationResources = applicationService.getAllAssignedResourcesByClientId(clientId);
-
-        boolean allowAccess = applicationResources.stream().anyMatch(resource -> resource.compareResource(resUrl, resMethod, resUrn));
+        boolean allowAccess = applicationService.getResourceMatcherByClientId(clientId).matches(resUrl, resMethod, resUrn);
 
         if (!allowAccess) {
             log.warn("Access not granted to client {} to resource {} {} {}.", clientId, resMethod, resUrl, resUrn);
@@ -123,7 +126,7 @@ public class IntrospectionSuccessHandler implements AuthenticationSuccessHandler
         return allowAccess;
     }
 
-    private String decodeResource(String resource) {
+    static String decodeResource(String resource) {
         try {
             return new String(Base64.getDecoder().decode(java.net.URLDecoder.decode(resource, StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
         } catch (IllegalArgumentException e) {
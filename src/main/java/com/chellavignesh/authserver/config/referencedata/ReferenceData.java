@@ -0,0 +1,99 @@
+package com.chellavignesh.authserver.config.referencedata;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A reference-data set held as an immutable {@link ReferenceDataSnapshot} and replaced in one
+ * volatile write, so readers never lock and never see a half-loaded set.
+ * <p>
+ * The first read loads the data if the scheduler has not done so yet. A reload that fails keeps
+ * the current snapshot. Loaders must return data that is not modified afterwards.
+ */
+@Slf4j
+public final class ReferenceData<T> {
+
+    private final String name;
+    private final Supplier<T> loader;
+    private final Counter failures;
+
+    private volatile ReferenceDataSnapshot<T> snapshot;
+
+    ReferenceData(String name, Supplier<T> loader, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.loader = loader;
+        this.failures = Counter.builder("authserver.reference.data.refresh.failures").tag("dataset", name)
+                .description("Reference data reloads that failed and kept the previous snapshot").register(meterRegistry);
+
+        Gauge.builder("authserver.reference.data.version", this, data -> data.snapshot == null ? 0 : data.snapshot.version())
+                .tag("dataset", name)
+                .description("Version of the reference data snapshot in use")
+                .register(meterRegistry);
+        Gauge.builder("authserver.reference.data.loaded", this, data -> data.snapshot == null ? 0 : data.snapshot.loadedAt().getEpochSecond())
+                .tag("dataset", name)
+                .baseUnit("seconds")
+                .description("Epoch time at which the reference data snapshot in use was loaded")
+                .register(meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public T get() {
+        return snapshot().data();
+    }
+
+    public ReferenceDataSnapshot<T> snapshot() {
+        ReferenceDataSnapshot<T> current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Loads the data and publishes it as a new snapshot if it differs from the current one.
+     * Exceptions from the loader are propagated and leave the current snapshot in place.
+     */
+    public synchronized ReferenceDataSnapshot<T> load() {
+        T data = loader.get();
+        ReferenceDataSnapshot<T> previous = snapshot;
+        if (previous != null && Objects.equals(previous.data(), data)) {
+            log.trace("Reference data {} unchanged at version {}", name, previous.version());
+            return previous;
+        }
+        ReferenceDataSnapshot<T> next = new ReferenceDataSnapshot<>(data, previous == null ? 1 : previous.version() + 1, Instant.now());
+        snapshot = next;
+        log.info("Loaded reference data {} version {}", name, next.version());
+        return next;
+    }
+
+    /**
+     * Same as {@link #load()}, but a failure is logged and counted instead of thrown.
+     *
+     * @return false if the load failed
+     */
+    public boolean refresh() {
+        try {
+            load();
+            return true;
+        } catch (RuntimeException e) {
+            failures.increment();
+            ReferenceDataSnapshot<T> current = snapshot;
+            log.error("Could not refresh reference data {}; keeping version {}: {}", name, current == null ? 0 : current.version(), e.getMessage(), e);
+            return false;
+        }
+    }
+}
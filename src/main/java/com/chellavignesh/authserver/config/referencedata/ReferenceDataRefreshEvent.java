@@ -0,0 +1,8 @@
+package com.chellavignesh.authserver.config.referencedata;
+
+/**
+ * Asks {@link ReferenceDataRegistry} to reload one data set now, or every data set when
+ * {@code dataset} is null.
+ */
+public record ReferenceDataRefreshEvent(String dataset) {
+}
@@ -0,0 +1,78 @@
+package com.chellavignesh.authserver.config.referencedata;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Owns every {@link ReferenceData} set and reloads them every {@code reference-data.refresh-interval},
+ * or on a {@link ReferenceDataRefreshEvent}.
+ */
+@Component
+@Slf4j
+public class ReferenceDataRegistry {
+
+    private final MeterRegistry meterRegistry;
+    private final boolean refreshEnabled;
+    private final Map<String, ReferenceData<?>> datasets = new ConcurrentHashMap<>();
+
+    public ReferenceDataRegistry(MeterRegistry meterRegistry, @Value("${reference-data.refresh-enabled:true}") boolean refreshEnabled) {
+        this.meterRegistry = meterRegistry;
+        this.refreshEnabled = refreshEnabled;
+    }
+
+    public <T> ReferenceData<T> register(String name, Supplier<T> loader) {
+        ReferenceData<T> data = new ReferenceData<>(name, loader, meterRegistry);
+        if (datasets.putIfAbsent(name, data) != null) {
+            throw new IllegalStateException("Reference data " + name + " is already registered");
+        }
+        return data;
+    }
+
+    public Optional<ReferenceData<?>> find(String name) {
+        return Optional.ofNullable(datasets.get(name));
+    }
+
+    public Collection<ReferenceData<?>> getAll() {
+        return Collections.unmodifiableCollection(datasets.values());
+    }
+
+    @Scheduled(fixedDelayString = "${reference-data.refresh-interval:300000}", initialDelayString = "${reference-data.refresh-interval:300000}")
+    public void refreshAll() {
+        if (!refreshEnabled) {
+            return;
+        }
+        datasets.values().forEach(ReferenceData::refresh);
+    }
+
+    /**
+     * @return false if there is no such data set or its reload failed
+     */
+    public boolean refresh(String name) {
+        ReferenceData<?> data = datasets.get(name);
+        if (data == null) {
+            log.warn("Refresh requested for unknown reference data {}", name);
+            return false;
+        }
+        return data.refresh();
+    }
+
+    @EventListener
+    public void onRefreshRequested(ReferenceDataRefreshEvent event) {
+        if (event.dataset() == null) {
+            datasets.values().forEach(ReferenceData::refresh);
+        } else {
+            refresh(event.dataset());
+        }
+    }
+}
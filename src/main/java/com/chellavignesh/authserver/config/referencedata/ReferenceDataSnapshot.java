@@ -0,0 +1,10 @@
+package com.chellavignesh.authserver.config.referencedata;
+
+import java.time.Instant;
+
+/**
+ * One immutable load of a reference-data set. {@code version} starts at 1 and only increases when a
+ * reload returns different data.
+ */
+public record ReferenceDataSnapshot<T>(T data, long version, Instant loadedAt) {
+}
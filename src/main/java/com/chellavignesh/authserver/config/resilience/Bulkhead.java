@@ -0,0 +1,49 @@
+package com.chellavignesh.authserver.config.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of concurrent calls to one downstream service. A caller that cannot get a slot
+ * within {@code maxWait} is rejected with {@link BulkheadFullException} rather than queued.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final Counter rejected;
+
+    public Bulkhead(String name, int maxConcurrent, Duration maxWait, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.permits = new Semaphore(maxConcurrent);
+        this.rejected = meterRegistry.counter("authserver.bulkhead.rejected", Tags.of("name", name));
+        meterRegistry.gauge("authserver.bulkhead.in.use", Tags.of("name", name), permits, p -> maxConcurrent - p.availablePermits());
+    }
+
+    public void acquire() {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            throw new BulkheadFullException("Bulkhead '" + name + "' is full (" + maxConcurrent + " concurrent calls)");
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+}
@@ -0,0 +1,7 @@
+package com.chellavignesh.authserver.config.resilience;
+
+public class BulkheadFullException extends RuntimeException {
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
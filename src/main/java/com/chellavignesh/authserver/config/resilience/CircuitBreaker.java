@@ -0,0 +1,90 @@
+package com.chellavignesh.authserver.config.resilience;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Minimal consecutive-failure circuit breaker for outbound calls.
+ * <p>
+ * After {@code failureThreshold} failures in a row the breaker opens and rejects calls with
+ * {@link CircuitBreakerOpenException} for {@code openDuration}. It then lets a single trial call
+ * through; success closes it again, failure re-opens it.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {CLOSED, OPEN, HALF_OPEN}
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openDurationNanos;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong();
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        meterRegistry.gauge("authserver.circuit.breaker.state", Tags.of("name", name), state, s -> s.get().ordinal());
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        if (!tryAcquire()) {
+            throw new CircuitBreakerOpenException("Circuit breaker '" + name + "' is open");
+        }
+        boolean succeeded = false;
+        try {
+            T result = call.get();
+            succeeded = true;
+            return result;
+        } finally {
+            // Errors count as failures too, so a half-open trial call always hands its permit back
+            if (succeeded) {
+                onSuccess();
+            } else {
+                onFailure();
+            }
+        }
+    }
+
+    public boolean tryAcquire() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN && System.nanoTime() - openedAt.get() >= openDurationNanos) {
+            // Only the caller that flips the state gets the trial call
+            return state.compareAndSet(State.OPEN, State.HALF_OPEN);
+        }
+        return false;
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        if (state.getAndSet(State.CLOSED) != State.CLOSED) {
+            log.info("Circuit breaker '{}' closed", name);
+        }
+    }
+
+    public void onFailure() {
+        if (state.get() == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAt.set(System.nanoTime());
+            if (state.getAndSet(State.OPEN) != State.OPEN) {
+                log.warn("Circuit breaker '{}' opened after {} consecutive failures", name, consecutiveFailures.get());
+            }
+        }
+    }
+
+    public State getState() {
+        return state.get();
+    }
+}
@@ -0,0 +1,7 @@
+package com.chellavignesh.authserver.config.resilience;
+
+public class CircuitBreakerOpenException extends RuntimeException {
+    public CircuitBreakerOpenException(String message) {
+        super(message);
+    }
+}
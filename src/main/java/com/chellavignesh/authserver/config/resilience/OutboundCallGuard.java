@@ -0,0 +1,56 @@
+package com.chellavignesh.authserver.config.resilience;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.function.Predicate;
+
+/**
+ * {@link Bulkhead} and {@link CircuitBreaker} for one downstream service. While the service is
+ * failing, calls are rejected immediately instead of holding request threads for the full
+ * timeout; while it is slow, at most {@code maxConcurrent} request threads wait on it.
+ */
+public class OutboundCallGuard {
+
+    private final String name;
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+
+    public OutboundCallGuard(String name, int maxConcurrent, Duration maxWait, int failureThreshold, Duration openDuration, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.bulkhead = new Bulkhead(name, maxConcurrent, maxWait, meterRegistry);
+        this.circuitBreaker = new CircuitBreaker(name, failureThreshold, openDuration, meterRegistry);
+    }
+
+    /**
+     * Runs the call. Exceptions, and results matching {@code isFailure}, count against the circuit
+     * breaker; the result is returned to the caller either way.
+     *
+     * @throws BulkheadFullException       if no slot frees up in time
+     * @throws CircuitBreakerOpenException if the service has been failing
+     */
+    public <T> T call(Callable<T> call, Predicate<T> isFailure) throws Exception {
+        bulkhead.acquire();
+        try {
+            if (!circuitBreaker.tryAcquire()) {
+                throw new CircuitBreakerOpenException("Circuit breaker '" + name + "' is open");
+            }
+            T result;
+            try {
+                result = call.call();
+            } catch (Exception | Error e) {
+                circuitBreaker.onFailure();
+                throw e;
+            }
+            if (isFailure.test(result)) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            return result;
+        } finally {
+            bulkhead.release();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.chellavignesh.authserver.config.serialization;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+/**
+ * Redis value serializer that writes one entity type with a {@link CacheEntryCodec} and reads
+ * both that format and the default-typed JSON written before it.
+ * <p>
+ * An entry is {@code [MAGIC][typeId][version varint][fields]}. The magic byte can never start a
+ * JSON document, so anything else is handed to the legacy serializer. Values of other types are
+ * still written as JSON. An entry that cannot be decoded is logged and reported as a miss. Readers
+ * that only know JSON cannot make the same fallback, so binary entries are kept under their own
+ * keys; see {@link CacheValueSerializers#keyPrefix}.
+ */
+@Slf4j
+public class BinaryCacheSerializer<T> implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xCB;
+
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    // Encode buffer reused per thread; only the exact-length result is allocated per entry
+    private static final ThreadLocal<CacheEntryWriter> WRITER = ThreadLocal.withInitial(CacheEntryWriter::new);
+
+    private final CacheEntryCodec<T> codec;
+    private final RedisSerializer<Object> legacySerializer;
+
+    public BinaryCacheSerializer(CacheEntryCodec<T> codec, RedisSerializer<Object> legacySerializer) {
+        this.codec = codec;
+        this.legacySerializer = legacySerializer;
+    }
+
+    @Override
+    public byte[] serialize(@Nullable Object value) throws SerializationException {
+        if (!codec.type().isInstance(value)) {
+            return legacySerializer.serialize(value);
+        }
+
+        CacheEntryWriter writer = WRITER.get();
+        writer.reset();
+        try {
+            writer.writeByte(MAGIC).writeByte(codec.typeId()).writeVarLong(codec.version());
+            codec.write(codec.type().cast(value), writer);
+            return writer.toByteArray();
+        } catch (RuntimeException e) {
+            throw new SerializationException("Failed to encode " + codec.type().getSimpleName(), e);
+        } finally {
+            if (writer.capacity() > MAX_RETAINED_BUFFER) {
+                WRITER.remove();
+            }
+        }
+    }
+
+    @Override
+    public Object deserialize(@Nullable byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return legacySerializer.deserialize(bytes);
+        }
+
+        try {
+            CacheEntryReader reader = new CacheEntryReader(bytes, 1);
+            int typeId = reader.readByte();
+            int version = Math.toIntExact(reader.readVarLong());
+            if (typeId != codec.typeId() || version < 1 || version > codec.version()) {
+                log.debug("Skipping {} cache entry with type {} version {}", codec.type().getSimpleName(), typeId, version);
+                return null;
+            }
+            return codec.read(reader, version);
+        } catch (RuntimeException e) {
+            log.warn("❌ Failed to decode {} cache entry: {}", codec.type().getSimpleName(), e.getMessage());
+            return null;
+        }
+    }
+}
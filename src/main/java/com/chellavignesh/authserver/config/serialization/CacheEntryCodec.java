@@ -0,0 +1,24 @@
+package com.chellavignesh.authserver.config.serialization;
+
+/**
+ * Binary encoding of one cached entity type.
+ * <p>
+ * Every entry is stamped with the codec's {@link #version()}. To evolve the schema, append new
+ * fields at the end, bump the version, and only read them when the stored version is high enough.
+ * Older pods see an entry from a newer version as a cache miss.
+ */
+public interface CacheEntryCodec<T> {
+
+    /**
+     * Identifies the entity type inside an entry, so a cache re-pointed at another codec misses.
+     */
+    byte typeId();
+
+    int version();
+
+    Class<T> type();
+
+    void write(T value, CacheEntryWriter writer);
+
+    T read(CacheEntryReader reader, int version);
+}
@@ -0,0 +1,118 @@
+package com.chellavignesh.authserver.config.serialization;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Reads values written by {@link CacheEntryWriter}. Running past the end of the entry fails with
+ * {@link IllegalStateException}, which the serializer treats as a cache miss.
+ */
+public final class CacheEntryReader {
+
+    private final byte[] buffer;
+    private int position;
+
+    CacheEntryReader(byte[] buffer, int offset) {
+        this.buffer = buffer;
+        this.position = offset;
+    }
+
+    public int readByte() {
+        require(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    public long readVarLong() {
+        long zigZag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            zigZag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigZag >>> 1) ^ -(zigZag & 1);
+            }
+        }
+        throw new IllegalStateException("Malformed varint in cache entry");
+    }
+
+    public boolean readBoolean() {
+        return readByte() == 1;
+    }
+
+    public Boolean readNullableBoolean() {
+        int value = readByte();
+        return value == 2 ? null : value == 1;
+    }
+
+    public Integer readNullableInt() {
+        return readByte() == 0 ? null : Math.toIntExact(readVarLong());
+    }
+
+    public byte[] readNullableBytes() {
+        int length = readLength();
+        if (length < 0) {
+            return null;
+        }
+        require(length);
+        byte[] value = Arrays.copyOfRange(buffer, position, position + length);
+        position += length;
+        return value;
+    }
+
+    public String readNullableString() {
+        int length = readLength();
+        if (length < 0) {
+            return null;
+        }
+        require(length);
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    public UUID readNullableUuid() {
+        if (readByte() == 0) {
+            return null;
+        }
+        return new UUID(readFixedLong(), readFixedLong());
+    }
+
+    public Date readNullableDate() {
+        return readByte() == 0 ? null : new Date(readVarLong());
+    }
+
+    public <E extends Enum<E>> E readNullableEnum(Class<E> type) {
+        String name = readNullableString();
+        return name == null ? null : Enum.valueOf(type, name);
+    }
+
+    public Set<String> readNullableStringSet() {
+        int size = readLength();
+        if (size < 0) {
+            return null;
+        }
+        Set<String> values = new HashSet<>(Math.max(4, (int) (size / 0.75f) + 1));
+        for (int i = 0; i < size; i++) {
+            values.add(readNullableString());
+        }
+        return values;
+    }
+
+    private int readLength() {
+        return Math.toIntExact(readVarLong() - 1);
+    }
+
+    private long readFixedLong() {
+        require(8);
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (buffer[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    private void require(int length) {
+        if (length < 0 || position + length > buffer.length) {
+            throw new IllegalStateException("Truncated cache entry");
+        }
+    }
+}
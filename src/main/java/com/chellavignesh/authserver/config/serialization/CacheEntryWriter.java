@@ -0,0 +1,136 @@
+package com.chellavignesh.authserver.config.serialization;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Growable byte buffer used by {@link CacheEntryCodec}s to write a cache entry.
+ * <p>
+ * Integers are written as zig-zag varints, and nullable values carry a one-byte presence marker
+ * or a length offset by one, so small entities encode to a few dozen bytes. Byte arrays are
+ * written raw.
+ */
+public final class CacheEntryWriter {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private byte[] buffer;
+    private int position;
+
+    public CacheEntryWriter() {
+        this(INITIAL_CAPACITY);
+    }
+
+    CacheEntryWriter(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    void reset() {
+        position = 0;
+    }
+
+    int capacity() {
+        return buffer.length;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    public CacheEntryWriter writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+        return this;
+    }
+
+    public CacheEntryWriter writeVarLong(long value) {
+        long zigZag = (value << 1) ^ (value >> 63);
+        ensureCapacity(10);
+        while ((zigZag & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((zigZag & 0x7F) | 0x80);
+            zigZag >>>= 7;
+        }
+        buffer[position++] = (byte) zigZag;
+        return this;
+    }
+
+    public CacheEntryWriter writeBoolean(boolean value) {
+        return writeByte(value ? 1 : 0);
+    }
+
+    public CacheEntryWriter writeNullableBoolean(Boolean value) {
+        return writeByte(value == null ? 2 : value ? 1 : 0);
+    }
+
+    public CacheEntryWriter writeNullableInt(Integer value) {
+        if (value == null) {
+            return writeByte(0);
+        }
+        writeByte(1);
+        return writeVarLong(value);
+    }
+
+    public CacheEntryWriter writeNullableBytes(byte[] value) {
+        if (value == null) {
+            return writeVarLong(0);
+        }
+        writeVarLong(value.length + 1L);
+        ensureCapacity(value.length);
+        System.arraycopy(value, 0, buffer, position, value.length);
+        position += value.length;
+        return this;
+    }
+
+    public CacheEntryWriter writeNullableString(String value) {
+        return writeNullableBytes(value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public CacheEntryWriter writeNullableUuid(UUID value) {
+        if (value == null) {
+            return writeByte(0);
+        }
+        writeByte(1);
+        writeFixedLong(value.getMostSignificantBits());
+        return writeFixedLong(value.getLeastSignificantBits());
+    }
+
+    public CacheEntryWriter writeNullableDate(Date value) {
+        if (value == null) {
+            return writeByte(0);
+        }
+        writeByte(1);
+        return writeVarLong(value.getTime());
+    }
+
+    public CacheEntryWriter writeNullableEnum(Enum<?> value) {
+        return writeNullableString(value == null ? null : value.name());
+    }
+
+    public CacheEntryWriter writeNullableStrings(Collection<String> values) {
+        if (values == null) {
+            return writeVarLong(0);
+        }
+        writeVarLong(values.size() + 1L);
+        for (String value : values) {
+            writeNullableString(value);
+        }
+        return this;
+    }
+
+    private CacheEntryWriter writeFixedLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+        return this;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (position + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.chellavignesh.authserver.config.serialization;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.Map;
+
+/**
+ * Value serializers for the Redis caches.
+ * <p>
+ * Caches listed in {@link #BINARY_CODECS} store entries with their binary codec, under keys carrying
+ * {@link #BINARY_KEY_SEGMENT}. Every other cache keeps the default-typed JSON serializer.
+ */
+public final class CacheValueSerializers {
+
+    public static final Map<String, CacheEntryCodec<?>> BINARY_CODECS = Map.of(
+            "application-get-by-id", new EntityCacheCodecs.ApplicationCodec(),
+            "application-get-by-client-id", new EntityCacheCodecs.ApplicationCodec(),
+            "token-settings-get-for-app", new EntityCacheCodecs.TokenSettingsCodec(),
+            "token-settings-get-by-id", new EntityCacheCodecs.TokenSettingsCodec(),
+            "session-get-by-session-id", new EntityCacheCodecs.AuthSessionCodec(),
+            "token-get-by-value-hash", new EntityCacheCodecs.TokenCodec()
+    );
+
+    /**
+     * Key segment for caches written with a binary codec. Pods from before the codecs only read
+     * JSON, so binary entries get their own keys and never reach them during a rolling deploy; each
+     * format ages out on its own TTL. Change the segment if the entry header itself ever changes.
+     */
+    static final String BINARY_KEY_SEGMENT = "bin1";
+
+    private CacheValueSerializers() {
+    }
+
+    public static String keyPrefix(String cachePrefix, String cacheName) {
+        return BINARY_CODECS.containsKey(cacheName) ? cachePrefix + cacheName + ":" + BINARY_KEY_SEGMENT + ":" : cachePrefix + cacheName + ":";
+    }
+
+    public static RedisSerializer<Object> forCache(String cacheName, GenericJackson2JsonRedisSerializer jsonSerializer) {
+        CacheEntryCodec<?> codec = BINARY_CODECS.get(cacheName);
+        return codec == null ? jsonSerializer : new BinaryCacheSerializer<>(codec, jsonSerializer);
+    }
+
+    /**
+     * Binary-optimized JSON serializer.
+     */
+    public static GenericJackson2JsonRedisSerializer json() {
+
+        ObjectMapper mapper = new ObjectMapper();
+
+        mapper.activateDefaultTyping(mapper.getPolymorphicTypeValidator(), ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+
+        mapper.registerModule(new Jdk8Module());
+        mapper.registerModule(new JavaTimeModule());
+        SimpleModule binaryModule = new SimpleModule("BinaryDataModule");
+        binaryModule.addSerializer(byte[].class, new BinaryDataSerializers.ByteArrayBase64Serializer());
+        binaryModule.addDeserializer(byte[].class, new BinaryDataSerializers.ByteArrayBase64Deserializer());
+        mapper.registerModule(binaryModule);
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        mapper.configure(SerializationFeature.INDENT_OUTPUT, false);
+
+        mapper.findAndRegisterModules();
+
+        return new GenericJackson2JsonRedisSerializer(mapper);
+    }
+}
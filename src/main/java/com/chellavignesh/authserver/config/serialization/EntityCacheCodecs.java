@@ -0,0 +1,213 @@
+package com.chellavignesh.authserver.config.serialization;
+
+import com.chellavignesh.authserver.adminportal.application.entity.Application;
+import com.chellavignesh.authserver.adminportal.application.entity.TokenSettings;
+import com.chellavignesh.authserver.enums.entity.*;
+import com.chellavignesh.authserver.session.entity.AuthSession;
+import com.chellavignesh.authserver.token.entity.Token;
+
+/**
+ * Binary codecs for the entities on the token and introspection hot paths.
+ * Enums are written by name because their database ids are loaded at startup.
+ */
+public final class EntityCacheCodecs {
+
+    private EntityCacheCodecs() {
+    }
+
+    public static class TokenCodec implements CacheEntryCodec<Token> {
+
+        @Override
+        public byte typeId() {
+            return 1;
+        }
+
+        @Override
+        public int version() {
+            return 1;
+        }
+
+        @Override
+        public Class<Token> type() {
+            return Token.class;
+        }
+
+        @Override
+        public void write(Token token, CacheEntryWriter writer) {
+            writer.writeNullableInt(token.getId())
+                    .writeNullableEnum(token.getTokenType())
+                    .writeNullableString(token.getSubjectId())
+                    .writeNullableUuid(token.getSessionId())
+                    .writeNullableInt(token.getApplicationId())
+                    .writeNullableString(token.getData())
+                    .writeBoolean(token.isOpaque())
+                    .writeNullableDate(token.getCreatedOn())
+                    .writeNullableDate(token.getExpiration())
+                    .writeNullableBytes(token.getSigningKey());
+        }
+
+        @Override
+        public Token read(CacheEntryReader reader, int version) {
+            Token token = new Token();
+            token.setId(reader.readNullableInt());
+            token.setTokenType(reader.readNullableEnum(TokenTypeEnum.class));
+            token.setSubjectId(reader.readNullableString());
+            token.setSessionId(reader.readNullableUuid());
+            token.setApplicationId(reader.readNullableInt());
+            token.setData(reader.readNullableString());
+            token.setOpaque(reader.readBoolean());
+            token.setCreatedOn(reader.readNullableDate());
+            token.setExpiration(reader.readNullableDate());
+            token.setSigningKey(reader.readNullableBytes());
+            return token;
+        }
+    }
+
+    public static class AuthSessionCodec implements CacheEntryCodec<AuthSession> {
+
+        @Override
+        public byte typeId() {
+            return 2;
+        }
+
+        @Override
+        public int version() {
+            return 1;
+        }
+
+        @Override
+        public Class<AuthSession> type() {
+            return AuthSession.class;
+        }
+
+        @Override
+        public void write(AuthSession session, CacheEntryWriter writer) {
+            writer.writeNullableInt(session.getAuthSessionId())
+                    .writeNullableInt(session.getApplicationId())
+                    .writeNullableUuid(session.getSessionId())
+                    .writeNullableString(session.getSubjectId())
+                    .writeNullableStrings(session.getScopes())
+                    .writeNullableEnum(session.getAuthSessionStatus())
+                    .writeNullableEnum(session.getAuthFlow())
+                    .writeNullableBytes(session.getClientFingerprint())
+                    .writeNullableString(session.getBranding())
+                    .writeNullableString(session.getRedirectUri());
+        }
+
+        @Override
+        public AuthSession read(CacheEntryReader reader, int version) {
+            AuthSession session = new AuthSession();
+            session.setAuthSessionId(reader.readNullableInt());
+            session.setApplicationId(reader.readNullableInt());
+            session.setSessionId(reader.readNullableUuid());
+            session.setSubjectId(reader.readNullableString());
+            session.setScopes(reader.readNullableStringSet());
+            session.setAuthSessionStatus(reader.readNullableEnum(AuthSessionStatusEnum.class));
+            session.setAuthFlow(reader.readNullableEnum(AuthFlowEnum.class));
+            session.setClientFingerprint(reader.readNullableBytes());
+            session.setBranding(reader.readNullableString());
+            session.setRedirectUri(reader.readNullableString());
+            return session;
+        }
+    }
+
+    public static class ApplicationCodec implements CacheEntryCodec<Application> {
+
+        @Override
+        public byte typeId() {
+            return 3;
+        }
+
+        @Override
+        public int version() {
+            return 1;
+        }
+
+        @Override
+        public Class<Application> type() {
+            return Application.class;
+        }
+
+        @Override
+        public void write(Application application, CacheEntryWriter writer) {
+            writer.writeNullableInt(application.getId())
+                    .writeNullableInt(application.getOrgId())
+                    .writeNullableString(application.getClientId())
+                    .writeNullableString(application.getName())
+                    .writeNullableString(application.getDescription())
+                    .writeNullableString(application.getUri())
+                    .writeNullableEnum(application.getType())
+                    .writeNullableEnum(application.getAuthFlow())
+                    .writeNullableEnum(application.getUsernameType())
+                    .writeNullableBoolean(application.getAllowForgotUsername())
+                    .writeNullableUuid(application.getRowGuid())
+                    .writeNullableBoolean(application.getActive())
+                    .writeNullableString(application.getCmsContext());
+        }
+
+        @Override
+        public Application read(CacheEntryReader reader, int version) {
+            Application application = new Application();
+            application.setId(reader.readNullableInt());
+            application.setOrgId(reader.readNullableInt());
+            application.setClientId(reader.readNullableString());
+            application.setName(reader.readNullableString());
+            application.setDescription(reader.readNullableString());
+            application.setUri(reader.readNullableString());
+            application.setType(reader.readNullableEnum(ApplicationTypeEnum.class));
+            application.setAuthFlow(reader.readNullableEnum(AuthFlowEnum.class));
+            application.setUsernameType(reader.readNullableEnum(UsernameTypeEnum.class));
+            application.setAllowForgotUsername(reader.readNullableBoolean());
+            application.setRowGuid(reader.readNullableUuid());
+            application.setActive(reader.readNullableBoolean());
+            application.setCmsContext(reader.readNullableString());
+            return application;
+        }
+    }
+
+    public static class TokenSettingsCodec implements CacheEntryCodec<TokenSettings> {
+
+        @Override
+        public byte typeId() {
+            return 4;
+        }
+
+        @Override
+        public int version() {
+            return 1;
+        }
+
+        @Override
+        public Class<TokenSettings> type() {
+            return TokenSettings.class;
+        }
+
+        @Override
+        public void write(TokenSettings settings, CacheEntryWriter writer) {
+            writer.writeNullableInt(settings.getId())
+                    .writeNullableInt(settings.getOrgId())
+                    .writeNullableInt(settings.getAppId())
+                    .writeNullableInt(settings.getAuthCodeTimeToLive())
+                    .writeNullableInt(settings.getAccessTokenTimeToLive())
+                    .writeNullableInt(settings.getDeviceCodeTimeToLive())
+                    .writeNullableInt(settings.getRefreshTokenTimeToLive())
+                    .writeNullableBoolean(settings.getReuseRefreshTokens())
+                    .writeNullableInt(settings.getMaxRequestTransitTime());
+        }
+
+        @Override
+        public TokenSettings read(CacheEntryReader reader, int version) {
+            TokenSettings settings = new TokenSettings();
+            settings.setId(reader.readNullableInt());
+            settings.setOrgId(reader.readNullableInt());
+            settings.setAppId(reader.readNullableInt());
+            settings.setAuthCodeTimeToLive(reader.readNullableInt());
+            settings.setAccessTokenTimeToLive(reader.readNullableInt());
+            settings.setDeviceCodeTimeToLive(reader.readNullableInt());
+            settings.setRefreshTokenTimeToLive(reader.readNullableInt());
+            settings.setReuseRefreshTokens(reader.readNullableBoolean());
+            settings.setMaxRequestTransitTime(reader.readNullableInt());
+            return settings;
+        }
+    }
+}
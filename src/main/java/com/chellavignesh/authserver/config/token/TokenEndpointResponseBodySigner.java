@@ -2,19 +2,17 @@ package com.chellavignesh.authserver.config.token;
 
 import com.chellavignesh.authserver.adminportal.application.ApplicationService;
 import com.chellavignesh.authserver.adminportal.application.entity.Application;
-import com.chellavignesh.authserver.adminportal.certificate.CertificateEntity;
-import com.chellavignesh.authserver.adminportal.certificate.CertificateStatus;
-import com.chellavignesh.authserver.adminportal.certificate.OrganizationCertificateService;
-import com.chellavignesh.authserver.enums.entity.CertificateType;
-import com.nimbusds.jose.JOSEException;
-import com.nimbusds.jose.jwk.JWK;
+import com.chellavignesh.authserver.adminportal.certificate.OrganizationSigningKey;
+import com.chellavignesh.authserver.adminportal.certificate.OrganizationSigningKeyRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.security.*;
-import java.security.interfaces.ECPublicKey;
-import java.security.interfaces.RSAPublicKey;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 @Component
@@ -22,12 +20,17 @@ public class TokenEndpointResponseBodySigner {
 
     private static final Logger logger = LoggerFactory.getLogger(TokenEndpointResponseBodySigner.class);
 
+    // Signature lookups go through the provider list, so keep one instance per algorithm per thread
+    private static final ThreadLocal<Map<String, Signature>> SIGNATURE_POOL = ThreadLocal.withInitial(HashMap::new);
+
     private final ApplicationService applicationService;
-    private final OrganizationCertificateService organizationCertificateService;
+    private final OrganizationSigningKeyRegistry organizationSigningKeyRegistry;
+    private final MeterRegistry meterRegistry;
 
-    public TokenEndpointResponseBodySigner(ApplicationService applicationService, OrganizationCertificateService organizationCertificateService) {
+    public TokenEndpointResponseBodySigner(ApplicationService applicationService, OrganizationSigningKeyRegistry organizationSigningKeyRegistry, MeterRegistry meterRegistry) {
         this.applicationService = applicationService;
-        this.organizationCertificateService = organizationCertificateService;
+        this.organizationSigningKeyRegistry = organizationSigningKeyRegistry;
+        this.meterRegistry = meterRegistry;
     }
 
     public byte[] signResponseBody(byte[] body, String clientId) {
@@ -41,58 +44,25 @@ public class TokenEndpointResponseBodySigner {
     }
 
     private byte[] signBodyWithLatestOrgCertificateForApplication(byte[] body, Application application) {
-        var certificateEntities = this.organizationCertificateService.getAllByOrgId(application.getOrgId());
-
-        var certificateWithLatestExpiration = certificateEntities.stream().filter(certificateEntity -> certificateEntity.getType() == CertificateType.ORGANIZATION).filter(certificateEntity -> certificateEntity.getStatus() == CertificateStatus.ACTIVE).max((o1, o2) -> {
-            try {
-                var jwk1 = JWK.parse(o1.getKeyStorePair().getCertificate().get());
-                var jwk2 = JWK.parse(o2.getKeyStorePair().getCertificate().get());
-                return jwk1.getExpirationTime().compareTo(jwk2.getExpirationTime());
-            } catch (JOSEException e) {
-                return o1.getValidTo().compareToIgnoreCase(o2.getValidTo());
-            }
-        });
+        Optional<OrganizationSigningKey> signingKey = this.organizationSigningKeyRegistry.get(application.getOrgId());
 
-        if (certificateWithLatestExpiration.isPresent()) {
-            return signBodyWithCertificate(body, certificateWithLatestExpiration.get());
+        if (signingKey.isPresent()) {
+            return signBodyWithSigningKey(body, signingKey.get());
         }
 
         return new byte[]{};
     }
 
-    private static byte[] signBodyWithCertificate(byte[] body, CertificateEntity certificateEntity) {
-        var keyStorePair = certificateEntity.getKeyStorePair();
-        var certificate = keyStorePair.getCertificate();
-
-        if (certificate.isPresent()) {
-            PublicKey publicKey = certificate.get().getPublicKey();
-
-            String algorithm;
-
-            if (publicKey instanceof RSAPublicKey) {
-                algorithm = "SHA256withRSA";
-            } else if (publicKey instanceof ECPublicKey) {
-                algorithm = "SHA256withECDSAinP1363Format";
-            } else {
-                logger.error("Unsupported public key algorithm: {}", publicKey.getAlgorithm());
-                return new byte[]{};
-            }
-
-            Optional<PrivateKey> privateKey = keyStorePair.getPrivateKey();
-
-            if (privateKey.isPresent()) {
-                return signBodyWithPrivateKey(body, algorithm, privateKey.get());
-            }
-        }
-
-        return new byte[]{};
-    }
-
-    private static byte[] signBodyWithPrivateKey(byte[] body, String algorithm, PrivateKey privateKey) {
+    private byte[] signBodyWithSigningKey(byte[] body, OrganizationSigningKey signingKey) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            Signature signature = Signature.getInstance(algorithm);
+            Signature signature = SIGNATURE_POOL.get().get(signingKey.algorithm());
+            if (signature == null) {
+                signature = Signature.getInstance(signingKey.algorithm());
+                SIGNATURE_POOL.get().put(signingKey.algorithm(), signature);
+            }
 
-            signature.initSign(privateKey);
+            signature.initSign(signingKey.privateKey());
             signature.update(body);
 
             return signature.sign();
@@ -101,6 +71,8 @@ public class TokenEndpointResponseBodySigner {
 
             logger.error("Could not sign response body", e);
             return new byte[]{};
+        } finally {
+            sample.stop(meterRegistry.timer("authserver.token.response.sign", "algorithm", signingKey.algorithm()));
         }
     }
 }
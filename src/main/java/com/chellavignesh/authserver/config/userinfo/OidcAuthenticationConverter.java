@@ -1,11 +1,11 @@
 package com.chellavignesh.authserver.config.userinfo;
 
+import com.chellavignesh.authserver.security.CachedBodyHttpServletRequest;
 import com.chellavignesh.authserver.token.SignatureService;
 import com.chellavignesh.authserver.token.exception.SignatureVerificationFailedException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
 import org.springframework.security.oauth2.core.oidc.OidcUserInfo;
@@ -13,27 +13,26 @@ import org.springframework.security.oauth2.server.authorization.oidc.authenticat
 import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthentication;
 import org.springframework.security.web.authentication.AuthenticationConverter;
 import org.springframework.util.StringUtils;
-import org.springframework.web.util.ContentCachingRequestWrapper;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 public class OidcAuthenticationConverter implements AuthenticationConverter {
 
     private static final Logger logger = LoggerFactory.getLogger(OidcAuthenticationConverter.class);
 
     private final SignatureService signatureService;
+    private final int maxBodySize;
 
-    public OidcAuthenticationConverter(SignatureService signatureService) {
+    public OidcAuthenticationConverter(SignatureService signatureService, int maxBodySize) {
         this.signatureService = signatureService;
+        this.maxBodySize = maxBodySize;
     }
 
     @Override
     public Authentication convert(HttpServletRequest request) {
 
-        var req = new ContentCachingRequestWrapper(request);
-
-        req.getParameterMap(); // trigger request caching
-        var body = req.getContentAsString();
+        var req = cachedBody(request);
 
         var signatureHeader = req.getHeader("x-signature");
 
@@ -45,9 +44,7 @@ public class OidcAuthenticationConverter implements AuthenticationConverter {
             }
         } else {
             try {
-                var authorizationHeader = req.getHeader(HttpHeaders.AUTHORIZATION);
-
-                var verified = this.signatureService.verifySignature(authorizationHeader, signatureHeader, body.getBytes(StandardCharsets.UTF_8));
+                var verified = this.signatureService.verifySignature(req, signatureHeader, req.getBody());
 
                 if (!verified) {
                     throw new OAuth2AuthenticationException("Invalid request body signature.");
@@ -63,4 +60,12 @@ public class OidcAuthenticationConverter implements AuthenticationConverter {
 
         return new OidcUserInfoAuthenticationToken(principal, userInfo);
     }
+
+    private CachedBodyHttpServletRequest cachedBody(HttpServletRequest request) {
+        try {
+            return CachedBodyHttpServletRequest.of(request, maxBodySize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read request body", e);
+        }
+    }
 }
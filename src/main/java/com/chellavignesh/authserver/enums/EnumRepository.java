@@ -5,6 +5,12 @@ import com.chellavignesh.authserver.enums.entity.*;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.sql.ResultSetMetaData;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Repository
 public class EnumRepository {
     private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
@@ -13,8 +19,11 @@ public class EnumRepository {
         this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
     }
 
-    public void loadEnumValues() {
-        namedParameterJdbcTemplate.query(
+    /**
+     * Publishes the IDs from {@code dbo.GetEnums} to each enum and returns them by column name.
+     */
+    public Map<String, Integer> loadEnumValues() {
+        List<Map<String, Integer>> rows = namedParameterJdbcTemplate.query(
                 "{call dbo.GetEnums}", (rs, rowNum) -> {
                     AuthFlowEnum.setValues(rs);
                     AlgorithmEnum.setValues(rs);
@@ -26,8 +35,15 @@ public class EnumRepository {
                     SuffixType.setValues(rs);
                     CredentialStatus.setValues(rs);
                     UsernameTypeEnum.setValues(rs);
-                    return null;
+
+                    ResultSetMetaData metaData = rs.getMetaData();
+                    Map<String, Integer> ids = new HashMap<>();
+                    for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                        ids.put(metaData.getColumnLabel(column), rs.getInt(column));
+                    }
+                    return Collections.unmodifiableMap(ids);
                 }
         );
+        return rows.isEmpty() ? Map.of() : rows.getFirst();
     }
 }
@@ -1,5 +1,7 @@
 package com.chellavignesh.authserver.enums;
 
+import com.chellavignesh.authserver.config.referencedata.ReferenceData;
+import com.chellavignesh.authserver.config.referencedata.ReferenceDataRegistry;
 import com.chellavignesh.authserver.enums.entity.*;
 import com.chellavignesh.authserver.enums.exception.EnumServiceLoadFailedException;
 import org.slf4j.Logger;
@@ -7,48 +9,65 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.HashSet;
+import java.util.Map;
 
+/**
+ * Loads the database IDs of the enums in {@link com.chellavignesh.authserver.enums.entity} at
+ * startup, failing startup if any are missing, and reloads them with the other reference data.
+ */
 @Service
 public class EnumService {
     private static final Logger log = LoggerFactory.getLogger(EnumService.class);
 
-    public EnumService(EnumRepository enumRepository) throws EnumServiceLoadFailedException {
-        enumRepository.loadEnumValues();
-        checkEnumsLoaded();
+    static final String DATASET = "enums";
+
+    private final ReferenceData<Map<String, Integer>> enumIds;
+
+    public EnumService(EnumRepository enumRepository, ReferenceDataRegistry referenceDataRegistry) throws EnumServiceLoadFailedException {
+        this.enumIds = referenceDataRegistry.register(DATASET, () -> {
+            Map<String, Integer> ids = enumRepository.loadEnumValues();
+            checkEnumsLoaded();
+            return ids;
+        });
+        enumIds.load();
         log.info("EnumService initialized and enum values loaded successfully.");
     }
 
+    public ReferenceData<Map<String, Integer>> getEnumIds() {
+        return enumIds;
+    }
+
     private void checkEnumsLoaded() throws EnumServiceLoadFailedException {
         var errors = new HashSet<String>();
         if (AuthFlowEnum.PKCE.getValue() == null) {
             errors.add("Enum IDs for AuthFlowEnum not found.");
         } else {
-            log.info("Enum IDs for AuthFlowEnum loaded successfully.");
+            log.debug("Enum IDs for AuthFlowEnum loaded successfully.");
         }
         if (AlgorithmEnum.ES256.getValue() == null) {
             errors.add("Enum IDs for AlgorithmEnum not found.");
         } else {
-            log.info("Enum IDs for AlgorithmEnum loaded successfully.");
+            log.debug("Enum IDs for AlgorithmEnum loaded successfully.");
         }
         if (ApplicationTypeEnum.WEB.getValue() == null) {
             errors.add("Enum IDs for ApplicationTypeEnum not found.");
         } else {
-            log.info("Enum IDs for ApplicationTypeEnum loaded successfully.");
+            log.debug("Enum IDs for ApplicationTypeEnum loaded successfully.");
         }
         if (CertificateType.ORGANIZATION.getValue() == null) {
             errors.add("Enum IDs for CertificateType not found.");
         } else {
-            log.info("Enum IDs for CertificateType loaded successfully.");
+            log.debug("Enum IDs for CertificateType loaded successfully.");
         }
         if (TokenTypeEnum.ACCESS_TOKEN.getValue() == null) {
             errors.add("Enum IDs for TokenTypeEnum not found.");
         } else {
-            log.info("Enum IDs for TokenTypeEnum loaded successfully.");
+            log.debug("Enum IDs for TokenTypeEnum loaded successfully.");
         }
         if (AuthSessionStatusEnum.ACTIVE.getValue() == null) {
             errors.add("Enum IDs for AuthSessionStatusEnum not found.");
         } else {
-            log.info("Enum IDs for AuthSessionStatusEnum loaded successfully.");
+            log.debug("Enum IDs for AuthSessionStatusEnum loaded successfully.");
         }
         if (!errors.isEmpty()) {
             throw new EnumServiceLoadFailedException("EnumService failed to load with the following errors:\n- " + String.join("\n", errors));
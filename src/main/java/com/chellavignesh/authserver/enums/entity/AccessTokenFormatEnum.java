@@ -9,12 +9,10 @@ public enum AccessTokenFormatEnum {
     SELF_CONTAINED,
     REFERENCE;
 
-    private static final Map<AccessTokenFormatEnum, Integer> enumToVal = new HashMap<>();
-    private static final Map<Integer, AccessTokenFormatEnum> valToEnum = new HashMap<>();
+    private static volatile Map<AccessTokenFormatEnum, Integer> enumToVal = new HashMap<>();
+    private static volatile Map<Integer, AccessTokenFormatEnum> valToEnum = new HashMap<>();
 
     public static void setValues(ResultSet rs) {
-        enumToVal.clear();
-        valToEnum.clear();
         var newValues = new HashMap<AccessTokenFormatEnum, Integer>();
         try {
             newValues.put(SELF_CONTAINED, rs.getInt("SelfContainedAccessTokenFormatEnumId"));
@@ -22,8 +20,10 @@ public enum AccessTokenFormatEnum {
         } catch (SQLException _) {
             return;
         }
-        enumToVal.putAll(newValues);
-        enumToVal.forEach((k, v) -> valToEnum.put(v, k));
+        var newLookup = new HashMap<Integer, AccessTokenFormatEnum>();
+        newValues.forEach((k, v) -> newLookup.put(v, k));
+        valToEnum = newLookup;
+        enumToVal = newValues;
     }
 
     public static AccessTokenFormatEnum fromInt(Integer enumId) {
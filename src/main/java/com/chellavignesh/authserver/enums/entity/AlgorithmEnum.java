@@ -15,12 +15,10 @@ public enum AlgorithmEnum {
     ES256,
     HS256;
 
-    private static final Map<AlgorithmEnum, Integer> enumToVal = new EnumMap<>(AlgorithmEnum.class);
-    private static final Map<Integer, AlgorithmEnum> valToEnum = new HashMap<>();
+    private static volatile Map<AlgorithmEnum, Integer> enumToVal = new EnumMap<>(AlgorithmEnum.class);
+    private static volatile Map<Integer, AlgorithmEnum> valToEnum = new HashMap<>();
 
     public static void setValues(ResultSet rs) {
-        enumToVal.clear();
-        valToEnum.clear();
         Map<AlgorithmEnum, Integer> newValues = new EnumMap<>(AlgorithmEnum.class);
         try {
             newValues.put(RS256, rs.getInt("RS256EnumId"));
@@ -28,8 +26,10 @@ public enum AlgorithmEnum {
             newValues.put(HS256, rs.getInt("HS256EnumId"));
         } catch (SQLException _) {
         }
-        enumToVal.putAll(newValues);
-        enumToVal.forEach((k, v) -> valToEnum.put(v, k));
+        var newLookup = new HashMap<Integer, AlgorithmEnum>();
+        newValues.forEach((k, v) -> newLookup.put(v, k));
+        valToEnum = newLookup;
+        enumToVal = newValues;
     }
 
     public static AlgorithmEnum fromInt(Integer enumId) {
@@ -8,12 +8,10 @@ import java.util.Map;
 public enum ApplicationTypeEnum {
     MOBILE, WEB, SERVER;
 
-    private static final Map<ApplicationTypeEnum, Integer> enumToVal = new HashMap<>();
-    private static final Map<Integer, ApplicationTypeEnum> valToEnum = new HashMap<>();
+    private static volatile Map<ApplicationTypeEnum, Integer> enumToVal = new HashMap<>();
+    private static volatile Map<Integer, ApplicationTypeEnum> valToEnum = new HashMap<>();
 
     public static void setValues(ResultSet rs) {
-        enumToVal.clear();
-        valToEnum.clear();
         var newValues = new HashMap<ApplicationTypeEnum, Integer>();
         try {
             newValues.put(MOBILE, rs.getInt("MobileEnumId"));
@@ -22,8 +20,10 @@ public enum ApplicationTypeEnum {
         } catch (SQLException _) {
             return;
         }
-        enumToVal.putAll(newValues);
-        enumToVal.forEach((k, v) -> valToEnum.put(v, k));
+        var newLookup = new HashMap<Integer, ApplicationTypeEnum>();
+        newValues.forEach((k, v) -> newLookup.put(v, k));
+        valToEnum = newLookup;
+        enumToVal = newValues;
     }
 
     public static ApplicationTypeEnum fromInt(Integer enumId) {
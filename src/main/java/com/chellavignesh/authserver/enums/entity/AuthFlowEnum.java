@@ -10,12 +10,10 @@ public enum AuthFlowEnum {
     PRIVATE_KEY_JWT,
     PKCE;
 
-    private static final Map<AuthFlowEnum, Integer> enumToVal = new HashMap<>();
-    private static final Map<Integer, AuthFlowEnum> valToEnum = new HashMap<>();
+    private static volatile Map<AuthFlowEnum, Integer> enumToVal = new HashMap<>();
+    private static volatile Map<Integer, AuthFlowEnum> valToEnum = new HashMap<>();
 
     public static void setValues(ResultSet rs) {
-        enumToVal.clear();
-        valToEnum.clear();
         var newValues = new HashMap<AuthFlowEnum, Integer>();
         try {
             newValues.put(CLIENT_SECRET_JWT, rs.getInt("ClientSecretJwtEnumId"));
@@ -24,8 +22,10 @@ public enum AuthFlowEnum {
         } catch (SQLException _) {
             return;
         }
-        enumToVal.putAll(newValues);
-        enumToVal.forEach((k, v) -> valToEnum.put(v, k));
+        var newLookup = new HashMap<Integer, AuthFlowEnum>();
+        newValues.forEach((k, v) -> newLookup.put(v, k));
+        valToEnum = newLookup;
+        enumToVal = newValues;
     }
 
     public static AuthFlowEnum fromInt(Integer enumId) {
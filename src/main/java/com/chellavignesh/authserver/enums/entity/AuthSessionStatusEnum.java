@@ -8,12 +8,10 @@ import java.util.Map;
 public enum AuthSessionStatusEnum {
     INACTIVE, ACTIVE;
 
-    private static final Map<AuthSessionStatusEnum, Integer> enumToVal = new HashMap<>();
-    private static final Map<Integer, AuthSessionStatusEnum> valToEnum = new HashMap<>();
+    private static volatile Map<AuthSessionStatusEnum, Integer> enumToVal = new HashMap<>();
+    private static volatile Map<Integer, AuthSessionStatusEnum> valToEnum = new HashMap<>();
 
     public static void setValues(ResultSet rs) {
-        enumToVal.clear();
-        valToEnum.clear();
         var newValues = new HashMap<AuthSessionStatusEnum, Integer>();
         try {
             newValues.put(INACTIVE, rs.getInt("AuthSessionInactiveEnumId"));
@@ -21,8 +19,10 @@ public enum AuthSessionStatusEnum {
         } catch (SQLException _) {
             return;
         }
-        enumToVal.putAll(newValues);
-        enumToVal.forEach((k, v) -> valToEnum.put(v, k));
+        var newLookup = new HashMap<Integer, AuthSessionStatusEnum>();
+        newValues.forEach((k, v) -> newLookup.put(v, k));
+        valToEnum = newLookup;
+        enumToVal = newValues;
     }
 
     public static AuthSessionStatusEnum fromInt(Integer enumId) {
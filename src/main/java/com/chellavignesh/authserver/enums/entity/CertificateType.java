@@ -7,12 +7,10 @@ import java.util.Map;
 public enum CertificateType {
     ORGANIZATION, PUBLIC_KEY;
 
-    private static final Map<CertificateType, Integer> enumToVal = new HashMap<>();
-    private static final Map<Integer, CertificateType> valToEnum = new HashMap<>();
+    private static volatile Map<CertificateType, Integer> enumToVal = new HashMap<>();
+    private static volatile Map<Integer, CertificateType> valToEnum = new HashMap<>();
 
     public static void setValues(ResultSet rs) {
-        enumToVal.clear();
-        valToEnum.clear();
         var newValues = new HashMap<CertificateType, Integer>();
         try {
             newValues.put(ORGANIZATION, rs.getInt("OrganizationEnumId"));
@@ -20,8 +18,10 @@ public enum CertificateType {
         } catch (Exception _) {
             return;
         }
-        enumToVal.putAll(newValues);
-        enumToVal.forEach((k, v) -> valToEnum.put(v, k));
+        var newLookup = new HashMap<Integer, CertificateType>();
+        newValues.forEach((k, v) -> newLookup.put(v, k));
+        valToEnum = newLookup;
+        enumToVal = newValues;
     }
 
     public static CertificateType fromInt(Integer enumId) {
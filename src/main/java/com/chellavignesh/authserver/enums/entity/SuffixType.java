@@ -8,12 +8,10 @@ import java.util.Map;
 public enum SuffixType {
     Mr, Mrs, Miss, Sr, Jr;
 
-    private static final Map<SuffixType, Integer> enumToVal = new HashMap<>();
-    private static final Map<Integer, SuffixType> valToEnum = new HashMap<>();
+    private static volatile Map<SuffixType, Integer> enumToVal = new HashMap<>();
+    private static volatile Map<Integer, SuffixType> valToEnum = new HashMap<>();
 
     public static void setValues(ResultSet rs) {
-        enumToVal.clear();
-        valToEnum.clear();
         var newValues = new HashMap<SuffixType, Integer>();
         try {
             newValues.put(Mr, rs.getInt("MrEnumId"));
@@ -24,8 +22,10 @@ public enum SuffixType {
         } catch (SQLException _) {
             return;
         }
-        enumToVal.putAll(newValues);
-        enumToVal.forEach((k, v) -> valToEnum.put(v, k));
+        var newLookup = new HashMap<Integer, SuffixType>();
+        newValues.forEach((k, v) -> newLookup.put(v, k));
+        valToEnum = newLookup;
+        enumToVal = newValues;
     }
 
     public static SuffixType fromInt(Integer enumId) {
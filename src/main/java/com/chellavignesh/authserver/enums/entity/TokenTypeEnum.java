@@ -9,12 +9,10 @@ import java.util.Map;
 public enum TokenTypeEnum {
     ACCESS_TOKEN, REFRESH_TOKEN, ID_TOKEN, CODE;
 
-    private static final Map<TokenTypeEnum, Integer> enumToVal = new HashMap<>();
-    private static final Map<Integer, TokenTypeEnum> valToEnum = new HashMap<>();
+    private static volatile Map<TokenTypeEnum, Integer> enumToVal = new HashMap<>();
+    private static volatile Map<Integer, TokenTypeEnum> valToEnum = new HashMap<>();
 
     public static void setValues(ResultSet rs) {
-        enumToVal.clear();
-        valToEnum.clear();
         var newValues = new HashMap<TokenTypeEnum, Integer>();
         try {
             newValues.put(ACCESS_TOKEN, rs.getInt("AccessTokenEnumId"));
@@ -24,8 +22,10 @@ public enum TokenTypeEnum {
         } catch (Exception _) {
             return;
         }
-        enumToVal.putAll(newValues);
-        enumToVal.forEach((k, v) -> valToEnum.put(v, k));
+        var newLookup = new HashMap<Integer, TokenTypeEnum>();
+        newValues.forEach((k, v) -> newLookup.put(v, k));
+        valToEnum = newLookup;
+        enumToVal = newValues;
     }
 
     public static TokenTypeEnum fromOAuth2TokenType(OAuth2TokenType tokenType) {
@@ -9,12 +9,10 @@ public enum UsernameTypeEnum {
     USERNAME,
     EMAIL;
 
-    private static final Map<UsernameTypeEnum, Integer> enumToVal = new HashMap<>();
-    private static final Map<Integer, UsernameTypeEnum> valToEnum = new HashMap<>();
+    private static volatile Map<UsernameTypeEnum, Integer> enumToVal = new HashMap<>();
+    private static volatile Map<Integer, UsernameTypeEnum> valToEnum = new HashMap<>();
 
     public static void setValues(ResultSet rs) {
-        enumToVal.clear();
-        valToEnum.clear();
         var newValues = new HashMap<UsernameTypeEnum, Integer>();
         try {
             newValues.put(USERNAME, rs.getInt("UsernameEnumId"));
@@ -22,8 +20,10 @@ public enum UsernameTypeEnum {
         } catch (SQLException _) {
             return;
         }
-        enumToVal.putAll(newValues);
-        enumToVal.forEach((k, v) -> valToEnum.put(v, k));
+        var newLookup = new HashMap<Integer, UsernameTypeEnum>();
+        newValues.forEach((k, v) -> newLookup.put(v, k));
+        valToEnum = newLookup;
+        enumToVal = newValues;
     }
 
     public static UsernameTypeEnum fromInt(Integer enumId) {
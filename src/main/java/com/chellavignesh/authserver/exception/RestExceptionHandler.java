@@ -8,6 +8,7 @@ import com.chellavignesh.authserver.adminportal.forgotusername.exception.Invalid
 import com.chellavignesh.authserver.adminportal.organization.exception.*;
 import com.chellavignesh.authserver.adminportal.resource.exception.ResourceLibraryCreationFailedException;
 import com.chellavignesh.authserver.adminportal.user.exception.*;
+import com.chellavignesh.authserver.session.exception.PasswordHashingSaturatedException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -166,6 +167,12 @@ public class RestExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ex.getMessage());
     }
 
+    @ExceptionHandler(PasswordHashingSaturatedException.class)
+    protected ResponseEntity<Object> handlePasswordHashingSaturated(PasswordHashingSaturatedException ex) {
+        logger.warn("Password hashing unavailable: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(ex.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     protected ResponseEntity<Object> handleOtherException(Exception ex) {
         logger.error("Unhandled exception: {}", ex.getMessage());
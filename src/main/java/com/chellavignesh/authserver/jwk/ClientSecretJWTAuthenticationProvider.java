@@ -1,7 +1,7 @@
 package com.chellavignesh.authserver.jwk;
 
-import com.chellavignesh.authserver.adminportal.application.ApplicationService;
-import com.chellavignesh.authserver.adminportal.application.exception.AppNotFoundException;
+import com.nimbusds.jose.JWSObject;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,7 +15,6 @@ import org.springframework.security.oauth2.core.OAuth2Error;
 import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
 import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
 import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtDecoderFactory;
 import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
@@ -24,6 +23,10 @@ import org.springframework.security.oauth2.server.authorization.client.Registere
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Optional;
+
 @Service
 public class ClientSecretJWTAuthenticationProvider implements AuthenticationProvider {
     private static final String ERROR_URI = "https://chellavignesh.com/auth-server-error";
@@ -31,15 +34,16 @@ public class ClientSecretJWTAuthenticationProvider implements AuthenticationProv
     private JwtDecoderFactory<RegisteredClient> jwtDecoderFactory;
 
     private final Logger logger = LoggerFactory.getLogger(ClientSecretJWTAuthenticationProvider.class);
-    private final ApplicationService applicationService;
-
-    @Value("${client-secret-jwt.max-active}")
-    private String maxActiveSecrets;
+    private final ClientSecretRegistry clientSecretRegistry;
 
     @Autowired
-    public ClientSecretJWTAuthenticationProvider(OAuth2AuthorizationService oAuth2AuthorizationService, ApplicationService applicationService) {
-        this.jwtDecoderFactory = new ClientSecretJwtDecoderFactory();
-        this.applicationService = applicationService;
+    public ClientSecretJWTAuthenticationProvider(OAuth2AuthorizationService oAuth2AuthorizationService,
+                                                 ClientSecretRegistry clientSecretRegistry,
+                                                 MeterRegistry meterRegistry,
+                                                 @Value("${client-secret-jwt.jwk-set.ttl:300000}") long jwkSetTtl,
+                                                 @Value("${client-secret-jwt.jwk-set.refresh-ahead:30000}") long jwkSetRefreshAhead) {
+        this.jwtDecoderFactory = new ClientSecretJwtDecoderFactory(Duration.ofMillis(jwkSetTtl), Duration.ofMillis(jwkSetRefreshAhead), meterRegistry);
+        this.clientSecretRegistry = clientSecretRegistry;
     }
 
     @Override
@@ -54,18 +58,11 @@ public class ClientSecretJWTAuthenticationProvider implements AuthenticationProv
             return null;
         }
         String clientId = clientAuthentication.getPrincipal().toString();
-        RegisteredClient registeredClient = null;
-        try {
-            registeredClient = applicationService.getRegisteredClientByClientId(clientId, 1);
-        } catch (AppNotFoundException _) {
-            /*
-            This is expected if there are no secrets for the client.
-             */
-
-        }
-        if (registeredClient == null) {
+        Optional<ClientSecretSet> secretSet = clientSecretRegistry.get(clientId);
+        if (secretSet.isEmpty()) {
             throwInvalidClient(OAuth2ParameterNames.CLIENT_ID);
         }
+        RegisteredClient registeredClient = secretSet.get().registeredClient();
         if (this.logger.isTraceEnabled()) {
             this.logger.trace("Authenticated client: {}", registeredClient);
         }
@@ -76,40 +73,41 @@ public class ClientSecretJWTAuthenticationProvider implements AuthenticationProv
         if (clientAuthentication.getCredentials() == null) {
             throwInvalidClient("credentials");
         }
-        int i = 1;
-        Jwt jwtAssertion = null;
-        do {
-            JwtDecoder jwtDecoder = this.jwtDecoderFactory.createDecoder(registeredClient);
+        String assertion = clientAuthentication.getCredentials().toString();
+
+        // Try the secret named by the assertion's kid first, then the other active secrets
+        JwtException lastFailure = null;
+        for (ClientSecretSet.ActiveSecret secret : secretSet.get().candidates(keyId(assertion))) {
             try {
-                jwtAssertion = jwtDecoder.decode(clientAuthentication.getCredentials().toString());
-                break;
-            } catch (JwtException ex) {
-                if (i < Integer.parseInt(maxActiveSecrets)) {
-                    try {
-                        registeredClient = applicationService.getRegisteredClientByClientId(clientId, i + 1);
-                    } catch (AppNotFoundException _) {
-                        /*
-                        This is expected if there are no more secrets for the client.
-                         */
-                    }
-                } else {
-                    logger.warn("No active secrets found for client ID: {}", clientId);
-                    throwInvalidClient(OAuth2ParameterNames.CLIENT_ASSERTION, ex);
+                Jwt jwtAssertion = secret.decoder(this.jwtDecoderFactory).decode(assertion);
+                if (logger.isTraceEnabled()) {
+                    logger.trace("Successfully validated JWT assertion for client ID: {}", clientId);
                 }
+                return new OAuth2ClientAuthenticationToken(secret.registeredClient(), ClientAuthenticationMethod.CLIENT_SECRET_JWT, jwtAssertion);
+            } catch (JwtException ex) {
+                lastFailure = ex;
             }
-            i++;
-        } while (i <= Integer.parseInt(maxActiveSecrets));
-        if (logger.isTraceEnabled()) {
-            logger.trace("Successfully validated JWT assertion for client ID: {}", clientId);
         }
-        return new OAuth2ClientAuthenticationToken(registeredClient, ClientAuthenticationMethod.CLIENT_SECRET_JWT, jwtAssertion);
+        logger.warn("No active secrets found for client ID: {}", clientId);
+        throwInvalidClient(OAuth2ParameterNames.CLIENT_ASSERTION, lastFailure);
+        return null;
     }
 
     public void setJwtDecoderFactory(JwtDecoderFactory<RegisteredClient> jwtDecoderFactory) {
         Assert.notNull(jwtDecoderFactory, "jwtDecoderFactory cannot be null");
         this.jwtDecoderFactory = jwtDecoderFactory;
+        // Cached sets hold decoders built by the previous factory
+        this.clientSecretRegistry.invalidateAll();
     }
 
+    private static String keyId(String assertion) {
+        try {
+            return JWSObject.parse(assertion).getHeader().getKeyID();
+        } catch (ParseException _) {
+            // Let the decoder report the malformed assertion
+            return null;
+        }
+    }
     private static void throwInvalidClient(String parameterName) {
         throwInvalidClient(parameterName, null);
     }
@@ -1,6 +1,24 @@
 package com.chellavignesh.authserver.jwk;
 
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.Resource;
+import com.nimbusds.jose.util.ResourceRetriever;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.security.oauth2.core.*;
 import org.springframework.security.oauth2.jose.jws.JwsAlgorithm;
 import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
@@ -10,14 +28,27 @@ import org.springframework.security.oauth2.server.authorization.client.Registere
 import org.springframework.security.oauth2.server.authorization.context.AuthorizationServerContext;
 import org.springframework.security.oauth2.server.authorization.context.AuthorizationServerContextHolder;
 import org.springframework.security.oauth2.server.authorization.settings.AuthorizationServerSettings;
+import org.springframework.security.oauth2.server.authorization.settings.ClientSettings;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestOperations;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import javax.crypto.spec.SecretKeySpec;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.*;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -36,35 +67,85 @@ public class ClientSecretJwtDecoderFactory implements JwtDecoderFactory<Register
         JCA_ALGORITHM_MAPPINGS = Collections.unmodifiableMap(mappings);
     }
 
-    private static final RestTemplate restTemplate = createCongfiguredRestTemplate();
+    private static final MediaType APPLICATION_JWK_SET_JSON = new MediaType("application", "jwk-set+json");
 
+    private final RestOperations restOperations;
+    private final Duration jwkSetTtl;
+    private final Duration jwkSetRefreshAhead;
+    private final Counter jwkSetFetches;
 
-    private static RestTemplate createCongfiguredRestTemplate() {
-        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-        requestFactory.setConnectTimeout(15_000);
-        requestFactory.setReadTimeout(15_000);
-        if (System.getProperty("http.maxConnections") == null) {
-            System.setProperty("http.maxConnections", "50");
-        }
-        return new RestTemplate(requestFactory);
-    }
+    /**
+     * Decoders keyed by client ID and {@link #fingerprint} of the settings they were built from,
+     * so a change to the signing algorithm, JWK set URL or secret builds a new decoder.
+     */
+    private final Cache<String, ClientDecoder> decoders;
+
+    /**
+     * Remote JWK sets shared by every decoder pointing at the same URL. Every decoder hit touches
+     * its source, so a source only expires once its decoders have gone unused, and removing a
+     * source evicts its decoders before closing it.
+     */
+    private final Cache<String, JWKSource<SecurityContext>> jwkSources;
 
     private Function<RegisteredClient, OAuth2TokenValidator<Jwt>> jwtValidatorFactory = DEFAULT_JWT_VALIDATOR_FACTORY;
 
+    public ClientSecretJwtDecoderFactory(Duration jwkSetTtl, Duration jwkSetRefreshAhead, MeterRegistry meterRegistry) {
+        this(jwkSetTtl, jwkSetRefreshAhead, meterRegistry, Ticker.systemTicker());
+    }
+
+    ClientSecretJwtDecoderFactory(Duration jwkSetTtl, Duration jwkSetRefreshAhead, MeterRegistry meterRegistry, Ticker ticker) {
+        Assert.isTrue(jwkSetRefreshAhead.compareTo(jwkSetTtl) < 0, "jwkSetRefreshAhead must be shorter than jwkSetTtl");
+        this.restOperations = createConfiguredRestTemplate();
+        this.jwkSetTtl = jwkSetTtl;
+        this.jwkSetRefreshAhead = jwkSetRefreshAhead;
+        this.jwkSetFetches = meterRegistry.counter("authserver.client.assertion.jwk-set.fetches");
+        this.decoders = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterAccess(Duration.ofHours(1))
+                .ticker(ticker)
+                .build();
+        this.jwkSources = Caffeine.newBuilder()
+                .maximumSize(1_000)
+                .expireAfterAccess(Duration.ofHours(1))
+                .ticker(ticker)
+                .removalListener((String url, JWKSource<SecurityContext> source, RemovalCause _) -> retire(url, source))
+                .build();
+    }
+
+    private static RestTemplate createConfiguredRestTemplate() {
+        // The JDK client keeps connections alive across JWK set refreshes
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(15))
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofSeconds(15));
+        return new RestTemplate(requestFactory);
+    }
+
     @Override
     public JwtDecoder createDecoder(RegisteredClient registeredClient) {
         Assert.notNull(registeredClient, "registeredClient cannot be null");
-        NimbusJwtDecoder jwtDecoder = buildDecoder(registeredClient);
-        jwtDecoder.setJwtValidator(this.jwtValidatorFactory.apply(registeredClient));
-        return jwtDecoder;
+        String key = registeredClient.getClientId() + ':' + fingerprint(registeredClient);
+        ClientDecoder cached = decoders.get(key, _ -> {
+            ClientDecoder clientDecoder = buildDecoder(registeredClient);
+            clientDecoder.decoder().setJwtValidator(this.jwtValidatorFactory.apply(registeredClient));
+            return clientDecoder;
+        });
+        if (cached.jwkSetUrl() != null && jwkSources.getIfPresent(cached.jwkSetUrl()) == null) {
+            // The source was evicted while this decoder stayed cached; rebuild against a fresh one
+            decoders.asMap().remove(key, cached);
+            return createDecoder(registeredClient);
+        }
+        return cached.decoder();
     }
 
     public void setJwtValidatorFactory(Function<RegisteredClient, OAuth2TokenValidator<Jwt>> jwtValidatorFactory) {
         Assert.notNull(jwtValidatorFactory, "jwtValidatorFactory cannot be null");
         this.jwtValidatorFactory = jwtValidatorFactory;
+        this.decoders.invalidateAll();
     }
 
-    private static NimbusJwtDecoder buildDecoder(RegisteredClient registeredClient) {
+    private ClientDecoder buildDecoder(RegisteredClient registeredClient) {
         JwsAlgorithm jwsAlgorithm = registeredClient.getClientSettings().getTokenEndpointAuthenticationSigningAlgorithm();
         if (jwsAlgorithm instanceof SignatureAlgorithm) {
             String jwkSetUrl = registeredClient.getClientSettings().getJwkSetUrl();
@@ -72,7 +153,12 @@ public class ClientSecretJwtDecoderFactory implements JwtDecoderFactory<Register
                 OAuth2Error oAuth2Error = new OAuth2Error(OAuth2ErrorCodes.INVALID_CLIENT, "Failed to find a Signature verifier for the client: " + registeredClient.getClientId(), JWT_CLIENT_AUTHENTICATION_ERROR_URI);
                 throw new OAuth2AuthenticationException(oAuth2Error);
             }
-            return NimbusJwtDecoder.withJwkSetUri(jwkSetUrl).jwsAlgorithm((SignatureAlgorithm) jwsAlgorithm).restOperations(restTemplate).build();
+            DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+            jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.parse(jwsAlgorithm.getName()), jwkSources.get(jwkSetUrl, url -> buildJwkSource(url, registeredClient.getClientId()))));
+            // Claims are checked by the Spring validators set on the decoder
+            jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+            });
+            return new ClientDecoder(new NimbusJwtDecoder(jwtProcessor), jwkSetUrl);
         }
         if (jwsAlgorithm instanceof MacAlgorithm) {
             String clientSecret = registeredClient.getClientSecret();
@@ -81,12 +167,79 @@ public class ClientSecretJwtDecoderFactory implements JwtDecoderFactory<Register
                 throw new OAuth2AuthenticationException(oAuth2Error);
             }
             SecretKeySpec secretKeySpec = new SecretKeySpec(clientSecret.getBytes(StandardCharsets.UTF_8), JCA_ALGORITHM_MAPPINGS.get(jwsAlgorithm));
-            return NimbusJwtDecoder.withSecretKey(secretKeySpec).macAlgorithm((MacAlgorithm) jwsAlgorithm).build();
+            return new ClientDecoder(NimbusJwtDecoder.withSecretKey(secretKeySpec).macAlgorithm((MacAlgorithm) jwsAlgorithm).build(), null);
         }
         OAuth2Error oAuth2Error = new OAuth2Error(OAuth2ErrorCodes.INVALID_CLIENT, "Unsupported JWS Algorithm: " + jwsAlgorithm, JWT_CLIENT_AUTHENTICATION_ERROR_URI);
         throw new OAuth2AuthenticationException(oAuth2Error);
     }
 
+    private JWKSource<SecurityContext> buildJwkSource(String jwkSetUrl, String clientId) {
+        URL url;
+        try {
+            url = URI.create(jwkSetUrl).toURL();
+        } catch (IllegalArgumentException | MalformedURLException e) {
+            OAuth2Error oAuth2Error = new OAuth2Error(OAuth2ErrorCodes.INVALID_CLIENT, "Invalid JWK Set URL for the client: " + clientId, JWT_CLIENT_AUTHENTICATION_ERROR_URI);
+            throw new OAuth2AuthenticationException(oAuth2Error, oAuth2Error.toString(), e);
+        }
+        // Refresh-ahead reloads the set asynchronously once a lookup falls inside the refresh window
+        return JWKSourceBuilder.create(url, new RestOperationsResourceRetriever(restOperations, jwkSetFetches))
+                .cache(jwkSetTtl.toMillis(), JWKSourceBuilder.DEFAULT_CACHE_REFRESH_TIMEOUT)
+                .refreshAheadCache(jwkSetRefreshAhead.toMillis(), false)
+                .build();
+    }
+
+    private static String fingerprint(RegisteredClient registeredClient) {
+        ClientSettings clientSettings = registeredClient.getClientSettings();
+        JwsAlgorithm jwsAlgorithm = clientSettings.getTokenEndpointAuthenticationSigningAlgorithm();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(jwsAlgorithm == null ? null : jwsAlgorithm.getName()).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(clientSettings.getJwkSetUrl()).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(registeredClient.getClientSecret()).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    }
+
+    private void retire(String jwkSetUrl, JWKSource<SecurityContext> source) {
+        decoders.asMap().values().removeIf(clientDecoder -> jwkSetUrl.equals(clientDecoder.jwkSetUrl()));
+        closeQuietly(source);
+    }
+
+    private static void closeQuietly(JWKSource<SecurityContext> source) {
+        if (source instanceof Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException _) {
+                // Nothing left to release
+            }
+        }
+    }
+
+    private record ClientDecoder(NimbusJwtDecoder decoder, @Nullable String jwkSetUrl) {
+    }
+
+    private record RestOperationsResourceRetriever(RestOperations restOperations, Counter fetches) implements ResourceRetriever {
+
+        @Override
+        public Resource retrieve(URL url) throws IOException {
+            fetches.increment();
+            try {
+                RequestEntity<Void> request = RequestEntity.get(url.toURI())
+                        .accept(MediaType.APPLICATION_JSON, APPLICATION_JWK_SET_JSON)
+                        .build();
+                ResponseEntity<String> response = restOperations.exchange(request, String.class);
+                String contentType = response.getHeaders().getContentType() == null ? null : response.getHeaders().getContentType().toString();
+                return new Resource(response.getBody(), contentType);
+            } catch (URISyntaxException | RestClientException e) {
+                throw new IOException("Failed to retrieve JWK Set from " + url, e);
+            }
+        }
+    }
+
     private static Function<RegisteredClient, OAuth2TokenValidator<Jwt>> defaultJwtValidatorFactory() {
         return (registeredClient) -> {
             String clientId = registeredClient.getClientId();
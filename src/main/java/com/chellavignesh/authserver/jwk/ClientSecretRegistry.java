@@ -0,0 +1,134 @@
+package com.chellavignesh.authserver.jwk;
+
+import com.chellavignesh.authserver.adminportal.application.ApplicationChangedEvent;
+import com.chellavignesh.authserver.adminportal.application.ApplicationService;
+import com.chellavignesh.authserver.adminportal.application.entity.Application;
+import com.chellavignesh.authserver.adminportal.application.exception.AppNotFoundException;
+import com.chellavignesh.authserver.adminportal.credential.ClientCredentialsChangedEvent;
+import com.chellavignesh.authserver.adminportal.credential.entity.Credential;
+import com.chellavignesh.authserver.config.cache.TwoTierCacheManager;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Per-client cache of the active client_secret_jwt secrets.
+ * <p>
+ * The registered client is built once per client and copied per secret, instead of being rebuilt
+ * from the database for every secret tried. Sets are dropped when the application, its settings or
+ * its credentials change, on this pod directly and on the others through the two-tier cache
+ * invalidation channel. Unknown client IDs are cached as empty sets under the client ID, and every
+ * such change drops all of them, since a new or renamed application never matches an existing set
+ * by application ID. Sets also expire after {@code cache.client-secret-set.ttl} so secret expiry is
+ * picked up.
+ */
+@Component
+@Slf4j
+public class ClientSecretRegistry {
+
+    static final String INVALIDATION_NAME = "client-secret-set";
+
+    private final ApplicationService applicationService;
+    private final TwoTierCacheManager cacheManager;
+    private final int maxActiveSecrets;
+    private final Cache<String, Optional<ClientSecretSet>> secretSets;
+
+    public ClientSecretRegistry(ApplicationService applicationService,
+                                @Value("${client-secret-jwt.max-active}") int maxActiveSecrets,
+                                @Value("${cache.client-secret-set.ttl:300000}") long ttl,
+                                ObjectProvider<TwoTierCacheManager> cacheManager) {
+        this.applicationService = applicationService;
+        // Absent with spring.cache.type=local, where there is only one pod to invalidate
+        this.cacheManager = cacheManager.getIfAvailable();
+        this.maxActiveSecrets = maxActiveSecrets;
+        this.secretSets = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMillis(ttl))
+                .build();
+        if (this.cacheManager != null) {
+            this.cacheManager.addLocalInvalidationListener(INVALIDATION_NAME, this::onRemoteInvalidation);
+        }
+    }
+
+    public Optional<ClientSecretSet> get(String clientId) {
+        return secretSets.get(clientId, this::load);
+    }
+
+    @EventListener
+    public void onClientCredentialsChanged(ClientCredentialsChangedEvent event) {
+        onApplicationChanged(event.orgId(), event.appId());
+    }
+
+    @EventListener
+    public void onApplicationChanged(ApplicationChangedEvent event) {
+        onApplicationChanged(event.orgId(), event.appId());
+    }
+
+    public void invalidateAll() {
+        secretSets.invalidateAll();
+    }
+
+    private void onRemoteInvalidation(String appId) {
+        if (appId.isEmpty()) {
+            invalidateAll();
+            return;
+        }
+        try {
+            dropApplication(Integer.valueOf(appId));
+        } catch (NumberFormatException _) {
+            log.warn("Ignoring client secret invalidation for malformed application ID: {}", appId);
+        }
+    }
+
+    private void onApplicationChanged(Integer orgId, Integer appId) {
+        dropApplication(appId);
+        log.debug("Dropped cached client secrets for application: {}:{}", orgId, appId);
+        if (cacheManager != null && appId != null) {
+            cacheManager.publishEvict(INVALIDATION_NAME, appId.toString());
+        }
+    }
+
+    private void dropApplication(Integer appId) {
+        // Negative entries go too: the change may have created or activated the client they missed
+        secretSets.asMap().values().removeIf(set -> set.isEmpty() || Objects.equals(set.get().appId(), appId));
+    }
+
+    private Optional<ClientSecretSet> load(String clientId) {
+        Application application;
+        RegisteredClient registeredClient;
+        try {
+            application = applicationService.getByClientId(clientId).orElseThrow(() -> new AppNotFoundException("Application not found for client ID: " + clientId));
+            registeredClient = applicationService.getRegisteredClientByClientId(clientId, 1);
+        } catch (AppNotFoundException _) {
+            return Optional.empty();
+        }
+        if (registeredClient == null) {
+            return Optional.empty();
+        }
+
+        List<Credential> credentials = applicationService.getActiveClientSecretCredentials(application, maxActiveSecrets);
+        List<ClientSecretSet.ActiveSecret> secrets;
+        if (credentials.isEmpty()) {
+            // Keep the secret the registered client was built with, as single-secret lookups always did
+            secrets = List.of(new ClientSecretSet.ActiveSecret(null, registeredClient));
+        } else {
+            secrets = credentials.stream()
+                    .map(credential -> new ClientSecretSet.ActiveSecret(
+                            credential.getRowGuid() == null ? null : credential.getRowGuid().toString(),
+                            RegisteredClient.from(registeredClient).clientSecret(credential.getValue()).build()))
+                    .toList();
+        }
+        log.trace("Loaded {} active client secrets for client ID: {}", secrets.size(), clientId);
+        return Optional.of(new ClientSecretSet(application.getId(), registeredClient, secrets));
+    }
+}
@@ -0,0 +1,60 @@
+package com.chellavignesh.authserver.jwk;
+
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtDecoderFactory;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The client_secret_jwt secrets a client may currently sign assertions with, in the order they
+ * are tried, each with the {@link RegisteredClient} carrying that secret.
+ */
+public record ClientSecretSet(Integer appId, RegisteredClient registeredClient, List<ActiveSecret> secrets) {
+
+    /**
+     * Secrets to try for an assertion: the one whose key ID matches {@code keyId} first, then the rest.
+     */
+    public List<ActiveSecret> candidates(String keyId) {
+        if (keyId == null || secrets.size() < 2) {
+            return secrets;
+        }
+        List<ActiveSecret> ordered = new ArrayList<>(secrets.size());
+        secrets.stream().filter(secret -> keyId.equals(secret.keyId())).forEach(ordered::add);
+        secrets.stream().filter(secret -> !keyId.equals(secret.keyId())).forEach(ordered::add);
+        return ordered;
+    }
+
+    public static final class ActiveSecret {
+        private final String keyId;
+        private final RegisteredClient registeredClient;
+        private volatile JwtDecoder decoder;
+
+        public ActiveSecret(String keyId, RegisteredClient registeredClient) {
+            this.keyId = keyId;
+            this.registeredClient = registeredClient;
+        }
+
+        public String keyId() {
+            return keyId;
+        }
+
+        public RegisteredClient registeredClient() {
+            return registeredClient;
+        }
+
+        /**
+         * The MAC verifier for this secret, built on first use and kept for the life of the set.
+         */
+        public JwtDecoder decoder(JwtDecoderFactory<RegisteredClient> decoderFactory) {
+            JwtDecoder current = decoder;
+            if (current == null) {
+                current = Objects.requireNonNull(decoderFactory.createDecoder(registeredClient));
+                decoder = current;
+            }
+            return current;
+        }
+    }
+}
@@ -11,6 +11,7 @@ import com.nimbusds.jose.jwk.JWK;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.security.Key;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -28,12 +29,18 @@ public class JWKService {
 
     public List<JWK> getByOrgGuid(UUID orgGuid) throws OrgNotFoundException {
         var orgId = organizationService.get(orgGuid).orElseThrow(() -> new OrgNotFoundException("Organization not found with GUID: " + orgGuid));
-        return getJWKs(organizationCertificateService.getAllByOrgId(orgId.getId()).stream().filter((cert) -> cert.getType() == CertificateType.ORGANIZATION && cert.getStatus() == CertificateStatus.ACTIVE).toList());
+        return getJWKs(organizationCertificateService.getKeySetByOrgId(orgId.getId()).certificates().stream().filter((cert) -> cert.getType() == CertificateType.ORGANIZATION && cert.getStatus() == CertificateStatus.ACTIVE).toList());
     }
 
     public List<JWK> get(String clientId) {
-        List<CertificateEntity> publicKeys = organizationCertificateService.getAllByClientIdAndCertTypeId(clientId, CertificateType.PUBLIC_KEY.getValue());
-        return getJWKs(publicKeys);
+        return organizationCertificateService.getPublicKeySetByClientId(clientId).jwks();
+    }
+
+    /**
+     * Public keys of the client's certificates, already converted for signature verification.
+     */
+    public List<Key> getPublicKeys(String clientId) {
+        return organizationCertificateService.getPublicKeySetByClientId(clientId).publicKeys();
     }
 
     private List<JWK> getJWKs(List<CertificateEntity> certificateEntities) {
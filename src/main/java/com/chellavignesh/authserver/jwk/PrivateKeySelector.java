@@ -2,8 +2,6 @@ package com.chellavignesh.authserver.jwk;
 
 import com.nimbusds.jose.JWSHeader;
 import com.nimbusds.jose.KeySourceException;
-import com.nimbusds.jose.jwk.JWK;
-import com.nimbusds.jose.jwk.KeyConverter;
 import com.nimbusds.jose.proc.JWSKeySelector;
 import com.nimbusds.jose.proc.SecurityContext;
 
@@ -21,7 +19,6 @@ public class PrivateKeySelector implements JWSKeySelector<SecurityContext> {
 
     @Override
     public List<? extends Key> selectJWSKeys(JWSHeader jwsHeader, SecurityContext context) throws KeySourceException {
-        List<JWK> jwkList = jwkService.get(clientId);
-        return KeyConverter.toJavaKeys(jwkList);
+        return jwkService.getPublicKeys(clientId);
     }
 }
@@ -1,21 +1,29 @@
 package com.chellavignesh.authserver.mfa.mfarealm;
 
+import com.chellavignesh.authserver.config.referencedata.ReferenceData;
+import com.chellavignesh.authserver.config.referencedata.ReferenceDataRegistry;
 import com.chellavignesh.authserver.mfa.mfarealm.entity.MFARealm;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class MFARealmCache {
 
-    private final MFARealmService mfaRealmService;
+    static final String DATASET = "mfa-realms";
 
-    private volatile Map<Integer, MFARealm> realmMap = null;
+    private final ReferenceData<Map<Integer, MFARealm>> realms;
 
-    public MFARealmCache(MFARealmService mfaRealmService) {
-        this.mfaRealmService = mfaRealmService;
+    public MFARealmCache(MFARealmService mfaRealmService, ReferenceDataRegistry referenceDataRegistry) {
+        this.realms = referenceDataRegistry.register(DATASET, () -> {
+            Map<Integer, MFARealm> realmMap = new HashMap<>();
+            for (MFARealm mfaRealm : mfaRealmService.getAll()) {
+                realmMap.put(mfaRealm.getMfaRealmId(), mfaRealm);
+            }
+            return Collections.unmodifiableMap(realmMap);
+        });
     }
 
     public MFARealm getMfaRealm(Integer realmId) {
@@ -23,18 +31,6 @@ public class MFARealmCache {
     }
 
     public Map<Integer, MFARealm> getAllAsMap() {
-        if (realmMap == null) {
-            synchronized (this) {
-                if (realmMap == null) {
-                    Map<Integer, MFARealm> tempMap = new ConcurrentHashMap<>();
-                    List<MFARealm> mfaRealms = mfaRealmService.getAll();
-                    for (MFARealm mfaRealm : mfaRealms) {
-                        tempMap.put(mfaRealm.getMfaRealmId(), mfaRealm);
-                    }
-                    realmMap = tempMap;
-                }
-            }
-        }
-        return realmMap;
+        return realms.get();
     }
 }
@@ -0,0 +1,32 @@
+package com.chellavignesh.authserver.notification.outbox;
+
+import com.chellavignesh.authserver.session.NotificationEmail;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Entry point for sending notifications. Messages are written to the outbox table, in the
+ * caller's transaction when there is one, and delivered later by {@link NotificationOutboxWorker}.
+ */
+@Service
+@Slf4j
+public class NotificationOutbox {
+
+    static final String EMAIL_CHANNEL = "email";
+
+    private final NotificationOutboxRepository repository;
+    private final ObjectMapper objectMapper;
+
+    public NotificationOutbox(NotificationOutboxRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+    }
+
+    public long enqueueEmail(NotificationEmail notificationEmail) throws JsonProcessingException {
+        long id = repository.enqueue(EMAIL_CHANNEL, objectMapper.writeValueAsString(notificationEmail));
+        log.debug("Queued email notification {}", id);
+        return id;
+    }
+}
@@ -0,0 +1,98 @@
+package com.chellavignesh.authserver.notification.outbox;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public class NotificationOutboxRepository {
+
+    private static final int PENDING = 0;
+    private static final int SENT = 1;
+    private static final int DEAD = 2;
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public NotificationOutboxRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Stores a message for delivery. Joins the caller's transaction when there is one.
+     */
+    public long enqueue(String channel, String payload) {
+        var parameters = new MapSqlParameterSource()
+                .addValue("channel", channel)
+                .addValue("payload", payload);
+        return jdbcTemplate.query(
+                "{call dbo.EnqueueNotification(:channel, :payload)}", parameters,
+                (rs, _) -> rs.getLong("Id")
+        ).stream().findFirst().orElseThrow(() -> new IllegalStateException("Notification was not stored in the outbox"));
+    }
+
+    /**
+     * Leases up to {@code batchSize} due messages to this pod for {@code lease}. The lease is
+     * computed from the database clock, so pods with skewed clocks or time zones agree on it.
+     */
+    public List<OutboxMessage> claim(int batchSize, Duration lease) {
+        var parameters = new MapSqlParameterSource()
+                .addValue("batchSize", batchSize)
+                .addValue("leaseSeconds", Math.toIntExact(lease.toSeconds()));
+        return jdbcTemplate.query(
+                "{call dbo.ClaimNotifications(:batchSize, :leaseSeconds)}", parameters,
+                (rs, _) -> new OutboxMessage(rs.getLong("Id"), rs.getString("Channel"), rs.getString("Payload"), rs.getInt("Attempts"),
+                        rs.getObject("LockedUntil", LocalDateTime.class))
+        );
+    }
+
+    /**
+     * Each of these returns false when the message's lease ran out and another pod claimed it,
+     * in which case nothing was recorded.
+     */
+    public boolean markSent(OutboxMessage message) {
+        return complete(message, SENT, null, null);
+    }
+
+    public boolean reschedule(OutboxMessage message, Duration delay, String error) {
+        return complete(message, PENDING, delay, error);
+    }
+
+    public boolean deadLetter(OutboxMessage message, String error) {
+        return complete(message, DEAD, null, error);
+    }
+
+    /**
+     * Deletes up to {@code batchSize} sent or dead-lettered messages created more than
+     * {@code retention} ago. Returns the number deleted.
+     */
+    public int purge(Duration retention, int batchSize) {
+        var parameters = new MapSqlParameterSource()
+                .addValue("retentionSeconds", Math.toIntExact(retention.toSeconds()))
+                .addValue("batchSize", batchSize);
+        return jdbcTemplate.query(
+                "{call dbo.PurgeNotifications(:retentionSeconds, :batchSize)}", parameters,
+                (rs, _) -> rs.getInt("Deleted")
+        ).stream().findFirst().orElse(0);
+    }
+
+    // lockedUntil goes back exactly as it was read, as a LocalDateTime, so no time zone conversion can alter it
+    private boolean complete(OutboxMessage message, int status, Duration delay, String error) {
+        var parameters = new MapSqlParameterSource()
+                .addValue("id", message.id())
+                .addValue("lockedUntil", message.lockedUntil())
+                .addValue("status", status)
+                .addValue("delaySeconds", delay == null ? null : Math.toIntExact(delay.toSeconds()), Types.INTEGER)
+                .addValue("error", error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH), Types.NVARCHAR);
+        return jdbcTemplate.query(
+                "{call dbo.CompleteNotification(:id, :lockedUntil, :status, :delaySeconds, :error)}", parameters,
+                (rs, _) -> rs.getInt("Updated")
+        ).stream().findFirst().orElse(0) > 0;
+    }
+}
@@ -0,0 +1,239 @@
+package com.chellavignesh.authserver.notification.outbox;
+
+import com.chellavignesh.authserver.session.NotificationEmail;
+import com.chellavignesh.authserver.session.NotificationEmailServiceClient;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers outbox messages on a pool of {@code notification.outbox.workers} threads, which caps
+ * the concurrent calls made to the notification service.
+ * <p>
+ * Each poll claims at most as many due messages as there are idle workers. Claims are leases, so
+ * every pod can poll and a message left behind by a pod that died is picked up again once its
+ * lease runs out. A failed delivery is retried with exponential backoff; after
+ * {@code notification.outbox.max-attempts} the message is dead-lettered and stays in the table
+ * with its last error.
+ * <p>
+ * Sent and dead-lettered messages are deleted once they are older than
+ * {@code notification.outbox.retention}.
+ */
+@Component
+@Slf4j
+public class NotificationOutboxWorker {
+
+    private final NotificationOutboxRepository repository;
+    private final NotificationEmailServiceClient notificationEmailServiceClient;
+    private final ObjectMapper objectMapper;
+
+    private final boolean enabled;
+    private final int workers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final Duration retention;
+    private final int purgeBatchSize;
+
+    private final ThreadPoolExecutor executor;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter deadLettered;
+    private final Counter purged;
+    private final Timer deliveryDuration;
+
+    public NotificationOutboxWorker(NotificationOutboxRepository repository,
+                                    NotificationEmailServiceClient notificationEmailServiceClient,
+                                    ObjectMapper objectMapper,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${notification.outbox.enabled:true}") boolean enabled,
+                                    @Value("${notification.outbox.workers:4}") int workers,
+                                    @Value("${notification.outbox.batch-size:20}") int batchSize,
+                                    @Value("${notification.outbox.max-attempts:8}") int maxAttempts,
+                                    @Value("${notification.outbox.backoff:5000}") long backoffMillis,
+                                    @Value("${notification.outbox.max-backoff:3600000}") long maxBackoffMillis,
+                                    @Value("${notification.outbox.lease:120000}") long leaseMillis,
+                                    @Value("${notification.outbox.retention:604800000}") long retentionMillis,
+                                    @Value("${notification.outbox.purge-batch-size:1000}") int purgeBatchSize) {
+        this.repository = repository;
+        this.notificationEmailServiceClient = notificationEmailServiceClient;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.workers = Math.max(1, workers);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoff = Duration.ofMillis(backoffMillis);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMillis);
+        this.lease = Duration.ofMillis(leaseMillis);
+        this.retention = Duration.ofMillis(retentionMillis);
+        this.purgeBatchSize = Math.max(1, purgeBatchSize);
+
+        // Never holds more than one task per worker, because polls only claim for idle workers
+        this.executor = new ThreadPoolExecutor(this.workers, this.workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(this.workers),
+                new CustomizableThreadFactory("AuthServer-Notification-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.sent = meterRegistry.counter("authserver.notification.outbox.deliveries", "result", "sent");
+        this.retried = meterRegistry.counter("authserver.notification.outbox.deliveries", "result", "retry");
+        this.deadLettered = meterRegistry.counter("authserver.notification.outbox.deliveries", "result", "dead");
+        this.purged = meterRegistry.counter("authserver.notification.outbox.purged");
+        this.deliveryDuration = meterRegistry.timer("authserver.notification.outbox.delivery.duration");
+        meterRegistry.gauge("authserver.notification.outbox.in.flight", inFlight);
+
+        log.info("Notification outbox worker configured: enabled={}, workers={}", enabled, this.workers);
+    }
+
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval:1000}")
+    public void poll() {
+        int idle = workers - inFlight.get();
+        if (!enabled || idle <= 0) {
+            return;
+        }
+
+        List<OutboxMessage> messages;
+        try {
+            messages = repository.claim(Math.min(idle, batchSize), lease);
+        } catch (RuntimeException e) {
+            log.error("Could not claim notifications from the outbox: {}", e.getMessage(), e);
+            return;
+        }
+
+        for (OutboxMessage message : messages) {
+            inFlight.incrementAndGet();
+            try {
+                executor.execute(() -> {
+                    try {
+                        deliveryDuration.record(() -> deliver(message));
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Shutting down; the message is claimed again once its lease expires
+                inFlight.decrementAndGet();
+                log.warn("Notification {} not started: {}", message.id(), e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notification.outbox.purge-interval:3600000}")
+    public void purge() {
+        if (!enabled) {
+            return;
+        }
+
+        int total = 0;
+        try {
+            int deleted;
+            do {
+                deleted = repository.purge(retention, purgeBatchSize);
+                total += deleted;
+            } while (deleted >= purgeBatchSize);
+        } catch (RuntimeException e) {
+            log.error("Could not purge completed notifications from the outbox: {}", e.getMessage(), e);
+        }
+
+        if (total > 0) {
+            purged.increment(total);
+            log.info("Purged {} completed notifications older than {}", total, retention);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(15, TimeUnit.SECONDS)) {
+            log.warn("Notification deliveries still running at shutdown; their leases will expire and they will be retried");
+            executor.shutdownNow();
+        }
+    }
+
+    private void deliver(OutboxMessage message) {
+        try {
+            if (!NotificationOutbox.EMAIL_CHANNEL.equals(message.channel())) {
+                deadLetter(message, "Unknown notification channel: " + message.channel());
+                return;
+            }
+
+            NotificationEmail email;
+            try {
+                email = objectMapper.readValue(message.payload(), NotificationEmail.class);
+            } catch (JsonProcessingException e) {
+                deadLetter(message, "Unreadable payload: " + e.getOriginalMessage());
+                return;
+            }
+
+            if (notificationEmailServiceClient.sendEmailNotification(email)) {
+                if (repository.markSent(message)) {
+                    sent.increment();
+                } else {
+                    leaseLost(message);
+                }
+            } else {
+                retryOrDeadLetter(message, "Notification service did not accept the message");
+            }
+        } catch (RuntimeException e) {
+            try {
+                retryOrDeadLetter(message, e.toString());
+            } catch (RuntimeException updateFailure) {
+                // The lease expires and the message is claimed again
+                log.error("Could not record failed delivery of notification {}: {}", message.id(), updateFailure.getMessage());
+            }
+        }
+    }
+
+    private void retryOrDeadLetter(OutboxMessage message, String error) {
+        if (message.attempts() >= maxAttempts) {
+            deadLetter(message, error);
+            return;
+        }
+        Duration delay = backoff(message.attempts());
+        if (!repository.reschedule(message, delay, error)) {
+            leaseLost(message);
+            return;
+        }
+        retried.increment();
+        log.warn("Delivery {} of notification {} failed, retrying in {}: {}", message.attempts(), message.id(), delay, error);
+    }
+
+    private void deadLetter(OutboxMessage message, String error) {
+        if (!repository.deadLetter(message, error)) {
+            leaseLost(message);
+            return;
+        }
+        deadLettered.increment();
+        log.error("Notification {} dead-lettered after {} attempts: {}", message.id(), message.attempts(), error);
+    }
+
+    // The delivery outlived its lease and another pod has claimed the message; its outcome is the one recorded
+    private void leaseLost(OutboxMessage message) {
+        log.warn("Lease on notification {} expired during delivery {}; outcome not recorded", message.id(), message.attempts());
+    }
+
+    // backoff * 2^(attempts - 1), capped, plus up to 20% jitter so failed messages don't retry in lockstep
+    private Duration backoff(int attempts) {
+        Duration delay = backoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (delay.compareTo(maxBackoff) > 0) {
+            delay = maxBackoff;
+        }
+        return delay.plusMillis(ThreadLocalRandom.current().nextLong(delay.toMillis() / 5 + 1));
+    }
+}
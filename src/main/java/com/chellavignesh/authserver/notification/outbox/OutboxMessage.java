@@ -0,0 +1,11 @@
+package com.chellavignesh.authserver.notification.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification claimed from the outbox. {@code attempts} includes the delivery about to be made.
+ * {@code lockedUntil} is the lease as stored, in UTC; it is passed back when the delivery is
+ * recorded, so a pod whose lease has run out cannot overwrite another pod's claim.
+ */
+public record OutboxMessage(long id, String channel, String payload, int attempts, LocalDateTime lockedUntil) {
+}
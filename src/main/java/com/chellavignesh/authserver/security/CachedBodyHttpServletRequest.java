@@ -1,63 +1,207 @@
 package com.chellavignesh.authserver.security;
 
+import com.chellavignesh.authserver.config.RequestBodyDecoder;
+import com.chellavignesh.authserver.config.exception.RequestBodyDecodeFailureException;
+import com.chellavignesh.authserver.security.exception.RequestBodyTooLargeException;
 import jakarta.servlet.ReadListener;
-import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletRequestWrapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
-import jakarta.servlet.http.Part;
 import org.springframework.http.MediaType;
-import org.springframework.util.StreamUtils;
 
 import java.io.*;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.Objects;
-
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Request wrapper holding the request body read once by {@link RequestBodyCaptureFilter}.
+ * <p>
+ * Filters, converters and handlers further down the chain share this single copy through
+ * {@link #of(HttpServletRequest, int)} instead of wrapping and re-reading the request. Form posts get
+ * their parameters decoded from the cached body once. Multipart bodies are not buffered here: the
+ * container parses the parts and spills large ones to disk.
+ */
 public class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
 
+    public static final int DEFAULT_MAX_BODY_SIZE = 2 * 1024 * 1024;
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+
     private final byte[] cachedBody;
-    private final Collection<Part> parts;
+    private final boolean multipart;
+    private final Charset charset;
+
+    private Map<String, String[]> parameters;
+    private Map<String, String> decodedBody;
+    private RequestBodyDecodeFailureException decodeFailure;
 
-    public CachedBodyHttpServletRequest(HttpServletRequest request) throws IOException, ServletException {
+    private CachedBodyHttpServletRequest(HttpServletRequest request, byte[] cachedBody, boolean multipart) {
         super(request);
+        this.cachedBody = cachedBody;
+        this.multipart = multipart;
+        this.charset = request.getCharacterEncoding() != null ? Charset.forName(request.getCharacterEncoding()) : StandardCharsets.UTF_8;
+    }
+
+    /**
+     * Returns the body already captured for this request, capturing it now, up to
+     * {@code maxBodySize} bytes, if no filter has.
+     */
+    public static CachedBodyHttpServletRequest of(HttpServletRequest request, int maxBodySize) throws IOException {
+        Optional<CachedBodyHttpServletRequest> captured = find(request);
+        return captured.isPresent() ? captured.get() : capture(request, maxBodySize);
+    }
 
-        var contentType = request.getHeader("Content-Type");
+    public static Optional<CachedBodyHttpServletRequest> find(ServletRequest request) {
+        ServletRequest current = request;
+        while (current != null) {
+            if (current instanceof CachedBodyHttpServletRequest cached) {
+                return Optional.of(cached);
+            }
+            current = current instanceof ServletRequestWrapper wrapper ? wrapper.getRequest() : null;
+        }
+        return Optional.empty();
+    }
+
+    public static CachedBodyHttpServletRequest capture(HttpServletRequest request, int maxBodySize) throws IOException {
+        var contentType = request.getContentType();
         if (contentType != null && contentType.startsWith(MediaType.MULTIPART_FORM_DATA_VALUE)) {
-            this.parts = new ArrayList<>(request.getParts());
-        } else {
-            this.parts = Collections.emptyList();
+            return new CachedBodyHttpServletRequest(request, EMPTY_BODY, true);
         }
 
-        var requestInputStream = request.getInputStream();
-        this.cachedBody = StreamUtils.copyToByteArray(requestInputStream);
+        long contentLength = request.getContentLengthLong();
+        if (contentLength > maxBodySize) {
+            throw new RequestBodyTooLargeException("Request body of " + contentLength + " bytes exceeds the limit of " + maxBodySize);
+        }
+
+        var in = request.getInputStream();
+        byte[] body = contentLength >= 0 ? readFully(in, (int) contentLength) : readUpTo(in, maxBodySize);
+        return new CachedBodyHttpServletRequest(request, body, false);
+    }
+
+    private static byte[] readFully(InputStream in, int contentLength) throws IOException {
+        // Known length: read straight into the final array without an intermediate buffer
+        byte[] body = new byte[contentLength];
+        int offset = 0;
+        while (offset < contentLength) {
+            int read = in.read(body, offset, contentLength - offset);
+            if (read == -1) {
+                return Arrays.copyOf(body, offset);
+            }
+            offset += read;
+        }
+        return body;
+    }
+
+    private static byte[] readUpTo(InputStream in, int maxBodySize) throws IOException {
+        // Unknown length: read one byte past the limit so an oversized body is detected without reading it all
+        byte[] body = in.readNBytes(maxBodySize + 1);
+        if (body.length > maxBodySize) {
+            throw new RequestBodyTooLargeException("Request body exceeds the limit of " + maxBodySize + " bytes");
+        }
+        return body.length == 0 ? EMPTY_BODY : body;
+    }
+
+    /**
+     * The cached body. The array is shared, so callers must not modify it.
+     */
+    public byte[] getBody() {
+        return cachedBody;
+    }
+
+    public String getBodyAsString() {
+        return new String(cachedBody, charset);
+    }
+
+    /**
+     * The body decoded with {@link RequestBodyDecoder}, computed once per request.
+     */
+    public synchronized Map<String, String> getDecodedBody() throws RequestBodyDecodeFailureException {
+        if (decodedBody == null && decodeFailure == null) {
+            try {
+                decodedBody = Collections.unmodifiableMap(RequestBodyDecoder.decode(getBodyAsString()));
+            } catch (RequestBodyDecodeFailureException e) {
+                decodeFailure = e;
+            }
+        }
+        if (decodeFailure != null) {
+            throw decodeFailure;
+        }
+        return decodedBody;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        return multipart ? super.getInputStream() : new CachedBodyServletInputStream(cachedBody);
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        return multipart ? super.getReader() : new BufferedReader(new InputStreamReader(new ByteArrayInputStream(cachedBody), charset));
     }
 
     @Override
-    public Collection<Part> getParts() {
-        return parts;
+    public String getParameter(String name) {
+        String[] values = getParameterMap().get(name);
+        return values == null || values.length == 0 ? null : values[0];
     }
 
     @Override
-    public Part getPart(String name) {
-        return parts.stream().filter(part -> Objects.equals(part.getName(), name)).findFirst().orElse(null);
+    public Map<String, String[]> getParameterMap() {
+        if (!isFormPost()) {
+            return super.getParameterMap();
+        }
+        if (parameters == null) {
+            parameters = Collections.unmodifiableMap(mergeFormParameters());
+        }
+        return parameters;
     }
 
     @Override
-    public ServletInputStream getInputStream() {
-        return new CachedBodyServletInputStream(this.cachedBody);
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(getParameterMap().keySet());
     }
 
     @Override
-    public BufferedReader getReader() {
-        ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(this.cachedBody);
-        return new BufferedReader(new InputStreamReader(byteArrayInputStream));
+    public String[] getParameterValues(String name) {
+        String[] values = getParameterMap().get(name);
+        return values == null ? null : values.clone();
+    }
+
+    private boolean isFormPost() {
+        var contentType = getContentType();
+        return !multipart && contentType != null && contentType.startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE) && "POST".equalsIgnoreCase(getMethod());
+    }
+
+    private Map<String, String[]> mergeFormParameters() {
+        // The container only sees the query string once the body has been consumed here
+        Map<String, List<String>> merged = new LinkedHashMap<>();
+        super.getParameterMap().forEach((name, values) -> merged.computeIfAbsent(name, _ -> new ArrayList<>()).addAll(Arrays.asList(values)));
+
+        var body = getBodyAsString();
+        if (!body.isEmpty()) {
+            for (String pair : body.split("&")) {
+                if (pair.isEmpty()) {
+                    continue;
+                }
+                int separator = pair.indexOf('=');
+                String name = URLDecoder.decode(separator >= 0 ? pair.substring(0, separator) : pair, charset);
+                String value = separator >= 0 ? URLDecoder.decode(pair.substring(separator + 1), charset) : "";
+                merged.computeIfAbsent(name, _ -> new ArrayList<>()).add(value);
+            }
+        }
+
+        Map<String, String[]> result = new LinkedHashMap<>();
+        merged.forEach((name, values) -> result.put(name, values.toArray(String[]::new)));
+        return result;
     }
 
     public static class CachedBodyServletInputStream extends ServletInputStream {
 
-        private final InputStream cachedBodyInputStream;
+        private final ByteArrayInputStream cachedBodyInputStream;
 
         public CachedBodyServletInputStream(byte[] cachedBody) {
             this.cachedBodyInputStream = new ByteArrayInputStream(cachedBody);
@@ -65,11 +209,7 @@ public class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
 
         @Override
         public boolean isFinished() {
-            try {
-                return cachedBodyInputStream.available() == 0;
-            } catch (IOException _) {
-                return true;
-            }
+            return cachedBodyInputStream.available() == 0;
         }
 
         @Override
@@ -78,14 +218,28 @@ public class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
         }
 
         @Override
-        public int read() throws IOException {
+        public int read() {
             return cachedBodyInputStream.read();
         }
 
+        @Override
+        public int read(byte[] b, int off, int len) {
+            return cachedBodyInputStream.read(b, off, len);
+        }
+
+        @Override
+        public byte[] readAllBytes() {
+            return cachedBodyInputStream.readAllBytes();
+        }
+
+        @Override
+        public int available() {
+            return cachedBodyInputStream.available();
+        }
+
         @Override
         public void setReadListener(ReadListener listener) {
             // no-op
         }
     }
 }
-
@@ -3,49 +3,73 @@ package com.chellavignesh.authserver.security;
 import com.chellavignesh.authserver.adminportal.user.UserService;
 import com.chellavignesh.authserver.adminportal.user.entity.UserDetails;
 import com.chellavignesh.authserver.config.OutputMessagesConstants;
+import com.chellavignesh.authserver.config.resilience.CircuitBreaker;
+import com.chellavignesh.authserver.config.resilience.CircuitBreakerOpenException;
 import com.chellavignesh.authserver.security.exception.PasswordBlackListedException;
+import com.chellavignesh.authserver.security.exception.PasswordHistoryUnavailableException;
 import com.chellavignesh.authserver.security.exception.PasswordIncorrectSemanticException;
 import com.chellavignesh.authserver.security.exception.PasswordInvalidSyntaxException;
 import com.chellavignesh.authserver.security.exception.PasswordRecentlyUsedException;
 import com.chellavignesh.authserver.security.passwordvalidator.repository.PasswordHistoryRepository;
 import com.chellavignesh.authserver.security.passwordvalidator.repository.entity.PasswordHistoryData;
-import com.chellavignesh.authserver.session.HasherConfig;
 import com.chellavignesh.authserver.session.KPCVPasswordEncoder;
 import com.chellavignesh.authserver.session.LibCryptoPasswordEncoder;
+import com.chellavignesh.authserver.session.PasswordHashingService;
 import com.chellavignesh.libcrypto.service.impl.CryptoWebClientImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.util.StringUtils;
 
+import java.time.Duration;
 import java.util.Base64;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import static org.apache.commons.lang3.StringUtils.containsIgnoreCase;
 
 @Service
+@Slf4j
 public class PasswordValidatorService {
 
     private final PasswordHistoryRepository passwordHistoryRepository;
     private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
     private final UserService userService;
     private final Pattern passwordPatternValidator;
-    private final CryptoWebClientImpl cryptoWebClient;
-    private final HasherConfig hasherConfig;
+    private final PasswordHashingService passwordHashingService;
+    private final LibCryptoPasswordEncoder libCryptoPasswordEncoder;
+    private final CircuitBreaker libCryptoHistoryBreaker;
+    private final ExecutorService libCryptoHistoryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final long libCryptoHistoryTimeoutMs;
+    private final boolean libCryptoHistoryFailOpen;
 
     public PasswordValidatorService(
             @Value("${validation.password.regex}") String passwordValidationRegExp,
             NamedParameterJdbcTemplate namedParameterJdbcTemplate,
-            PasswordHistoryRepository passwordHistoryRepository, UserService userService, CryptoWebClientImpl cryptoWebClient, HasherConfig hasherConfig
+            PasswordHistoryRepository passwordHistoryRepository, UserService userService, CryptoWebClientImpl cryptoWebClient, PasswordHashingService passwordHashingService,
+            MeterRegistry meterRegistry,
+            @Value("${crypto.web.history-check.timeout:3000}") long libCryptoHistoryTimeoutMs,
+            @Value("${crypto.web.history-check.failure-threshold:5}") int libCryptoHistoryFailureThreshold,
+            @Value("${crypto.web.history-check.open-duration:30000}") long libCryptoHistoryOpenDurationMs,
+            @Value("${crypto.web.history-check.fail-open:false}") boolean libCryptoHistoryFailOpen
     ) {
         this.passwordHistoryRepository = passwordHistoryRepository;
         this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
         this.userService = userService;
-        this.cryptoWebClient = cryptoWebClient;
-        this.hasherConfig = hasherConfig;
+        this.passwordHashingService = passwordHashingService;
+        this.libCryptoPasswordEncoder = new LibCryptoPasswordEncoder(cryptoWebClient);
+        this.libCryptoHistoryTimeoutMs = libCryptoHistoryTimeoutMs;
+        this.libCryptoHistoryFailOpen = libCryptoHistoryFailOpen;
+        this.libCryptoHistoryBreaker = new CircuitBreaker("lib-crypto-history", libCryptoHistoryFailureThreshold, Duration.ofMillis(libCryptoHistoryOpenDurationMs), meterRegistry);
         this.passwordPatternValidator = Pattern.compile(passwordValidationRegExp);
     }
 
@@ -56,7 +80,8 @@ public class PasswordValidatorService {
             throws PasswordBlackListedException,
             PasswordInvalidSyntaxException,
             PasswordIncorrectSemanticException,
-            PasswordRecentlyUsedException {
+            PasswordRecentlyUsedException,
+            PasswordHistoryUnavailableException {
 
         UserDetails data = userService.getByGuid(userGuid).orElseThrow();
 
@@ -76,7 +101,7 @@ public class PasswordValidatorService {
     }
 
     public boolean validateRecentUsages(String password, UUID userGuid)
-            throws PasswordRecentlyUsedException {
+            throws PasswordRecentlyUsedException, PasswordHistoryUnavailableException {
 
         UserDetails data = userService.getByGuid(userGuid).orElseThrow();
 
@@ -85,26 +110,64 @@ public class PasswordValidatorService {
             return true;
         }
 
-        KPCVPasswordEncoder ascensusEncoder = new KPCVPasswordEncoder(hasherConfig);
-        LibCryptoPasswordEncoder libCryptoPasswordEncoder = new LibCryptoPasswordEncoder(cryptoWebClient);
+        // KPCV rows are hashed in parallel on the shared hashing pool, stopping at the first match
+        List<String> kpcvHashes = passwordHistoryData.stream()
+                .filter(row -> row.getVersion() == KPCVPasswordEncoder.ENCODER_ID)
+                .map(PasswordHistoryData::getPassword)
+                .toList();
+        if (passwordHashingService.matchesAny(password, kpcvHashes)) {
+            throw new PasswordRecentlyUsedException(OutputMessagesConstants.PASSWORD_RECENT_USAGE);
+        }
 
         // TODO: This base64 encode is going to be a problem until the WAF rule allows all characters in a password.
         String encodedPassword = Base64.getEncoder().encodeToString(password.getBytes());
 
-        for (PasswordHistoryData row : passwordHistoryData) {
+        List<String> libCryptoHashes = passwordHistoryData.stream()
+                .filter(row -> row.getVersion() == LibCryptoPasswordEncoder.ENCODER_ID)
+                .map(PasswordHistoryData::getPassword)
+                .toList();
+        if (matchesLibCryptoHistory(encodedPassword, libCryptoHashes)) {
+            throw new PasswordRecentlyUsedException(OutputMessagesConstants.PASSWORD_RECENT_USAGE);
+        }
+
+        return true;
+    }
 
-            if (row.getVersion() == KPCVPasswordEncoder.ENCODER_ID
-                    && ascensusEncoder.matches(encodedPassword, row.getPassword())) {
-                throw new PasswordRecentlyUsedException(OutputMessagesConstants.PASSWORD_RECENT_USAGE);
-            }
+    /**
+     * All LibCrypto history rows are checked with one crypto service request, bounded by
+     * {@code crypto.web.history-check.timeout}. When the check fails or the breaker is open the
+     * password is rejected with {@link PasswordHistoryUnavailableException}, unless
+     * {@code crypto.web.history-check.fail-open} is set, in which case it counts as no match.
+     */
+    private boolean matchesLibCryptoHistory(String encodedPassword, List<String> libCryptoHashes) throws PasswordHistoryUnavailableException {
+        if (libCryptoHashes.isEmpty()) {
+            return false;
+        }
+        try {
+            return libCryptoHistoryBreaker.execute(() -> CompletableFuture
+                    .supplyAsync(() -> libCryptoPasswordEncoder.matchesAny(encodedPassword, libCryptoHashes), libCryptoHistoryExecutor)
+                    .orTimeout(libCryptoHistoryTimeoutMs, TimeUnit.MILLISECONDS)
+                    .join());
+        } catch (CircuitBreakerOpenException e) {
+            log.warn("LibCrypto password history check unavailable: {}", e.getMessage());
+            return libCryptoHistoryUnavailable();
+        } catch (RuntimeException e) {
+            log.error("LibCrypto password history check failed", e);
+            return libCryptoHistoryUnavailable();
+        }
+    }
 
-            if (row.getVersion() == LibCryptoPasswordEncoder.ENCODER_ID
-                    && libCryptoPasswordEncoder.matches(encodedPassword, row.getPassword())) {
-                throw new PasswordRecentlyUsedException(OutputMessagesConstants.PASSWORD_RECENT_USAGE);
-            }
+    private boolean libCryptoHistoryUnavailable() throws PasswordHistoryUnavailableException {
+        if (libCryptoHistoryFailOpen) {
+            log.warn("Accepting password without LibCrypto history check (crypto.web.history-check.fail-open=true)");
+            return false;
         }
+        throw new PasswordHistoryUnavailableException(OutputMessagesConstants.PASSWORD_HISTORY_UNAVAILABLE);
+    }
 
-        return true;
+    @PreDestroy
+    public void shutdown() {
+        libCryptoHistoryExecutor.close();
     }
 
     public boolean passwordNotBlackListed(String password)
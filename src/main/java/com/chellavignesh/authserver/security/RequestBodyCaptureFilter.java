@@ -0,0 +1,53 @@
+package com.chellavignesh.authserver.security;
+
+import com.chellavignesh.authserver.security.exception.RequestBodyTooLargeException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Reads the body of signed API, introspection and userinfo requests once, ahead of the security
+ * filter chain, and hands the rest of the chain a {@link CachedBodyHttpServletRequest}.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 10)
+@Slf4j
+public class RequestBodyCaptureFilter extends OncePerRequestFilter {
+
+    private final int maxBodySize;
+
+    public RequestBodyCaptureFilter(@Value("${request.body.max-size:" + CachedBodyHttpServletRequest.DEFAULT_MAX_BODY_SIZE + "}") int maxBodySize) {
+        this.maxBodySize = maxBodySize;
+    }
+
+    @Override
+    protected void doFilterInternal(@NotNull HttpServletRequest request, @NotNull HttpServletResponse response, @NotNull FilterChain filterChain) throws ServletException, IOException {
+
+        CachedBodyHttpServletRequest requestWrapper;
+        try {
+            requestWrapper = CachedBodyHttpServletRequest.capture(request, maxBodySize);
+        } catch (RequestBodyTooLargeException e) {
+            log.warn("Rejecting request to {}: {}", request.getRequestURI(), e.getMessage());
+            response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            return;
+        }
+
+        filterChain.doFilter(requestWrapper, response);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getServletPath();
+        return !path.startsWith("/api") && !path.startsWith("/oauth2/introspect") && !path.startsWith("/userinfo");
+    }
+}
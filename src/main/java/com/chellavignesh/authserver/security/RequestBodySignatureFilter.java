@@ -9,7 +9,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpHeaders;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -23,15 +23,17 @@ public class RequestBodySignatureFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(RequestBodySignatureFilter.class);
 
     private final SignatureService signatureService;
+    private final int maxBodySize;
 
-    public RequestBodySignatureFilter(SignatureService signatureService) {
+    public RequestBodySignatureFilter(SignatureService signatureService, @Value("${request.body.max-size:" + CachedBodyHttpServletRequest.DEFAULT_MAX_BODY_SIZE + "}") int maxBodySize) {
         this.signatureService = signatureService;
+        this.maxBodySize = maxBodySize;
     }
 
     @Override
     protected void doFilterInternal(@NotNull HttpServletRequest request, @NotNull HttpServletResponse response, @NotNull FilterChain filterChain) throws ServletException, IOException {
 
-        var requestWrapper = new CachedBodyHttpServletRequest(request);
+        var requestWrapper = CachedBodyHttpServletRequest.of(request, maxBodySize);
 
         var signatureHeader = requestWrapper.getHeader("x-signature");
         if (!StringUtils.hasText(signatureHeader)) {
@@ -45,10 +47,7 @@ public class RequestBodySignatureFilter extends OncePerRequestFilter {
             }
         } else {
             try {
-                var authorizationHeader = requestWrapper.getHeader(HttpHeaders.AUTHORIZATION);
-                var body = requestWrapper.getInputStream().readAllBytes();
-
-                var verified = this.signatureService.verifySignature(authorizationHeader, signatureHeader, body);
+                var verified = this.signatureService.verifySignature(requestWrapper, signatureHeader, requestWrapper.getBody());
 
                 if (!verified) {
                     logger.error("Invalid request body signature: {}", signatureHeader);
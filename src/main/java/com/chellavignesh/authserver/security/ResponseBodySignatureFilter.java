@@ -9,7 +9,6 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
-import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.ContentCachingResponseWrapper;
@@ -36,10 +35,10 @@ public class ResponseBodySignatureFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, responseWrapper);
 
         try {
-            var authorizationHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
             var body = responseWrapper.getContentAsByteArray();
 
-            var signature = this.signatureService.signBody(authorizationHeader, body);
+            // Uses the token already resolved by RequestBodySignatureFilter for this request
+            var signature = this.signatureService.signBody(request, body);
 
             responseWrapper.setHeader("x-signature", Base64.getEncoder().encodeToString(signature));
         } catch (SignatureFailedException e) {
@@ -45,7 +45,7 @@ public class SpringSecurityConfig {
     private final TokenIntrospector tokenIntrospector;
     private final CustomPermissionEvaluator permissionEvaluator;
     private final CryptoWebClientImpl cryptoWebClient;
-    private final HasherConfig hasherConfig;
+    private final PasswordHashingService passwordHashingService;
     private final RequestClientFingerprintFilter requestClientFingerprintFilter;
 
     private final BrandingRequestBodyFilter brandingRequestBodyFilter;
@@ -60,11 +60,11 @@ public class SpringSecurityConfig {
     private final PreAuthorizationFilter preAuthorizationFilter;
     private final StaticResourceSessionFilter staticResourceSessionFilter;
 
-    public SpringSecurityConfig(TokenIntrospector tokenIntrospector, CustomPermissionEvaluator permissionEvaluator, CryptoWebClientImpl cryptoWebClient, HasherConfig hasherConfig, RequestClientFingerprintFilter requestClientFingerprintFilter, BrandingRequestBodyFilter brandingRequestBodyFilter, CustomAuthenticationSuccessHandler customAuthenticationSuccessHandler, CustomAuthenticationFailureHandler customAuthenticationFailureHandler, CustomUserDetailsService customUserDetailsService, RequestBodySignatureFilter requestBodySignatureFilter, ResponseBodySignatureFilter responseBodySignatureFilter, RequestDatetimeValidationFilter requestDatetimeValidationFilter, UserService userService, UniteMSCServiceClient uniteServiceClient, PreAuthorizationFilter preAuthorizationFilter, StaticResourceSessionFilter staticResourceSessionFilter) {
+    public SpringSecurityConfig(TokenIntrospector tokenIntrospector, CustomPermissionEvaluator permissionEvaluator, CryptoWebClientImpl cryptoWebClient, PasswordHashingService passwordHashingService, RequestClientFingerprintFilter requestClientFingerprintFilter, BrandingRequestBodyFilter brandingRequestBodyFilter, CustomAuthenticationSuccessHandler customAuthenticationSuccessHandler, CustomAuthenticationFailureHandler customAuthenticationFailureHandler, CustomUserDetailsService customUserDetailsService, RequestBodySignatureFilter requestBodySignatureFilter, ResponseBodySignatureFilter responseBodySignatureFilter, RequestDatetimeValidationFilter requestDatetimeValidationFilter, UserService userService, UniteMSCServiceClient uniteServiceClient, PreAuthorizationFilter preAuthorizationFilter, StaticResourceSessionFilter staticResourceSessionFilter) {
         this.tokenIntrospector = tokenIntrospector;
         this.permissionEvaluator = permissionEvaluator;
         this.cryptoWebClient = cryptoWebClient;
-        this.hasherConfig = hasherConfig;
+        this.passwordHashingService = passwordHashingService;
         this.requestClientFingerprintFilter = requestClientFingerprintFilter;
         this.brandingRequestBodyFilter = brandingRequestBodyFilter;
         this.customAuthenticationSuccessHandler = customAuthenticationSuccessHandler;
@@ -89,6 +89,7 @@ public class SpringSecurityConfig {
                         .requestMatchers("/api/**").authenticated()
                         .requestMatchers("/css/**", "/images/**", "/js/**").permitAll()
                         .requestMatchers("/oauth2/signature/**").authenticated()
+                        .requestMatchers("/oauth2/introspect/batch").authenticated()
                         .requestMatchers("/oauth2/**").permitAll()
                         .requestMatchers("/actuator/**").permitAll()
                         .requestMatchers("/login/**").permitAll()
@@ -195,7 +196,7 @@ public class SpringSecurityConfig {
     public PasswordEncoder delegatingPasswordEncoder() {
         Map<String, PasswordEncoder> encoders = new HashMap<>();
         encoders.put(LibCryptoPasswordEncoder.ENCODER_ID.toString(), new LibCryptoPasswordEncoder(cryptoWebClient));
-        encoders.put(PasswordEncoderFactory.currentVersion.toString(), new KPCVPasswordEncoder(hasherConfig));
+        encoders.put(PasswordEncoderFactory.currentVersion.toString(), new KPCVPasswordEncoder(passwordHashingService));
         return new DelegatingPasswordEncoder(PasswordEncoderFactory.currentVersion.toString(), encoders);
     }
 }
\ No newline at end of file
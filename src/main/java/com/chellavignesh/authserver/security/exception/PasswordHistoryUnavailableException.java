@@ -0,0 +1,7 @@
+package com.chellavignesh.authserver.security.exception;
+
+public class PasswordHistoryUnavailableException extends PasswordValidationException {
+    public PasswordHistoryUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.chellavignesh.authserver.security.exception;
+
+import java.io.IOException;
+
+public class RequestBodyTooLargeException extends IOException {
+    public RequestBodyTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -1,10 +1,13 @@
 package com.chellavignesh.authserver.session;
 
+import com.chellavignesh.authserver.pkce.entity.Pkce;
 import com.chellavignesh.authserver.session.dto.CreateAuthSessionDto;
 import com.chellavignesh.authserver.session.entity.AuthSession;
 import com.chellavignesh.authserver.session.entity.AuthSessionRowMapper;
+import com.chellavignesh.authserver.session.entity.AuthorizationSnapshot;
 import com.chellavignesh.authserver.session.exception.AuthSessionCreationFailedException;
 import com.chellavignesh.authserver.session.exception.FailedToUpdateSessionException;
+import com.chellavignesh.authserver.token.entity.Token;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.CacheEvict;
@@ -15,6 +18,9 @@ import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 
 import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -24,9 +30,11 @@ public class AuthSessionRepository {
     private static final Logger log = LoggerFactory.getLogger(AuthSessionRepository.class);
 
     private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final GetAuthorizationSnapshotProcedure authorizationSnapshotProcedure;
 
     public AuthSessionRepository(NamedParameterJdbcTemplate jdbcTemplate) {
         this.jdbcTemplate = jdbcTemplate;
+        this.authorizationSnapshotProcedure = new GetAuthorizationSnapshotProcedure(jdbcTemplate.getJdbcTemplate().getDataSource());
     }
 
     public AuthSession create(CreateAuthSessionDto dto) throws AuthSessionCreationFailedException {
@@ -57,6 +65,23 @@ public class AuthSessionRepository {
         return jdbcTemplate.query("{call Token.GetAuthSessionBySessionId(:sessionId)}", new MapSqlParameterSource("sessionId", sessionId.toString()), new AuthSessionRowMapper()).stream().findFirst();
     }
 
+    /**
+     * Loads the active tokens and PKCE record of a session in a single round-trip. The session
+     * itself comes from {@link #getBySessionId}, which is cached.
+     */
+    @SuppressWarnings("unchecked")
+    public AuthorizationSnapshot getAuthorizationSnapshot(UUID sessionId) {
+        Map<String, Object> results = authorizationSnapshotProcedure.execute(sessionId);
+
+        List<Token> tokens = (List<Token>) results.get("tokens");
+        List<Pkce> pkceRecords = (List<Pkce>) results.get("pkce");
+
+        return new AuthorizationSnapshot(
+                tokens == null ? List.of() : tokens.stream().filter(Objects::nonNull).toList(),
+                pkceRecords == null || pkceRecords.isEmpty() ? null : pkceRecords.get(0)
+        );
+    }
+
     /**
      * Set session inactive – MUST invalidate session cache
      */
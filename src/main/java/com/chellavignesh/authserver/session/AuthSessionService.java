@@ -4,6 +4,7 @@ import com.chellavignesh.authserver.adminportal.application.entity.Application;
 import com.chellavignesh.authserver.authcode.AuthCodeService;
 import com.chellavignesh.authserver.session.dto.CreateAuthSessionDto;
 import com.chellavignesh.authserver.session.entity.AuthSession;
+import com.chellavignesh.authserver.session.entity.AuthorizationSnapshot;
 import com.chellavignesh.authserver.session.exception.AuthSessionCreationFailedException;
 import com.chellavignesh.authserver.session.exception.FailedToUpdateSessionException;
 import org.jetbrains.annotations.Nullable;
@@ -45,11 +46,19 @@ public class AuthSessionService {
         return authSessionRepository.getBySessionId(sessionId);
     }
 
+    public AuthorizationSnapshot getAuthorizationSnapshot(UUID sessionId) {
+        return authSessionRepository.getAuthorizationSnapshot(sessionId);
+    }
+
     public void setSessionInactive(UUID sessionId) throws FailedToUpdateSessionException {
         authSessionRepository.setSessionInactive(sessionId);
     }
 
     public AuthSession createSession(Optional<Application> application, OAuth2Authorization authorization) {
+        return this.createSession(toCreateSessionDto(application, authorization));
+    }
+
+    public CreateAuthSessionDto toCreateSessionDto(Optional<Application> application, OAuth2Authorization authorization) {
 
         CreateAuthSessionDto sessionDto = new CreateAuthSessionDto();
         sessionDto.setApplicationId(application.get().getId());
@@ -59,7 +68,7 @@ public class AuthSessionService {
         sessionDto.setClientFingerprint(getClientFingerprint(authorization));
         sessionDto.setClientId(authorization.getRegisteredClientId());
 
-        return this.createSession(sessionDto);
+        return sessionDto;
     }
 
     public AuthSession createSession(CreateAuthSessionDto sessionDto) {
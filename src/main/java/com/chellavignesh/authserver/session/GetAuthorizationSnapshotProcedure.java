@@ -0,0 +1,26 @@
+package com.chellavignesh.authserver.session;
+
+import com.chellavignesh.authserver.pkce.entity.PkceRowMapper;
+import com.chellavignesh.authserver.token.entity.TokenRowMapper;
+import org.springframework.jdbc.core.SqlParameter;
+import org.springframework.jdbc.core.SqlReturnResultSet;
+import org.springframework.jdbc.object.StoredProcedure;
+
+import javax.sql.DataSource;
+import java.sql.Types;
+import java.util.Map;
+import java.util.UUID;
+
+public class GetAuthorizationSnapshotProcedure extends StoredProcedure {
+    public GetAuthorizationSnapshotProcedure(DataSource dataSource) {
+        super(dataSource, "Token.GetAuthorizationSnapshotBySessionId");
+        declareParameter(new SqlParameter("sessionId", Types.NVARCHAR));
+        declareParameter(new SqlReturnResultSet("tokens", new TokenRowMapper()));
+        declareParameter(new SqlReturnResultSet("pkce", new PkceRowMapper()));
+        compile();
+    }
+
+    public Map<String, Object> execute(UUID sessionId) {
+        return super.execute(sessionId.toString());
+    }
+}
@@ -1,6 +1,5 @@
 package com.chellavignesh.authserver.session;
 
-import com.chellavignesh.authserver.adminportal.util.KPCVEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Base64;
@@ -8,10 +7,10 @@ import java.util.Base64;
 public class KPCVPasswordEncoder implements PasswordEncoder {
     public static final Integer ENCODER_ID = 1;
 
-    KPCVEncoder passwordHasher;
+    private final PasswordHashingService passwordHashingService;
 
-    public KPCVPasswordEncoder(HasherConfig hasherConfig) {
-        this.passwordHasher = new KPCVEncoder(hasherConfig);
+    public KPCVPasswordEncoder(PasswordHashingService passwordHashingService) {
+        this.passwordHashingService = passwordHashingService;
     }
 
     @Override
@@ -19,12 +18,12 @@ public class KPCVPasswordEncoder implements PasswordEncoder {
         String password = rawPassword != null ? new String(Base64.getDecoder().decode(rawPassword.toString())) : null;
 
         // Spring needs the encoded password to be prefixed with the ID of the encoder used
-        return "{" + ENCODER_ID + "}" + passwordHasher.getHashPasswordHex(password);
+        return "{" + ENCODER_ID + "}" + passwordHashingService.hashHex(password);
     }
 
     @Override
     public boolean matches(CharSequence rawPassword, String encodedPassword) {
         String password = rawPassword != null ? new String(Base64.getDecoder().decode(rawPassword.toString())) : null;
-        return passwordHasher.validatePassword(password, encodedPassword);
+        return passwordHashingService.matches(password, encodedPassword);
     }
 }
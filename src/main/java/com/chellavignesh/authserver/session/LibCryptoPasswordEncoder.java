@@ -8,10 +8,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.nio.ByteBuffer;
 import java.security.MessageDigest;
-import java.util.Arrays;
-import java.util.Base64;
-import java.util.HexFormat;
-import java.util.List;
+import java.util.*;
 
 @Slf4j
 public class LibCryptoPasswordEncoder implements PasswordEncoder {
@@ -112,6 +109,54 @@ public class LibCryptoPasswordEncoder implements PasswordEncoder {
         }
     }
 
+    /**
+     * Checks the password against several stored hashes with a single crypto service request:
+     * the candidate is hashed once per distinct cipher index and compared locally.
+     * Unlike {@link #matches}, remote failures are thrown to the caller.
+     */
+    public boolean matchesAny(CharSequence rawPassword, List<String> encodedPasswords) {
+        if (rawPassword == null || encodedPasswords.isEmpty()) return false;
+
+        String decodedPassword = decodePassword(rawPassword);
+
+        if (useLocalFallback) {
+            return encodedPasswords.stream().anyMatch(encoded -> matchesLocal(decodedPassword, encoded));
+        }
+
+        List<LibCryptoEncodedPassword> parsed = encodedPasswords.stream()
+                .filter(Objects::nonNull)
+                .map(LibCryptoEncodedPassword::from)
+                .toList();
+
+        List<Data> batch = parsed.stream()
+                .map(LibCryptoEncodedPassword::cipherIndex)
+                .distinct()
+                .map(cipherIndex -> {
+                    Data data = new Data();
+                    data.setObjectName("$.user");
+                    data.setPlainText(decodedPassword);
+                    data.setCipherIndex(cipherIndex);
+                    data.setReversible(false);
+                    return data;
+                })
+                .toList();
+
+        CryptoRequestResponse req = new CryptoRequestResponse();
+        req.setEncryptData(batch);
+
+        List<Data> resp = cryptWebClient.postCryptoRequestResponse(req)
+                .orElseThrow(() -> new IllegalStateException("Empty crypto response"))
+                .getEncryptData();
+
+        Map<Integer, byte[]> recreatedByCipherIndex = new HashMap<>();
+        for (Data data : resp) {
+            recreatedByCipherIndex.put(data.getCipherIndex(), HexFormat.of().parseHex(data.getEncryptedCipher()));
+        }
+
+        return parsed.stream().anyMatch(candidate ->
+                Arrays.equals(candidate.encodedPassword(), recreatedByCipherIndex.get(candidate.cipherIndex())));
+    }
+
     //----------------------------------------------------------------------
     // HELPERS
     //----------------------------------------------------------------------
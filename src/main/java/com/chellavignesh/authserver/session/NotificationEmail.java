@@ -2,9 +2,11 @@ package com.chellavignesh.authserver.session;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 @Getter
 @AllArgsConstructor
+@NoArgsConstructor
 public class NotificationEmail {
 
     private String from;
@@ -19,6 +21,7 @@ public class NotificationEmail {
 
     @Getter
     @AllArgsConstructor
+    @NoArgsConstructor
     public static class Metadata {
         private String branding;
         private String emailName;
@@ -0,0 +1,153 @@
+package com.chellavignesh.authserver.session;
+
+import com.chellavignesh.authserver.adminportal.util.KPCVEncoder;
+import com.chellavignesh.authserver.session.exception.PasswordHashingSaturatedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Runs KPCV (PBKDF2-HMAC-SHA512) hashing for the whole application.
+ * <p>
+ * The pepper is recovered from the keystore once, and hashing runs on a bounded pool sized to the
+ * CPUs available. When the pool and its queue are full, callers get a
+ * {@link PasswordHashingSaturatedException} immediately instead of piling up on request threads.
+ */
+@Service
+@Slf4j
+public class PasswordHashingService {
+
+    private final KPCVEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+    private final Counter rejected;
+
+    public PasswordHashingService(HasherConfig hasherConfig,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${hasher.pool.size:0}") int poolSize,
+                                  @Value("${hasher.pool.queue-capacity:64}") int queueCapacity,
+                                  @Value("${hasher.pool.timeout:5000}") long timeoutMillis) {
+        this.encoder = new KPCVEncoder(hasherConfig);
+        this.timeoutMillis = timeoutMillis;
+
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("AuthServer-Hasher-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.hashTimer = meterRegistry.timer("authserver.password.hashing.duration", "operation", "hash");
+        this.verifyTimer = meterRegistry.timer("authserver.password.hashing.duration", "operation", "verify");
+        this.rejected = meterRegistry.counter("authserver.password.hashing.rejected");
+        meterRegistry.gauge("authserver.password.hashing.queue.depth", executor, e -> e.getQueue().size());
+        meterRegistry.gauge("authserver.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount);
+
+        log.info("Password hashing pool configured: threads={}, queue={}", threads, queueCapacity);
+    }
+
+    public String hashHex(String plainPassword) {
+        return await(submit(() -> hashTimer.record(() -> encoder.getHashPasswordHex(plainPassword))));
+    }
+
+    public boolean matches(String plainPassword, String passwordHash) {
+        return await(submit(() -> verify(plainPassword, passwordHash)));
+    }
+
+    /**
+     * Checks the password against several stored hashes in parallel, returning as soon as one
+     * matches. Hashes still queued when a match is found are cancelled.
+     */
+    public boolean matchesAny(String plainPassword, List<String> passwordHashes) {
+        if (passwordHashes.isEmpty()) {
+            return false;
+        }
+        if (passwordHashes.size() == 1) {
+            return matches(plainPassword, passwordHashes.getFirst());
+        }
+
+        CompletionService<Boolean> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<Boolean>> futures = new ArrayList<>(passwordHashes.size());
+        try {
+            for (String passwordHash : passwordHashes) {
+                futures.add(submit(completionService, () -> verify(plainPassword, passwordHash)));
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            for (int i = 0; i < futures.size(); i++) {
+                Future<Boolean> done = completionService.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    throw new PasswordHashingSaturatedException("Timed out waiting for password hashing");
+                }
+                if (Boolean.TRUE.equals(done.get())) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingSaturatedException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(false));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private boolean verify(String plainPassword, String passwordHash) {
+        return verifyTimer.record(() -> encoder.validatePassword(plainPassword, passwordHash));
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw saturated(e);
+        }
+    }
+
+    private <T> Future<T> submit(CompletionService<T> completionService, Callable<T> task) {
+        try {
+            return completionService.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw saturated(e);
+        }
+    }
+
+    private PasswordHashingSaturatedException saturated(RejectedExecutionException e) {
+        rejected.increment();
+        log.warn("Password hashing rejected - pool saturated. Active: {}, Queue: {}", executor.getActiveCount(), executor.getQueue().size());
+        return new PasswordHashingSaturatedException("Password hashing capacity exhausted", e);
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw new PasswordHashingSaturatedException("Timed out waiting for password hashing", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw new PasswordHashingSaturatedException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.chellavignesh.authserver.session.entity;
+
+import com.chellavignesh.authserver.pkce.entity.Pkce;
+import com.chellavignesh.authserver.token.entity.Token;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Active tokens and PKCE record of a single authorization session,
+ * loaded together by {@code Token.GetAuthorizationSnapshotBySessionId}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthorizationSnapshot {
+    private List<Token> tokens;
+    private Pkce pkce;
+}
@@ -0,0 +1,11 @@
+package com.chellavignesh.authserver.session.exception;
+
+public class PasswordHashingSaturatedException extends RuntimeException {
+    public PasswordHashingSaturatedException(String message) {
+        super(message);
+    }
+
+    public PasswordHashingSaturatedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
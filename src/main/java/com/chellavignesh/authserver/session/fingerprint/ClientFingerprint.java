@@ -19,20 +19,50 @@ public record ClientFingerprint(ZoneOffset zoneOffset, String acceptLanguage, St
                 }
             });
 
-    public byte[] getBytes() throws ClientFingerprintFailedException {
-        var zoneOffset = this.zoneOffset == null ? "" : this.zoneOffset;
-        var acceptLanguage = this.acceptLanguage == null ? "" : this.acceptLanguage;
-        var userAgent = this.userAgent == null ? "" : this.userAgent;
-        var refererDomain = this.refererDomain == null ? "" : this.refererDomain;
+    // Scratch space for ASCII header values, which is nearly all of them
+    private static final ThreadLocal<byte[]> ASCII_BUFFER = ThreadLocal.withInitial(() -> new byte[512]);
 
-        var preImage = String.format("%s:%s:%s:%s", zoneOffset, acceptLanguage, userAgent, refererDomain).getBytes(StandardCharsets.UTF_8);
+    private static final byte SEPARATOR = ':';
 
+    /**
+     * SHA-256 of {@code zoneOffset:acceptLanguage:userAgent:refererDomain}, with null parts as empty
+     * strings. The parts are fed to the digest one at a time rather than joined first.
+     */
+    public byte[] getBytes() throws ClientFingerprintFailedException {
         try {
             var messageDigest = SHA256_DIGEST_POOL.get();
             messageDigest.reset(); // Ensure clean state
-            return messageDigest.digest(preImage);
+            update(messageDigest, zoneOffset == null ? null : zoneOffset.getId());
+            messageDigest.update(SEPARATOR);
+            update(messageDigest, acceptLanguage);
+            messageDigest.update(SEPARATOR);
+            update(messageDigest, userAgent);
+            messageDigest.update(SEPARATOR);
+            update(messageDigest, refererDomain);
+            return messageDigest.digest();
         } catch (Exception e) {
             throw new ClientFingerprintFailedException("Could not create client fingerprint", e);
         }
     }
+
+    private static void update(MessageDigest messageDigest, String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        int length = value.length();
+        byte[] buffer = ASCII_BUFFER.get();
+        if (length > buffer.length) {
+            messageDigest.update(value.getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                messageDigest.update(value.getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            buffer[i] = (byte) c;
+        }
+        messageDigest.update(buffer, 0, length);
+    }
 }
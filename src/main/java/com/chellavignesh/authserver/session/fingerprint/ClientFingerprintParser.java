@@ -4,7 +4,9 @@ import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.time.DateTimeException;
+import java.time.Month;
 import java.time.OffsetDateTime;
+import java.time.Year;
 import java.time.ZoneOffset;
 
 public class ClientFingerprintParser {
@@ -14,11 +16,60 @@ public class ClientFingerprintParser {
 
     /**
      * Parses the host from the value of a Referer header.
+     * <p>
+     * {@code http(s)://host[:port]...} URLs with a plain host name are scanned in place; anything
+     * else, such as user info or an IPv6 host, goes through {@link UriComponentsBuilder}.
      *
      * @param referer The URL obtained from the Referer header
      * @return The host component from the given URL, or null if the URL cannot be parsed
      */
     public static String parseRefererHost(String referer) {
+        if (referer == null) {
+            return null;
+        }
+        String host = parseSimpleRefererHost(referer);
+        return host != null ? host : parseRefererHostFully(referer);
+    }
+
+    private static String parseSimpleRefererHost(String referer) {
+        int hostStart;
+        if (referer.regionMatches(true, 0, "http://", 0, 7)) {
+            hostStart = 7;
+        } else if (referer.regionMatches(true, 0, "https://", 0, 8)) {
+            hostStart = 8;
+        } else {
+            return null;
+        }
+
+        int length = referer.length();
+        int i = hostStart;
+        while (i < length && isHostChar(referer.charAt(i))) {
+            i++;
+        }
+        int hostEnd = i;
+        if (hostEnd == hostStart) {
+            return null;
+        }
+        if (i < length && referer.charAt(i) == ':') {
+            do {
+                i++;
+            } while (i < length && isDigit(referer.charAt(i)));
+        }
+        if (i < length && referer.charAt(i) != '/' && referer.charAt(i) != '?' && referer.charAt(i) != '#') {
+            return null;
+        }
+        return referer.substring(hostStart, hostEnd);
+    }
+
+    private static boolean isHostChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '.' || c == '-';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static String parseRefererHostFully(String referer) {
         try {
             var builder = UriComponentsBuilder.fromHttpUrl(referer);
             UriComponents uriComponents = builder.build();
@@ -30,15 +81,90 @@ public class ClientFingerprintParser {
 
     /**
      * Parses the timezone offset from the given ISO-8601 timestamp.
+     * <p>
+     * Timestamps shaped {@code yyyy-MM-ddTHH:mm[:ss[.fraction]]} followed by {@code Z} or
+     * {@code +HH:MM} or {@code -HH:MM} are checked and read in place; any other shape is left to
+     * {@link OffsetDateTime#parse}.
      *
      * @param datetime An ISO-8601 timestamp
      * @return The timezone offset parsed from the timestamp, or null if the timestamp cannot be parsed
      */
     public static ZoneOffset parseZoneOffset(String datetime) {
+        if (datetime == null) {
+            return null;
+        }
+        ZoneOffset offset = parseCommonZoneOffset(datetime);
+        if (offset != null) {
+            return offset;
+        }
         try {
             return OffsetDateTime.parse(datetime).getOffset();
-        } catch (DateTimeException | NullPointerException e) {
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static ZoneOffset parseCommonZoneOffset(String s) {
+        int length = s.length();
+        if (length < 17 || s.charAt(4) != '-' || s.charAt(7) != '-' || (s.charAt(10) != 'T' && s.charAt(10) != 't') || s.charAt(13) != ':') {
+            return null;
+        }
+
+        int year = digits(s, 0, 4);
+        int month = digits(s, 5, 2);
+        int day = digits(s, 8, 2);
+        int hour = digits(s, 11, 2);
+        int minute = digits(s, 14, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year)) || hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return null;
+        }
+
+        int i = 16;
+        if (i < length && s.charAt(i) == ':') {
+            int second = digits(s, i + 1, 2);
+            if (second < 0 || second > 59) {
+                return null;
+            }
+            i += 3;
+            if (i < length && s.charAt(i) == '.') {
+                int fractionStart = ++i;
+                while (i < length && i - fractionStart < 9 && isDigit(s.charAt(i))) {
+                    i++;
+                }
+                if (i == fractionStart) {
+                    return null;
+                }
+            }
+        }
+
+        if (i == length - 1 && (s.charAt(i) == 'Z' || s.charAt(i) == 'z')) {
+            return ZoneOffset.UTC;
+        }
+        if (i != length - 6 || (s.charAt(i) != '+' && s.charAt(i) != '-') || s.charAt(i + 3) != ':') {
+            return null;
+        }
+        int offsetHours = digits(s, i + 1, 2);
+        int offsetMinutes = digits(s, i + 4, 2);
+        if (offsetHours < 0 || offsetHours > 18 || offsetMinutes < 0 || offsetMinutes > 59 || (offsetHours == 18 && offsetMinutes > 0)) {
             return null;
         }
+        int sign = s.charAt(i) == '-' ? -1 : 1;
+        return ZoneOffset.ofHoursMinutes(sign * offsetHours, sign * offsetMinutes);
+    }
+
+    // Value of count ASCII digits at offset, or -1
+    private static int digits(String s, int offset, int count) {
+        if (offset + count > s.length()) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            char c = s.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
     }
 }
@@ -0,0 +1,30 @@
+package com.chellavignesh.authserver.token;
+
+import com.chellavignesh.authserver.session.entity.AuthSession;
+import com.chellavignesh.authserver.token.entity.TokenRowMapper;
+import com.microsoft.sqlserver.jdbc.SQLServerDataTable;
+import org.springframework.jdbc.core.SqlParameter;
+import org.springframework.jdbc.core.SqlReturnResultSet;
+import org.springframework.jdbc.object.StoredProcedure;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+public class CreateGrantBatchProcedure extends StoredProcedure {
+
+    public CreateGrantBatchProcedure(DataSource dataSource) {
+        super(dataSource, "Token.CreateGrantBatch");
+        declareParameter(new SqlParameter("sessions", microsoft.sql.Types.STRUCTURED));
+        declareParameter(new SqlParameter("tokens", microsoft.sql.Types.STRUCTURED));
+        declareParameter(new SqlReturnResultSet("createdSessions", (rs, rowNum) -> new NumberedSession(rs.getInt("RowNo"), AuthSession.fromResult(rs))));
+        declareParameter(new SqlReturnResultSet("createdTokens", new TokenRowMapper()));
+        compile();
+    }
+
+    public Map<String, Object> execute(SQLServerDataTable sessions, SQLServerDataTable tokens) {
+        return super.execute(sessions, tokens);
+    }
+
+    record NumberedSession(int rowNo, AuthSession session) {
+    }
+}
@@ -0,0 +1,177 @@
+package com.chellavignesh.authserver.token;
+
+import com.chellavignesh.authserver.config.RedisLeaderLock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes expired tokens, auth codes, PKCE records, and sessions with their SSO cookies, so the
+ * token tables and their hashed-value indexes stay bounded.
+ * <p>
+ * Each run deletes in keyed batches of {@code reaper.batch-size} rows, at most
+ * {@code reaper.max-batches-per-second} batches per second and {@code reaper.max-batches-per-run}
+ * batches in total. Only the pod holding the Redis lease runs it. The grace period and session
+ * retention are passed as seconds and the procedures take their cutoffs from the database's UTC
+ * clock, so neither this JVM's time zone nor its clock skew moves them.
+ */
+@Component
+@Slf4j
+public class ExpiredRowReaper {
+
+    private static final String LEASE_NAME = "expired-row-reaper";
+
+    // Sessions go last: they are only removed once nothing live refers to them
+    private static final List<String> TABLES = List.of("Token", "AuthCode", "Pkce", "AuthSession");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final RedisLeaderLock leaderLock;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long batchIntervalNanos;
+    private final int maxBatchesPerRun;
+    private final int graceSeconds;
+    private final int sessionRetentionSeconds;
+    private final Duration lease;
+
+    private final Map<String, Counter> rowsRemoved = new HashMap<>();
+    private final Map<String, AtomicLong> lagSeconds = new HashMap<>();
+    private final Timer runDuration;
+
+    public ExpiredRowReaper(NamedParameterJdbcTemplate jdbcTemplate,
+                            RedisLeaderLock leaderLock,
+                            MeterRegistry meterRegistry,
+                            @Value("${reaper.enabled:true}") boolean enabled,
+                            @Value("${reaper.batch-size:500}") int batchSize,
+                            @Value("${reaper.max-batches-per-second:4}") double maxBatchesPerSecond,
+                            @Value("${reaper.max-batches-per-run:500}") int maxBatchesPerRun,
+                            @Value("${reaper.grace-period:3600000}") long gracePeriodMillis,
+                            @Value("${reaper.session-retention:86400000}") long sessionRetentionMillis,
+                            @Value("${reaper.lease:600000}") long leaseMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaderLock = leaderLock;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.batchIntervalNanos = maxBatchesPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / maxBatchesPerSecond) : 0;
+        this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+        this.graceSeconds = Math.toIntExact(Duration.ofMillis(gracePeriodMillis).toSeconds());
+        this.sessionRetentionSeconds = Math.toIntExact(Duration.ofMillis(sessionRetentionMillis).toSeconds());
+        this.lease = Duration.ofMillis(leaseMillis);
+
+        for (String table : TABLES) {
+            rowsRemoved.put(table, Counter.builder("authserver.reaper.rows.removed")
+                    .tag("table", table)
+                    .description("Expired rows deleted by the reaper")
+                    .register(meterRegistry));
+        }
+        for (String table : TABLES.subList(0, 3)) {
+            AtomicLong lag = new AtomicLong();
+            lagSeconds.put(table, lag);
+            Gauge.builder("authserver.reaper.lag", lag, AtomicLong::get)
+                    .tag("table", table)
+                    .baseUnit("seconds")
+                    .description("Age of the oldest expired row the reaper has not deleted yet")
+                    .register(meterRegistry);
+        }
+        this.runDuration = Timer.builder("authserver.reaper.run.duration")
+                .description("Time spent in one reaper run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${reaper.interval:300000}", initialDelayString = "${reaper.interval:300000}")
+    public void reap() {
+        if (!enabled || !leaderLock.tryAcquire(LEASE_NAME, lease)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            int budget = maxBatchesPerRun;
+            for (String table : TABLES) {
+                budget = reapTable(table, budget);
+                if (budget <= 0) {
+                    log.info("Reaper used its batch budget of {}; the remaining rows are deleted on the next run", maxBatchesPerRun);
+                    break;
+                }
+            }
+            updateLag();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Expired row reaper failed: {}", e.getMessage(), e);
+        } finally {
+            runDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            leaderLock.release(LEASE_NAME);
+        }
+    }
+
+    private int reapTable(String table, int budget) throws InterruptedException {
+        long afterId = 0;
+        long total = 0;
+        while (budget > 0) {
+            long batchStart = System.nanoTime();
+            var parameters = new MapSqlParameterSource()
+                    .addValue("tableName", table)
+                    .addValue("graceSeconds", graceSeconds)
+                    .addValue("sessionRetentionSeconds", sessionRetentionSeconds)
+                    .addValue("afterId", afterId)
+                    .addValue("batchSize", batchSize);
+            long[] result = jdbcTemplate.query(
+                    "{call Token.ReapExpiredRows(:tableName, :graceSeconds, :sessionRetentionSeconds, :afterId, :batchSize)}",
+                    parameters,
+                    (rs, _) -> new long[]{rs.getInt("Deleted"), rs.getLong("LastId")}
+            ).stream().findFirst().orElse(new long[]{0, 0});
+            budget--;
+
+            int deleted = (int) result[0];
+            if (deleted > 0) {
+                rowsRemoved.get(table).increment(deleted);
+                total += deleted;
+                afterId = result[1];
+            }
+            if (deleted < batchSize) {
+                break;
+            }
+            // Keep the lease while the run is still going; stop if another pod has taken over
+            if (!leaderLock.tryAcquire(LEASE_NAME, lease)) {
+                log.warn("Reaper lost its leader lease; stopping after {} {} rows", total, table);
+                return 0;
+            }
+            long remaining = batchIntervalNanos - (System.nanoTime() - batchStart);
+            if (remaining > 0) {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            }
+        }
+        if (total > 0) {
+            log.info("Reaper deleted {} expired {} rows", total, table);
+        }
+        return budget;
+    }
+
+    private void updateLag() {
+        jdbcTemplate.query(
+                "{call Token.GetReaperBacklog(:graceSeconds)}",
+                new MapSqlParameterSource("graceSeconds", graceSeconds),
+                (RowCallbackHandler) rs -> {
+                    AtomicLong lag = lagSeconds.get(rs.getString("TableName"));
+                    if (lag != null) {
+                        // getLong reads NULL, an empty backlog, as 0
+                        lag.set(rs.getLong("LagSeconds"));
+                    }
+                });
+    }
+}
@@ -0,0 +1,295 @@
+package com.chellavignesh.authserver.token;
+
+import com.chellavignesh.authserver.session.AuthSessionService;
+import com.chellavignesh.authserver.session.entity.AuthSession;
+import com.chellavignesh.authserver.session.exception.AuthSessionCreationFailedException;
+import com.chellavignesh.authserver.token.dto.CreateGrantDto;
+import com.chellavignesh.authserver.token.dto.CreateTokenDto;
+import com.chellavignesh.authserver.token.entity.PersistedGrant;
+import com.chellavignesh.authserver.token.entity.Token;
+import com.chellavignesh.authserver.token.exception.GrantBatchRolledBackException;
+import com.chellavignesh.authserver.token.exception.TokenCreationFailedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Persists the session and tokens of client-credentials grants.
+ * <p>
+ * Concurrent grants are queued and written by a single flusher thread, up to
+ * {@code token.grant-batching.max-batch-size} at a time, in one {@code Token.CreateGrantBatch}
+ * call. The flusher waits at most {@code token.grant-batching.max-delay} for a batch to fill.
+ * Callers block until their batch commits, so a grant is durable before its token is returned.
+ * Each caller then writes its own tokens and session to the shared caches, so the next
+ * introspection does not read them back from the database and the flusher never waits on Redis.
+ * <p>
+ * If a batch rolls back, or batching is disabled, saturated or shutting down, each grant is written
+ * on its own through the single-row procedures, on the caller's thread so the flusher is never held
+ * up by per-grant writes. A batch that may have committed, such as one whose results do not match
+ * the request, fails its grants instead, since writing them again could issue them twice. A caller
+ * that times out cancels its grant, and cancelled grants are dropped from the next batch.
+ */
+@Component
+@Slf4j
+public class GrantWriteBatcher {
+
+    private static final String TOKEN_CACHE = "token-get-by-value-hash";
+    private static final String SESSION_CACHE = "session-get-by-session-id";
+
+    private final TokenRepository tokenRepository;
+    private final AuthSessionService authSessionService;
+    private final CacheManager cacheManager;
+
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final long timeoutMillis;
+    private final BlockingQueue<PendingGrant> queue;
+
+    private final DistributionSummary batchSize;
+    private final Timer batchDuration;
+    private final Counter fallbacks;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public GrantWriteBatcher(TokenRepository tokenRepository,
+                             AuthSessionService authSessionService,
+                             CacheManager cacheManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${token.grant-batching.enabled:true}") boolean enabled,
+                             @Value("${token.grant-batching.max-batch-size:32}") int maxBatchSize,
+                             @Value("${token.grant-batching.max-delay:2}") long maxDelayMillis,
+                             @Value("${token.grant-batching.queue-capacity:1024}") int queueCapacity,
+                             @Value("${token.grant-batching.timeout:5000}") long timeoutMillis) {
+        this.tokenRepository = tokenRepository;
+        this.authSessionService = authSessionService;
+        this.cacheManager = cacheManager;
+        this.enabled = enabled;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.timeoutMillis = timeoutMillis;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+
+        this.batchSize = DistributionSummary.builder("authserver.grant.batch.size")
+                .description("Grants persisted per Token.CreateGrantBatch call")
+                .register(meterRegistry);
+        this.batchDuration = Timer.builder("authserver.grant.batch.duration")
+                .description("Time spent persisting one grant batch")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("authserver.grant.batch.fallbacks")
+                .description("Grants written one at a time because batching was unavailable or the batch failed")
+                .register(meterRegistry);
+        Gauge.builder("authserver.grant.batch.queue.depth", queue, BlockingQueue::size)
+                .description("Grants waiting for the next batch")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            log.info("Grant write batching is disabled; grants are persisted one at a time");
+            return;
+        }
+        running = true;
+        flusher = Thread.ofPlatform().name("grant-write-batcher").daemon().start(this::run);
+        log.info("Grant write batching enabled: max batch size={}, max delay={}ms", maxBatchSize, TimeUnit.NANOSECONDS.toMillis(maxDelayNanos));
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+            flusher.join(timeoutMillis);
+        }
+        // Anything still queued is handed back so each caller writes its own grant
+        List<PendingGrant> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(GrantWriteBatcher::retryDirect);
+    }
+
+    /**
+     * Persists the grant and returns the created session and tokens in request order.
+     */
+    public PersistedGrant persist(CreateGrantDto grant) throws TokenCreationFailedException {
+        if (!running) {
+            return persistDirect(grant);
+        }
+
+        PendingGrant pending = new PendingGrant(grant, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            fallbacks.increment();
+            return persistDirect(grant);
+        }
+        // stop() may have drained the queue between the running check and the offer
+        if (!running && queue.remove(pending)) {
+            return persistDirect(grant);
+        }
+
+        try {
+            PersistedGrant persisted = await(pending);
+            cache(persisted);
+            return persisted;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RetryDirectException) {
+                fallbacks.increment();
+                return persistDirect(grant);
+            }
+            if (e.getCause() instanceof TokenCreationFailedException failure) {
+                throw failure;
+            }
+            throw new TokenCreationFailedException("Failed to persist grant: " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            pending.result().cancel(false);
+            Thread.currentThread().interrupt();
+            throw new TokenCreationFailedException("Interrupted while waiting for grant batch");
+        }
+    }
+
+    private PersistedGrant await(PendingGrant pending) throws ExecutionException, InterruptedException, TokenCreationFailedException {
+        try {
+            return pending.result().get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Cancelling keeps the grant out of any later batch; if the batch won the race, use its result
+            if (pending.result().cancel(false)) {
+                throw new TokenCreationFailedException("Timed out after " + timeoutMillis + "ms waiting for grant batch");
+            }
+            return pending.result().get();
+        }
+    }
+
+    private void run() {
+        List<PendingGrant> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                PendingGrant first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - batch.size());
+
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingGrant next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(GrantWriteBatcher::retryDirect);
+                return;
+            } catch (RuntimeException e) {
+                log.error("Grant write batcher failed: {}", e.getMessage(), e);
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingGrant> batch) {
+        // Callers that timed out have cancelled their grant and will not pick up the result
+        batch.removeIf(pending -> pending.result().isDone());
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<CreateGrantDto> grants = new ArrayList<>(batch.size());
+        batch.forEach(pending -> grants.add(pending.grant()));
+
+        List<PersistedGrant> persisted;
+        long start = System.nanoTime();
+        try {
+            persisted = tokenRepository.createGrants(grants);
+        } catch (GrantBatchRolledBackException e) {
+            log.warn("Grant batch of {} rolled back, handing grants back to their callers: {}", batch.size(), e.getMessage());
+            batch.forEach(GrantWriteBatcher::retryDirect);
+            return;
+        } catch (TokenCreationFailedException | RuntimeException e) {
+            log.error("Grant batch of {} failed and may have committed, failing its grants: {}", batch.size(), e.getMessage());
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+            return;
+        } finally {
+            batchDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        batchSize.record(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result().complete(persisted.get(i));
+        }
+    }
+
+    private static void retryDirect(PendingGrant pending) {
+        pending.result().completeExceptionally(RetryDirectException.INSTANCE);
+    }
+
+    private PersistedGrant persistDirect(CreateGrantDto grant) throws TokenCreationFailedException {
+        AuthSession session;
+        try {
+            session = authSessionService.create(grant.session());
+        } catch (AuthSessionCreationFailedException e) {
+            throw new TokenCreationFailedException(e.getMessage());
+        }
+
+        List<Token> tokens = new ArrayList<>(grant.tokens().size());
+        for (CreateTokenDto token : grant.tokens()) {
+            token.setSessionId(session.getSessionId());
+            tokens.add(tokenRepository.create(token));
+        }
+        return new PersistedGrant(session, tokens);
+    }
+
+    private void cache(PersistedGrant grant) {
+        // The grant is already committed; a cache failure only costs the next lookup a database read
+        try {
+            Cache tokenCache = cacheManager.getCache(TOKEN_CACHE);
+            if (tokenCache != null) {
+                // Same key as TokenRepository.getByValue: the token row holds the issued value
+                grant.tokens().forEach(token -> tokenCache.put(token.getTokenType().name() + ":" + token.getData(), token));
+            }
+            Cache sessionCache = cacheManager.getCache(SESSION_CACHE);
+            if (sessionCache != null) {
+                sessionCache.put(grant.session().getSessionId(), grant.session());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to cache persisted grant: {}", e.getMessage());
+        }
+    }
+
+    private record PendingGrant(CreateGrantDto grant, CompletableFuture<PersistedGrant> result) {
+    }
+
+    /**
+     * Tells a waiting caller to write its grant through the single-row procedures itself.
+     */
+    private static final class RetryDirectException extends RuntimeException {
+
+        private static final RetryDirectException INSTANCE = new RetryDirectException();
+
+        private RetryDirectException() {
+            super("Grant batch unavailable", null, false, false);
+        }
+    }
+}
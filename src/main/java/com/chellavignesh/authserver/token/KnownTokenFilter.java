@@ -0,0 +1,185 @@
+package com.chellavignesh.authserver.token;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.Duration;
+
+/**
+ * Answers lookups of unknown token values in memory so that floods of invalid or forged tokens do
+ * not each cost a {@code Token.GetTokenByValueHash} call.
+ * <p>
+ * Two layers are consulted on a cache miss in {@link TokenRepository#getByValue}: a short-TTL
+ * cache of hashes the database recently reported missing, and a Bloom filter of the hashes of all
+ * active tokens. The filter is rebuilt periodically to drop expired tokens and topped up in
+ * between from rows created since the last load. Tokens minted on this pod are added immediately;
+ * tokens minted on other pods are written through to the shared token cache on creation, which
+ * answers them before this filter is consulted until the next top-up. Authorization codes bypass
+ * the filter, since they are issued outside that write-through.
+ */
+@Component
+@Slf4j
+public class KnownTokenFilter {
+
+    // Rows committed slightly out of CreatedOn order are still picked up by the next top-up
+    private static final Duration WATERMARK_OVERLAP = Duration.ofMinutes(1);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Cache<ByteBuffer, Boolean> recentMisses;
+
+    private final Counter missCacheRejections;
+    private final Counter filterRejections;
+
+    private volatile TokenHashBloomFilter filter;
+    private volatile TokenHashBloomFilter building;
+    private volatile Timestamp watermark;
+
+    public KnownTokenFilter(NamedParameterJdbcTemplate jdbcTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${token.lookup-filter.enabled:true}") boolean enabled,
+                            @Value("${token.lookup-filter.expected-insertions:1000000}") long expectedInsertions,
+                            @Value("${token.lookup-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                            @Value("${token.negative-cache.ttl:10000}") long negativeCacheTtl,
+                            @Value("${token.negative-cache.max-size:100000}") long negativeCacheMaxSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.recentMisses = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(negativeCacheTtl))
+                .maximumSize(negativeCacheMaxSize)
+                .build();
+
+        this.missCacheRejections = Counter.builder("authserver.token.lookup.rejected")
+                .tag("layer", "negative-cache")
+                .description("Token lookups answered as unknown by the negative cache")
+                .register(meterRegistry);
+        this.filterRejections = Counter.builder("authserver.token.lookup.rejected")
+                .tag("layer", "filter")
+                .description("Token lookups answered as unknown by the known-token filter")
+                .register(meterRegistry);
+        Gauge.builder("authserver.token.lookup.filter.size", this, f -> f.filter == null ? 0 : f.filter.insertions())
+                .description("Token hashes added to the known-token filter since its last rebuild")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns {@code false} only when the token hash is certainly not in the database.
+     */
+    public boolean mightExist(byte[] tokenHash) {
+        if (!enabled) {
+            return true;
+        }
+        if (recentMisses.getIfPresent(ByteBuffer.wrap(tokenHash)) != null) {
+            missCacheRejections.increment();
+            return false;
+        }
+        TokenHashBloomFilter current = filter;
+        if (current != null && !current.mightContain(tokenHash)) {
+            filterRejections.increment();
+            return false;
+        }
+        return true;
+    }
+
+    public void recordMiss(byte[] tokenHash) {
+        if (enabled) {
+            recentMisses.put(ByteBuffer.wrap(tokenHash.clone()), Boolean.TRUE);
+        }
+    }
+
+    public void recordCreated(byte[] tokenHash) {
+        if (!enabled) {
+            return;
+        }
+        recentMisses.invalidate(ByteBuffer.wrap(tokenHash));
+        TokenHashBloomFilter current = filter;
+        if (current != null) {
+            current.put(tokenHash);
+        }
+        TokenHashBloomFilter next = building;
+        if (next != null) {
+            next.put(tokenHash);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${token.lookup-filter.refresh-interval:30000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        TokenHashBloomFilter current = filter;
+        if (current == null) {
+            rebuild();
+            return;
+        }
+        Timestamp since = new Timestamp(watermark.getTime() - WATERMARK_OVERLAP.toMillis());
+        LoadResult result = load(current, since);
+        if (result.latestCreatedOn() != null && result.latestCreatedOn().after(watermark)) {
+            watermark = result.latestCreatedOn();
+        }
+        log.trace("Added {} token hashes created since {} to the known-token filter", result.count(), since);
+    }
+
+    @Scheduled(fixedRateString = "${token.lookup-filter.rebuild-interval:3600000}", initialDelayString = "${token.lookup-filter.rebuild-interval:3600000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        TokenHashBloomFilter next = new TokenHashBloomFilter(expectedInsertions, falsePositiveRate);
+        building = next;
+        try {
+            LoadResult result = load(next, null);
+            long loaded = result.count();
+            watermark = result.latestCreatedOn() != null ? result.latestCreatedOn() : new Timestamp(0);
+            filter = next;
+            log.info("Rebuilt known-token filter with {} active token hashes", loaded);
+            if (loaded > expectedInsertions) {
+                log.warn("Known-token filter holds {} hashes, above token.lookup-filter.expected-insertions={}; false positives will rise", loaded, expectedInsertions);
+            }
+        } catch (RuntimeException e) {
+            // Keep answering from the previous filter; an unbuilt filter lets every lookup through
+            log.error("Failed to rebuild known-token filter: {}", e.getMessage(), e);
+        } finally {
+            building = null;
+        }
+    }
+
+    private LoadResult load(TokenHashBloomFilter target, Timestamp createdAfter) {
+        long[] count = {0};
+        Timestamp[] latest = {null};
+        jdbcTemplate.query(
+                "{call Token.GetActiveTokenHashes(:createdAfter)}",
+                new MapSqlParameterSource("createdAfter", createdAfter),
+                (RowCallbackHandler) rs -> {
+                    byte[] hash = rs.getBytes("DataHash");
+                    if (hash != null && hash.length >= 16) {
+                        target.put(hash);
+                        count[0]++;
+                    }
+                    Timestamp createdOn = rs.getTimestamp("CreatedOn");
+                    if (createdOn != null && (latest[0] == null || createdOn.after(latest[0]))) {
+                        latest[0] = createdOn;
+                    }
+                });
+        return new LoadResult(count[0], latest[0]);
+    }
+
+    private record LoadResult(long count, Timestamp latestCreatedOn) {
+    }
+}
@@ -4,11 +4,13 @@ import com.chellavignesh.authserver.enums.entity.TokenTypeEnum;
 import com.chellavignesh.authserver.token.entity.Token;
 import com.chellavignesh.authserver.token.exception.SignatureFailedException;
 import com.chellavignesh.authserver.token.exception.SignatureVerificationFailedException;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.Getter;
 import org.jetbrains.annotations.NonNls;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.Mac;
@@ -18,6 +20,7 @@ import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
 import java.util.regex.Pattern;
 
 @Service
@@ -25,6 +28,24 @@ public class SignatureService {
 
     private static final Logger logger = LoggerFactory.getLogger(SignatureService.class);
 
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final Pattern BEARER_PATTERN = Pattern.compile("^Bearer\\s+(.*)$");
+
+    /**
+     * Request attribute holding the access token resolved from the Authorization header, so the
+     * request and response signature filters look it up once per request.
+     */
+    private static final String RESOLVED_TOKEN_ATTRIBUTE = SignatureService.class.getName() + ".RESOLVED_TOKEN";
+
+    // Mac.getInstance does a provider lookup; instances are reused per thread and re-initialised per key
+    private static final ThreadLocal<Mac> MAC = ThreadLocal.withInitial(() -> {
+        try {
+            return Mac.getInstance(HMAC_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " algorithm not available", e);
+        }
+    });
+
     @Getter
     private final boolean signatureRequired;
 
@@ -47,10 +68,7 @@ public class SignatureService {
     public boolean verifySignature(String authorizationHeader, String signatureHeader, byte[] body) throws SignatureVerificationFailedException {
 
         try {
-            var computedSignature = this.signBody(authorizationHeader, body);
-            logger.debug("Computed signature: {}", Base64.getEncoder().encodeToString(computedSignature));
-            var signatureFromRequest = Base64.getDecoder().decode(signatureHeader);
-            return Arrays.equals(signatureFromRequest, computedSignature);
+            return verifySignature(this.signBody(authorizationHeader, body), signatureHeader);
         } catch (SignatureFailedException e) {
             throw new SignatureVerificationFailedException("Could not verify signature", e);
         }
@@ -84,18 +102,44 @@ public class SignatureService {
         return signatureValidForAnyOfTokens;
     }
 
+    /**
+     * Verifies the signature included in a request, resolving the access token once per request.
+     */
+    public boolean verifySignature(HttpServletRequest request, String signatureHeader, byte[] body) throws SignatureVerificationFailedException {
+
+        try {
+            return verifySignature(this.signBody(request, body), signatureHeader);
+        } catch (SignatureFailedException e) {
+            throw new SignatureVerificationFailedException("Could not verify signature", e);
+        }
+    }
+
+    private boolean verifySignature(byte[] computedSignature, String signatureHeader) {
+        logger.debug("Computed signature: {}", Base64.getEncoder().encodeToString(computedSignature));
+        var signatureFromRequest = Base64.getDecoder().decode(signatureHeader);
+        return Arrays.equals(signatureFromRequest, computedSignature);
+    }
+
     /**
      * Extracts access token from Authorization header and signs the body.
      */
     public byte[] signBody(String authorizationHeader, byte[] body) throws SignatureFailedException {
-        var pattern = Pattern.compile("^Bearer\\s+(.*)$");
-        var matcher = pattern.matcher(authorizationHeader);
-        if (matcher.matches()) {
-            var accessToken = matcher.group(1);
-            var token = this.tokenService.getByValue(accessToken, TokenTypeEnum.ACCESS_TOKEN);
-            if (token.isPresent()) {
-                return this.signBody(token.get(), body);
-            }
+        var token = resolveAccessToken(authorizationHeader);
+        if (token.isPresent()) {
+            return this.signBody(token.get(), body);
+        }
+
+        return new byte[]{};
+    }
+
+    /**
+     * Signs the body with the access token of the request, reusing the token resolved earlier in
+     * the same request if there is one.
+     */
+    public byte[] signBody(HttpServletRequest request, byte[] body) throws SignatureFailedException {
+        var token = resolveAccessToken(request);
+        if (token.isPresent()) {
+            return this.signBody(token.get(), body);
         }
 
         return new byte[]{};
@@ -110,14 +154,40 @@ public class SignatureService {
             throw new SignatureFailedException("Signing key not available for token ID: " + token.getId());
         }
 
-        var secretKeySpec = new SecretKeySpec(signingKey, "HmacSHA256");
-
         try {
-            Mac mac = Mac.getInstance("HmacSHA256");
-            mac.init(secretKeySpec);
+            Mac mac = MAC.get();
+            mac.init(new SecretKeySpec(signingKey, HMAC_ALGORITHM));
             return mac.doFinal(body);
-        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+        } catch (InvalidKeyException e) {
             throw new SignatureFailedException("Could not sign body", e);
         }
     }
+
+    /**
+     * Resolves the access token from the request's Authorization header once per request.
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<Token> resolveAccessToken(HttpServletRequest request) {
+        var resolved = request.getAttribute(RESOLVED_TOKEN_ATTRIBUTE);
+        if (resolved != null) {
+            return (Optional<Token>) resolved;
+        }
+
+        var token = resolveAccessToken(request.getHeader(HttpHeaders.AUTHORIZATION));
+        request.setAttribute(RESOLVED_TOKEN_ATTRIBUTE, token);
+        return token;
+    }
+
+    private Optional<Token> resolveAccessToken(String authorizationHeader) {
+        if (authorizationHeader == null) {
+            return Optional.empty();
+        }
+
+        var matcher = BEARER_PATTERN.matcher(authorizationHeader);
+        if (matcher.matches()) {
+            return this.tokenService.getByValue(matcher.group(1), TokenTypeEnum.ACCESS_TOKEN);
+        }
+
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,144 @@
+package com.chellavignesh.authserver.token;
+
+import com.chellavignesh.authserver.adminportal.user.UserClaimsChangedEvent;
+import com.chellavignesh.authserver.token.entity.Token;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Per-token snapshot of the claims built by {@link TokenService#getClaimsForToken}.
+ * <p>
+ * Snapshots live in memory until {@code token.claims-snapshot.ttl} or the token's expiry,
+ * whichever comes first. Each snapshot records the version of its user's claims at the time it was
+ * built. The version lives in the shared {@code user-claims-version} cache and is replaced
+ * whenever {@link UserClaimsChangedEvent} fires on any pod. A snapshot whose version no longer
+ * matches is rebuilt on its next read.
+ */
+@Component
+@Slf4j
+public class TokenClaimsSnapshotCache {
+
+    private static final String VERSION_CACHE = "user-claims-version";
+    // A user whose version entry has expired or was never written
+    private static final String INITIAL_VERSION = "";
+
+    private final CacheManager cacheManager;
+    private final boolean enabled;
+    private final Cache<Integer, ClaimsSnapshot> snapshots;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter stale;
+
+    public TokenClaimsSnapshotCache(CacheManager cacheManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${token.claims-snapshot.enabled:true}") boolean enabled,
+                                    @Value("${token.claims-snapshot.ttl:300000}") long ttl,
+                                    @Value("${token.claims-snapshot.max-size:50000}") long maxSize) {
+        this.cacheManager = cacheManager;
+        this.enabled = enabled;
+        Duration maxTtl = Duration.ofMillis(ttl);
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<Integer, ClaimsSnapshot>() {
+                    @Override
+                    public long expireAfterCreate(Integer key, ClaimsSnapshot value, long currentTime) {
+                        Duration untilExpiry = Duration.between(Instant.now(), value.tokenExpiresAt());
+                        return Math.max(0, (untilExpiry.compareTo(maxTtl) < 0 ? untilExpiry : maxTtl).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Integer key, ClaimsSnapshot value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Integer key, ClaimsSnapshot value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+
+        this.hits = Counter.builder("authserver.token.claims.snapshot").tag("result", "hit")
+                .description("Claims lookups answered from a token's snapshot").register(meterRegistry);
+        this.misses = Counter.builder("authserver.token.claims.snapshot").tag("result", "miss")
+                .description("Claims lookups with no snapshot for the token").register(meterRegistry);
+        this.stale = Counter.builder("authserver.token.claims.snapshot").tag("result", "stale")
+                .description("Claims snapshots discarded because the user's claims changed").register(meterRegistry);
+    }
+
+    public Optional<Map<String, Object>> get(Token token) {
+        if (!enabled || token.getId() == null) {
+            return Optional.empty();
+        }
+        ClaimsSnapshot snapshot = snapshots.getIfPresent(token.getId());
+        if (snapshot == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        if (snapshot.userGuid() != null && !snapshot.userVersion().equals(userVersion(snapshot.userGuid()))) {
+            snapshots.invalidate(token.getId());
+            stale.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        // Callers add to the claims map, so each gets its own copy
+        return Optional.of(new HashMap<>(snapshot.claims()));
+    }
+
+    /**
+     * Stores the claims built for a token. {@code userVersion} must be read with
+     * {@link #userVersion} as soon as the user is known and before the rest of its claims are
+     * loaded, so a change made while the claims were being built leaves the snapshot stale.
+     */
+    public void put(Token token, UUID userGuid, String userVersion, Map<String, Object> claims) {
+        if (!enabled || token.getId() == null || token.getExpiration() == null) {
+            return;
+        }
+        snapshots.put(token.getId(), new ClaimsSnapshot(Collections.unmodifiableMap(new HashMap<>(claims)), userGuid,
+                Objects.requireNonNullElse(userVersion, INITIAL_VERSION), token.getExpiration().toInstant()));
+    }
+
+    public String userVersion(UUID userGuid) {
+        org.springframework.cache.Cache versions = cacheManager.getCache(VERSION_CACHE);
+        if (versions == null) {
+            return INITIAL_VERSION;
+        }
+        String version = versions.get(userGuid.toString(), String.class);
+        return version != null ? version : INITIAL_VERSION;
+    }
+
+    @EventListener
+    public void onUserClaimsChanged(UserClaimsChangedEvent event) {
+        if (event.userGuid() == null) {
+            return;
+        }
+        org.springframework.cache.Cache versions = cacheManager.getCache(VERSION_CACHE);
+        if (versions != null) {
+            versions.put(event.userGuid().toString(), UUID.randomUUID().toString());
+        }
+        // Snapshots on this pod are dropped now; other pods see the new version on their next read
+        snapshots.asMap().values().removeIf(snapshot -> event.userGuid().equals(snapshot.userGuid()));
+        log.debug("Invalidated claims snapshots for user: {}", event.userGuid());
+    }
+
+    private record ClaimsSnapshot(Map<String, Object> claims, UUID userGuid, String userVersion, Instant tokenExpiresAt) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.chellavignesh.authserver.token;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over SHA-256 token hashes.
+ * <p>
+ * The hash is already uniformly distributed, so its first two 64-bit words drive double hashing
+ * directly instead of hashing again.
+ */
+class TokenHashBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashFunctions;
+    private final AtomicLong insertions = new AtomicLong();
+
+    TokenHashBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.max(64, ((m + 63) / 64) * 64);
+        this.bits = new AtomicLongArray(Math.toIntExact(bitCount / 64));
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    void put(byte[] hash) {
+        long h1 = word(hash, 0);
+        long h2 = word(hash, 8);
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+            long mask = 1L << index;
+            int slot = (int) (index >>> 6);
+            long current;
+            while (((current = bits.get(slot)) & mask) == 0) {
+                if (bits.compareAndSet(slot, current, current | mask)) {
+                    break;
+                }
+            }
+        }
+        insertions.incrementAndGet();
+    }
+
+    boolean mightContain(byte[] hash) {
+        long h1 = word(hash, 0);
+        long h2 = word(hash, 8);
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long insertions() {
+        return insertions.get();
+    }
+
+    private static long word(byte[] hash, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            value = (value << 8) | (hash[i] & 0xFF);
+        }
+        return value;
+    }
+}
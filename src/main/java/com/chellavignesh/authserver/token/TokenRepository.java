@@ -2,14 +2,22 @@ package com.chellavignesh.authserver.token;
 
 import com.chellavignesh.authserver.adminportal.application.ApplicationService;
 import com.chellavignesh.authserver.enums.entity.TokenTypeEnum;
+import com.chellavignesh.authserver.session.entity.AuthSession;
+import com.chellavignesh.authserver.token.dto.CreateGrantDto;
 import com.chellavignesh.authserver.token.dto.CreateTokenDto;
+import com.chellavignesh.authserver.token.entity.PersistedGrant;
 import com.chellavignesh.authserver.token.entity.Token;
 import com.chellavignesh.authserver.token.entity.TokenRowMapper;
+import com.chellavignesh.authserver.token.exception.GrantBatchRolledBackException;
 import com.chellavignesh.authserver.token.exception.TokenCreationFailedException;
+import com.microsoft.sqlserver.jdbc.SQLServerDataTable;
+import com.microsoft.sqlserver.jdbc.SQLServerException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
@@ -17,10 +25,7 @@ import org.springframework.stereotype.Repository;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.sql.Types;
-import java.util.Date;
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 
 @Repository
 public class TokenRepository {
@@ -29,6 +34,8 @@ public class TokenRepository {
 
     private final NamedParameterJdbcTemplate jdbcTemplate;
     private final ApplicationService applicationService;
+    private final KnownTokenFilter knownTokenFilter;
+    private final CreateGrantBatchProcedure createGrantBatchProcedure;
 
     private static final ThreadLocal<MessageDigest> SHA256_DIGEST_POOL =
             ThreadLocal.withInitial(() -> {
@@ -40,14 +47,19 @@ public class TokenRepository {
             });
 
     @Autowired
-    public TokenRepository(NamedParameterJdbcTemplate jdbcTemplate, ApplicationService applicationService) {
+    public TokenRepository(NamedParameterJdbcTemplate jdbcTemplate, ApplicationService applicationService, KnownTokenFilter knownTokenFilter) {
         this.jdbcTemplate = jdbcTemplate;
         this.applicationService = applicationService;
+        this.knownTokenFilter = knownTokenFilter;
+        this.createGrantBatchProcedure = new CreateGrantBatchProcedure(jdbcTemplate.getJdbcTemplate().getDataSource());
     }
 
     /**
      * Creates a token and computes SHA256 hash of the payload for consistency.
+     * The new token is written through to the shared lookup cache so every pod finds it before
+     * its {@link KnownTokenFilter} has caught up.
      */
+    @CachePut(cacheNames = "token-get-by-value-hash", key = "#dto.tokenType.name() + ':' + #dto.data", unless = "#result == null")
     public Token create(CreateTokenDto dto) throws TokenCreationFailedException {
         MessageDigest messageDigest = SHA256_DIGEST_POOL.get();
         messageDigest.reset();
@@ -83,12 +95,100 @@ public class TokenRepository {
         ).stream().findFirst();
 
         if (tokenId.isPresent()) {
+            knownTokenFilter.recordCreated(hashedData);
             return getById(tokenId.get()).get();
         } else {
             throw new TokenCreationFailedException("Could not fetch newly created Token by ID.");
         }
     }
 
+    /**
+     * Creates the sessions and tokens of several grants in one {@code Token.CreateGrantBatch} call.
+     * Results are in request order. Unlike {@link #create}, tokens are not written to the lookup
+     * cache here; callers do that once the whole batch is known to be committed.
+     * <p>
+     * Throws {@link GrantBatchRolledBackException} only when nothing was written. Any other failure,
+     * including results that do not match the request, may follow a commit.
+     */
+    @SuppressWarnings("unchecked")
+    public List<PersistedGrant> createGrants(List<CreateGrantDto> grants) throws TokenCreationFailedException {
+        MessageDigest messageDigest = SHA256_DIGEST_POOL.get();
+        List<byte[]> hashes = new ArrayList<>();
+        Map<String, Object> results;
+
+        try {
+            SQLServerDataTable sessions = new SQLServerDataTable();
+            sessions.setTvpName("[Token].[GrantSessionTableType]");
+            sessions.addColumnMetadata("RowNo", Types.INTEGER);
+            sessions.addColumnMetadata("ApplicationId", Types.INTEGER);
+            sessions.addColumnMetadata("SubjectId", Types.NVARCHAR);
+            sessions.addColumnMetadata("Scope", Types.NVARCHAR);
+            sessions.addColumnMetadata("AuthFlowId", Types.INTEGER);
+            sessions.addColumnMetadata("ClientFingerprint", Types.VARBINARY);
+            sessions.addColumnMetadata("ClientId", Types.NVARCHAR);
+            sessions.addColumnMetadata("Branding", Types.NVARCHAR);
+
+            SQLServerDataTable tokens = new SQLServerDataTable();
+            tokens.setTvpName("[Token].[GrantTokenTableType]");
+            tokens.addColumnMetadata("RowNo", Types.INTEGER);
+            tokens.addColumnMetadata("TokenTypeId", Types.INTEGER);
+            tokens.addColumnMetadata("SubjectId", Types.NVARCHAR);
+            tokens.addColumnMetadata("IsOpaque", Types.BIT);
+            tokens.addColumnMetadata("Data", Types.NVARCHAR);
+            tokens.addColumnMetadata("SigningKey", Types.VARBINARY);
+            tokens.addColumnMetadata("TimeToLive", Types.INTEGER);
+            tokens.addColumnMetadata("DataHash", Types.VARBINARY);
+
+            for (int rowNo = 0; rowNo < grants.size(); rowNo++) {
+                var session = grants.get(rowNo).session();
+                sessions.addRow(rowNo, session.getApplicationId(), session.getSubjectId(), session.getScope(), session.getAuthFlow().getValue(),
+                        session.getClientFingerprint(), session.getClientId(), session.getBranding());
+
+                for (CreateTokenDto token : grants.get(rowNo).tokens()) {
+                    messageDigest.reset();
+                    byte[] hash = messageDigest.digest(token.getData().getBytes(StandardCharsets.UTF_8));
+                    hashes.add(hash);
+                    tokens.addRow(rowNo, token.getTokenType().getValue(), token.getSubjectId(), token.isOpaque(), token.getData(),
+                            token.getSigningKey() != null ? token.getSigningKey().getEncoded() : null, token.getTimeToLive(), hash);
+                }
+            }
+
+            results = createGrantBatchProcedure.execute(sessions, tokens);
+        } catch (SQLServerException e) {
+            throw new GrantBatchRolledBackException("Could not build grant batch: " + e.getMessage());
+        } catch (DataAccessException e) {
+            // Server errors abort the procedure's transaction (XACT_ABORT), and nothing after its COMMIT but
+            // the result selects can fail; a dropped connection or timeout leaves the outcome unknown
+            if (e.getMostSpecificCause() instanceof SQLServerException sqlServerException && sqlServerException.getSQLServerError() != null) {
+                throw new GrantBatchRolledBackException("Grant batch rolled back: " + sqlServerException.getMessage());
+            }
+            throw new TokenCreationFailedException("Grant batch outcome unknown: " + e.getMessage());
+        }
+
+        List<CreateGrantBatchProcedure.NumberedSession> createdSessions = (List<CreateGrantBatchProcedure.NumberedSession>) results.get("createdSessions");
+        List<Token> createdTokens = (List<Token>) results.get("createdTokens");
+        if (createdSessions == null || createdSessions.size() != grants.size() || createdTokens == null) {
+            throw new TokenCreationFailedException("Grant batch returned " + (createdSessions == null ? 0 : createdSessions.size()) + " sessions for " + grants.size() + " grants");
+        }
+
+        Map<UUID, List<Token>> tokensBySession = new HashMap<>();
+        for (Token token : createdTokens) {
+            tokensBySession.computeIfAbsent(token.getSessionId(), _ -> new ArrayList<>(2)).add(token);
+        }
+
+        PersistedGrant[] persisted = new PersistedGrant[grants.size()];
+        for (CreateGrantBatchProcedure.NumberedSession created : createdSessions) {
+            AuthSession session = created.session();
+            if (session == null) {
+                throw new TokenCreationFailedException("Grant batch returned an unreadable session row");
+            }
+            persisted[created.rowNo()] = new PersistedGrant(session, tokensBySession.getOrDefault(session.getSessionId(), List.of()));
+        }
+
+        hashes.forEach(knownTokenFilter::recordCreated);
+        return Arrays.asList(persisted);
+    }
+
     public Optional<Token> getById(Integer id) {
         return jdbcTemplate.query(
                 "{call Token.GetTokenById(:id)}",
@@ -106,22 +206,34 @@ public class TokenRepository {
         ).stream().findFirst());
     }
 
-    @Cacheable(cacheNames = "token-get-by-value-hash", key = "#type.name() + ':' + #value")
+    @Cacheable(cacheNames = "token-get-by-value-hash", key = "#type.name() + ':' + #value", unless = "#result == null")
     public Optional<Token> getByValue(String value, TokenTypeEnum type) {
         MessageDigest messageDigest = SHA256_DIGEST_POOL.get();
         messageDigest.reset();
 
         byte[] hashed = messageDigest.digest(value.getBytes(StandardCharsets.UTF_8));
 
+        // A code may be redeemed on another pod than the one that issued it, before that pod's filter
+        // has caught up, and is only looked up once per exchange, so codes always go to the database
+        boolean filtered = type != TokenTypeEnum.CODE;
+        if (filtered && !knownTokenFilter.mightExist(hashed)) {
+            return Optional.empty();
+        }
+
         log.debug("[TOKEN-CACHE-MISS] querying database for token hash: {} bytes, type: {}", hashed.length, type);
 
-        return jdbcTemplate.query(
+        Optional<Token> token = jdbcTemplate.query(
                 "{call Token.GetTokenByValueHash(:hashValue, :typeId)}",
                 new MapSqlParameterSource()
                         .addValue("hashValue", hashed)
                         .addValue("typeId", type.getValue()),
                 new TokenRowMapper()
         ).stream().findFirst();
+
+        if (token.isEmpty() && filtered) {
+            knownTokenFilter.recordMiss(hashed);
+        }
+        return token;
     }
 
     public List<Token> getAllActiveBySessionId(UUID sessionId) {
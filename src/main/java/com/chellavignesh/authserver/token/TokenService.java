@@ -41,15 +41,17 @@ public class TokenService {
     private final ApplicationService applicationService;
     private final UserService userService;
     private final OrganizationService organizationService;
+    private final TokenClaimsSnapshotCache claimsSnapshotCache;
     private final boolean isFingerprintingEnabled;
 
     @Autowired
-    public TokenService(TokenRepository tokenRepository, AuthSessionService authSessionService, ApplicationService applicationService, UserService userService, OrganizationService organizationService, @Value("${toggles.fingerprinting.enabled:true}") boolean isFingerprintingEnabled) {
+    public TokenService(TokenRepository tokenRepository, AuthSessionService authSessionService, ApplicationService applicationService, UserService userService, OrganizationService organizationService, TokenClaimsSnapshotCache claimsSnapshotCache, @Value("${toggles.fingerprinting.enabled:true}") boolean isFingerprintingEnabled) {
         this.tokenRepository = tokenRepository;
         this.authSessionService = authSessionService;
         this.applicationService = applicationService;
         this.userService = userService;
         this.organizationService = organizationService;
+        this.claimsSnapshotCache = claimsSnapshotCache;
         this.isFingerprintingEnabled = isFingerprintingEnabled;
     }
 
@@ -91,6 +93,11 @@ public class TokenService {
         // Treat null expiration as expired
         AuthSession session = authSessionService.getBySessionId(token.getSessionId()).orElseThrow();   // TODO: This should be handled better
         if (isTokenActive(token, session)) {
+            Optional<Map<String, Object>> snapshot = claimsSnapshotCache.get(token);
+            if (snapshot.isPresent()) {
+                return snapshot.get();
+            }
+
             Integer applicationId;
             RegisteredClient client;
             Application application;
@@ -120,8 +127,9 @@ public class TokenService {
             addUrlPermissions(attributes, application, session, client);
 
             // Subject-level claims
+            ClaimsVersion claimsVersion = null;
             if (!Objects.equals(session.getSubjectId(), client.getId())) {
-                addUserClaims(attributes, session.getScopes(), session.getSubjectId(), client.getId(), session.getBranding());
+                claimsVersion = addUserClaims(attributes, session.getScopes(), session.getSubjectId(), client.getId(), session.getBranding());
                 if (!session.getBranding().equals("idp")) {
                     attributes.put("org_guid", organization.getRowGuid());
                 }
@@ -130,6 +138,8 @@ public class TokenService {
                 attributes.put("org_guid", organization.getRowGuid());
             }
 
+            claimsSnapshotCache.put(token, claimsVersion != null ? claimsVersion.userGuid() : null, claimsVersion != null ? claimsVersion.version() : null, attributes);
+
         } else {
             attributes.put("active", false);
         }
@@ -151,9 +161,12 @@ public class TokenService {
     // USER CLAIM FILLING
     // ============================================
 
-    private void addUserClaims(Map<String, Object> attributes, Set<String> scopes, String subjectId, String clientId, String branding) {
+    private ClaimsVersion addUserClaims(Map<String, Object> attributes, Set<String> scopes, String subjectId, String clientId, String branding) {
 
-        UserDetails user = userService.getByUsernameAndBranding(subjectId, branding).orElseThrow(); // TODO: handle better
+        UUID userGuid = userService.getGuidByUsernameAndBranding(subjectId, branding).orElseThrow(); // TODO: handle better
+        // Read the version before the user, so a change landing in between leaves the snapshot stale
+        ClaimsVersion claimsVersion = new ClaimsVersion(userGuid, claimsSnapshotCache.userVersion(userGuid));
+        UserDetails user = userService.getByGuidAndBranding(userGuid, branding).orElseThrow();
         attributes.put("org_guid", user.orgId());
         if (user.status() == UserStatus.Active) {
             attributes.put("active", true);
@@ -187,6 +200,10 @@ public class TokenService {
         } else {
             attributes.put("active", false);
         }
+        return claimsVersion;
+    }
+
+    private record ClaimsVersion(UUID userGuid, String version) {
     }
 
     private Map<String, Object> getUserMetadata(UserDetails user) {
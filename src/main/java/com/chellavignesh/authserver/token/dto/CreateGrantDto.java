@@ -0,0 +1,12 @@
+package com.chellavignesh.authserver.token.dto;
+
+import com.chellavignesh.authserver.session.dto.CreateAuthSessionDto;
+
+import java.util.List;
+
+/**
+ * A session and the tokens issued for it, persisted together. The tokens' session ID is assigned
+ * when the session is created.
+ */
+public record CreateGrantDto(CreateAuthSessionDto session, List<CreateTokenDto> tokens) {
+}
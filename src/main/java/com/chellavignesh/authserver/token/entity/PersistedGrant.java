@@ -0,0 +1,8 @@
+package com.chellavignesh.authserver.token.entity;
+
+import com.chellavignesh.authserver.session.entity.AuthSession;
+
+import java.util.List;
+
+public record PersistedGrant(AuthSession session, List<Token> tokens) {
+}
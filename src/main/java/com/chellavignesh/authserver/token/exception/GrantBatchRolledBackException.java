@@ -0,0 +1,10 @@
+package com.chellavignesh.authserver.token.exception;
+
+/**
+ * A grant batch that is known not to have committed, so its grants can safely be written again.
+ */
+public class GrantBatchRolledBackException extends TokenCreationFailedException {
+    public GrantBatchRolledBackException(String message) {
+        super(message);
+    }
+}
@@ -1,11 +1,14 @@
 package com.chellavignesh.authserver.unite;
 
+import com.chellavignesh.authserver.authorizedrestclient.OutboundProxySelector;
+import com.chellavignesh.authserver.config.resilience.OutboundCallGuard;
 import com.chellavignesh.authserver.unite.dto.BiometricTokenValidationDto;
 import com.chellavignesh.authserver.unite.dto.UniteUserDto;
 import com.chellavignesh.authserver.unite.exception.BiometricInvalidCredentialsException;
 import com.chellavignesh.authserver.unite.exception.BiometricTokenValidationFailedException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,15 +18,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.IOException;
-import java.net.*;
+import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Arrays;
-import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -35,25 +36,32 @@ public class UniteMSCServiceClient {
     private static final ObjectMapper objectMapper = new ObjectMapper();
     private final URI uniteServiceUrl;
     private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final OutboundCallGuard callGuard;
 
     public UniteMSCServiceClient(
             @Value("${ascensus.url.unite.mobile}") URI uniteServiceUrl,
             @Value("${http.proxyHost:}") String httpProxyServer,
             @Value("${http.proxyPort:80}") String httpProxyPort,
-            @Value("${http.nonProxyHosts:}") String nonProxyHosts) {
+            @Value("${http.nonProxyHosts:}") String nonProxyHosts,
+            MeterRegistry meterRegistry,
+            @Value("${outbound.unite.connect-timeout:10000}") long connectTimeoutMillis,
+            @Value("${outbound.unite.request-timeout:10000}") long requestTimeoutMillis,
+            @Value("${outbound.unite.max-concurrent:20}") int maxConcurrent,
+            @Value("${outbound.unite.max-wait:100}") long maxWaitMillis,
+            @Value("${outbound.unite.failure-threshold:5}") int failureThreshold,
+            @Value("${outbound.unite.open-duration:30000}") long openDurationMillis) {
 
         this.uniteServiceUrl = uniteServiceUrl;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMillis);
+        this.callGuard = new OutboundCallGuard("unite-msc", maxConcurrent, Duration.ofMillis(maxWaitMillis), failureThreshold, Duration.ofMillis(openDurationMillis), meterRegistry);
 
         HttpClient.Builder clientBuilder = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(10))
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
                 .version(HttpClient.Version.HTTP_1_1)
                 .followRedirects(HttpClient.Redirect.NORMAL);
 
-        if (httpProxyServer != null && !httpProxyServer.isBlank()) {
-            ProxySelector proxySelector =
-                    createProxySelector(httpProxyServer, httpProxyPort, nonProxyHosts);
-            clientBuilder.proxy(proxySelector);
-        }
+        OutboundProxySelector.of(httpProxyServer, httpProxyPort, nonProxyHosts).ifPresent(clientBuilder::proxy);
 
         this.httpClient = clientBuilder.build();
     }
@@ -63,48 +71,6 @@ public class UniteMSCServiceClient {
         log.info("🛑 UniteMSCServiceClient shutting down - HttpClient resources will be released");
     }
 
-    private ProxySelector createProxySelector(String httpProxyServer,
-                                              String httpProxyPort,
-                                              String nonProxyHosts) {
-
-        String domainName = httpProxyServer;
-        String[] parts = httpProxyServer.split("//");
-        if (parts.length >= 2) {
-            domainName = parts[parts.length - 1];
-        }
-        String finalDomainName = domainName;
-
-        int proxyPort = Integer.parseInt(httpProxyPort);
-        InetSocketAddress proxyAddress = new InetSocketAddress(domainName, proxyPort);
-
-        return new ProxySelector() {
-            @Override
-            public List<Proxy> select(URI uri) {
-                log.info("Proxy select uri: {}", uri);
-                log.info("Non-proxy hosts: {}", nonProxyHosts);
-
-                List<String> nonProxyHostsList = Arrays.asList(
-                        nonProxyHosts.replace("\"", "").split("\\|")
-                );
-                log.info("Non-proxy hosts list: {}", nonProxyHostsList);
-
-                if (nonProxyHostsList.contains(uri.getHost())) {
-                    log.info("Proxy is NOT used for this call");
-                    return List.of(Proxy.NO_PROXY);
-                } else {
-                    log.info("Creating proxy server='{}' domainName = '{}' port='{}' -> {}",
-                            httpProxyServer, finalDomainName, httpProxyPort, proxyAddress);
-                    return List.of(new Proxy(Proxy.Type.HTTP, proxyAddress));
-                }
-            }
-
-            @Override
-            public void connectFailed(URI uri, SocketAddress sa, IOException ioe) {
-                log.error("Failed to connect to {} at {}. Reason: {}", uri, sa, ioe.getMessage());
-            }
-        };
-    }
-
     public UniteUserDto validateBiometricToken(BiometricTokenValidationDto biometricTokenDto)
             throws BiometricTokenValidationFailedException {
 
@@ -155,12 +121,13 @@ public class UniteMSCServiceClient {
                 .header("x-request-id", requestId)
                 .header("x-request-datetime", Instant.now().toString())
                 .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
-                .timeout(Duration.ofSeconds(10))
+                .timeout(requestTimeout)
                 .POST(HttpRequest.BodyPublishers.ofString(payload))
                 .build();
 
-        return httpClient.send(request,
-                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        // Only server errors count against the breaker; a 401 is a healthy answer
+        return callGuard.call(() -> httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8)),
+                response -> response.statusCode() >= 500);
     }
 
     public <T> T extractResponseDto(String jsonResponse,
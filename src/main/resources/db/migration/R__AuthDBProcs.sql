@@ -406,4 +406,379 @@ BEGIN
         END
 END
 
-GO
\ No newline at end of file
+GO
+
+CREATE OR ALTER PROCEDURE [Token].[GetAuthorizationSnapshotBySessionId] @SessionId UNIQUEIDENTIFIER
+AS
+BEGIN
+    SET NOCOUNT ON;
+
+    SELECT t.*
+    FROM [Token].[Token] t
+    WHERE t.[SessionId] = @SessionId
+      AND t.[Expiration] > GETUTCDATE();
+
+    SELECT TOP 1 p.*
+    FROM [Token].[Pkce] p
+    WHERE p.[SessionId] = @SessionId
+    ORDER BY p.[PkceId] DESC;
+END
+GO
+
+GRANT EXECUTE ON OBJECT::[Token].[GetAuthorizationSnapshotBySessionId] TO [db_spexec]
+GO
+
+CREATE OR ALTER PROCEDURE [Token].[GetActiveTokenHashes] @CreatedAfter DATETIME2 = NULL
+AS
+BEGIN
+    SET NOCOUNT ON;
+
+    SELECT t.[DataHash], t.[CreatedOn]
+    FROM [Token].[Token] t
+    WHERE t.[Expiration] > GETUTCDATE()
+      AND (@CreatedAfter IS NULL OR t.[CreatedOn] > @CreatedAfter);
+END
+GO
+
+GRANT EXECUTE ON OBJECT::[Token].[GetActiveTokenHashes] TO [db_spexec]
+GO
+
+-- Creates the sessions and tokens of several grants in one call and returns the created rows.
+-- The table types are created by db/v1.0/*/110_GrantBatchTableTypes.sql.
+-- Tokens reference their session by RowNo. Rows go through CreateAuthSession / CreateTokenWithHash
+-- so the batch path writes exactly what the single-grant path writes.
+CREATE OR ALTER PROCEDURE [Token].[CreateGrantBatch] @Sessions [Token].[GrantSessionTableType] READONLY,
+                                                     @Tokens [Token].[GrantTokenTableType] READONLY
+AS
+BEGIN
+    SET NOCOUNT ON;
+    SET XACT_ABORT ON;
+
+    DECLARE @CreatedSessions TABLE ([RowNo] INT PRIMARY KEY, [AuthSessionId] INT NOT NULL);
+    DECLARE @CreatedTokens TABLE ([TokenId] INT NOT NULL);
+    DECLARE @Created TABLE ([ID] INT);
+
+    DECLARE @RowNo INT, @ApplicationId INT, @SubjectId NVARCHAR(255), @Scope NVARCHAR(MAX), @AuthFlowId INT,
+        @ClientFingerprint VARBINARY(MAX), @ClientId NVARCHAR(255), @Branding NVARCHAR(255);
+    DECLARE @TokenTypeId INT, @SessionId UNIQUEIDENTIFIER, @IsOpaque BIT, @Data NVARCHAR(MAX),
+        @SigningKey VARBINARY(MAX), @TimeToLive INT, @DataHash VARBINARY(32);
+
+    BEGIN TRANSACTION;
+
+    DECLARE session_cursor CURSOR LOCAL FAST_FORWARD FOR
+        SELECT [RowNo], [ApplicationId], [SubjectId], [Scope], [AuthFlowId], [ClientFingerprint], [ClientId], [Branding]
+        FROM @Sessions
+        ORDER BY [RowNo];
+    OPEN session_cursor;
+    FETCH NEXT FROM session_cursor INTO @RowNo, @ApplicationId, @SubjectId, @Scope, @AuthFlowId, @ClientFingerprint, @ClientId, @Branding;
+    WHILE @@FETCH_STATUS = 0
+        BEGIN
+            DELETE FROM @Created;
+            INSERT INTO @Created ([ID])
+                EXEC [Token].[CreateAuthSession] @ApplicationId, @SubjectId, @Scope, @AuthFlowId, @ClientFingerprint, @ClientId, @Branding;
+            INSERT INTO @CreatedSessions ([RowNo], [AuthSessionId]) SELECT @RowNo, [ID] FROM @Created;
+            FETCH NEXT FROM session_cursor INTO @RowNo, @ApplicationId, @SubjectId, @Scope, @AuthFlowId, @ClientFingerprint, @ClientId, @Branding;
+        END
+    CLOSE session_cursor;
+    DEALLOCATE session_cursor;
+
+    DECLARE token_cursor CURSOR LOCAL FAST_FORWARD FOR
+        SELECT t.[TokenTypeId], s.[ApplicationId], t.[SubjectId], s.[SessionId], t.[IsOpaque], t.[Data], t.[SigningKey], t.[TimeToLive], t.[DataHash]
+        FROM @Tokens t
+                 JOIN @CreatedSessions cs ON cs.[RowNo] = t.[RowNo]
+                 JOIN [Token].[AuthSession] s ON s.[AuthSessionId] = cs.[AuthSessionId];
+    OPEN token_cursor;
+    FETCH NEXT FROM token_cursor INTO @TokenTypeId, @ApplicationId, @SubjectId, @SessionId, @IsOpaque, @Data, @SigningKey, @TimeToLive, @DataHash;
+    WHILE @@FETCH_STATUS = 0
+        BEGIN
+            DELETE FROM @Created;
+            INSERT INTO @Created ([ID])
+                EXEC [Token].[CreateTokenWithHash] @TokenTypeId, @ApplicationId, @SubjectId, @SessionId, @IsOpaque, @Data, @SigningKey, @TimeToLive, @DataHash;
+            INSERT INTO @CreatedTokens ([TokenId]) SELECT [ID] FROM @Created;
+            FETCH NEXT FROM token_cursor INTO @TokenTypeId, @ApplicationId, @SubjectId, @SessionId, @IsOpaque, @Data, @SigningKey, @TimeToLive, @DataHash;
+        END
+    CLOSE token_cursor;
+    DEALLOCATE token_cursor;
+
+    COMMIT TRANSACTION;
+
+    SELECT cs.[RowNo], s.*
+    FROM @CreatedSessions cs
+             JOIN [Token].[AuthSession] s ON s.[AuthSessionId] = cs.[AuthSessionId]
+    ORDER BY cs.[RowNo];
+
+    SELECT t.*
+    FROM @CreatedTokens ct
+             JOIN [Token].[Token] t ON t.[TokenId] = ct.[TokenId];
+END
+GO
+
+GRANT EXECUTE ON OBJECT::[Token].[CreateGrantBatch] TO [db_spexec]
+GO
+
+-- Issues an authorization code: the auth code row, its PKCE challenge, its opaque CODE token and the
+-- session's branding and redirect URI are written in one transaction. A code that already exists is
+-- returned as is, so a retried call never writes a second set of rows.
+CREATE OR ALTER PROCEDURE [Token].[IssueAuthorizationCode] @ApplicationId INT,
+                                                           @SessionId UNIQUEIDENTIFIER,
+                                                           @SubjectId NVARCHAR(255),
+                                                           @Code NVARCHAR(MAX),
+                                                           @CodeHash VARBINARY(32),
+                                                           @CodeTokenTypeId INT,
+                                                           @CodeTimeToLive INT,
+                                                           @CodeChallenge NVARCHAR(MAX),
+                                                           @CodeChallengeMethod NVARCHAR(50),
+                                                           @RedirectUri NVARCHAR(MAX),
+                                                           @Branding NVARCHAR(255)
+AS
+BEGIN
+    SET NOCOUNT ON;
+    SET XACT_ABORT ON;
+
+    DECLARE @AuthCodeId INT;
+    DECLARE @Created TABLE ([ID] INT);
+
+    BEGIN TRANSACTION;
+
+    SELECT @AuthCodeId = ac.[AuthCodeId]
+    FROM [Token].[AuthCode] ac WITH (UPDLOCK, HOLDLOCK)
+    WHERE ac.[SessionId] = @SessionId
+      AND ac.[Data] = @Code;
+
+    IF @AuthCodeId IS NULL
+        BEGIN
+            INSERT INTO @Created ([ID])
+                EXEC [Token].[CreateAuthCode] @ApplicationId, @SessionId, @Code;
+            SELECT @AuthCodeId = [ID] FROM @Created;
+
+            DELETE FROM @Created;
+            INSERT INTO @Created ([ID])
+                EXEC [Token].[CreatePkce] @ApplicationId, @SessionId, @CodeChallenge, @CodeChallengeMethod, @RedirectUri;
+
+            DELETE FROM @Created;
+            INSERT INTO @Created ([ID])
+                EXEC [Token].[CreateTokenWithHash] @CodeTokenTypeId, @ApplicationId, @SubjectId, @SessionId, 1, @Code, NULL, @CodeTimeToLive, @CodeHash;
+
+            EXEC [Token].[SetBrandingAndRedirectUri] @SessionId, @Branding, @RedirectUri, @ApplicationId;
+        END
+
+    COMMIT TRANSACTION;
+
+    SELECT ac.*
+    FROM [Token].[AuthCode] ac
+    WHERE ac.[AuthCodeId] = @AuthCodeId;
+END
+GO
+
+GRANT EXECUTE ON OBJECT::[Token].[IssueAuthorizationCode] TO [db_spexec]
+GO
+
+-- Deletes one keyed batch of expired rows from a token table. Rows are visited in primary-key order
+-- after @AfterId, so consecutive calls walk the table once instead of rescanning live rows.
+-- Rows qualify once they expired more than @GraceSeconds ago. AuthSession rows are removed once
+-- they are older than @SessionRetentionSeconds and nothing live refers to them, together with their
+-- remaining codes, PKCE records, tokens and SSO cookies. Both cutoffs are taken from the server's
+-- UTC clock, which the Expiration and CreatedOn columns are written in.
+-- Expiration indexes, the SsoCookie check and the history retention for these temporal tables are in
+-- db/v1.0/*/111_TokenReaperSchema.sql.
+CREATE OR ALTER PROCEDURE [Token].[ReapExpiredRows] @TableName NVARCHAR(30),
+                                                    @GraceSeconds INT,
+                                                    @SessionRetentionSeconds INT,
+                                                    @AfterId BIGINT,
+                                                    @BatchSize INT
+AS
+BEGIN
+    SET NOCOUNT ON;
+    SET XACT_ABORT ON;
+
+    DECLARE @Now DATETIME2 = SYSUTCDATETIME();
+    DECLARE @Cutoff DATETIME2 = DATEADD(SECOND, -@GraceSeconds, @Now);
+    DECLARE @SessionCutoff DATETIME2 = DATEADD(SECOND, -@SessionRetentionSeconds, @Now);
+    DECLARE @Deleted TABLE ([Id] BIGINT NOT NULL);
+    DECLARE @Sessions TABLE ([AuthSessionId] BIGINT NOT NULL PRIMARY KEY, [SessionId] UNIQUEIDENTIFIER NOT NULL);
+
+    IF @TableName = N'Token'
+        DELETE t
+        OUTPUT deleted.[TokenId] INTO @Deleted
+        FROM [Token].[Token] t
+        WHERE t.[TokenId] IN (SELECT TOP (@BatchSize) x.[TokenId]
+                              FROM [Token].[Token] x
+                              WHERE x.[TokenId] > @AfterId
+                                AND x.[Expiration] < @Cutoff
+                              ORDER BY x.[TokenId]);
+    ELSE IF @TableName = N'AuthCode'
+        DELETE a
+        OUTPUT deleted.[AuthCodeId] INTO @Deleted
+        FROM [Token].[AuthCode] a
+        WHERE a.[AuthCodeId] IN (SELECT TOP (@BatchSize) x.[AuthCodeId]
+                                 FROM [Token].[AuthCode] x
+                                 WHERE x.[AuthCodeId] > @AfterId
+                                   AND x.[Expiration] < @Cutoff
+                                 ORDER BY x.[AuthCodeId]);
+    ELSE IF @TableName = N'Pkce'
+        DELETE p
+        OUTPUT deleted.[PkceId] INTO @Deleted
+        FROM [Token].[Pkce] p
+        WHERE p.[PkceId] IN (SELECT TOP (@BatchSize) x.[PkceId]
+                             FROM [Token].[Pkce] x
+                             WHERE x.[PkceId] > @AfterId
+                               AND x.[Expiration] < @Cutoff
+                             ORDER BY x.[PkceId]);
+    ELSE IF @TableName = N'AuthSession'
+        BEGIN
+            INSERT INTO @Sessions ([AuthSessionId], [SessionId])
+            SELECT TOP (@BatchSize) s.[AuthSessionId], s.[SessionId]
+            FROM [Token].[AuthSession] s
+            WHERE s.[AuthSessionId] > @AfterId
+              AND s.[CreatedOn] < @SessionCutoff
+              AND NOT EXISTS (SELECT 1 FROM [Token].[Token] t WHERE t.[SessionId] = s.[SessionId] AND t.[Expiration] >= @Cutoff)
+              AND NOT EXISTS (SELECT 1 FROM [Token].[AuthCode] a WHERE a.[SessionId] = s.[SessionId] AND a.[Expiration] >= @Cutoff)
+            ORDER BY s.[AuthSessionId];
+
+            BEGIN TRANSACTION;
+            DELETE c FROM [Token].[SsoCookie] c JOIN @Sessions x ON x.[SessionId] = c.[SessionId];
+            DELETE p FROM [Token].[Pkce] p JOIN @Sessions x ON x.[SessionId] = p.[SessionId];
+            DELETE a FROM [Token].[AuthCode] a JOIN @Sessions x ON x.[SessionId] = a.[SessionId];
+            DELETE t FROM [Token].[Token] t JOIN @Sessions x ON x.[SessionId] = t.[SessionId];
+            DELETE s
+            OUTPUT deleted.[AuthSessionId] INTO @Deleted
+            FROM [Token].[AuthSession] s
+                     JOIN @Sessions x ON x.[AuthSessionId] = s.[AuthSessionId];
+            COMMIT TRANSACTION;
+        END
+    ELSE
+        THROW 50001, N'Unknown table for ReapExpiredRows', 1;
+
+    SELECT COUNT(*) AS [Deleted], MAX([Id]) AS [LastId]
+    FROM @Deleted;
+END
+GO
+
+GRANT EXECUTE ON OBJECT::[Token].[ReapExpiredRows] TO [db_spexec]
+GO
+
+-- Age in seconds of the oldest row per table that the reaper is allowed to delete but has not
+-- deleted yet, or NULL when there is none.
+CREATE OR ALTER PROCEDURE [Token].[GetReaperBacklog] @GraceSeconds INT
+AS
+BEGIN
+    SET NOCOUNT ON;
+
+    DECLARE @Now DATETIME2 = SYSUTCDATETIME();
+    DECLARE @Cutoff DATETIME2 = DATEADD(SECOND, -@GraceSeconds, @Now);
+
+    SELECT N'Token' AS [TableName], DATEDIFF_BIG(SECOND, MIN(t.[Expiration]), @Now) AS [LagSeconds]
+    FROM [Token].[Token] t
+    WHERE t.[Expiration] < @Cutoff
+    UNION ALL
+    SELECT N'AuthCode', DATEDIFF_BIG(SECOND, MIN(a.[Expiration]), @Now)
+    FROM [Token].[AuthCode] a
+    WHERE a.[Expiration] < @Cutoff
+    UNION ALL
+    SELECT N'Pkce', DATEDIFF_BIG(SECOND, MIN(p.[Expiration]), @Now)
+    FROM [Token].[Pkce] p
+    WHERE p.[Expiration] < @Cutoff;
+END
+GO
+
+GRANT EXECUTE ON OBJECT::[Token].[GetReaperBacklog] TO [db_spexec]
+GO
+
+-- dbo.NotificationOutbox and its indexes are created by db/v1.0/*/112_NotificationOutbox.sql.
+
+-- Runs inside the caller's transaction, so the message is only stored if the change that
+-- triggered it commits.
+CREATE OR ALTER PROCEDURE [dbo].[EnqueueNotification] @Channel NVARCHAR(50),
+                                                      @Payload NVARCHAR(MAX)
+AS
+BEGIN
+    SET NOCOUNT ON;
+
+    INSERT INTO [dbo].[NotificationOutbox] ([Channel], [Payload], [NextAttemptAt], [CreatedOn])
+    OUTPUT inserted.[Id]
+    VALUES (@Channel, @Payload, SYSUTCDATETIME(), SYSUTCDATETIME());
+END
+GO
+
+GRANT EXECUTE ON OBJECT::[dbo].[EnqueueNotification] TO [db_spexec]
+GO
+
+-- Leases up to @BatchSize due messages to the calling pod for @LeaseSeconds. READPAST lets pods
+-- claim concurrently without blocking on each other's rows; a message whose lease ran out
+-- (its pod died mid-delivery) becomes claimable again. The returned LockedUntil identifies the
+-- lease to dbo.CompleteNotification.
+CREATE OR ALTER PROCEDURE [dbo].[ClaimNotifications] @BatchSize INT,
+                                                     @LeaseSeconds INT
+AS
+BEGIN
+    SET NOCOUNT ON;
+
+    DECLARE @Now DATETIME2 = SYSUTCDATETIME();
+    DECLARE @LockedUntil DATETIME2 = DATEADD(SECOND, @LeaseSeconds, @Now);
+
+    WITH due AS (SELECT TOP (@BatchSize) *
+                 FROM [dbo].[NotificationOutbox] WITH (ROWLOCK, UPDLOCK, READPAST)
+                 WHERE [Status] = 0
+                   AND [NextAttemptAt] <= @Now
+                   AND ([LockedUntil] IS NULL OR [LockedUntil] < @Now)
+                 ORDER BY [NextAttemptAt])
+    UPDATE due
+    SET [LockedUntil] = @LockedUntil,
+        [Attempts]    = [Attempts] + 1
+    OUTPUT inserted.[Id], inserted.[Channel], inserted.[Payload], inserted.[Attempts], inserted.[LockedUntil];
+END
+GO
+
+GRANT EXECUTE ON OBJECT::[dbo].[ClaimNotifications] TO [db_spexec]
+GO
+
+-- @Status 0 reschedules the message @DelaySeconds from now, 1 marks it sent, 2 dead-letters it.
+-- Only the holder of the lease claimed with @LockedUntil can complete the message; once the lease
+-- ran out and another pod claimed it, the update does nothing and [Updated] is 0.
+CREATE OR ALTER PROCEDURE [dbo].[CompleteNotification] @Id BIGINT,
+                                                       @LockedUntil DATETIME2,
+                                                       @Status TINYINT,
+                                                       @DelaySeconds INT = NULL,
+                                                       @Error NVARCHAR(1000) = NULL
+AS
+BEGIN
+    SET NOCOUNT ON;
+
+    UPDATE [dbo].[NotificationOutbox]
+    SET [Status]        = @Status,
+        [LockedUntil]   = NULL,
+        [NextAttemptAt] = CASE WHEN @DelaySeconds IS NULL THEN [NextAttemptAt] ELSE DATEADD(SECOND, @DelaySeconds, SYSUTCDATETIME()) END,
+        [LastError]     = @Error,
+        [SentOn]        = CASE WHEN @Status = 1 THEN SYSUTCDATETIME() END
+    WHERE [Id] = @Id
+      AND [LockedUntil] = @LockedUntil;
+
+    SELECT @@ROWCOUNT AS [Updated];
+END
+GO
+
+GRANT EXECUTE ON OBJECT::[dbo].[CompleteNotification] TO [db_spexec]
+GO
+
+-- Deletes up to @BatchSize sent or dead-lettered messages created more than @RetentionSeconds ago.
+-- Pending messages are never removed. READPAST lets several pods purge at once without waiting on
+-- each other.
+CREATE OR ALTER PROCEDURE [dbo].[PurgeNotifications] @RetentionSeconds INT,
+                                                     @BatchSize INT
+AS
+BEGIN
+    SET NOCOUNT ON;
+
+    DECLARE @Before DATETIME2 = DATEADD(SECOND, -@RetentionSeconds, SYSUTCDATETIME());
+
+    DELETE TOP (@BatchSize)
+    FROM [dbo].[NotificationOutbox] WITH (ROWLOCK, READPAST)
+    WHERE [Status] IN (1, 2)
+      AND [CreatedOn] < @Before;
+
+    SELECT @@ROWCOUNT AS [Deleted];
+END
+GO
+
+GRANT EXECUTE ON OBJECT::[dbo].[PurgeNotifications] TO [db_spexec]
+GO
@@ -0,0 +1,35 @@
+-- Table types passed to Token.CreateGrantBatch (R__AuthDBProcs.sql). Types cannot be altered while
+-- a procedure references them, so they live here rather than in the repeatable procs script.
+IF TYPE_ID(N'[Token].[GrantSessionTableType]') IS NULL
+    CREATE TYPE [Token].[GrantSessionTableType] AS TABLE
+    (
+        [RowNo]             INT            NOT NULL PRIMARY KEY,
+        [ApplicationId]     INT            NOT NULL,
+        [SubjectId]         NVARCHAR(255)  NULL,
+        [Scope]             NVARCHAR(MAX)  NULL,
+        [AuthFlowId]        INT            NOT NULL,
+        [ClientFingerprint] VARBINARY(MAX) NULL,
+        [ClientId]          NVARCHAR(255)  NULL,
+        [Branding]          NVARCHAR(255)  NULL
+    );
+GO
+
+IF TYPE_ID(N'[Token].[GrantTokenTableType]') IS NULL
+    CREATE TYPE [Token].[GrantTokenTableType] AS TABLE
+    (
+        [RowNo]       INT            NOT NULL,
+        [TokenTypeId] INT            NOT NULL,
+        [SubjectId]   NVARCHAR(255)  NULL,
+        [IsOpaque]    BIT            NOT NULL,
+        [Data]        NVARCHAR(MAX)  NOT NULL,
+        [SigningKey]  VARBINARY(MAX) NULL,
+        [TimeToLive]  INT            NULL,
+        [DataHash]    VARBINARY(32)  NOT NULL
+    );
+GO
+
+GRANT EXECUTE ON TYPE::[Token].[GrantSessionTableType] TO [db_spexec]
+GO
+
+GRANT EXECUTE ON TYPE::[Token].[GrantTokenTableType] TO [db_spexec]
+GO
@@ -0,0 +1,45 @@
+-- Schema used by Token.ReapExpiredRows and Token.GetReaperBacklog (R__AuthDBProcs.sql).
+
+-- The reaper deletes SSO cookies with their session. The table is owned outside these scripts,
+-- so fail the deployment here rather than at the first AuthSession batch.
+IF OBJECT_ID(N'[Token].[SsoCookie]', N'U') IS NULL
+    THROW 50002, N'[Token].[SsoCookie] must exist before the token reaper is deployed', 1;
+GO
+
+IF COL_LENGTH(N'[Token].[SsoCookie]', N'SessionId') IS NULL
+    THROW 50003, N'[Token].[SsoCookie] has no SessionId column to reap by', 1;
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE [name] = N'IX_TokenSsoCookie_SessionId' AND [object_id] = OBJECT_ID(N'[Token].[SsoCookie]'))
+    CREATE NONCLUSTERED INDEX [IX_TokenSsoCookie_SessionId] ON [Token].[SsoCookie] ([SessionId]) ON "TOKEN_DATA";
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE [name] = N'IX_TokenToken_Expiration' AND [object_id] = OBJECT_ID(N'[Token].[Token]'))
+    CREATE NONCLUSTERED INDEX [IX_TokenToken_Expiration] ON [Token].[Token] ([Expiration]) INCLUDE ([SessionId]) ON "TOKEN_DATA";
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE [name] = N'IX_TokenAuthCode_Expiration' AND [object_id] = OBJECT_ID(N'[Token].[AuthCode]'))
+    CREATE NONCLUSTERED INDEX [IX_TokenAuthCode_Expiration] ON [Token].[AuthCode] ([Expiration]) INCLUDE ([SessionId]) ON "TOKEN_DATA";
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE [name] = N'IX_TokenPkce_Expiration' AND [object_id] = OBJECT_ID(N'[Token].[Pkce]'))
+    CREATE NONCLUSTERED INDEX [IX_TokenPkce_Expiration] ON [Token].[Pkce] ([Expiration]) ON "TOKEN_DATA";
+GO
+
+-- Reaped rows move into the *History tables, token values and signing keys included. History is
+-- kept for 7 days, long enough to investigate an incident, and is then removed by the engine's
+-- retention cleanup task, which needs TEMPORAL_HISTORY_RETENTION on the database.
+ALTER DATABASE CURRENT SET TEMPORAL_HISTORY_RETENTION ON;
+GO
+
+ALTER TABLE [Token].[AuthSession] SET (SYSTEM_VERSIONING = ON (HISTORY_RETENTION_PERIOD = 7 DAYS));
+GO
+
+ALTER TABLE [Token].[Pkce] SET (SYSTEM_VERSIONING = ON (HISTORY_RETENTION_PERIOD = 7 DAYS));
+GO
+
+ALTER TABLE [Token].[AuthCode] SET (SYSTEM_VERSIONING = ON (HISTORY_RETENTION_PERIOD = 7 DAYS));
+GO
+
+ALTER TABLE [Token].[Token] SET (SYSTEM_VERSIONING = ON (HISTORY_RETENTION_PERIOD = 7 DAYS));
+GO
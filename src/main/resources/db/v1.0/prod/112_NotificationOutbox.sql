@@ -0,0 +1,28 @@
+-- Outbox table behind dbo.EnqueueNotification, dbo.ClaimNotifications, dbo.CompleteNotification and
+-- dbo.PurgeNotifications (R__AuthDBProcs.sql).
+IF OBJECT_ID(N'[dbo].[NotificationOutbox]', N'U') IS NULL
+    CREATE TABLE [dbo].[NotificationOutbox]
+    (
+        [Id]            BIGINT IDENTITY (1,1) NOT NULL,
+        [Channel]       NVARCHAR(50)          NOT NULL,
+        [Payload]       NVARCHAR(MAX)         NOT NULL,
+        -- 0 = pending, 1 = sent, 2 = dead-lettered
+        [Status]        TINYINT               NOT NULL CONSTRAINT [DF_NotificationOutbox_Status] DEFAULT (0),
+        [Attempts]      INT                   NOT NULL CONSTRAINT [DF_NotificationOutbox_Attempts] DEFAULT (0),
+        [NextAttemptAt] DATETIME2             NOT NULL,
+        [LockedUntil]   DATETIME2             NULL,
+        [LastError]     NVARCHAR(1000)        NULL,
+        [CreatedOn]     DATETIME2             NOT NULL,
+        [SentOn]        DATETIME2             NULL,
+        CONSTRAINT [PK_NotificationOutbox] PRIMARY KEY CLUSTERED ([Id] ASC) ON "DATA"
+    )
+        ON "DATA";
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE [name] = N'IX_NotificationOutbox_Pending' AND [object_id] = OBJECT_ID(N'[dbo].[NotificationOutbox]'))
+    CREATE NONCLUSTERED INDEX [IX_NotificationOutbox_Pending] ON [dbo].[NotificationOutbox] ([NextAttemptAt]) WHERE [Status] = 0 ON [INDEX];
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE [name] = N'IX_NotificationOutbox_Completed' AND [object_id] = OBJECT_ID(N'[dbo].[NotificationOutbox]'))
+    CREATE NONCLUSTERED INDEX [IX_NotificationOutbox_Completed] ON [dbo].[NotificationOutbox] ([CreatedOn]) WHERE [Status] IN (1, 2) ON [INDEX];
+GO
@@ -0,0 +1,157 @@
+package com.chellavignesh.authserver.config.introspect;
+
+import com.chellavignesh.authserver.security.RequestBodyCaptureFilter;
+import com.chellavignesh.authserver.token.SignatureService;
+import com.chellavignesh.authserver.token.exception.SignatureVerificationFailedException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.core.DefaultOAuth2AuthenticatedPrincipal;
+import org.springframework.security.oauth2.core.OAuth2TokenIntrospectionClaimNames;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Request validation and error responses of the batch introspection endpoint, with the
+ * introspection itself and the signature check stubbed.
+ */
+class BatchIntrospectionControllerTest {
+
+    private static final String PATH = "/oauth2/introspect/batch";
+    private static final int MAX_ITEMS = 3;
+    private static final String SIGNATURE = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private BatchIntrospectionService batchIntrospectionService;
+    private SignatureService signatureService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws SignatureVerificationFailedException {
+        batchIntrospectionService = mock(BatchIntrospectionService.class);
+        signatureService = mock(SignatureService.class);
+        when(signatureService.verifySignature(any(HttpServletRequest.class), anyString(), any())).thenReturn(true);
+
+        BatchIntrospectionController controller = new BatchIntrospectionController(batchIntrospectionService, signatureService, MAX_ITEMS, 64 * 1024);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .addFilters(new RequestBodyCaptureFilter(64 * 1024))
+                .build();
+
+        DefaultOAuth2AuthenticatedPrincipal caller = new DefaultOAuth2AuthenticatedPrincipal("gateway",
+                Map.of(OAuth2TokenIntrospectionClaimNames.ACTIVE, true), List.of());
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(caller, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void validBatchReturnsResultsInRequestOrder() throws Exception {
+        when(batchIntrospectionService.introspect(anyList())).thenReturn(List.of(
+                Map.of(OAuth2TokenIntrospectionClaimNames.ACTIVE, true, OAuth2TokenIntrospectionClaimNames.CLIENT_ID, "portal-web-client"),
+                Map.of(OAuth2TokenIntrospectionClaimNames.ACTIVE, false)));
+
+        mockMvc.perform(batch(body(item("token-1", resUrl()), item("token-2", resUrl()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(2))
+                .andExpect(jsonPath("$.results[0].active").value(true))
+                .andExpect(jsonPath("$.results[0].client_id").value("portal-web-client"))
+                .andExpect(jsonPath("$.results[1].active").value(false));
+    }
+
+    @Test
+    void oversizeBatchIsABadRequest() throws Exception {
+        String[] items = IntStream.rangeClosed(1, MAX_ITEMS + 1).mapToObj(i -> item("token-" + i, resUrl())).toArray(String[]::new);
+
+        mockMvc.perform(batch(body(items)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("invalid_request"))
+                .andExpect(jsonPath("$.error_description").value("At most " + MAX_ITEMS + " tokens per batch."));
+        verifyNoInteractions(batchIntrospectionService);
+    }
+
+    @Test
+    void missingResUrlIsABadRequest() throws Exception {
+        mockMvc.perform(batch(body(item("token-1", resUrl()), "{\"token\":\"token-2\",\"res_method\":\"GET\"}")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("invalid_request"))
+                .andExpect(jsonPath("$.error_description").value("res_url/res_method missing in request."));
+        verifyNoInteractions(batchIntrospectionService);
+    }
+
+    @Test
+    void badSignatureIsABadRequest() throws Exception {
+        when(signatureService.verifySignature(any(HttpServletRequest.class), anyString(), any())).thenReturn(false);
+
+        mockMvc.perform(batch(body(item("token-1", resUrl()))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("invalid_request"))
+                .andExpect(jsonPath("$.error_description").value("Invalid request body signature."));
+        verifyNoInteractions(batchIntrospectionService);
+    }
+
+    @Test
+    void signatureThatCannotBeVerifiedIsABadRequest() throws Exception {
+        when(signatureService.verifySignature(any(HttpServletRequest.class), anyString(), any()))
+                .thenThrow(new SignatureVerificationFailedException("No signing key for token"));
+
+        mockMvc.perform(batch(body(item("token-1", resUrl()))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error_description").value("Could not validate request body signature."));
+    }
+
+    @Test
+    void inactiveCallerIsABadRequest() throws Exception {
+        DefaultOAuth2AuthenticatedPrincipal caller = new DefaultOAuth2AuthenticatedPrincipal("gateway",
+                Map.of(OAuth2TokenIntrospectionClaimNames.ACTIVE, false), List.of());
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(caller, null));
+
+        mockMvc.perform(batch(body(item("token-1", resUrl()))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("invalid_request"));
+        verifyNoInteractions(batchIntrospectionService);
+    }
+
+    private static MockHttpServletRequestBuilder batch(String body) {
+        // The capture filter only wraps requests under the introspection servlet path
+        return post(PATH)
+                .servletPath(PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("x-signature", SIGNATURE)
+                .content(body);
+    }
+
+    private static String body(String... items) {
+        return "{\"items\":[" + String.join(",", items) + "]}";
+    }
+
+    private static String item(String token, String resUrl) {
+        return "{\"token\":\"" + token + "\",\"res_url\":\"" + resUrl + "\",\"res_method\":\"GET\"}";
+    }
+
+    private static String resUrl() {
+        return Base64.getEncoder().encodeToString("https://api.example.com/accounts".getBytes(StandardCharsets.UTF_8));
+    }
+}
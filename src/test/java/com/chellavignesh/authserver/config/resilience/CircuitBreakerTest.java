@@ -0,0 +1,31 @@
+package com.chellavignesh.authserver.config.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerTest {
+
+    @Test
+    void errorInHalfOpenTrialReopensTheBreaker() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, Duration.ZERO, new SimpleMeterRegistry());
+
+        assertThatThrownBy(() -> breaker.execute(() -> {
+            throw new IllegalStateException("down");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        assertThatThrownBy(() -> breaker.execute(() -> {
+            throw new AssertionError("trial call died");
+        })).isInstanceOf(AssertionError.class);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        // The next trial call is let through instead of being stuck behind a taken permit
+        assertThat(breaker.execute(() -> "ok")).isEqualTo("ok");
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+}
@@ -0,0 +1,146 @@
+package com.chellavignesh.authserver.config.serialization;
+
+import com.chellavignesh.authserver.adminportal.application.entity.Application;
+import com.chellavignesh.authserver.adminportal.application.entity.TokenSettings;
+import com.chellavignesh.authserver.enums.entity.*;
+import com.chellavignesh.authserver.session.entity.AuthSession;
+import com.chellavignesh.authserver.token.entity.Token;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Round trips through every entity codec, and reads of the JSON entries written before them.
+ */
+class BinaryCacheSerializerTest {
+
+    private final GenericJackson2JsonRedisSerializer json = CacheValueSerializers.json();
+
+    @Test
+    void tokenRoundTrips() {
+        assertRoundTrip(new EntityCacheCodecs.TokenCodec(), token());
+    }
+
+    @Test
+    void tokenWithNullFieldsRoundTrips() {
+        assertRoundTrip(new EntityCacheCodecs.TokenCodec(), new Token());
+    }
+
+    @Test
+    void authSessionRoundTrips() {
+        assertRoundTrip(new EntityCacheCodecs.AuthSessionCodec(), session());
+    }
+
+    @Test
+    void authSessionWithNullFieldsRoundTrips() {
+        assertRoundTrip(new EntityCacheCodecs.AuthSessionCodec(), new AuthSession());
+    }
+
+    @Test
+    void applicationRoundTrips() {
+        assertRoundTrip(new EntityCacheCodecs.ApplicationCodec(), application());
+    }
+
+    @Test
+    void applicationWithNullFieldsRoundTrips() {
+        Application application = new Application();
+        application.setActive(null);
+        assertRoundTrip(new EntityCacheCodecs.ApplicationCodec(), application);
+    }
+
+    @Test
+    void tokenSettingsRoundTrips() {
+        assertRoundTrip(new EntityCacheCodecs.TokenSettingsCodec(), new TokenSettings(11, 1, 42, 300, 3600, 600, 86400, true, 30));
+    }
+
+    @Test
+    void tokenSettingsWithNullFieldsRoundTrips() {
+        assertRoundTrip(new EntityCacheCodecs.TokenSettingsCodec(), new TokenSettings());
+    }
+
+    @Test
+    void legacyJsonEntriesStillDecode() {
+        List<Object> values = List.of(token(), session(), application(), new TokenSettings(11, 1, 42, 300, 3600, 600, 86400, true, 30));
+        List<CacheEntryCodec<?>> codecs = List.of(new EntityCacheCodecs.TokenCodec(), new EntityCacheCodecs.AuthSessionCodec(),
+                new EntityCacheCodecs.ApplicationCodec(), new EntityCacheCodecs.TokenSettingsCodec());
+
+        for (int i = 0; i < values.size(); i++) {
+            byte[] legacy = json.serialize(values.get(i));
+            assertThat(legacy[0]).isNotEqualTo(BinaryCacheSerializer.MAGIC);
+            assertThat(new BinaryCacheSerializer<>(codecs.get(i), json).deserialize(legacy)).isEqualTo(values.get(i));
+        }
+    }
+
+    @Test
+    void valuesOfOtherTypesAreWrittenAsJson() {
+        BinaryCacheSerializer<Token> serializer = new BinaryCacheSerializer<>(new EntityCacheCodecs.TokenCodec(), json);
+
+        byte[] bytes = serializer.serialize("not-a-token");
+
+        assertThat(new String(bytes, StandardCharsets.UTF_8)).isEqualTo("\"not-a-token\"");
+        assertThat(serializer.deserialize(bytes)).isEqualTo("not-a-token");
+    }
+
+    @Test
+    void entryFromAnotherCodecIsAMiss() {
+        byte[] bytes = new BinaryCacheSerializer<>(new EntityCacheCodecs.TokenSettingsCodec(), json).serialize(new TokenSettings(11, 1, 42, 300, 3600, 600, 86400, true, 30));
+
+        assertThat(new BinaryCacheSerializer<>(new EntityCacheCodecs.ApplicationCodec(), json).deserialize(bytes)).isNull();
+    }
+
+    @Test
+    void truncatedEntryIsAMiss() {
+        byte[] bytes = new BinaryCacheSerializer<>(new EntityCacheCodecs.TokenCodec(), json).serialize(token());
+        byte[] truncated = new byte[bytes.length / 2];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+
+        assertThat(new BinaryCacheSerializer<>(new EntityCacheCodecs.TokenCodec(), json).deserialize(truncated)).isNull();
+    }
+
+    @Test
+    void binaryCachesUseTheirOwnKeys() {
+        assertThat(CacheValueSerializers.keyPrefix("auth:", "token-get-by-value-hash")).isEqualTo("auth:token-get-by-value-hash:" + CacheValueSerializers.BINARY_KEY_SEGMENT + ":");
+        assertThat(CacheValueSerializers.keyPrefix("auth:", "organization-get-by-id")).isEqualTo("auth:organization-get-by-id:");
+    }
+
+    private <T> void assertRoundTrip(CacheEntryCodec<T> codec, T value) {
+        BinaryCacheSerializer<T> serializer = new BinaryCacheSerializer<>(codec, json);
+
+        byte[] bytes = serializer.serialize(value);
+
+        assertThat(bytes[0]).isEqualTo(BinaryCacheSerializer.MAGIC);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(value);
+    }
+
+    private static Token token() {
+        return new Token(7, TokenTypeEnum.ACCESS_TOKEN, "user-1", UUID.randomUUID(), 42, "opaque-token-data", true,
+                new Date(1_700_000_000_000L), new Date(1_700_003_600_000L), new byte[]{1, 2, 3, 4});
+    }
+
+    private static AuthSession session() {
+        AuthSession session = new AuthSession();
+        session.setAuthSessionId(9);
+        session.setApplicationId(42);
+        session.setSessionId(UUID.randomUUID());
+        session.setSubjectId("user-1");
+        session.setScopes(new LinkedHashSet<>(List.of("openid", "profile")));
+        session.setAuthSessionStatus(AuthSessionStatusEnum.ACTIVE);
+        session.setAuthFlow(AuthFlowEnum.PKCE);
+        session.setClientFingerprint(new byte[]{5, 6, 7});
+        session.setBranding("portal");
+        session.setRedirectUri("https://portal.example.com/callback");
+        return session;
+    }
+
+    private static Application application() {
+        return new Application(42, 1, "portal-web-client", "Portal", "Customer portal", "https://portal.example.com", ApplicationTypeEnum.WEB,
+                AuthFlowEnum.PKCE, UsernameTypeEnum.EMAIL, true, UUID.randomUUID(), true, "portal-cms");
+    }
+}
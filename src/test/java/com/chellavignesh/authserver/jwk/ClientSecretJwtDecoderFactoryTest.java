@@ -0,0 +1,213 @@
+package com.chellavignesh.authserver.jwk;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.security.oauth2.server.authorization.settings.ClientSettings;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Decoder reuse and remote JWK set caching, against a JWK set served by a local stub server.
+ */
+class ClientSecretJwtDecoderFactoryTest {
+
+    private HttpServer jwksServer;
+    private final AtomicInteger jwksRequests = new AtomicInteger();
+    private final AtomicReference<JWKSet> servedKeys = new AtomicReference<>();
+    private final AtomicLong nanos = new AtomicLong();
+
+    private SimpleMeterRegistry meterRegistry;
+    private ClientSecretJwtDecoderFactory factory;
+    private String jwkSetUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        jwksServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        jwksServer.createContext("/jwks.json", exchange -> {
+            jwksRequests.incrementAndGet();
+            byte[] body = servedKeys.get().toString(true).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        jwksServer.start();
+        jwkSetUrl = "http://localhost:" + jwksServer.getAddress().getPort() + "/jwks.json";
+
+        meterRegistry = new SimpleMeterRegistry();
+        Ticker ticker = nanos::get;
+        factory = new ClientSecretJwtDecoderFactory(Duration.ofMinutes(5), Duration.ofSeconds(30), meterRegistry, ticker);
+        // Claim checks depend on the request's authorization server context; these tests cover key resolution only
+        factory.setJwtValidatorFactory(_ -> new JwtTimestampValidator());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jwksServer.stop(0);
+    }
+
+    @Test
+    void repeatedAssertionsReuseTheDecoderAndFetchTheJwkSetOnce() throws JOSEException {
+        RSAKey signingKey = rsaKey("key-1");
+        servedKeys.set(new JWKSet(signingKey.toPublicJWK()));
+        RegisteredClient client = jwkClient("portal-web-client");
+
+        JwtDecoder decoder = factory.createDecoder(client);
+        for (int i = 0; i < 5; i++) {
+            assertThat(factory.createDecoder(client)).isSameAs(decoder);
+            assertThat(decoder.decode(assertion(signingKey, "portal-web-client")).getSubject()).isEqualTo("portal-web-client");
+        }
+
+        assertThat(jwksRequests).hasValue(1);
+        assertThat(meterRegistry.counter("authserver.client.assertion.jwk-set.fetches").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void clientsSharingAJwkSetUrlShareOneFetch() throws JOSEException {
+        RSAKey signingKey = rsaKey("key-1");
+        servedKeys.set(new JWKSet(signingKey.toPublicJWK()));
+
+        factory.createDecoder(jwkClient("portal-web-client")).decode(assertion(signingKey, "portal-web-client"));
+        factory.createDecoder(jwkClient("portal-mobile-client")).decode(assertion(signingKey, "portal-mobile-client"));
+
+        assertThat(jwksRequests).hasValue(1);
+    }
+
+    @Test
+    void unknownKeyIdRefetchesTheJwkSet() throws JOSEException {
+        RSAKey oldKey = rsaKey("key-1");
+        servedKeys.set(new JWKSet(oldKey.toPublicJWK()));
+        JwtDecoder decoder = factory.createDecoder(jwkClient("portal-web-client"));
+        decoder.decode(assertion(oldKey, "portal-web-client"));
+
+        RSAKey rotatedKey = rsaKey("key-2");
+        servedKeys.set(new JWKSet(rotatedKey.toPublicJWK()));
+
+        assertThat(decoder.decode(assertion(rotatedKey, "portal-web-client")).getSubject()).isEqualTo("portal-web-client");
+        assertThat(jwksRequests).hasValue(2);
+    }
+
+    @Test
+    void decoderInUseOutlivesItsSourcesIdleTimeout() throws JOSEException {
+        RSAKey signingKey = rsaKey("key-1");
+        servedKeys.set(new JWKSet(signingKey.toPublicJWK()));
+        RegisteredClient client = jwkClient("portal-web-client");
+        JwtDecoder decoder = factory.createDecoder(client);
+        decoder.decode(assertion(signingKey, "portal-web-client"));
+
+        // Past the source's original idle timeout, but each hit on the decoder keeps the source alive
+        for (int i = 0; i < 3; i++) {
+            advance(Duration.ofMinutes(50));
+            assertThat(factory.createDecoder(client)).isSameAs(decoder);
+            assertThat(decoder.decode(assertion(signingKey, "portal-web-client")).getSubject()).isEqualTo("portal-web-client");
+        }
+
+        assertThat(jwksRequests).hasValue(1);
+    }
+
+    @Test
+    void decoderIsRebuiltAfterItsSourceExpires() throws JOSEException {
+        RSAKey signingKey = rsaKey("key-1");
+        servedKeys.set(new JWKSet(signingKey.toPublicJWK()));
+        RegisteredClient client = jwkClient("portal-web-client");
+        JwtDecoder decoder = factory.createDecoder(client);
+        decoder.decode(assertion(signingKey, "portal-web-client"));
+
+        advance(Duration.ofHours(2));
+        JwtDecoder rebuilt = factory.createDecoder(client);
+
+        assertThat(rebuilt).isNotSameAs(decoder);
+        assertThat(rebuilt.decode(assertion(signingKey, "portal-web-client")).getSubject()).isEqualTo("portal-web-client");
+        assertThat(jwksRequests).hasValue(2);
+    }
+
+    @Test
+    void changedClientSettingsBuildANewDecoder() {
+        RegisteredClient client = macClient("secret-one");
+
+        JwtDecoder decoder = factory.createDecoder(client);
+
+        assertThat(factory.createDecoder(macClient("secret-one"))).isSameAs(decoder);
+        assertThat(factory.createDecoder(macClient("secret-two"))).isNotSameAs(decoder);
+        assertThat(jwksRequests).hasValue(0);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private RegisteredClient jwkClient(String clientId) {
+        return RegisteredClient.withId(clientId)
+                .clientId(clientId)
+                .clientAuthenticationMethod(ClientAuthenticationMethod.PRIVATE_KEY_JWT)
+                .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                .clientSettings(ClientSettings.builder()
+                        .jwkSetUrl(jwkSetUrl)
+                        .tokenEndpointAuthenticationSigningAlgorithm(SignatureAlgorithm.RS256)
+                        .build())
+                .build();
+    }
+
+    private static RegisteredClient macClient(String secret) {
+        return RegisteredClient.withId("portal-service")
+                .clientId("portal-service")
+                .clientSecret(secret)
+                .clientAuthenticationMethod(ClientAuthenticationMethod.CLIENT_SECRET_JWT)
+                .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                .clientSettings(ClientSettings.builder()
+                        .tokenEndpointAuthenticationSigningAlgorithm(MacAlgorithm.HS256)
+                        .build())
+                .build();
+    }
+
+    private static RSAKey rsaKey(String keyId) throws JOSEException {
+        return new RSAKeyGenerator(2048).keyID(keyId).generate();
+    }
+
+    private static String assertion(RSAKey signingKey, String clientId) throws JOSEException {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(clientId)
+                .subject(clientId)
+                .audience("https://auth.example.com/oauth2/token")
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plusSeconds(60)))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(signingKey));
+        return jwt.serialize();
+    }
+}
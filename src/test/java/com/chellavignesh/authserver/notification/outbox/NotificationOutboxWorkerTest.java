@@ -0,0 +1,166 @@
+package com.chellavignesh.authserver.notification.outbox;
+
+import com.chellavignesh.authjavasdk.AuthClient;
+import com.chellavignesh.authserver.session.NotificationEmail;
+import com.chellavignesh.authserver.session.NotificationEmailServiceClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Delivery, retry, dead-lettering and purging of outbox messages, against a notification service
+ * stubbed by a local HTTP server.
+ */
+class NotificationOutboxWorkerTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int PURGE_BATCH_SIZE = 100;
+    private static final Duration RETENTION = Duration.ofDays(7);
+
+    private HttpServer notificationServer;
+    private final AtomicInteger notificationRequests = new AtomicInteger();
+    private final AtomicInteger responseStatus = new AtomicInteger(202);
+
+    private NotificationOutboxRepository repository;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationOutboxWorker worker;
+    private String payload;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        notificationServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        notificationServer.createContext("/notification", exchange -> {
+            notificationRequests.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(responseStatus.get(), -1);
+            exchange.close();
+        });
+        notificationServer.start();
+        URI notificationUrl = URI.create("http://localhost:" + notificationServer.getAddress().getPort() + "/notification");
+
+        // Request signing is the SDK's concern; the stub only needs the request to arrive
+        HttpClient httpClient = HttpClient.newHttpClient();
+        AuthClient authClient = mock(AuthClient.class);
+        when(authClient.send(any(HttpRequest.class), any(), any()))
+                .thenAnswer(invocation -> httpClient.send(invocation.getArgument(0), invocation.<HttpResponse.BodyHandler<?>>getArgument(1)));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        payload = objectMapper.writeValueAsString(new NotificationEmail("no-reply@example.com", "Customer Portal", "user@example.com", null, null,
+                "Your password was changed", "<p>Your password was changed.</p>", "normal",
+                new NotificationEmail.Metadata("portal", "password-change", "user@example.com", "42", "false", null, "email")));
+
+        repository = mock(NotificationOutboxRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        worker = new NotificationOutboxWorker(repository, new NotificationEmailServiceClient(authClient, notificationUrl), objectMapper, meterRegistry,
+                true, 2, 20, MAX_ATTEMPTS, 1000, 60000, 120000, RETENTION.toMillis(), PURGE_BATCH_SIZE);
+        when(repository.markSent(any())).thenReturn(true);
+        when(repository.reschedule(any(), any(), anyString())).thenReturn(true);
+        when(repository.deadLetter(any(), anyString())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        worker.shutdown();
+        notificationServer.stop(0);
+    }
+
+    @Test
+    void acceptedMessageIsMarkedSent() throws InterruptedException {
+        OutboxMessage message = message(1L, NotificationOutbox.EMAIL_CHANNEL, 1);
+        when(repository.claim(anyInt(), any())).thenReturn(List.of(message));
+
+        worker.poll();
+
+        verify(repository, timeout(5000)).markSent(message);
+        verify(repository, never()).reschedule(any(), any(), anyString());
+        assertThat(notificationRequests).hasValue(1);
+        worker.shutdown();
+        assertThat(meterRegistry.counter("authserver.notification.outbox.deliveries", "result", "sent").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void deliveryThatOutlivedItsLeaseIsNotCounted() throws InterruptedException {
+        OutboxMessage message = message(5L, NotificationOutbox.EMAIL_CHANNEL, 1);
+        when(repository.claim(anyInt(), any())).thenReturn(List.of(message));
+        when(repository.markSent(message)).thenReturn(false);
+
+        worker.poll();
+
+        verify(repository, timeout(5000)).markSent(message);
+        worker.shutdown();
+        assertThat(meterRegistry.counter("authserver.notification.outbox.deliveries", "result", "sent").count()).isZero();
+    }
+
+    @Test
+    void rejectedMessageIsRescheduledWithBackoff() {
+        responseStatus.set(500);
+        OutboxMessage message = message(2L, NotificationOutbox.EMAIL_CHANNEL, 1);
+        when(repository.claim(anyInt(), any())).thenReturn(List.of(message));
+
+        worker.poll();
+
+        ArgumentCaptor<Duration> delay = ArgumentCaptor.forClass(Duration.class);
+        verify(repository, timeout(5000)).reschedule(eq(message), delay.capture(), anyString());
+        assertThat(delay.getValue()).isBetween(Duration.ofSeconds(1), Duration.ofMillis(1200));
+        verify(repository, never()).markSent(any());
+    }
+
+    @Test
+    void rejectedMessageOnItsLastAttemptIsDeadLettered() {
+        responseStatus.set(503);
+        OutboxMessage message = message(3L, NotificationOutbox.EMAIL_CHANNEL, MAX_ATTEMPTS);
+        when(repository.claim(anyInt(), any())).thenReturn(List.of(message));
+
+        worker.poll();
+
+        verify(repository, timeout(5000)).deadLetter(eq(message), anyString());
+        verify(repository, never()).reschedule(any(), any(), anyString());
+    }
+
+    @Test
+    void unknownChannelIsDeadLetteredWithoutCallingTheService() {
+        OutboxMessage message = message(4L, "sms", 1);
+        when(repository.claim(anyInt(), any())).thenReturn(List.of(message));
+
+        worker.poll();
+
+        verify(repository, timeout(5000)).deadLetter(eq(message), anyString());
+        assertThat(notificationRequests).hasValue(0);
+    }
+
+    @Test
+    void purgeDeletesBatchesUntilOneComesBackShort() {
+        when(repository.purge(RETENTION, PURGE_BATCH_SIZE)).thenReturn(PURGE_BATCH_SIZE, PURGE_BATCH_SIZE, 7);
+
+        worker.purge();
+
+        verify(repository, times(3)).purge(RETENTION, PURGE_BATCH_SIZE);
+        assertThat(meterRegistry.counter("authserver.notification.outbox.purged").count()).isEqualTo(2.0 * PURGE_BATCH_SIZE + 7);
+    }
+
+    private OutboxMessage message(long id, String channel, int attempts) {
+        return new OutboxMessage(id, channel, payload, attempts, LocalDateTime.of(2026, 1, 1, 12, 2));
+    }
+}
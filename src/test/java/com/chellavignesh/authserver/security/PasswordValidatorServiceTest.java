@@ -0,0 +1,117 @@
+package com.chellavignesh.authserver.security;
+
+import com.chellavignesh.authserver.adminportal.user.UserService;
+import com.chellavignesh.authserver.adminportal.user.entity.UserDetails;
+import com.chellavignesh.authserver.security.exception.PasswordHistoryUnavailableException;
+import com.chellavignesh.authserver.security.exception.PasswordRecentlyUsedException;
+import com.chellavignesh.authserver.security.passwordvalidator.repository.PasswordHistoryRepository;
+import com.chellavignesh.authserver.security.passwordvalidator.repository.entity.PasswordHistoryData;
+import com.chellavignesh.authserver.session.LibCryptoPasswordEncoder;
+import com.chellavignesh.authserver.session.PasswordHashingService;
+import com.chellavignesh.libcrypto.dto.CryptoRequestResponse;
+import com.chellavignesh.libcrypto.dto.Data;
+import com.chellavignesh.libcrypto.service.impl.CryptoWebClientImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * LibCrypto password history checks against a stubbed crypto service client.
+ */
+class PasswordValidatorServiceTest {
+
+    private static final UUID USER_GUID = UUID.randomUUID();
+    private static final String PASSWORD = "Correct-Horse-Battery-Staple-42";
+    // Cipher index 3 followed by the stored cipher bytes
+    private static final String STORED_HASH = "{" + LibCryptoPasswordEncoder.ENCODER_ID + "}0x00000003a1b2c3d4";
+    private static final int FAILURE_THRESHOLD = 2;
+
+    private CryptoWebClientImpl cryptoWebClient;
+    private PasswordHistoryRepository passwordHistoryRepository;
+    private UserService userService;
+    private PasswordHashingService passwordHashingService;
+
+    @BeforeEach
+    void setUp() {
+        cryptoWebClient = mock(CryptoWebClientImpl.class);
+        passwordHistoryRepository = mock(PasswordHistoryRepository.class);
+        userService = mock(UserService.class);
+        passwordHashingService = mock(PasswordHashingService.class);
+
+        UserDetails user = mock(UserDetails.class);
+        when(user.id()).thenReturn(7);
+        when(userService.getByGuid(USER_GUID)).thenReturn(Optional.of(user));
+        when(passwordHistoryRepository.getHistoricPasswords(7)).thenReturn(List.of(new PasswordHistoryData(STORED_HASH, LibCryptoPasswordEncoder.ENCODER_ID)));
+        when(passwordHashingService.matchesAny(anyString(), anyList())).thenReturn(false);
+    }
+
+    @Test
+    void passwordMatchingLibCryptoHistoryIsRejected() {
+        when(cryptoWebClient.postCryptoRequestResponse(any())).thenReturn(Optional.of(cryptoResponse("a1b2c3d4")));
+
+        assertThatThrownBy(() -> service(false).validateRecentUsages(PASSWORD, USER_GUID))
+                .isInstanceOf(PasswordRecentlyUsedException.class);
+        verify(cryptoWebClient, times(1)).postCryptoRequestResponse(any());
+    }
+
+    @Test
+    void passwordNotInLibCryptoHistoryIsAccepted() throws Exception {
+        when(cryptoWebClient.postCryptoRequestResponse(any())).thenReturn(Optional.of(cryptoResponse("ffffffff")));
+
+        assertThat(service(false).validateRecentUsages(PASSWORD, USER_GUID)).isTrue();
+    }
+
+    @Test
+    void failedHistoryCheckRejectsThePasswordByDefault() {
+        when(cryptoWebClient.postCryptoRequestResponse(any())).thenThrow(new IllegalStateException("crypto service down"));
+
+        assertThatThrownBy(() -> service(false).validateRecentUsages(PASSWORD, USER_GUID))
+                .isInstanceOf(PasswordHistoryUnavailableException.class);
+    }
+
+    @Test
+    void openBreakerRejectsThePasswordWithoutCallingTheCryptoService() {
+        when(cryptoWebClient.postCryptoRequestResponse(any())).thenThrow(new IllegalStateException("crypto service down"));
+        PasswordValidatorService service = service(false);
+
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            assertThatThrownBy(() -> service.validateRecentUsages(PASSWORD, USER_GUID)).isInstanceOf(PasswordHistoryUnavailableException.class);
+        }
+        assertThatThrownBy(() -> service.validateRecentUsages(PASSWORD, USER_GUID)).isInstanceOf(PasswordHistoryUnavailableException.class);
+
+        verify(cryptoWebClient, times(FAILURE_THRESHOLD)).postCryptoRequestResponse(any());
+    }
+
+    @Test
+    void failOpenAcceptsThePasswordWhenTheHistoryCheckFails() throws Exception {
+        when(cryptoWebClient.postCryptoRequestResponse(any())).thenThrow(new IllegalStateException("crypto service down"));
+
+        assertThat(service(true).validateRecentUsages(PASSWORD, USER_GUID)).isTrue();
+    }
+
+    private PasswordValidatorService service(boolean failOpen) {
+        return new PasswordValidatorService(".*", mock(NamedParameterJdbcTemplate.class), passwordHistoryRepository, userService, cryptoWebClient,
+                passwordHashingService, new SimpleMeterRegistry(), 1000, FAILURE_THRESHOLD, 60_000, failOpen);
+    }
+
+    private static CryptoRequestResponse cryptoResponse(String encryptedCipher) {
+        Data data = new Data();
+        data.setCipherIndex(3);
+        data.setEncryptedCipher(encryptedCipher);
+        CryptoRequestResponse response = new CryptoRequestResponse();
+        response.setEncryptData(List.of(data));
+        return response;
+    }
+}
@@ -0,0 +1,131 @@
+package com.chellavignesh.authserver.security;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Body capture ahead of the security filter chain, and the re-readable request it hands on.
+ */
+class RequestBodyCaptureFilterTest {
+
+    private static final int MAX_BODY_SIZE = 64;
+
+    private final RequestBodyCaptureFilter filter = new RequestBodyCaptureFilter(MAX_BODY_SIZE);
+
+    @Test
+    void bodyOverTheLimitIsRejectedWith413() throws ServletException, IOException {
+        MockHttpServletRequest request = apiRequest(MediaType.APPLICATION_JSON_VALUE, "x".repeat(MAX_BODY_SIZE + 1));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void bodyOfUnknownLengthOverTheLimitIsRejectedWith413() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/users") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setServletPath("/api/v1/users");
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent("x".repeat(MAX_BODY_SIZE + 1).getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+    }
+
+    @Test
+    void bodyCanBeReadMoreThanOnce() throws ServletException, IOException {
+        String body = "{\"name\":\"portal\"}";
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(apiRequest(MediaType.APPLICATION_JSON_VALUE, body), new MockHttpServletResponse(), chain);
+
+        CachedBodyHttpServletRequest captured = captured(chain.getRequest());
+        assertThat(new String(captured.getInputStream().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(body);
+        assertThat(new String(captured.getInputStream().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(body);
+        assertThat(captured.getReader().readLine()).isEqualTo(body);
+        assertThat(captured.getBodyAsString()).isEqualTo(body);
+        assertThat(CachedBodyHttpServletRequest.of(captured, MAX_BODY_SIZE)).isSameAs(captured);
+    }
+
+    @Test
+    void formParametersAreMergedWithTheQueryString() throws ServletException, IOException {
+        MockHttpServletRequest request = apiRequest(MediaType.APPLICATION_FORM_URLENCODED_VALUE, "scope=openid&scope=profile&name=J%C3%BCrgen+K");
+        request.setQueryString("scope=email&client_id=portal");
+        // The container's parameter map holds only the query string once the body has been consumed
+        request.addParameter("scope", "email");
+        request.addParameter("client_id", "portal");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        CachedBodyHttpServletRequest captured = captured(chain.getRequest());
+        assertThat(captured.getParameterValues("scope")).containsExactly("email", "openid", "profile");
+        assertThat(captured.getParameter("client_id")).isEqualTo("portal");
+        assertThat(captured.getParameter("name")).isEqualTo("J\u00fcrgen K");
+        assertThat(captured.getParameterMap()).containsOnlyKeys("scope", "client_id", "name");
+    }
+
+    @Test
+    void multipartBodyIsPassedThroughUnbuffered() throws ServletException, IOException {
+        String body = "--boundary\r\nContent-Disposition: form-data; name=\"file\"; filename=\"a.txt\"\r\n\r\n"
+                + "x".repeat(MAX_BODY_SIZE * 2) + "\r\n--boundary--\r\n";
+        MockHttpServletRequest request = apiRequest(MediaType.MULTIPART_FORM_DATA_VALUE + "; boundary=boundary", body);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        CachedBodyHttpServletRequest captured = captured(chain.getRequest());
+        assertThat(captured.getBody()).isEmpty();
+        assertThat(new String(captured.getInputStream().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(body);
+    }
+
+    @Test
+    void requestsOutsideTheCapturedPathsAreNotWrapped() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        request.setServletPath("/login");
+        request.setContentType(MediaType.APPLICATION_FORM_URLENCODED_VALUE);
+        request.setContent("x".repeat(MAX_BODY_SIZE + 1).getBytes(StandardCharsets.UTF_8));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+    }
+
+    private static MockHttpServletRequest apiRequest(String contentType, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/users");
+        request.setServletPath("/api/v1/users");
+        request.setContentType(contentType);
+        request.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static CachedBodyHttpServletRequest captured(ServletRequest request) {
+        assertThat(request).isInstanceOf(CachedBodyHttpServletRequest.class);
+        return (CachedBodyHttpServletRequest) request;
+    }
+}